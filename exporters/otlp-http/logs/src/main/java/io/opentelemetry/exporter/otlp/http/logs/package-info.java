@@ -0,0 +1,13 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/**
+ * OpenTelemetry exporter which sends log records of the logging SDK extension to OpenTelemetry
+ * collector via OTLP/HTTP.
+ */
+@ParametersAreNonnullByDefault
+package io.opentelemetry.exporter.otlp.http.logs;
+
+import javax.annotation.ParametersAreNonnullByDefault;
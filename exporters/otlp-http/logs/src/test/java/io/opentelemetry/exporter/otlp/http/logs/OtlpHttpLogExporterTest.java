@@ -0,0 +1,230 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.http.logs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.linecorp.armeria.common.AggregatedHttpRequest;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.proto.collector.logs.v1.ExportLogsServiceRequest;
+import io.opentelemetry.proto.logs.v1.ResourceLogs;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
+import io.opentelemetry.sdk.logging.data.LogRecord;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class OtlpHttpLogExporterTest {
+
+  private static final Resource RESOURCE =
+      Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), "logs-test"));
+
+  private static final List<LogRecord> LOGS =
+      Collections.singletonList(
+          LogRecord.builder()
+              .setUnixTimeNano(1)
+              .setTraceId("0123456789abcdef0123456789abcdef")
+              .setSpanId("0123456789abcdef")
+              .setSeverity(LogRecord.Severity.INFO)
+              .setBody("request")
+              .build());
+
+  private static final BlockingQueue<AggregatedHttpRequest> requests =
+      new LinkedBlockingQueue<>();
+  private static final AtomicInteger retryAttempts = new AtomicInteger();
+
+  @RegisterExtension
+  static final ServerExtension server =
+      new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+          sb.service(
+              "/v1/logs",
+              (ctx, req) ->
+                  HttpResponse.from(
+                      req.aggregate()
+                          .thenApply(
+                              aggregatedReq -> {
+                                requests.add(aggregatedReq);
+                                return HttpResponse.of(HttpStatus.OK);
+                              })));
+          sb.service("/error", (ctx, req) -> HttpResponse.of(HttpStatus.INTERNAL_SERVER_ERROR));
+          sb.service(
+              "/retry",
+              (ctx, req) ->
+                  HttpResponse.from(
+                      req.aggregate()
+                          .thenApply(
+                              unused ->
+                                  retryAttempts.incrementAndGet() == 1
+                                      ? HttpResponse.of(HttpStatus.SERVICE_UNAVAILABLE)
+                                      : HttpResponse.of(HttpStatus.OK))));
+          sb.http(0);
+        }
+      };
+
+  @AfterEach
+  void tearDown() {
+    requests.clear();
+    retryAttempts.set(0);
+  }
+
+  @Test
+  void export() throws Exception {
+    OtlpHttpLogExporter exporter =
+        OtlpHttpLogExporter.builder()
+            .setEndpoint(server.httpUri() + "/v1/logs")
+            .setResource(RESOURCE)
+            .addHeader("foo", "bar")
+            .build();
+    try {
+      assertThat(exporter.export(LOGS).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+
+      AggregatedHttpRequest request = requests.poll(10, TimeUnit.SECONDS);
+      assertThat(request).isNotNull();
+      assertThat(request.headers().get(HttpHeaderNames.CONTENT_TYPE))
+          .isEqualTo("application/x-protobuf");
+      assertThat(request.headers().get(HttpHeaderNames.CONTENT_ENCODING)).isNull();
+      assertThat(request.headers().get("foo")).isEqualTo("bar");
+      assertReceivedLogs(parse(request.content().array()));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void export_gzip() throws Exception {
+    OtlpHttpLogExporter exporter =
+        OtlpHttpLogExporter.builder()
+            .setEndpoint(server.httpUri() + "/v1/logs")
+            .setResource(RESOURCE)
+            .setCompression("gzip")
+            .build();
+    try {
+      assertThat(exporter.export(LOGS).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+
+      AggregatedHttpRequest request = requests.poll(10, TimeUnit.SECONDS);
+      assertThat(request).isNotNull();
+      assertThat(request.headers().get(HttpHeaderNames.CONTENT_ENCODING)).isEqualTo("gzip");
+      assertReceivedLogs(parse(gunzip(request.content().array())));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void export_serverError() {
+    OtlpHttpLogExporter exporter =
+        OtlpHttpLogExporter.builder().setEndpoint(server.httpUri() + "/error").build();
+    try {
+      assertThat(exporter.export(LOGS).join(10, TimeUnit.SECONDS).isSuccess()).isFalse();
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void export_retriesTransientFailure() {
+    OtlpHttpLogExporter exporter =
+        OtlpHttpLogExporter.builder()
+            .setEndpoint(server.httpUri() + "/retry")
+            .setRetryPolicy(
+                RetryPolicy.builder()
+                    .setInitialBackoff(Duration.ofMillis(1))
+                    .setMaxBackoff(Duration.ofMillis(5))
+                    .build())
+            .build();
+    try {
+      assertThat(exporter.export(LOGS).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      await().untilAsserted(() -> assertThat(retryAttempts).hasValue(2));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  @SuppressWarnings("PreferJavaTimeOverload")
+  void invalidConfig() {
+    assertThatThrownBy(() -> OtlpHttpLogExporter.builder().setTimeout(-1, TimeUnit.MILLISECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("timeout must be non-negative");
+    assertThatThrownBy(() -> OtlpHttpLogExporter.builder().setTimeout(1, null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("unit");
+    assertThatThrownBy(() -> OtlpHttpLogExporter.builder().setTimeout((Duration) null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("timeout");
+
+    assertThatThrownBy(() -> OtlpHttpLogExporter.builder().setEndpoint(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("endpoint");
+    assertThatThrownBy(() -> OtlpHttpLogExporter.builder().setEndpoint("localhost"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid endpoint, must start with http:// or https://: localhost");
+
+    assertThatThrownBy(() -> OtlpHttpLogExporter.builder().setResource(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("resource");
+    assertThatThrownBy(() -> OtlpHttpLogExporter.builder().setRetryPolicy(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("retryPolicy");
+
+    assertThatThrownBy(() -> OtlpHttpLogExporter.builder().setCompression("foo"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "Unsupported compression method. Supported compression methods include: gzip, none.");
+  }
+
+  private static void assertReceivedLogs(ExportLogsServiceRequest request) {
+    assertThat(request.getResourceLogsList()).hasSize(1);
+    ResourceLogs resourceLogs = request.getResourceLogs(0);
+    assertThat(resourceLogs.getResource().getAttributes(0).getValue().getStringValue())
+        .isEqualTo("logs-test");
+    io.opentelemetry.proto.logs.v1.LogRecord log =
+        resourceLogs.getInstrumentationLibraryLogs(0).getLogs(0);
+    assertThat(log.getTimeUnixNano()).isEqualTo(1);
+    assertThat(log.getBody().getStringValue()).isEqualTo("request");
+    assertThat(log.getTraceId().size()).isEqualTo(16);
+    assertThat(log.getSpanId().size()).isEqualTo(8);
+  }
+
+  private static ExportLogsServiceRequest parse(byte[] body) throws IOException {
+    return ExportLogsServiceRequest.parseFrom(body);
+  }
+
+  private static byte[] gunzip(byte[] compressed) throws IOException {
+    try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      int read;
+      while ((read = input.read(buffer)) != -1) {
+        output.write(buffer, 0, read);
+      }
+      return output.toByteArray();
+    }
+  }
+}
@@ -0,0 +1,19 @@
+plugins {
+    `java-library`
+    `maven-publish`
+
+    id("ru.vyarus.animalsniffer")
+}
+
+description = "OpenTelemetry Protocol HTTP Metrics Exporter"
+extra["moduleName"] = "io.opentelemetry.exporter.otlp.http.metrics"
+
+dependencies {
+    api(project(":sdk:metrics"))
+
+    implementation(project(":exporters:otlp:common"))
+
+    implementation("com.squareup.okhttp3:okhttp")
+
+    testImplementation("com.linecorp.armeria:armeria-junit5")
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.http.metrics;
+
+import io.opentelemetry.exporter.otlp.internal.HttpStatusUtil;
+import io.opentelemetry.exporter.otlp.internal.MarshalerRequestBody;
+import io.opentelemetry.exporter.otlp.internal.Retrier;
+import io.opentelemetry.exporter.otlp.internal.MetricsMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Exports metrics using OTLP via HTTP, using the binary protobuf encoding. The connections to the
+ * collector are kept alive and reused across exports.
+ */
+@ThreadSafe
+public final class OtlpHttpMetricExporter implements MetricExporter {
+
+  private final ThrottlingLogger logger =
+      new ThrottlingLogger(Logger.getLogger(OtlpHttpMetricExporter.class.getName()));
+
+  private final OkHttpClient client;
+  private final String endpoint;
+  @Nullable private final Headers headers;
+  private final boolean compressionEnabled;
+  @Nullable private final Retrier retrier;
+
+  OtlpHttpMetricExporter(
+      OkHttpClient client,
+      String endpoint,
+      @Nullable Headers headers,
+      boolean compressionEnabled,
+      @Nullable RetryPolicy retryPolicy) {
+    this.client = client;
+    this.endpoint = endpoint;
+    this.headers = headers;
+    this.compressionEnabled = compressionEnabled;
+    this.retrier =
+        retryPolicy != null
+            ? Retrier.create(OtlpHttpMetricExporter.class.getSimpleName(), retryPolicy)
+            : null;
+  }
+
+  /**
+   * Submits all the given metrics in a single batch to the OpenTelemetry collector.
+   *
+   * @param metrics the list of Metrics to be exported.
+   * @return the result of the operation
+   */
+  @Override
+  public CompletableResultCode export(Collection<MetricData> metrics) {
+    MetricsMarshaler.RequestMarshaler requestMarshaler =
+        MetricsMarshaler.RequestMarshaler.create(metrics);
+
+    Request.Builder requestBuilder = new Request.Builder().url(endpoint);
+    if (headers != null) {
+      requestBuilder.headers(headers);
+    }
+    if (compressionEnabled) {
+      requestBuilder.addHeader("Content-Encoding", "gzip");
+    }
+    requestBuilder.post(MarshalerRequestBody.create(requestMarshaler, compressionEnabled));
+    Request request = requestBuilder.build();
+
+    if (retrier != null) {
+      return retrier.send(
+          requestMarshaler.getSerializedSize(), callback -> send(request, callback));
+    }
+    return Retrier.sendOnce(callback -> send(request, callback));
+  }
+
+  private void send(Request request, Retrier.Callback callback) {
+    client
+        .newCall(request)
+        .enqueue(
+            new Callback() {
+              @Override
+              public void onFailure(Call call, IOException e) {
+                logger.log(
+                    Level.SEVERE,
+                    "Failed to export metrics. The request could not be executed. "
+                        + "Full error message: "
+                        + e.getMessage());
+                callback.onFailure(/* retryable= */ true);
+              }
+
+              @Override
+              public void onResponse(Call call, Response response) {
+                try (Response ignored = response) {
+                  if (response.isSuccessful()) {
+                    callback.onSuccess();
+                    return;
+                  }
+                  logger.log(
+                      Level.WARNING,
+                      "Failed to export metrics. Server responded with HTTP status code "
+                          + response.code()
+                          + ". Error message: "
+                          + response.message());
+                  callback.onFailure(HttpStatusUtil.isRetryable(response.code()));
+                }
+              }
+            });
+  }
+
+  /**
+   * The OTLP exporter does not batch metrics, so this method will immediately return with success.
+   *
+   * @return always Success
+   */
+  @Override
+  public CompletableResultCode flush() {
+    return CompletableResultCode.ofSuccess();
+  }
+
+  /**
+   * Returns a new builder instance for this exporter.
+   *
+   * @return a new builder instance for this exporter.
+   */
+  public static OtlpHttpMetricExporterBuilder builder() {
+    return new OtlpHttpMetricExporterBuilder();
+  }
+
+  /**
+   * Returns a new {@link OtlpHttpMetricExporter} using the default values.
+   *
+   * @return a new {@link OtlpHttpMetricExporter} instance.
+   */
+  public static OtlpHttpMetricExporter getDefault() {
+    return builder().build();
+  }
+
+  /**
+   * Shuts down the exporter. Exports in progress are completed, then the idle connections are
+   * closed.
+   */
+  @Override
+  public CompletableResultCode shutdown() {
+    if (retrier != null) {
+      retrier.shutdown();
+    }
+    client.dispatcher().executorService().shutdown();
+    client.connectionPool().evictAll();
+    return CompletableResultCode.ofSuccess();
+  }
+}
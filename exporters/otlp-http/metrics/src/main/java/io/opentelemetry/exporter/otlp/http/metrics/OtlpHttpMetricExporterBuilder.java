@@ -0,0 +1,132 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.http.metrics;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.sdk.common.export.RetryPolicy;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+
+/** Builder utility for {@link OtlpHttpMetricExporter}. */
+public final class OtlpHttpMetricExporterBuilder {
+
+  private static final String DEFAULT_ENDPOINT = "http://localhost:4318/v1/metrics";
+  private static final long DEFAULT_TIMEOUT_SECS = 10;
+
+  private long timeoutNanos = TimeUnit.SECONDS.toNanos(DEFAULT_TIMEOUT_SECS);
+  private String endpoint = DEFAULT_ENDPOINT;
+  private boolean compressionEnabled = false;
+  @Nullable private Headers.Builder headersBuilder;
+  @Nullable private RetryPolicy retryPolicy;
+
+  /**
+   * Sets the maximum time to wait for the collector to process an exported batch of metrics. If
+   * unset, defaults to {@value DEFAULT_TIMEOUT_SECS}s.
+   */
+  public OtlpHttpMetricExporterBuilder setTimeout(long timeout, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(timeout >= 0, "timeout must be non-negative");
+    timeoutNanos = unit.toNanos(timeout);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time to wait for the collector to process an exported batch of metrics. If
+   * unset, defaults to {@value DEFAULT_TIMEOUT_SECS}s.
+   */
+  public OtlpHttpMetricExporterBuilder setTimeout(Duration timeout) {
+    requireNonNull(timeout, "timeout");
+    return setTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Sets the OTLP endpoint to send metrics to, including the path. If unset, defaults to {@value
+   * DEFAULT_ENDPOINT}. The endpoint must start with either http:// or https://.
+   */
+  public OtlpHttpMetricExporterBuilder setEndpoint(String endpoint) {
+    requireNonNull(endpoint, "endpoint");
+
+    URI uri;
+    try {
+      uri = new URI(endpoint);
+    } catch (URISyntaxException e) {
+      throw new IllegalArgumentException("Invalid endpoint, must be a URL: " + endpoint, e);
+    }
+
+    if (uri.getScheme() == null
+        || (!uri.getScheme().equals("http") && !uri.getScheme().equals("https"))) {
+      throw new IllegalArgumentException(
+          "Invalid endpoint, must start with http:// or https://: " + uri);
+    }
+
+    this.endpoint = endpoint;
+    return this;
+  }
+
+  /**
+   * Sets the method used to compress the requests. Supported values are {@code "gzip"} and {@code
+   * "none"}. If unset, requests are not compressed.
+   */
+  public OtlpHttpMetricExporterBuilder setCompression(String compressionMethod) {
+    requireNonNull(compressionMethod, "compressionMethod");
+    checkArgument(
+        compressionMethod.equals("gzip") || compressionMethod.equals("none"),
+        "Unsupported compression method. Supported compression methods include: gzip, none.");
+    this.compressionEnabled = compressionMethod.equals("gzip");
+    return this;
+  }
+
+  /**
+   * Sets the policy of retrying requests that failed with a transient error, such as when the
+   * collector is restarting. A failed request is handed off to a retry buffer bounded by {@link
+   * RetryPolicy#getMaxBufferedBytes()}, and the export result then completes successfully, so
+   * exporting never waits for the retries. The export result fails only if the request cannot be
+   * retried. Requests that are abandoned later are counted by the {@code
+   * requestsAbandonedByExporter} counter. If unset, failed requests are not retried.
+   */
+  public OtlpHttpMetricExporterBuilder setRetryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = requireNonNull(retryPolicy, "retryPolicy");
+    return this;
+  }
+
+  /**
+   * Add header to requests. Optional.
+   *
+   * @param key header key
+   * @param value header value
+   * @return this builder's instance
+   */
+  public OtlpHttpMetricExporterBuilder addHeader(String key, String value) {
+    if (headersBuilder == null) {
+      headersBuilder = new Headers.Builder();
+    }
+    headersBuilder.add(key, value);
+    return this;
+  }
+
+  /**
+   * Constructs a new instance of the exporter based on the builder's values.
+   *
+   * @return a new exporter's instance
+   */
+  public OtlpHttpMetricExporter build() {
+    // The default connection pool keeps idle connections alive, so that they are reused across
+    // exports.
+    OkHttpClient client =
+        new OkHttpClient.Builder().callTimeout(timeoutNanos, TimeUnit.NANOSECONDS).build();
+    Headers headers = headersBuilder == null ? null : headersBuilder.build();
+    return new OtlpHttpMetricExporter(client, endpoint, headers, compressionEnabled, retryPolicy);
+  }
+
+  OtlpHttpMetricExporterBuilder() {}
+}
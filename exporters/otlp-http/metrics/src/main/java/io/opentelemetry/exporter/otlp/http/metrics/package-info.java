@@ -0,0 +1,10 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/** OpenTelemetry exporter which sends metric data to OpenTelemetry collector via OTLP/HTTP. */
+@ParametersAreNonnullByDefault
+package io.opentelemetry.exporter.otlp.http.metrics;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,264 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.http.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.linecorp.armeria.common.AggregatedHttpRequest;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.exporter.otlp.internal.MetricAdapter;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.LongSumData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class OtlpHttpMetricExporterTest {
+
+  private static final List<MetricData> METRICS =
+      Collections.singletonList(
+          MetricData.createLongSum(
+              Resource.create(Attributes.builder().put("service.name", "test").build()),
+              InstrumentationLibraryInfo.create("name", "version"),
+              "requests",
+              "The number of requests",
+              "1",
+              LongSumData.create(
+                  /* isMonotonic= */ true,
+                  AggregationTemporality.CUMULATIVE,
+                  Collections.singletonList(
+                      LongPointData.create(123, 456, Labels.of("k", "v"), 5)))));
+
+  private static final BlockingQueue<AggregatedHttpRequest> requests =
+      new LinkedBlockingQueue<>();
+  private static final BlockingQueue<SocketAddress> remoteAddresses = new LinkedBlockingQueue<>();
+  private static final AtomicInteger retryAttempts = new AtomicInteger();
+
+  @RegisterExtension
+  static final ServerExtension server =
+      new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+          sb.service(
+              "/v1/metrics",
+              (ctx, req) ->
+                  HttpResponse.from(
+                      req.aggregate()
+                          .thenApply(
+                              aggregatedReq -> {
+                                requests.add(aggregatedReq);
+                                remoteAddresses.add(ctx.remoteAddress());
+                                return HttpResponse.of(HttpStatus.OK);
+                              })));
+          sb.service("/error", (ctx, req) -> HttpResponse.of(HttpStatus.INTERNAL_SERVER_ERROR));
+          sb.service(
+              "/retry",
+              (ctx, req) ->
+                  HttpResponse.from(
+                      req.aggregate()
+                          .thenApply(
+                              unused ->
+                                  retryAttempts.incrementAndGet() == 1
+                                      ? HttpResponse.of(HttpStatus.SERVICE_UNAVAILABLE)
+                                      : HttpResponse.of(HttpStatus.OK))));
+          sb.http(0);
+        }
+      };
+
+  @AfterEach
+  void tearDown() {
+    requests.clear();
+    remoteAddresses.clear();
+    retryAttempts.set(0);
+  }
+
+  @Test
+  void export() throws Exception {
+    OtlpHttpMetricExporter exporter =
+        OtlpHttpMetricExporter.builder()
+            .setEndpoint(server.httpUri() + "/v1/metrics")
+            .addHeader("foo", "bar")
+            .build();
+    try {
+      assertThat(exporter.export(METRICS).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+
+      AggregatedHttpRequest request = requests.poll(10, TimeUnit.SECONDS);
+      assertThat(request).isNotNull();
+      assertThat(request.headers().get(HttpHeaderNames.CONTENT_TYPE))
+          .isEqualTo("application/x-protobuf");
+      assertThat(request.headers().get(HttpHeaderNames.CONTENT_ENCODING)).isNull();
+      assertThat(request.headers().get("foo")).isEqualTo("bar");
+      assertThat(parse(request.content().array()).getResourceMetricsList())
+          .isEqualTo(MetricAdapter.toProtoResourceMetrics(METRICS));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void export_gzip() throws Exception {
+    OtlpHttpMetricExporter exporter =
+        OtlpHttpMetricExporter.builder()
+            .setEndpoint(server.httpUri() + "/v1/metrics")
+            .setCompression("gzip")
+            .build();
+    try {
+      assertThat(exporter.export(METRICS).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+
+      AggregatedHttpRequest request = requests.poll(10, TimeUnit.SECONDS);
+      assertThat(request).isNotNull();
+      assertThat(request.headers().get(HttpHeaderNames.CONTENT_ENCODING)).isEqualTo("gzip");
+      assertThat(parse(gunzip(request.content().array())).getResourceMetricsList())
+          .isEqualTo(MetricAdapter.toProtoResourceMetrics(METRICS));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void export_connectionReused() throws Exception {
+    OtlpHttpMetricExporter exporter =
+        OtlpHttpMetricExporter.builder().setEndpoint(server.httpUri() + "/v1/metrics").build();
+    try {
+      assertThat(exporter.export(METRICS).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      assertThat(exporter.export(METRICS).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+
+      SocketAddress first = remoteAddresses.poll(10, TimeUnit.SECONDS);
+      SocketAddress second = remoteAddresses.poll(10, TimeUnit.SECONDS);
+      assertThat(first).isNotNull();
+      assertThat(second).isEqualTo(first);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void export_serverError() {
+    OtlpHttpMetricExporter exporter =
+        OtlpHttpMetricExporter.builder().setEndpoint(server.httpUri() + "/error").build();
+    try {
+      assertThat(exporter.export(METRICS).join(10, TimeUnit.SECONDS).isSuccess()).isFalse();
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void export_retriesTransientFailure() {
+    OtlpHttpMetricExporter exporter =
+        OtlpHttpMetricExporter.builder()
+            .setEndpoint(server.httpUri() + "/retry")
+            .setRetryPolicy(
+                RetryPolicy.builder()
+                    .setInitialBackoff(Duration.ofMillis(1))
+                    .setMaxBackoff(Duration.ofMillis(5))
+                    .build())
+            .build();
+    try {
+      assertThat(exporter.export(METRICS).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      await().untilAsserted(() -> assertThat(retryAttempts).hasValue(2));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void export_doesNotRetryPermanentFailure() {
+    OtlpHttpMetricExporter exporter =
+        OtlpHttpMetricExporter.builder()
+            .setEndpoint(server.httpUri() + "/error")
+            .setRetryPolicy(
+                RetryPolicy.builder()
+                    .setInitialBackoff(Duration.ofMillis(1))
+                    .setMaxBackoff(Duration.ofMillis(5))
+                    .build())
+            .build();
+    try {
+      assertThat(exporter.export(METRICS).join(10, TimeUnit.SECONDS).isSuccess()).isFalse();
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  @SuppressWarnings("PreferJavaTimeOverload")
+  void invalidConfig() {
+    assertThatThrownBy(() -> OtlpHttpMetricExporter.builder().setTimeout(-1, TimeUnit.MILLISECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("timeout must be non-negative");
+    assertThatThrownBy(() -> OtlpHttpMetricExporter.builder().setTimeout(1, null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("unit");
+    assertThatThrownBy(() -> OtlpHttpMetricExporter.builder().setTimeout((Duration) null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("timeout");
+
+    assertThatThrownBy(() -> OtlpHttpMetricExporter.builder().setEndpoint(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("endpoint");
+    assertThatThrownBy(() -> OtlpHttpMetricExporter.builder().setEndpoint("😺://localhost"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid endpoint, must be a URL: 😺://localhost");
+    assertThatThrownBy(() -> OtlpHttpMetricExporter.builder().setEndpoint("localhost"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid endpoint, must start with http:// or https://: localhost");
+
+    assertThatThrownBy(() -> OtlpHttpMetricExporter.builder().setRetryPolicy(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("retryPolicy");
+
+    assertThatThrownBy(() -> OtlpHttpMetricExporter.builder().setCompression(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("compressionMethod");
+    assertThatThrownBy(() -> OtlpHttpMetricExporter.builder().setCompression("foo"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "Unsupported compression method. Supported compression methods include: gzip, none.");
+  }
+
+  private static ExportMetricsServiceRequest parse(byte[] body) throws IOException {
+    return ExportMetricsServiceRequest.parseFrom(body);
+  }
+
+  private static byte[] gunzip(byte[] compressed) throws IOException {
+    try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      int read;
+      while ((read = input.read(buffer)) != -1) {
+        output.write(buffer, 0, read);
+      }
+      return output.toByteArray();
+    }
+  }
+}
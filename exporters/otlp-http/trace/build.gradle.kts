@@ -0,0 +1,21 @@
+plugins {
+    `java-library`
+    `maven-publish`
+
+    id("ru.vyarus.animalsniffer")
+}
+
+description = "OpenTelemetry Protocol HTTP Trace Exporter"
+extra["moduleName"] = "io.opentelemetry.exporter.otlp.http.trace"
+
+dependencies {
+    api(project(":sdk:trace"))
+
+    implementation(project(":exporters:otlp:common"))
+
+    implementation("com.squareup.okhttp3:okhttp")
+
+    testImplementation(project(":sdk:testing"))
+
+    testImplementation("com.linecorp.armeria:armeria-junit5")
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.http.trace;
+
+import io.opentelemetry.exporter.otlp.internal.HttpStatusUtil;
+import io.opentelemetry.exporter.otlp.internal.MarshalerRequestBody;
+import io.opentelemetry.exporter.otlp.internal.Retrier;
+import io.opentelemetry.exporter.otlp.internal.TraceMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Exports spans using OTLP via HTTP, using the binary protobuf encoding. The connections to the
+ * collector are kept alive and reused across exports.
+ */
+@ThreadSafe
+public final class OtlpHttpSpanExporter implements SpanExporter {
+
+  private final ThrottlingLogger logger =
+      new ThrottlingLogger(Logger.getLogger(OtlpHttpSpanExporter.class.getName()));
+
+  private final OkHttpClient client;
+  private final String endpoint;
+  @Nullable private final Headers headers;
+  private final boolean compressionEnabled;
+  @Nullable private final Retrier retrier;
+
+  OtlpHttpSpanExporter(
+      OkHttpClient client,
+      String endpoint,
+      @Nullable Headers headers,
+      boolean compressionEnabled,
+      @Nullable RetryPolicy retryPolicy) {
+    this.client = client;
+    this.endpoint = endpoint;
+    this.headers = headers;
+    this.compressionEnabled = compressionEnabled;
+    this.retrier =
+        retryPolicy != null
+            ? Retrier.create(OtlpHttpSpanExporter.class.getSimpleName(), retryPolicy)
+            : null;
+  }
+
+  /**
+   * Submits all the given spans in a single batch to the OpenTelemetry collector.
+   *
+   * @param spans the list of sampled Spans to be exported.
+   * @return the result of the operation
+   */
+  @Override
+  public CompletableResultCode export(Collection<SpanData> spans) {
+    TraceMarshaler.RequestMarshaler requestMarshaler =
+        TraceMarshaler.RequestMarshaler.create(spans);
+
+    Request.Builder requestBuilder = new Request.Builder().url(endpoint);
+    if (headers != null) {
+      requestBuilder.headers(headers);
+    }
+    if (compressionEnabled) {
+      requestBuilder.addHeader("Content-Encoding", "gzip");
+    }
+    requestBuilder.post(MarshalerRequestBody.create(requestMarshaler, compressionEnabled));
+    Request request = requestBuilder.build();
+
+    if (retrier != null) {
+      return retrier.send(
+          requestMarshaler.getSerializedSize(), callback -> send(request, callback));
+    }
+    return Retrier.sendOnce(callback -> send(request, callback));
+  }
+
+  private void send(Request request, Retrier.Callback callback) {
+    client
+        .newCall(request)
+        .enqueue(
+            new Callback() {
+              @Override
+              public void onFailure(Call call, IOException e) {
+                logger.log(
+                    Level.SEVERE,
+                    "Failed to export spans. The request could not be executed. "
+                        + "Full error message: "
+                        + e.getMessage());
+                callback.onFailure(/* retryable= */ true);
+              }
+
+              @Override
+              public void onResponse(Call call, Response response) {
+                try (Response ignored = response) {
+                  if (response.isSuccessful()) {
+                    callback.onSuccess();
+                    return;
+                  }
+                  logger.log(
+                      Level.WARNING,
+                      "Failed to export spans. Server responded with HTTP status code "
+                          + response.code()
+                          + ". Error message: "
+                          + response.message());
+                  callback.onFailure(HttpStatusUtil.isRetryable(response.code()));
+                }
+              }
+            });
+  }
+
+  /**
+   * The OTLP exporter does not batch spans, so this method will immediately return with success.
+   *
+   * @return always Success
+   */
+  @Override
+  public CompletableResultCode flush() {
+    return CompletableResultCode.ofSuccess();
+  }
+
+  /**
+   * Returns a new builder instance for this exporter.
+   *
+   * @return a new builder instance for this exporter.
+   */
+  public static OtlpHttpSpanExporterBuilder builder() {
+    return new OtlpHttpSpanExporterBuilder();
+  }
+
+  /**
+   * Returns a new {@link OtlpHttpSpanExporter} using the default values.
+   *
+   * @return a new {@link OtlpHttpSpanExporter} instance.
+   */
+  public static OtlpHttpSpanExporter getDefault() {
+    return builder().build();
+  }
+
+  /**
+   * Shuts down the exporter. Exports in progress are completed, then the idle connections are
+   * closed.
+   */
+  @Override
+  public CompletableResultCode shutdown() {
+    if (retrier != null) {
+      retrier.shutdown();
+    }
+    client.dispatcher().executorService().shutdown();
+    client.connectionPool().evictAll();
+    return CompletableResultCode.ofSuccess();
+  }
+}
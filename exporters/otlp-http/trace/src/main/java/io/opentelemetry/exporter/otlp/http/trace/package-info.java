@@ -0,0 +1,10 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/** OpenTelemetry exporter which sends span data to OpenTelemetry collector via OTLP/HTTP. */
+@ParametersAreNonnullByDefault
+package io.opentelemetry.exporter.otlp.http.trace;
+
+import javax.annotation.ParametersAreNonnullByDefault;
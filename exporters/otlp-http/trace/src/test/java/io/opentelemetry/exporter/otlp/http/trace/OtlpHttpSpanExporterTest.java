@@ -0,0 +1,257 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.http.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.linecorp.armeria.common.AggregatedHttpRequest;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.exporter.otlp.internal.SpanAdapter;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class OtlpHttpSpanExporterTest {
+
+  private static final List<SpanData> SPANS =
+      Collections.singletonList(
+          TestSpanData.builder()
+              .setName("name")
+              .setKind(SpanKind.CLIENT)
+              .setStartEpochNanos(1)
+              .setEndEpochNanos(2)
+              .setStatus(StatusData.ok())
+              .setHasEnded(true)
+              .build());
+
+  private static final BlockingQueue<AggregatedHttpRequest> requests =
+      new LinkedBlockingQueue<>();
+  private static final BlockingQueue<SocketAddress> remoteAddresses = new LinkedBlockingQueue<>();
+  private static final AtomicInteger retryAttempts = new AtomicInteger();
+
+  @RegisterExtension
+  static final ServerExtension server =
+      new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+          sb.service(
+              "/v1/traces",
+              (ctx, req) ->
+                  HttpResponse.from(
+                      req.aggregate()
+                          .thenApply(
+                              aggregatedReq -> {
+                                requests.add(aggregatedReq);
+                                remoteAddresses.add(ctx.remoteAddress());
+                                return HttpResponse.of(HttpStatus.OK);
+                              })));
+          sb.service("/error", (ctx, req) -> HttpResponse.of(HttpStatus.INTERNAL_SERVER_ERROR));
+          sb.service(
+              "/retry",
+              (ctx, req) ->
+                  HttpResponse.from(
+                      req.aggregate()
+                          .thenApply(
+                              unused ->
+                                  retryAttempts.incrementAndGet() == 1
+                                      ? HttpResponse.of(HttpStatus.SERVICE_UNAVAILABLE)
+                                      : HttpResponse.of(HttpStatus.OK))));
+          sb.http(0);
+        }
+      };
+
+  @AfterEach
+  void tearDown() {
+    requests.clear();
+    remoteAddresses.clear();
+    retryAttempts.set(0);
+  }
+
+  @Test
+  void export() throws Exception {
+    OtlpHttpSpanExporter exporter =
+        OtlpHttpSpanExporter.builder()
+            .setEndpoint(server.httpUri() + "/v1/traces")
+            .addHeader("foo", "bar")
+            .build();
+    try {
+      assertThat(exporter.export(SPANS).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+
+      AggregatedHttpRequest request = requests.poll(10, TimeUnit.SECONDS);
+      assertThat(request).isNotNull();
+      assertThat(request.headers().get(HttpHeaderNames.CONTENT_TYPE))
+          .isEqualTo("application/x-protobuf");
+      assertThat(request.headers().get(HttpHeaderNames.CONTENT_ENCODING)).isNull();
+      assertThat(request.headers().get("foo")).isEqualTo("bar");
+      assertThat(parse(request.content().array()).getResourceSpansList())
+          .isEqualTo(SpanAdapter.toProtoResourceSpans(SPANS));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void export_gzip() throws Exception {
+    OtlpHttpSpanExporter exporter =
+        OtlpHttpSpanExporter.builder()
+            .setEndpoint(server.httpUri() + "/v1/traces")
+            .setCompression("gzip")
+            .build();
+    try {
+      assertThat(exporter.export(SPANS).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+
+      AggregatedHttpRequest request = requests.poll(10, TimeUnit.SECONDS);
+      assertThat(request).isNotNull();
+      assertThat(request.headers().get(HttpHeaderNames.CONTENT_ENCODING)).isEqualTo("gzip");
+      assertThat(parse(gunzip(request.content().array())).getResourceSpansList())
+          .isEqualTo(SpanAdapter.toProtoResourceSpans(SPANS));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void export_connectionReused() throws Exception {
+    OtlpHttpSpanExporter exporter =
+        OtlpHttpSpanExporter.builder().setEndpoint(server.httpUri() + "/v1/traces").build();
+    try {
+      assertThat(exporter.export(SPANS).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      assertThat(exporter.export(SPANS).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+
+      SocketAddress first = remoteAddresses.poll(10, TimeUnit.SECONDS);
+      SocketAddress second = remoteAddresses.poll(10, TimeUnit.SECONDS);
+      assertThat(first).isNotNull();
+      assertThat(second).isEqualTo(first);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void export_serverError() {
+    OtlpHttpSpanExporter exporter =
+        OtlpHttpSpanExporter.builder().setEndpoint(server.httpUri() + "/error").build();
+    try {
+      assertThat(exporter.export(SPANS).join(10, TimeUnit.SECONDS).isSuccess()).isFalse();
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void export_retriesTransientFailure() {
+    OtlpHttpSpanExporter exporter =
+        OtlpHttpSpanExporter.builder()
+            .setEndpoint(server.httpUri() + "/retry")
+            .setRetryPolicy(
+                RetryPolicy.builder()
+                    .setInitialBackoff(Duration.ofMillis(1))
+                    .setMaxBackoff(Duration.ofMillis(5))
+                    .build())
+            .build();
+    try {
+      assertThat(exporter.export(SPANS).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      await().untilAsserted(() -> assertThat(retryAttempts).hasValue(2));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void export_doesNotRetryPermanentFailure() {
+    OtlpHttpSpanExporter exporter =
+        OtlpHttpSpanExporter.builder()
+            .setEndpoint(server.httpUri() + "/error")
+            .setRetryPolicy(
+                RetryPolicy.builder()
+                    .setInitialBackoff(Duration.ofMillis(1))
+                    .setMaxBackoff(Duration.ofMillis(5))
+                    .build())
+            .build();
+    try {
+      assertThat(exporter.export(SPANS).join(10, TimeUnit.SECONDS).isSuccess()).isFalse();
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  @SuppressWarnings("PreferJavaTimeOverload")
+  void invalidConfig() {
+    assertThatThrownBy(() -> OtlpHttpSpanExporter.builder().setTimeout(-1, TimeUnit.MILLISECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("timeout must be non-negative");
+    assertThatThrownBy(() -> OtlpHttpSpanExporter.builder().setTimeout(1, null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("unit");
+    assertThatThrownBy(() -> OtlpHttpSpanExporter.builder().setTimeout((Duration) null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("timeout");
+
+    assertThatThrownBy(() -> OtlpHttpSpanExporter.builder().setEndpoint(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("endpoint");
+    assertThatThrownBy(() -> OtlpHttpSpanExporter.builder().setEndpoint("😺://localhost"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid endpoint, must be a URL: 😺://localhost");
+    assertThatThrownBy(() -> OtlpHttpSpanExporter.builder().setEndpoint("localhost"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid endpoint, must start with http:// or https://: localhost");
+
+    assertThatThrownBy(() -> OtlpHttpSpanExporter.builder().setRetryPolicy(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("retryPolicy");
+
+    assertThatThrownBy(() -> OtlpHttpSpanExporter.builder().setCompression(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("compressionMethod");
+    assertThatThrownBy(() -> OtlpHttpSpanExporter.builder().setCompression("foo"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "Unsupported compression method. Supported compression methods include: gzip, none.");
+  }
+
+  private static ExportTraceServiceRequest parse(byte[] body) throws IOException {
+    return ExportTraceServiceRequest.parseFrom(body);
+  }
+
+  private static byte[] gunzip(byte[] compressed) throws IOException {
+    try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      int read;
+      while ((read = input.read(buffer)) != -1) {
+        output.write(buffer, 0, read);
+      }
+      return output.toByteArray();
+    }
+  }
+}
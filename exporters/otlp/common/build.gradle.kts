@@ -15,9 +15,14 @@ dependencies {
     api(project(":sdk:all"))
     api(project(":sdk:metrics"))
 
+    compileOnly(project(":sdk-extensions:logging"))
+    compileOnly("io.grpc:grpc-api")
+    compileOnly("com.squareup.okhttp3:okhttp")
+
     implementation("com.google.protobuf:protobuf-java")
 
     testImplementation(project(":sdk:testing"))
+    testImplementation(project(":sdk-extensions:logging"))
 
     testImplementation("io.grpc:grpc-testing")
     testRuntimeOnly("io.grpc:grpc-netty-shaded")
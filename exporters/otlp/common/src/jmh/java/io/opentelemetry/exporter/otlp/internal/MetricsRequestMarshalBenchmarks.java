@@ -0,0 +1,134 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import com.google.protobuf.CodedOutputStream;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoubleGaugeData;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramData;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.LongSumData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsRequestMarshalBenchmarks {
+  private static final Resource RESOURCE =
+      Resource.create(
+          Attributes.builder()
+              .put(AttributeKey.stringKey("service.name"), "benchmark")
+              .put(AttributeKey.stringKey("host.name"), "localhost")
+              .put(AttributeKey.longKey("process.pid"), 1234L)
+              .build());
+
+  private static final InstrumentationLibraryInfo INSTRUMENTATION_LIBRARY_INFO =
+      InstrumentationLibraryInfo.create("name", null);
+
+  private static final Labels LABELS = Labels.of("http.method", "GET", "http.status_code", "200");
+
+  // Each group is a long sum, a double gauge and a histogram.
+  @Param({"16"})
+  int numMetricGroups;
+
+  List<MetricData> metricDataList;
+
+  @Setup
+  public void setup() {
+    metricDataList = new ArrayList<>(numMetricGroups * 3);
+    for (int i = 0; i < numMetricGroups; i++) {
+      metricDataList.add(
+          MetricData.createLongSum(
+              RESOURCE,
+              INSTRUMENTATION_LIBRARY_INFO,
+              "requests" + i,
+              "The number of requests",
+              "1",
+              LongSumData.create(
+                  /* isMonotonic= */ true,
+                  AggregationTemporality.CUMULATIVE,
+                  Arrays.asList(
+                      LongPointData.create(1000, 2000, LABELS, 42),
+                      LongPointData.create(1000, 2000, Labels.empty(), 7)))));
+      metricDataList.add(
+          MetricData.createDoubleGauge(
+              RESOURCE,
+              INSTRUMENTATION_LIBRARY_INFO,
+              "cpu" + i,
+              "The CPU usage",
+              "1",
+              DoubleGaugeData.create(
+                  Arrays.asList(DoublePointData.create(1000, 2000, LABELS, 0.75)))));
+      metricDataList.add(
+          MetricData.createDoubleHistogram(
+              RESOURCE,
+              INSTRUMENTATION_LIBRARY_INFO,
+              "latency" + i,
+              "The request latency",
+              "ms",
+              DoubleHistogramData.create(
+                  AggregationTemporality.CUMULATIVE,
+                  Arrays.asList(
+                      DoubleHistogramPointData.create(
+                          1000,
+                          2000,
+                          LABELS,
+                          1234.5,
+                          Arrays.asList(5.0, 10.0, 25.0, 50.0, 100.0),
+                          Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L))))));
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] marshalProto() throws IOException {
+    ExportMetricsServiceRequest protoRequest =
+        ExportMetricsServiceRequest.newBuilder()
+            .addAllResourceMetrics(MetricAdapter.toProtoResourceMetrics(metricDataList))
+            .build();
+    byte[] protoOutput = new byte[protoRequest.getSerializedSize()];
+    protoRequest.writeTo(CodedOutputStream.newInstance(protoOutput));
+    return protoOutput;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] marshalCustom() throws IOException {
+    MetricsMarshaler.RequestMarshaler requestMarshaler =
+        MetricsMarshaler.RequestMarshaler.create(metricDataList);
+    byte[] customOutput = new byte[requestMarshaler.getSerializedSize()];
+    requestMarshaler.writeTo(CodedOutputStream.newInstance(customOutput));
+    return customOutput;
+  }
+}
@@ -3,10 +3,9 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
-package io.opentelemetry.exporter.otlp.trace;
+package io.opentelemetry.exporter.otlp.internal;
 
 import com.google.protobuf.CodedOutputStream;
-import io.opentelemetry.exporter.otlp.internal.SpanAdapter;
 import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
 import java.io.IOException;
 import java.util.concurrent.TimeUnit;
@@ -75,4 +74,24 @@ public class RequestMarshalBenchmarks {
     protoRequest.writeTo(CodedOutputStream.newInstance(protoOutput));
     return protoOutput;
   }
+
+  @Benchmark
+  @Threads(1)
+  public int encodeStrings(RequestMarshalState state) {
+    int size = 0;
+    for (String string : state.strings) {
+      size += MarshalerUtil.toBytes(string).length;
+    }
+    return size;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int encodeStringsCached(RequestMarshalState state) {
+    int size = 0;
+    for (String string : state.strings) {
+      size += Utf8Cache.toBytes(string).length;
+    }
+    return size;
+  }
 }
@@ -3,10 +3,11 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
-package io.opentelemetry.exporter.otlp.trace;
+package io.opentelemetry.exporter.otlp.internal;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.TraceFlags;
@@ -28,20 +29,17 @@ import org.openjdk.jmh.annotations.State;
 
 @State(Scope.Benchmark)
 public class RequestMarshalState {
-  private static final Resource RESOURCE =
-      Resource.create(
-          Attributes.builder()
-              .put(AttributeKey.booleanKey("key_bool"), true)
-              .put(AttributeKey.stringKey("key_string"), "string")
-              .put(AttributeKey.longKey("key_int"), 100L)
-              .put(AttributeKey.doubleKey("key_double"), 100.3)
-              .put(
-                  AttributeKey.stringArrayKey("key_string_array"),
-                  Arrays.asList("string", "string"))
-              .put(AttributeKey.longArrayKey("key_long_array"), Arrays.asList(12L, 23L))
-              .put(AttributeKey.doubleArrayKey("key_double_array"), Arrays.asList(12.3, 23.1))
-              .put(AttributeKey.booleanArrayKey("key_boolean_array"), Arrays.asList(true, false))
-              .build());
+  private static final Attributes RESOURCE_ATTRIBUTES =
+      Attributes.builder()
+          .put(AttributeKey.booleanKey("key_bool"), true)
+          .put(AttributeKey.stringKey("key_string"), "string")
+          .put(AttributeKey.longKey("key_int"), 100L)
+          .put(AttributeKey.doubleKey("key_double"), 100.3)
+          .put(AttributeKey.stringArrayKey("key_string_array"), Arrays.asList("string", "string"))
+          .put(AttributeKey.longArrayKey("key_long_array"), Arrays.asList(12L, 23L))
+          .put(AttributeKey.doubleArrayKey("key_double_array"), Arrays.asList(12.3, 23.1))
+          .put(AttributeKey.booleanArrayKey("key_boolean_array"), Arrays.asList(true, false))
+          .build();
 
   private static final InstrumentationLibraryInfo INSTRUMENTATION_LIBRARY_INFO =
       InstrumentationLibraryInfo.create("name", null);
@@ -50,22 +48,46 @@ public class RequestMarshalState {
   private static final SpanContext SPAN_CONTEXT =
       SpanContext.create(TRACE_ID, SPAN_ID, TraceFlags.getSampled(), TraceState.getDefault());
 
+  // Resources of deployments on cloud platforms commonly have dozens of attributes.
+  @Param({"0", "50"})
+  int numExtraResourceAttributes;
+
   @Param({"16"})
   int numSpans;
 
   List<SpanData> spanDataList;
+  // The keys and names encoded for each span, which the UTF-8 cache encodes only once.
+  String[] strings;
 
   @Setup
   public void setup() {
+    AttributesBuilder resourceAttributes = RESOURCE_ATTRIBUTES.toBuilder();
+    for (int i = 0; i < numExtraResourceAttributes; i++) {
+      resourceAttributes.put(AttributeKey.stringKey("resource.key" + i), "value" + i);
+    }
+    Resource resource = Resource.create(resourceAttributes.build());
+
     spanDataList = new ArrayList<>(numSpans);
     for (int i = 0; i < numSpans; i++) {
-      spanDataList.add(createSpanData());
+      spanDataList.add(createSpanData(resource));
     }
+
+    strings =
+        new String[] {
+          "GET /api/endpoint",
+          "key_bool",
+          "key_string",
+          "key_int",
+          "key_double",
+          "my_event_1",
+          "my_event_2",
+          "my_event_3"
+        };
   }
 
-  private static SpanData createSpanData() {
+  private static SpanData createSpanData(Resource resource) {
     return TestSpanData.builder()
-        .setResource(RESOURCE)
+        .setResource(resource)
         .setInstrumentationLibraryInfo(INSTRUMENTATION_LIBRARY_INFO)
         .setHasEnded(true)
         .setSpanContext(SPAN_CONTEXT)
@@ -0,0 +1,208 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import com.google.protobuf.CodedOutputStream;
+import io.opentelemetry.proto.common.v1.AnyValue;
+import io.opentelemetry.proto.common.v1.ArrayValue;
+import io.opentelemetry.proto.common.v1.KeyValue;
+import io.opentelemetry.proto.common.v1.KeyValueList;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Marshaler of an {@link AnyValue}, such as the body of a log record. Arrays and key-value lists
+ * are marshaled recursively.
+ */
+abstract class AnyValueMarshaler extends MarshalerWithSize {
+
+  static AnyValueMarshaler create(io.opentelemetry.sdk.logging.data.AnyValue value) {
+    switch (value.getType()) {
+      case STRING:
+        return new AnyStringValueMarshaler(MarshalerUtil.toBytes(value.getStringValue()));
+      case BOOL:
+        return new AnyBoolValueMarshaler(value.getBoolValue());
+      case INT64:
+        return new AnyLongValueMarshaler(value.getLongValue());
+      case DOUBLE:
+        return new AnyDoubleValueMarshaler(value.getDoubleValue());
+      case ARRAY:
+        return new AnyArrayValueMarshaler(
+            new ArrayValueMarshaler(createRepeated(value.getArrayValue())));
+      case KVLIST:
+        return new AnyKeyValueListMarshaler(
+            new KeyValueListMarshaler(KeyValueMarshaler.createRepeated(value.getKvlistValue())));
+    }
+    throw new IllegalArgumentException("Unsupported value type.");
+  }
+
+  private static AnyValueMarshaler[] createRepeated(
+      List<io.opentelemetry.sdk.logging.data.AnyValue> values) {
+    AnyValueMarshaler[] marshalers = new AnyValueMarshaler[values.size()];
+    for (int i = 0; i < marshalers.length; i++) {
+      marshalers[i] = create(values.get(i));
+    }
+    return marshalers;
+  }
+
+  private AnyValueMarshaler(int size) {
+    super(size);
+  }
+
+  private static final class AnyStringValueMarshaler extends AnyValueMarshaler {
+    private final byte[] value;
+
+    private AnyStringValueMarshaler(byte[] value) {
+      super(CodedOutputStream.computeByteArraySize(AnyValue.STRING_VALUE_FIELD_NUMBER, value));
+      this.value = value;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      // Do not call MarshalUtil because we always have to write the message tag even if the value
+      // is empty.
+      output.writeByteArray(AnyValue.STRING_VALUE_FIELD_NUMBER, value);
+    }
+  }
+
+  private static final class AnyBoolValueMarshaler extends AnyValueMarshaler {
+    private final boolean value;
+
+    private AnyBoolValueMarshaler(boolean value) {
+      super(CodedOutputStream.computeBoolSize(AnyValue.BOOL_VALUE_FIELD_NUMBER, value));
+      this.value = value;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      // Do not call MarshalUtil because we always have to write the message tag even if the value
+      // is empty.
+      output.writeBool(AnyValue.BOOL_VALUE_FIELD_NUMBER, value);
+    }
+  }
+
+  private static final class AnyLongValueMarshaler extends AnyValueMarshaler {
+    private final long value;
+
+    private AnyLongValueMarshaler(long value) {
+      super(CodedOutputStream.computeInt64Size(AnyValue.INT_VALUE_FIELD_NUMBER, value));
+      this.value = value;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      // Do not call MarshalUtil because we always have to write the message tag even if the value
+      // is empty.
+      output.writeInt64(AnyValue.INT_VALUE_FIELD_NUMBER, value);
+    }
+  }
+
+  private static final class AnyDoubleValueMarshaler extends AnyValueMarshaler {
+    private final double value;
+
+    private AnyDoubleValueMarshaler(double value) {
+      super(CodedOutputStream.computeDoubleSize(AnyValue.DOUBLE_VALUE_FIELD_NUMBER, value));
+      this.value = value;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      // Do not call MarshalUtil because we always have to write the message tag even if the value
+      // is empty.
+      output.writeDouble(AnyValue.DOUBLE_VALUE_FIELD_NUMBER, value);
+    }
+  }
+
+  private static final class AnyArrayValueMarshaler extends AnyValueMarshaler {
+    private final ArrayValueMarshaler arrayValue;
+
+    private AnyArrayValueMarshaler(ArrayValueMarshaler arrayValue) {
+      // The message tag is always written, so that an empty array is not read as an unset value.
+      super(MarshalerUtil.sizeMessage(AnyValue.ARRAY_VALUE_FIELD_NUMBER, arrayValue));
+      this.arrayValue = arrayValue;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalMessage(AnyValue.ARRAY_VALUE_FIELD_NUMBER, arrayValue, output);
+    }
+  }
+
+  private static final class ArrayValueMarshaler extends MarshalerWithSize {
+    private final AnyValueMarshaler[] values;
+
+    private ArrayValueMarshaler(AnyValueMarshaler[] values) {
+      super(MarshalerUtil.sizeRepeatedMessage(ArrayValue.VALUES_FIELD_NUMBER, values));
+      this.values = values;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalRepeatedMessage(ArrayValue.VALUES_FIELD_NUMBER, values, output);
+    }
+  }
+
+  private static final class AnyKeyValueListMarshaler extends AnyValueMarshaler {
+    private final KeyValueListMarshaler kvlistValue;
+
+    private AnyKeyValueListMarshaler(KeyValueListMarshaler kvlistValue) {
+      // The message tag is always written, so that an empty list is not read as an unset value.
+      super(MarshalerUtil.sizeMessage(AnyValue.KVLIST_VALUE_FIELD_NUMBER, kvlistValue));
+      this.kvlistValue = kvlistValue;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalMessage(AnyValue.KVLIST_VALUE_FIELD_NUMBER, kvlistValue, output);
+    }
+  }
+
+  private static final class KeyValueListMarshaler extends MarshalerWithSize {
+    private final KeyValueMarshaler[] values;
+
+    private KeyValueListMarshaler(KeyValueMarshaler[] values) {
+      super(MarshalerUtil.sizeRepeatedMessage(KeyValueList.VALUES_FIELD_NUMBER, values));
+      this.values = values;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalRepeatedMessage(KeyValueList.VALUES_FIELD_NUMBER, values, output);
+    }
+  }
+
+  private static final class KeyValueMarshaler extends MarshalerWithSize {
+    private final byte[] key;
+    private final AnyValueMarshaler value;
+
+    private static KeyValueMarshaler[] createRepeated(
+        Map<String, io.opentelemetry.sdk.logging.data.AnyValue> values) {
+      KeyValueMarshaler[] marshalers = new KeyValueMarshaler[values.size()];
+      int pos = 0;
+      for (Map.Entry<String, io.opentelemetry.sdk.logging.data.AnyValue> entry :
+          values.entrySet()) {
+        marshalers[pos++] =
+            new KeyValueMarshaler(Utf8Cache.toBytes(entry.getKey()), create(entry.getValue()));
+      }
+      return marshalers;
+    }
+
+    private KeyValueMarshaler(byte[] key, AnyValueMarshaler value) {
+      super(
+          MarshalerUtil.sizeBytes(KeyValue.KEY_FIELD_NUMBER, key)
+              + MarshalerUtil.sizeMessage(KeyValue.VALUE_FIELD_NUMBER, value));
+      this.key = key;
+      this.value = value;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalBytes(KeyValue.KEY_FIELD_NUMBER, key, output);
+      MarshalerUtil.marshalMessage(KeyValue.VALUE_FIELD_NUMBER, value, output);
+    }
+  }
+}
@@ -3,12 +3,13 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
-package io.opentelemetry.exporter.otlp.trace;
+package io.opentelemetry.exporter.otlp.internal;
 
 import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.WireFormat;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.common.Labels;
 import io.opentelemetry.proto.common.v1.AnyValue;
 import io.opentelemetry.proto.common.v1.ArrayValue;
 import io.opentelemetry.proto.common.v1.KeyValue;
@@ -40,9 +41,28 @@ abstract class AttributeMarshaler extends MarshalerWithSize {
     return attributeMarshalers;
   }
 
+  static AttributeMarshaler[] createRepeated(Labels labels) {
+    if (labels.isEmpty()) {
+      return EMPTY_REPEATED;
+    }
+
+    AttributeMarshaler[] attributeMarshalers = new AttributeMarshaler[labels.size()];
+    labels.forEach(
+        new BiConsumer<String, String>() {
+          int index = 0;
+
+          @Override
+          public void accept(String key, String value) {
+            attributeMarshalers[index++] =
+                new KeyValueStringMarshaler(Utf8Cache.toBytes(key), MarshalerUtil.toBytes(value));
+          }
+        });
+    return attributeMarshalers;
+  }
+
   @SuppressWarnings("unchecked")
   static AttributeMarshaler create(AttributeKey<?> attributeKey, Object value) {
-    byte[] key = MarshalerUtil.toBytes(attributeKey.getKey());
+    byte[] key = Utf8Cache.toBytes(attributeKey.getKey());
     if (value == null) {
       return new KeyValueNullMarshaler(key);
     }
@@ -0,0 +1,39 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import io.grpc.Status;
+
+/**
+ * Utilities for interpreting the gRPC status of OTLP export calls.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class GrpcStatusUtil {
+
+  /**
+   * Returns whether an export call that failed with the given status may be retried, per the OTLP
+   * specification. {@code RESOURCE_EXHAUSTED} is retried with backoff like HTTP status 429, since
+   * retry information sent by the server is not interpreted.
+   */
+  public static boolean isRetryable(Status status) {
+    switch (status.getCode()) {
+      case CANCELLED:
+      case DEADLINE_EXCEEDED:
+      case RESOURCE_EXHAUSTED:
+      case ABORTED:
+      case OUT_OF_RANGE:
+      case UNAVAILABLE:
+      case DATA_LOSS:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private GrpcStatusUtil() {}
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+/**
+ * Utilities for interpreting the HTTP status of OTLP/HTTP export requests.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class HttpStatusUtil {
+
+  /**
+   * Returns whether an export request that failed with the given HTTP status code may be retried,
+   * per the OTLP specification.
+   */
+  public static boolean isRetryable(int statusCode) {
+    switch (statusCode) {
+      case 429: // Too Many Requests
+      case 502: // Bad Gateway
+      case 503: // Service Unavailable
+      case 504: // Gateway Timeout
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private HttpStatusUtil() {}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import com.google.protobuf.CodedOutputStream;
+import io.opentelemetry.context.internal.shaded.WeakConcurrentMap;
+import io.opentelemetry.proto.common.v1.InstrumentationLibrary;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import java.io.IOException;
+
+/**
+ * Marshaler of an {@link InstrumentationLibrary}. The marshaler of each {@link
+ * InstrumentationLibraryInfo} is cached with its serialized bytes, which are written as is.
+ */
+final class InstrumentationLibraryMarshaler extends MarshalerWithSize {
+
+  private static final WeakConcurrentMap<
+          InstrumentationLibraryInfo, InstrumentationLibraryMarshaler>
+      LIBRARY_MARSHALER_CACHE = new WeakConcurrentMap.WithInlinedExpunction<>();
+
+  private final byte[] serializedLibrary;
+
+  static InstrumentationLibraryMarshaler create(InstrumentationLibraryInfo libraryInfo) {
+    InstrumentationLibraryMarshaler cached = LIBRARY_MARSHALER_CACHE.get(libraryInfo);
+    if (cached == null) {
+      // Since WeakConcurrentMap doesn't support computeIfAbsent, we may end up doing the conversion
+      // a few times until the cache gets filled which is fine.
+      byte[] name = MarshalerUtil.toBytes(libraryInfo.getName());
+      byte[] version = MarshalerUtil.toBytes(libraryInfo.getVersion());
+      cached = new InstrumentationLibraryMarshaler(serialize(name, version));
+      LIBRARY_MARSHALER_CACHE.put(libraryInfo, cached);
+    }
+    return cached;
+  }
+
+  private InstrumentationLibraryMarshaler(byte[] serializedLibrary) {
+    super(serializedLibrary.length);
+    this.serializedLibrary = serializedLibrary;
+  }
+
+  @Override
+  public void writeTo(CodedOutputStream output) throws IOException {
+    output.writeRawBytes(serializedLibrary);
+  }
+
+  private static byte[] serialize(byte[] name, byte[] version) {
+    int size =
+        MarshalerUtil.sizeBytes(InstrumentationLibrary.NAME_FIELD_NUMBER, name)
+            + MarshalerUtil.sizeBytes(InstrumentationLibrary.VERSION_FIELD_NUMBER, version);
+    byte[] serialized = new byte[size];
+    CodedOutputStream output = CodedOutputStream.newInstance(serialized);
+    try {
+      MarshalerUtil.marshalBytes(InstrumentationLibrary.NAME_FIELD_NUMBER, name, output);
+      MarshalerUtil.marshalBytes(InstrumentationLibrary.VERSION_FIELD_NUMBER, version, output);
+    } catch (IOException e) {
+      // Presumably unreachable, as the output is an array of the exact size of the message.
+      throw new IllegalStateException("Serializing to a byte array threw an IOException", e);
+    }
+    output.checkNoSpaceLeft();
+    return serialized;
+  }
+}
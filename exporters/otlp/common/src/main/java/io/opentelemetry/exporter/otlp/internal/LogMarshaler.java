@@ -0,0 +1,117 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import com.google.protobuf.CodedOutputStream;
+import io.opentelemetry.api.internal.OtelEncodingUtils;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.api.trace.TraceId;
+import io.opentelemetry.proto.logs.v1.LogRecord;
+import java.io.IOException;
+
+/** Marshaler of a {@link LogRecord}. */
+final class LogMarshaler extends MarshalerWithSize {
+  private final long timeUnixNano;
+  private final int severityNumber;
+  private final byte[] severityText;
+  private final byte[] name;
+  private final AnyValueMarshaler bodyMarshaler;
+  private final AttributeMarshaler[] attributeMarshalers;
+  private final int flags;
+  private final byte[] traceId;
+  private final byte[] spanId;
+
+  // Because LogMarshaler is always part of a repeated field, it cannot return "null".
+  static LogMarshaler create(io.opentelemetry.sdk.logging.data.LogRecord logRecord) {
+    // The trace context of a log record is optional, and is only exported if it is valid.
+    String traceId = logRecord.getTraceId();
+    String spanId = logRecord.getSpanId();
+    return new LogMarshaler(
+        logRecord.getTimeUnixNano(),
+        logRecord.getSeverity().getSeverityNumber(),
+        MarshalerUtil.toBytes(logRecord.getSeverityText()),
+        Utf8Cache.toBytes(logRecord.getName()),
+        AnyValueMarshaler.create(logRecord.getBody()),
+        AttributeMarshaler.createRepeated(logRecord.getAttributes()),
+        logRecord.getFlags(),
+        TraceId.isValid(traceId)
+            ? OtelEncodingUtils.bytesFromBase16(traceId, TraceId.getLength())
+            : MarshalerUtil.EMPTY_BYTES,
+        SpanId.isValid(spanId)
+            ? OtelEncodingUtils.bytesFromBase16(spanId, SpanId.getLength())
+            : MarshalerUtil.EMPTY_BYTES);
+  }
+
+  private LogMarshaler(
+      long timeUnixNano,
+      int severityNumber,
+      byte[] severityText,
+      byte[] name,
+      AnyValueMarshaler bodyMarshaler,
+      AttributeMarshaler[] attributeMarshalers,
+      int flags,
+      byte[] traceId,
+      byte[] spanId) {
+    super(
+        calculateSize(
+            timeUnixNano,
+            severityNumber,
+            severityText,
+            name,
+            bodyMarshaler,
+            attributeMarshalers,
+            flags,
+            traceId,
+            spanId));
+    this.timeUnixNano = timeUnixNano;
+    this.severityNumber = severityNumber;
+    this.severityText = severityText;
+    this.name = name;
+    this.bodyMarshaler = bodyMarshaler;
+    this.attributeMarshalers = attributeMarshalers;
+    this.flags = flags;
+    this.traceId = traceId;
+    this.spanId = spanId;
+  }
+
+  @Override
+  public void writeTo(CodedOutputStream output) throws IOException {
+    MarshalerUtil.marshalFixed64(LogRecord.TIME_UNIX_NANO_FIELD_NUMBER, timeUnixNano, output);
+    MarshalerUtil.marshalEnum(LogRecord.SEVERITY_NUMBER_FIELD_NUMBER, severityNumber, output);
+    MarshalerUtil.marshalBytes(LogRecord.SEVERITY_TEXT_FIELD_NUMBER, severityText, output);
+    MarshalerUtil.marshalBytes(LogRecord.NAME_FIELD_NUMBER, name, output);
+    MarshalerUtil.marshalMessage(LogRecord.BODY_FIELD_NUMBER, bodyMarshaler, output);
+    MarshalerUtil.marshalRepeatedMessage(
+        LogRecord.ATTRIBUTES_FIELD_NUMBER, attributeMarshalers, output);
+    MarshalerUtil.marshalFixed32(LogRecord.FLAGS_FIELD_NUMBER, flags, output);
+    MarshalerUtil.marshalBytes(LogRecord.TRACE_ID_FIELD_NUMBER, traceId, output);
+    MarshalerUtil.marshalBytes(LogRecord.SPAN_ID_FIELD_NUMBER, spanId, output);
+  }
+
+  private static int calculateSize(
+      long timeUnixNano,
+      int severityNumber,
+      byte[] severityText,
+      byte[] name,
+      AnyValueMarshaler bodyMarshaler,
+      AttributeMarshaler[] attributeMarshalers,
+      int flags,
+      byte[] traceId,
+      byte[] spanId) {
+    int size = 0;
+    size += MarshalerUtil.sizeFixed64(LogRecord.TIME_UNIX_NANO_FIELD_NUMBER, timeUnixNano);
+    size += MarshalerUtil.sizeEnum(LogRecord.SEVERITY_NUMBER_FIELD_NUMBER, severityNumber);
+    size += MarshalerUtil.sizeBytes(LogRecord.SEVERITY_TEXT_FIELD_NUMBER, severityText);
+    size += MarshalerUtil.sizeBytes(LogRecord.NAME_FIELD_NUMBER, name);
+    size += MarshalerUtil.sizeMessage(LogRecord.BODY_FIELD_NUMBER, bodyMarshaler);
+    size +=
+        MarshalerUtil.sizeRepeatedMessage(LogRecord.ATTRIBUTES_FIELD_NUMBER, attributeMarshalers);
+    size += MarshalerUtil.sizeFixed32(LogRecord.FLAGS_FIELD_NUMBER, flags);
+    size += MarshalerUtil.sizeBytes(LogRecord.TRACE_ID_FIELD_NUMBER, traceId);
+    size += MarshalerUtil.sizeBytes(LogRecord.SPAN_ID_FIELD_NUMBER, spanId);
+    return size;
+  }
+}
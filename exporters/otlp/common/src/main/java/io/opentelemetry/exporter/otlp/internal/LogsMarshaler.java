@@ -0,0 +1,149 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnknownFieldSet;
+import io.opentelemetry.proto.collector.logs.v1.ExportLogsServiceRequest;
+import io.opentelemetry.proto.logs.v1.InstrumentationLibraryLogs;
+import io.opentelemetry.proto.logs.v1.ResourceLogs;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.logging.data.LogRecord;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Marshaler of {@link LogRecord}s directly to the OTLP protobuf wire format, without creating
+ * intermediate protobuf messages.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class LogsMarshaler {
+
+  /** Marshaler of an {@link ExportLogsServiceRequest}. */
+  public static final class RequestMarshaler extends MarshalerWithSize {
+    private final ResourceLogsMarshaler[] resourceLogsMarshalers;
+
+    /**
+     * Returns a {@link RequestMarshaler} for the given log records. Log records do not carry the
+     * resource or the instrumentation library that emitted them, so the records are all exported
+     * with the given {@code resource} and an empty instrumentation library.
+     */
+    public static RequestMarshaler create(Resource resource, Collection<LogRecord> logs) {
+      LogMarshaler[] logMarshalers = new LogMarshaler[logs.size()];
+      int pos = 0;
+      for (LogRecord log : logs) {
+        logMarshalers[pos++] = LogMarshaler.create(log);
+      }
+
+      InstrumentationLibraryLogsMarshaler instrumentationLibraryLogsMarshaler =
+          new InstrumentationLibraryLogsMarshaler(
+              InstrumentationLibraryMarshaler.create(InstrumentationLibraryInfo.empty()),
+              logMarshalers);
+      return new RequestMarshaler(
+          new ResourceLogsMarshaler[] {
+            new ResourceLogsMarshaler(
+                ResourceMarshaler.create(resource),
+                new InstrumentationLibraryLogsMarshaler[] {instrumentationLibraryLogsMarshaler})
+          });
+    }
+
+    private RequestMarshaler(ResourceLogsMarshaler[] resourceLogsMarshalers) {
+      super(
+          MarshalerUtil.sizeRepeatedMessage(
+              ExportLogsServiceRequest.RESOURCE_LOGS_FIELD_NUMBER, resourceLogsMarshalers));
+      this.resourceLogsMarshalers = resourceLogsMarshalers;
+    }
+
+    /** Returns the {@link ExportLogsServiceRequest} equivalent of this marshaler. */
+    public ExportLogsServiceRequest toRequest() throws IOException {
+      byte[] buf = new byte[getSerializedSize()];
+      writeTo(CodedOutputStream.newInstance(buf));
+      return ExportLogsServiceRequest.newBuilder()
+          .setUnknownFields(UnknownFieldSet.newBuilder().mergeFrom(buf).build())
+          .build();
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalRepeatedMessage(
+          ExportLogsServiceRequest.RESOURCE_LOGS_FIELD_NUMBER, resourceLogsMarshalers, output);
+    }
+  }
+
+  private static final class ResourceLogsMarshaler extends MarshalerWithSize {
+    private final ResourceMarshaler resourceMarshaler;
+    private final InstrumentationLibraryLogsMarshaler[] instrumentationLibraryLogsMarshalers;
+
+    private ResourceLogsMarshaler(
+        ResourceMarshaler resourceMarshaler,
+        InstrumentationLibraryLogsMarshaler[] instrumentationLibraryLogsMarshalers) {
+      super(calculateSize(resourceMarshaler, instrumentationLibraryLogsMarshalers));
+      this.resourceMarshaler = resourceMarshaler;
+      this.instrumentationLibraryLogsMarshalers = instrumentationLibraryLogsMarshalers;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalMessage(ResourceLogs.RESOURCE_FIELD_NUMBER, resourceMarshaler, output);
+      MarshalerUtil.marshalRepeatedMessage(
+          ResourceLogs.INSTRUMENTATION_LIBRARY_LOGS_FIELD_NUMBER,
+          instrumentationLibraryLogsMarshalers,
+          output);
+    }
+
+    private static int calculateSize(
+        ResourceMarshaler resourceMarshaler,
+        InstrumentationLibraryLogsMarshaler[] instrumentationLibraryLogsMarshalers) {
+      int size = 0;
+      size += MarshalerUtil.sizeMessage(ResourceLogs.RESOURCE_FIELD_NUMBER, resourceMarshaler);
+      size +=
+          MarshalerUtil.sizeRepeatedMessage(
+              ResourceLogs.INSTRUMENTATION_LIBRARY_LOGS_FIELD_NUMBER,
+              instrumentationLibraryLogsMarshalers);
+      return size;
+    }
+  }
+
+  private static final class InstrumentationLibraryLogsMarshaler extends MarshalerWithSize {
+    private final InstrumentationLibraryMarshaler instrumentationLibrary;
+    private final LogMarshaler[] logMarshalers;
+
+    private InstrumentationLibraryLogsMarshaler(
+        InstrumentationLibraryMarshaler instrumentationLibrary, LogMarshaler[] logMarshalers) {
+      super(calculateSize(instrumentationLibrary, logMarshalers));
+      this.instrumentationLibrary = instrumentationLibrary;
+      this.logMarshalers = logMarshalers;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalMessage(
+          InstrumentationLibraryLogs.INSTRUMENTATION_LIBRARY_FIELD_NUMBER,
+          instrumentationLibrary,
+          output);
+      MarshalerUtil.marshalRepeatedMessage(
+          InstrumentationLibraryLogs.LOGS_FIELD_NUMBER, logMarshalers, output);
+    }
+
+    private static int calculateSize(
+        InstrumentationLibraryMarshaler instrumentationLibrary, LogMarshaler[] logMarshalers) {
+      int size = 0;
+      size +=
+          MarshalerUtil.sizeMessage(
+              InstrumentationLibraryLogs.INSTRUMENTATION_LIBRARY_FIELD_NUMBER,
+              instrumentationLibrary);
+      size +=
+          MarshalerUtil.sizeRepeatedMessage(
+              InstrumentationLibraryLogs.LOGS_FIELD_NUMBER, logMarshalers);
+      return size;
+    }
+  }
+
+  private LogsMarshaler() {}
+}
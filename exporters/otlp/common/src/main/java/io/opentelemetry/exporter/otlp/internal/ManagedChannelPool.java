@@ -0,0 +1,386 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.opentelemetry.api.internal.GuardedBy;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ManagedChannel} that spreads calls over a pool of channels, each with its own
+ * connection, so that a single HTTP/2 connection to a collector behind an L4 load balancer does not
+ * bound the export throughput. Calls are sent to the channels of the pool in turn, or to the
+ * channel with the fewest outstanding calls.
+ *
+ * <p>Exporters that configure the same channels share a pool, which they lease with {@link
+ * #acquire(Object, int, String, Supplier)}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ManagedChannelPool extends ManagedChannel {
+
+  /** Sends calls to the channels of the pool in turn. */
+  public static final String ROUND_ROBIN = "round_robin";
+
+  /** Sends each call to the channel of the pool with the fewest outstanding calls. */
+  public static final String LEAST_OUTSTANDING = "least_outstanding";
+
+  private static final Object lock = new Object();
+
+  @GuardedBy("lock")
+  private static final Map<List<Object>, ManagedChannelPool> sharedPools = new HashMap<>();
+
+  private final List<ManagedChannel> channels;
+  private final boolean leastOutstanding;
+  private final AtomicInteger nextChannel = new AtomicInteger();
+  private final AtomicIntegerArray outstandingCalls;
+
+  @GuardedBy("lock")
+  private int leases;
+
+  /** Returns whether {@code selectionPolicy} is a supported policy of selecting channels. */
+  public static boolean isSupportedSelectionPolicy(String selectionPolicy) {
+    return selectionPolicy.equals(ROUND_ROBIN) || selectionPolicy.equals(LEAST_OUTSTANDING);
+  }
+
+  /**
+   * Returns the key identifying channels built with the given configuration, which exporters pass
+   * to {@link #acquire(Object, int, String, Supplier)} to share the pool of their channels.
+   */
+  public static Object channelKey(
+      URI endpoint,
+      @Nullable Metadata headers,
+      @Nullable byte[] trustedCertificatesPem,
+      @Nullable String loadBalancingPolicy) {
+    return Arrays.asList(
+        endpoint,
+        // Metadata does not implement equals, but its string representation has all the headers.
+        headers != null ? headers.toString() : null,
+        trustedCertificatesPem != null ? ByteBuffer.wrap(trustedCertificatesPem) : null,
+        loadBalancingPolicy);
+  }
+
+  /**
+   * Returns a lease of the pool of {@code poolSize} channels configured as identified by {@code
+   * channelKey}, creating the pool with channels from {@code channelFactory} unless another
+   * exporter already leases it. Shutting down the returned channel releases the lease, and the
+   * pool is shut down once all its leases are released.
+   */
+  public static ManagedChannel acquire(
+      Object channelKey,
+      int poolSize,
+      String selectionPolicy,
+      Supplier<ManagedChannel> channelFactory) {
+    List<Object> poolKey = Arrays.asList(channelKey, poolSize, selectionPolicy);
+    synchronized (lock) {
+      ManagedChannelPool pool = sharedPools.get(poolKey);
+      if (pool == null) {
+        pool = new ManagedChannelPool(createChannels(poolSize, channelFactory), selectionPolicy);
+        sharedPools.put(poolKey, pool);
+      }
+      pool.leases++;
+      return new Lease(poolKey, pool);
+    }
+  }
+
+  // Shuts down the channels already created if creating the next one fails, so that a failing
+  // factory does not leak connections.
+  private static List<ManagedChannel> createChannels(
+      int poolSize, Supplier<ManagedChannel> channelFactory) {
+    List<ManagedChannel> channels = new ArrayList<>(poolSize);
+    try {
+      for (int i = 0; i < poolSize; i++) {
+        channels.add(channelFactory.get());
+      }
+    } catch (RuntimeException | Error e) {
+      for (ManagedChannel channel : channels) {
+        channel.shutdownNow();
+      }
+      throw e;
+    }
+    return channels;
+  }
+
+  // Visible for testing
+  ManagedChannelPool(List<ManagedChannel> channels, String selectionPolicy) {
+    this.channels = channels;
+    this.leastOutstanding = selectionPolicy.equals(LEAST_OUTSTANDING);
+    this.outstandingCalls = new AtomicIntegerArray(channels.size());
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+      MethodDescriptor<ReqT, RespT> methodDescriptor, CallOptions callOptions) {
+    if (!leastOutstanding) {
+      int index = Math.floorMod(nextChannel.getAndIncrement(), channels.size());
+      return channels.get(index).newCall(methodDescriptor, callOptions);
+    }
+    int index = leastOutstandingChannel();
+    return new CountingClientCall<>(
+        channels.get(index).newCall(methodDescriptor, callOptions), index);
+  }
+
+  // Starts from the next channel in turn, so that channels with as few outstanding calls as each
+  // other are all used.
+  private int leastOutstandingChannel() {
+    int size = channels.size();
+    int start = Math.floorMod(nextChannel.getAndIncrement(), size);
+    int leastIndex = start;
+    int leastCount = outstandingCalls.get(start);
+    for (int i = 1; i < size && leastCount > 0; i++) {
+      int index = (start + i) % size;
+      int count = outstandingCalls.get(index);
+      if (count < leastCount) {
+        leastIndex = index;
+        leastCount = count;
+      }
+    }
+    return leastIndex;
+  }
+
+  @Override
+  public String authority() {
+    return channels.get(0).authority();
+  }
+
+  @Override
+  public ManagedChannel shutdown() {
+    for (ManagedChannel channel : channels) {
+      channel.shutdown();
+    }
+    return this;
+  }
+
+  @Override
+  public ManagedChannel shutdownNow() {
+    for (ManagedChannel channel : channels) {
+      channel.shutdownNow();
+    }
+    return this;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    for (ManagedChannel channel : channels) {
+      if (!channel.isShutdown()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    for (ManagedChannel channel : channels) {
+      if (!channel.isTerminated()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+    for (ManagedChannel channel : channels) {
+      if (!channel.awaitTermination(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the state of the first channel of the pool. If {@code requestConnection} is {@code
+   * true}, all the channels of the pool connect.
+   */
+  @Override
+  public ConnectivityState getState(boolean requestConnection) {
+    ConnectivityState state = channels.get(0).getState(requestConnection);
+    if (requestConnection) {
+      for (int i = 1; i < channels.size(); i++) {
+        channels.get(i).getState(true);
+      }
+    }
+    return state;
+  }
+
+  /** Notifies {@code callback} when the state of the first channel of the pool changes. */
+  @Override
+  public void notifyWhenStateChanged(ConnectivityState source, Runnable callback) {
+    channels.get(0).notifyWhenStateChanged(source, callback);
+  }
+
+  // Visible for testing
+  static int sharedPoolCount() {
+    synchronized (lock) {
+      return sharedPools.size();
+    }
+  }
+
+  private final class CountingClientCall<ReqT, RespT>
+      extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+    private final int index;
+
+    private CountingClientCall(ClientCall<ReqT, RespT> delegate, int index) {
+      super(delegate);
+      this.index = index;
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      outstandingCalls.incrementAndGet(index);
+      super.start(
+          new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+              responseListener) {
+            @Override
+            public void onClose(Status status, Metadata trailers) {
+              outstandingCalls.decrementAndGet(index);
+              super.onClose(status, trailers);
+            }
+          },
+          headers);
+    }
+  }
+
+  /** A lease of a shared pool, which is released when the lease is shut down. */
+  private static final class Lease extends ManagedChannel {
+    private final List<Object> poolKey;
+    private final ManagedChannelPool pool;
+    private final AtomicBoolean released = new AtomicBoolean();
+    // Whether releasing this lease shut down the pool, as it was the last lease of the pool.
+    private volatile boolean shutDownPool;
+
+    private Lease(List<Object> poolKey, ManagedChannelPool pool) {
+      this.poolKey = poolKey;
+      this.pool = pool;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+        MethodDescriptor<ReqT, RespT> methodDescriptor, CallOptions callOptions) {
+      if (released.get()) {
+        return new ShutdownClientCall<>();
+      }
+      return pool.newCall(methodDescriptor, callOptions);
+    }
+
+    @Override
+    public String authority() {
+      return pool.authority();
+    }
+
+    @Override
+    public ManagedChannel shutdown() {
+      release(/* now= */ false);
+      return this;
+    }
+
+    @Override
+    public ManagedChannel shutdownNow() {
+      release(/* now= */ true);
+      return this;
+    }
+
+    private void release(boolean now) {
+      if (released.compareAndSet(false, true)) {
+        synchronized (lock) {
+          if (--pool.leases == 0) {
+            sharedPools.remove(poolKey);
+            shutDownPool = true;
+          }
+        }
+      }
+      if (shutDownPool) {
+        if (now) {
+          pool.shutdownNow();
+        } else {
+          pool.shutdown();
+        }
+      }
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return released.get();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return released.get() && (!shutDownPool || pool.isTerminated());
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      if (shutDownPool) {
+        return pool.awaitTermination(timeout, unit);
+      }
+      return isTerminated();
+    }
+
+    @Override
+    public ConnectivityState getState(boolean requestConnection) {
+      if (released.get()) {
+        return ConnectivityState.SHUTDOWN;
+      }
+      return pool.getState(requestConnection);
+    }
+
+    @Override
+    public void notifyWhenStateChanged(ConnectivityState source, Runnable callback) {
+      if (released.get()) {
+        // SHUTDOWN is the final state.
+        if (source != ConnectivityState.SHUTDOWN) {
+          callback.run();
+        }
+        return;
+      }
+      pool.notifyWhenStateChanged(source, callback);
+    }
+  }
+
+  /** A call of a released lease, which fails like the calls of a shut down channel. */
+  private static final class ShutdownClientCall<ReqT, RespT> extends ClientCall<ReqT, RespT> {
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      responseListener.onClose(
+          Status.UNAVAILABLE.withDescription("Channel shutdown invoked"), new Metadata());
+    }
+
+    @Override
+    public void request(int numMessages) {}
+
+    @Override
+    public void cancel(@Nullable String message, @Nullable Throwable cause) {}
+
+    @Override
+    public void halfClose() {}
+
+    @Override
+    public void sendMessage(ReqT message) {}
+  }
+}
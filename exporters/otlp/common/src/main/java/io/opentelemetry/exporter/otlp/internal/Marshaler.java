@@ -0,0 +1,21 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
+
+/**
+ * Marshaler from an SDK structure to protobuf wire format.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface Marshaler {
+  void writeTo(CodedOutputStream output) throws IOException;
+
+  int getSerializedSize();
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import com.google.protobuf.CodedOutputStream;
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import javax.annotation.Nullable;
+
+/**
+ * An {@link InputStream} of the serialized bytes of a {@link Marshaler}, for a gRPC {@link
+ * io.grpc.MethodDescriptor.Marshaller}. gRPC drains the stream into its own buffers, so that the
+ * message is written directly to the transport, without an intermediate protobuf message or byte
+ * array.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class MarshalerInputStream extends InputStream implements Drainable, KnownLength {
+
+  private static final int MAX_BUFFER_SIZE = 4096;
+
+  // Set to null once the message has been written, or copied to partial.
+  @Nullable private Marshaler message;
+  @Nullable private ByteArrayInputStream partial;
+
+  /** Creates a new {@link MarshalerInputStream} of the given {@link Marshaler}. */
+  public MarshalerInputStream(Marshaler message) {
+    this.message = message;
+  }
+
+  @Override
+  public int drainTo(OutputStream target) throws IOException {
+    int written;
+    if (message != null) {
+      written = message.getSerializedSize();
+      CodedOutputStream output =
+          CodedOutputStream.newInstance(target, Math.min(written, MAX_BUFFER_SIZE));
+      message.writeTo(output);
+      output.flush();
+      message = null;
+    } else if (partial != null) {
+      written = 0;
+      byte[] buffer = new byte[MAX_BUFFER_SIZE];
+      int read;
+      while ((read = partial.read(buffer)) != -1) {
+        target.write(buffer, 0, read);
+        written += read;
+      }
+      partial = null;
+    } else {
+      written = 0;
+    }
+    return written;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (message != null) {
+      partial = new ByteArrayInputStream(toByteArray(message));
+      message = null;
+    }
+    if (partial != null) {
+      return partial.read();
+    }
+    return -1;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (message != null) {
+      int size = message.getSerializedSize();
+      if (size == 0) {
+        message = null;
+        partial = null;
+        return -1;
+      }
+      if (len >= size) {
+        // The whole message fits, write it without an intermediate copy.
+        CodedOutputStream output = CodedOutputStream.newInstance(b, off, size);
+        message.writeTo(output);
+        output.checkNoSpaceLeft();
+        message = null;
+        partial = null;
+        return size;
+      }
+      partial = new ByteArrayInputStream(toByteArray(message));
+      message = null;
+    }
+    if (partial != null) {
+      return partial.read(b, off, len);
+    }
+    return -1;
+  }
+
+  @Override
+  public int available() {
+    if (message != null) {
+      return message.getSerializedSize();
+    } else if (partial != null) {
+      return partial.available();
+    }
+    return 0;
+  }
+
+  private static byte[] toByteArray(Marshaler message) throws IOException {
+    byte[] bytes = new byte[message.getSerializedSize()];
+    CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+    message.writeTo(output);
+    output.checkNoSpaceLeft();
+    return bytes;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import com.google.protobuf.CodedOutputStream;
+import java.io.IOException;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/**
+ * An OkHttp {@link RequestBody} of the serialized bytes of a {@link Marshaler}, for OTLP/HTTP in
+ * the binary protobuf encoding. The marshaler writes directly to the sink of the request, which is
+ * backed by the pooled segments of Okio, so that no byte array of the whole request is allocated.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class MarshalerRequestBody extends RequestBody {
+
+  private static final MediaType PROTOBUF_MEDIA_TYPE = MediaType.get("application/x-protobuf");
+  private static final int MAX_BUFFER_SIZE = 4096;
+
+  private final Marshaler marshaler;
+
+  /**
+   * Returns a {@link RequestBody} writing the given {@link Marshaler}, compressed with gzip if
+   * {@code gzip} is {@code true}. A compressed request must be sent with a {@code
+   * Content-Encoding: gzip} header.
+   */
+  public static RequestBody create(Marshaler marshaler, boolean gzip) {
+    RequestBody body = new MarshalerRequestBody(marshaler);
+    return gzip ? new GzipRequestBody(body) : body;
+  }
+
+  private MarshalerRequestBody(Marshaler marshaler) {
+    this.marshaler = marshaler;
+  }
+
+  @Override
+  public MediaType contentType() {
+    return PROTOBUF_MEDIA_TYPE;
+  }
+
+  @Override
+  public long contentLength() {
+    return marshaler.getSerializedSize();
+  }
+
+  @Override
+  public void writeTo(BufferedSink sink) throws IOException {
+    CodedOutputStream output =
+        CodedOutputStream.newInstance(
+            sink.outputStream(), Math.min(marshaler.getSerializedSize(), MAX_BUFFER_SIZE));
+    marshaler.writeTo(output);
+    output.flush();
+  }
+
+  private static final class GzipRequestBody extends RequestBody {
+    private final RequestBody delegate;
+
+    private GzipRequestBody(RequestBody delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public MediaType contentType() {
+      return delegate.contentType();
+    }
+
+    @Override
+    public long contentLength() {
+      // Unknown until compressed, the request is sent with chunked encoding.
+      return -1;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      BufferedSink gzipSink = Okio.buffer(new GzipSink(sink));
+      delegate.writeTo(gzipSink);
+      gzipSink.close();
+    }
+  }
+}
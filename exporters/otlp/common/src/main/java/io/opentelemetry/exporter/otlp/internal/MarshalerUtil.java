@@ -3,7 +3,7 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
-package io.opentelemetry.exporter.otlp.trace;
+package io.opentelemetry.exporter.otlp.internal;
 
 import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.WireFormat;
@@ -14,6 +14,8 @@ import javax.annotation.Nullable;
 
 final class MarshalerUtil {
   static final byte[] EMPTY_BYTES = new byte[0];
+  private static final int FIXED64_SIZE = 8;
+  private static final int MAX_VARINT32_SIZE = 5;
 
   static <T extends Marshaler> void marshalRepeatedMessage(
       int fieldNumber, T[] repeatedMessage, CodedOutputStream output) throws IOException {
@@ -45,6 +47,14 @@ final class MarshalerUtil {
     output.writeUInt32(fieldNumber, message);
   }
 
+  static void marshalFixed32(int fieldNumber, int message, CodedOutputStream output)
+      throws IOException {
+    if (message == 0) {
+      return;
+    }
+    output.writeFixed32(fieldNumber, message);
+  }
+
   static void marshalFixed64(int fieldNumber, long message, CodedOutputStream output)
       throws IOException {
     if (message == 0L) {
@@ -53,6 +63,54 @@ final class MarshalerUtil {
     output.writeFixed64(fieldNumber, message);
   }
 
+  static void marshalDouble(int fieldNumber, double message, CodedOutputStream output)
+      throws IOException {
+    if (Double.doubleToRawLongBits(message) == 0L) {
+      return;
+    }
+    output.writeDouble(fieldNumber, message);
+  }
+
+  static void marshalBool(int fieldNumber, boolean message, CodedOutputStream output)
+      throws IOException {
+    if (!message) {
+      return;
+    }
+    output.writeBool(fieldNumber, message);
+  }
+
+  static void marshalEnum(int fieldNumber, int message, CodedOutputStream output)
+      throws IOException {
+    if (message == 0) {
+      return;
+    }
+    output.writeEnum(fieldNumber, message);
+  }
+
+  static void marshalRepeatedFixed64(
+      int fieldNumber, List<Long> repeatedMessage, CodedOutputStream output) throws IOException {
+    if (repeatedMessage.isEmpty()) {
+      return;
+    }
+    output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    output.writeUInt32NoTag(FIXED64_SIZE * repeatedMessage.size());
+    for (long value : repeatedMessage) {
+      output.writeFixed64NoTag(value);
+    }
+  }
+
+  static void marshalRepeatedDouble(
+      int fieldNumber, List<Double> repeatedMessage, CodedOutputStream output) throws IOException {
+    if (repeatedMessage.isEmpty()) {
+      return;
+    }
+    output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    output.writeUInt32NoTag(FIXED64_SIZE * repeatedMessage.size());
+    for (double value : repeatedMessage) {
+      output.writeDoubleNoTag(value);
+    }
+  }
+
   static void marshalBytes(int fieldNumber, byte[] message, CodedOutputStream output)
       throws IOException {
     if (message.length == 0) {
@@ -88,6 +146,12 @@ final class MarshalerUtil {
         + fieldSize;
   }
 
+  // An upper bound of the size of the tag and length prefix of a message field, for when the size
+  // of the message itself is not yet known.
+  static int sizeMessageHeaderUpperBound(int fieldNumber) {
+    return CodedOutputStream.computeTagSize(fieldNumber) + MAX_VARINT32_SIZE;
+  }
+
   static int sizeUInt32(int fieldNumber, int message) {
     if (message == 0) {
       return 0;
@@ -95,6 +159,13 @@ final class MarshalerUtil {
     return CodedOutputStream.computeUInt32Size(fieldNumber, message);
   }
 
+  static int sizeFixed32(int fieldNumber, int message) {
+    if (message == 0) {
+      return 0;
+    }
+    return CodedOutputStream.computeFixed32Size(fieldNumber, message);
+  }
+
   static int sizeFixed64(int fieldNumber, long message) {
     if (message == 0L) {
       return 0;
@@ -102,6 +173,45 @@ final class MarshalerUtil {
     return CodedOutputStream.computeFixed64Size(fieldNumber, message);
   }
 
+  static int sizeDouble(int fieldNumber, double message) {
+    if (Double.doubleToRawLongBits(message) == 0L) {
+      return 0;
+    }
+    return CodedOutputStream.computeDoubleSize(fieldNumber, message);
+  }
+
+  static int sizeBool(int fieldNumber, boolean message) {
+    if (!message) {
+      return 0;
+    }
+    return CodedOutputStream.computeBoolSize(fieldNumber, message);
+  }
+
+  static int sizeEnum(int fieldNumber, int message) {
+    if (message == 0) {
+      return 0;
+    }
+    return CodedOutputStream.computeEnumSize(fieldNumber, message);
+  }
+
+  // Packed, as repeated scalar fields are by default in proto3.
+  static int sizeRepeatedFixed64(int fieldNumber, List<Long> repeatedMessage) {
+    return sizePacked(fieldNumber, FIXED64_SIZE * repeatedMessage.size());
+  }
+
+  static int sizeRepeatedDouble(int fieldNumber, List<Double> repeatedMessage) {
+    return sizePacked(fieldNumber, FIXED64_SIZE * repeatedMessage.size());
+  }
+
+  private static int sizePacked(int fieldNumber, int dataSize) {
+    if (dataSize == 0) {
+      return 0;
+    }
+    return CodedOutputStream.computeTagSize(fieldNumber)
+        + CodedOutputStream.computeUInt32SizeNoTag(dataSize)
+        + dataSize;
+  }
+
   static int sizeBytes(int fieldNumber, byte[] message) {
     if (message.length == 0) {
       return 0;
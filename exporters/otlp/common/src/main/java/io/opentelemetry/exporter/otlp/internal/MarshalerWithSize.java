@@ -0,0 +1,25 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+/**
+ * A {@link Marshaler} which computes its serialized size once, on creation.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public abstract class MarshalerWithSize implements Marshaler {
+  private final int size;
+
+  protected MarshalerWithSize(int size) {
+    this.size = size;
+  }
+
+  @Override
+  public final int getSerializedSize() {
+    return size;
+  }
+}
@@ -0,0 +1,758 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import static io.opentelemetry.proto.metrics.v1.AggregationTemporality.AGGREGATION_TEMPORALITY_CUMULATIVE;
+import static io.opentelemetry.proto.metrics.v1.AggregationTemporality.AGGREGATION_TEMPORALITY_DELTA;
+import static io.opentelemetry.proto.metrics.v1.AggregationTemporality.AGGREGATION_TEMPORALITY_UNSPECIFIED;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnknownFieldSet;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.proto.metrics.v1.AggregationTemporality;
+import io.opentelemetry.proto.metrics.v1.Gauge;
+import io.opentelemetry.proto.metrics.v1.Histogram;
+import io.opentelemetry.proto.metrics.v1.HistogramDataPoint;
+import io.opentelemetry.proto.metrics.v1.InstrumentationLibraryMetrics;
+import io.opentelemetry.proto.metrics.v1.Metric;
+import io.opentelemetry.proto.metrics.v1.NumberDataPoint;
+import io.opentelemetry.proto.metrics.v1.ResourceMetrics;
+import io.opentelemetry.proto.metrics.v1.Sum;
+import io.opentelemetry.proto.metrics.v1.Summary;
+import io.opentelemetry.proto.metrics.v1.SummaryDataPoint;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramData;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.DoubleSumData;
+import io.opentelemetry.sdk.metrics.data.DoubleSummaryPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.LongSumData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.ValueAtPercentile;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Marshaler of {@link MetricData} directly to the OTLP protobuf wire format, without creating
+ * intermediate protobuf messages.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class MetricsMarshaler {
+
+  /** Marshaler of an {@link ExportMetricsServiceRequest}. */
+  public static final class RequestMarshaler extends MarshalerWithSize {
+    private final ResourceMetricsMarshaler[] resourceMetricsMarshalers;
+
+    /** Returns a {@link RequestMarshaler} for the given metrics. */
+    public static RequestMarshaler create(Collection<MetricData> metricDataList) {
+      Map<Resource, Map<InstrumentationLibraryInfo, List<MetricMarshaler>>> resourceAndLibraryMap =
+          MetricsMarshaler.groupByResourceAndLibrary(metricDataList);
+
+      final ResourceMetricsMarshaler[] resourceMetricsMarshalers =
+          new ResourceMetricsMarshaler[resourceAndLibraryMap.size()];
+      int posResource = 0;
+      for (Map.Entry<Resource, Map<InstrumentationLibraryInfo, List<MetricMarshaler>>> entry :
+          resourceAndLibraryMap.entrySet()) {
+        final InstrumentationLibraryMetricsMarshaler[] instrumentationLibraryMetricsMarshalers =
+            new InstrumentationLibraryMetricsMarshaler[entry.getValue().size()];
+        int posInstrumentation = 0;
+        for (Map.Entry<InstrumentationLibraryInfo, List<MetricMarshaler>> entryIs :
+            entry.getValue().entrySet()) {
+          instrumentationLibraryMetricsMarshalers[posInstrumentation++] =
+              new InstrumentationLibraryMetricsMarshaler(
+                  InstrumentationLibraryMarshaler.create(entryIs.getKey()),
+                  MarshalerUtil.toBytes(entryIs.getKey().getSchemaUrl()),
+                  entryIs.getValue());
+        }
+        resourceMetricsMarshalers[posResource++] =
+            new ResourceMetricsMarshaler(
+                ResourceMarshaler.create(entry.getKey()), instrumentationLibraryMetricsMarshalers);
+      }
+
+      return new RequestMarshaler(resourceMetricsMarshalers);
+    }
+
+    private RequestMarshaler(ResourceMetricsMarshaler[] resourceMetricsMarshalers) {
+      super(
+          MarshalerUtil.sizeRepeatedMessage(
+              ExportMetricsServiceRequest.RESOURCE_METRICS_FIELD_NUMBER,
+              resourceMetricsMarshalers));
+      this.resourceMetricsMarshalers = resourceMetricsMarshalers;
+    }
+
+    /** Returns the {@link ExportMetricsServiceRequest} equivalent of this marshaler. */
+    public ExportMetricsServiceRequest toRequest() throws IOException {
+      byte[] buf = new byte[getSerializedSize()];
+      writeTo(CodedOutputStream.newInstance(buf));
+      return ExportMetricsServiceRequest.newBuilder()
+          .setUnknownFields(UnknownFieldSet.newBuilder().mergeFrom(buf).build())
+          .build();
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalRepeatedMessage(
+          ExportMetricsServiceRequest.RESOURCE_METRICS_FIELD_NUMBER,
+          resourceMetricsMarshalers,
+          output);
+    }
+  }
+
+  private static final class ResourceMetricsMarshaler extends MarshalerWithSize {
+    private final ResourceMarshaler resourceMarshaler;
+    private final InstrumentationLibraryMetricsMarshaler[] instrumentationLibraryMetricsMarshalers;
+
+    private ResourceMetricsMarshaler(
+        ResourceMarshaler resourceMarshaler,
+        InstrumentationLibraryMetricsMarshaler[] instrumentationLibraryMetricsMarshalers) {
+      super(calculateSize(resourceMarshaler, instrumentationLibraryMetricsMarshalers));
+      this.resourceMarshaler = resourceMarshaler;
+      this.instrumentationLibraryMetricsMarshalers = instrumentationLibraryMetricsMarshalers;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalMessage(
+          ResourceMetrics.RESOURCE_FIELD_NUMBER, resourceMarshaler, output);
+      MarshalerUtil.marshalRepeatedMessage(
+          ResourceMetrics.INSTRUMENTATION_LIBRARY_METRICS_FIELD_NUMBER,
+          instrumentationLibraryMetricsMarshalers,
+          output);
+    }
+
+    private static int calculateSize(
+        ResourceMarshaler resourceMarshaler,
+        InstrumentationLibraryMetricsMarshaler[] instrumentationLibraryMetricsMarshalers) {
+      int size = 0;
+      size += MarshalerUtil.sizeMessage(ResourceMetrics.RESOURCE_FIELD_NUMBER, resourceMarshaler);
+      size +=
+          MarshalerUtil.sizeRepeatedMessage(
+              ResourceMetrics.INSTRUMENTATION_LIBRARY_METRICS_FIELD_NUMBER,
+              instrumentationLibraryMetricsMarshalers);
+      return size;
+    }
+  }
+
+  private static final class InstrumentationLibraryMetricsMarshaler extends MarshalerWithSize {
+    private final InstrumentationLibraryMarshaler instrumentationLibrary;
+    private final List<MetricMarshaler> metricMarshalers;
+    private final byte[] schemaUrl;
+
+    private InstrumentationLibraryMetricsMarshaler(
+        InstrumentationLibraryMarshaler instrumentationLibrary,
+        byte[] schemaUrl,
+        List<MetricMarshaler> metricMarshalers) {
+      super(calculateSize(instrumentationLibrary, schemaUrl, metricMarshalers));
+      this.instrumentationLibrary = instrumentationLibrary;
+      this.schemaUrl = schemaUrl;
+      this.metricMarshalers = metricMarshalers;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalMessage(
+          InstrumentationLibraryMetrics.INSTRUMENTATION_LIBRARY_FIELD_NUMBER,
+          instrumentationLibrary,
+          output);
+      MarshalerUtil.marshalRepeatedMessage(
+          InstrumentationLibraryMetrics.METRICS_FIELD_NUMBER, metricMarshalers, output);
+      MarshalerUtil.marshalBytes(
+          InstrumentationLibraryMetrics.SCHEMA_URL_FIELD_NUMBER, schemaUrl, output);
+    }
+
+    private static int calculateSize(
+        InstrumentationLibraryMarshaler instrumentationLibrary,
+        byte[] schemaUrl,
+        List<MetricMarshaler> metricMarshalers) {
+      int size = 0;
+      size +=
+          MarshalerUtil.sizeMessage(
+              InstrumentationLibraryMetrics.INSTRUMENTATION_LIBRARY_FIELD_NUMBER,
+              instrumentationLibrary);
+      size +=
+          MarshalerUtil.sizeRepeatedMessage(
+              InstrumentationLibraryMetrics.METRICS_FIELD_NUMBER, metricMarshalers);
+      size +=
+          MarshalerUtil.sizeBytes(InstrumentationLibraryMetrics.SCHEMA_URL_FIELD_NUMBER, schemaUrl);
+      return size;
+    }
+  }
+
+  private static final class MetricMarshaler extends MarshalerWithSize {
+    private final byte[] name;
+    private final byte[] description;
+    private final byte[] unit;
+    private final int dataFieldNumber;
+    private final Marshaler dataMarshaler;
+
+    // Because MetricMarshaler is always part of a repeated field, it cannot return "null".
+    private static MetricMarshaler create(MetricData metricData) {
+      int dataFieldNumber;
+      Marshaler dataMarshaler;
+      switch (metricData.getType()) {
+        case LONG_SUM:
+          LongSumData longSumData = metricData.getLongSumData();
+          dataFieldNumber = Metric.SUM_FIELD_NUMBER;
+          dataMarshaler =
+              new SumMarshaler(
+                  NumberDataPointMarshaler.createLong(longSumData.getPoints()),
+                  toProtoTemporality(longSumData.getAggregationTemporality()),
+                  longSumData.isMonotonic());
+          break;
+        case DOUBLE_SUM:
+          DoubleSumData doubleSumData = metricData.getDoubleSumData();
+          dataFieldNumber = Metric.SUM_FIELD_NUMBER;
+          dataMarshaler =
+              new SumMarshaler(
+                  NumberDataPointMarshaler.createDouble(doubleSumData.getPoints()),
+                  toProtoTemporality(doubleSumData.getAggregationTemporality()),
+                  doubleSumData.isMonotonic());
+          break;
+        case SUMMARY:
+          dataFieldNumber = Metric.SUMMARY_FIELD_NUMBER;
+          dataMarshaler =
+              new SummaryMarshaler(
+                  SummaryDataPointMarshaler.create(
+                      metricData.getDoubleSummaryData().getPoints()));
+          break;
+        case LONG_GAUGE:
+          dataFieldNumber = Metric.GAUGE_FIELD_NUMBER;
+          dataMarshaler =
+              new GaugeMarshaler(
+                  NumberDataPointMarshaler.createLong(metricData.getLongGaugeData().getPoints()));
+          break;
+        case DOUBLE_GAUGE:
+          dataFieldNumber = Metric.GAUGE_FIELD_NUMBER;
+          dataMarshaler =
+              new GaugeMarshaler(
+                  NumberDataPointMarshaler.createDouble(
+                      metricData.getDoubleGaugeData().getPoints()));
+          break;
+        case HISTOGRAM:
+          DoubleHistogramData doubleHistogramData = metricData.getDoubleHistogramData();
+          dataFieldNumber = Metric.HISTOGRAM_FIELD_NUMBER;
+          dataMarshaler =
+              new HistogramMarshaler(
+                  HistogramDataPointMarshaler.create(doubleHistogramData.getPoints()),
+                  toProtoTemporality(doubleHistogramData.getAggregationTemporality()));
+          break;
+        default:
+          throw new IllegalArgumentException("Unsupported metric type: " + metricData.getType());
+      }
+
+      return new MetricMarshaler(
+          MarshalerUtil.toBytes(metricData.getName()),
+          MarshalerUtil.toBytes(metricData.getDescription()),
+          MarshalerUtil.toBytes(metricData.getUnit()),
+          dataFieldNumber,
+          dataMarshaler);
+    }
+
+    private MetricMarshaler(
+        byte[] name,
+        byte[] description,
+        byte[] unit,
+        int dataFieldNumber,
+        Marshaler dataMarshaler) {
+      super(calculateSize(name, description, unit, dataFieldNumber, dataMarshaler));
+      this.name = name;
+      this.description = description;
+      this.unit = unit;
+      this.dataFieldNumber = dataFieldNumber;
+      this.dataMarshaler = dataMarshaler;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalBytes(Metric.NAME_FIELD_NUMBER, name, output);
+      MarshalerUtil.marshalBytes(Metric.DESCRIPTION_FIELD_NUMBER, description, output);
+      MarshalerUtil.marshalBytes(Metric.UNIT_FIELD_NUMBER, unit, output);
+      // The data is a oneof field, it is always written, even if empty.
+      MarshalerUtil.marshalMessage(dataFieldNumber, dataMarshaler, output);
+    }
+
+    private static int calculateSize(
+        byte[] name,
+        byte[] description,
+        byte[] unit,
+        int dataFieldNumber,
+        Marshaler dataMarshaler) {
+      int size = 0;
+      size += MarshalerUtil.sizeBytes(Metric.NAME_FIELD_NUMBER, name);
+      size += MarshalerUtil.sizeBytes(Metric.DESCRIPTION_FIELD_NUMBER, description);
+      size += MarshalerUtil.sizeBytes(Metric.UNIT_FIELD_NUMBER, unit);
+      size += MarshalerUtil.sizeMessage(dataFieldNumber, dataMarshaler);
+      return size;
+    }
+  }
+
+  private static final class GaugeMarshaler extends MarshalerWithSize {
+    private final NumberDataPointMarshaler[] dataPoints;
+
+    private GaugeMarshaler(NumberDataPointMarshaler[] dataPoints) {
+      super(MarshalerUtil.sizeRepeatedMessage(Gauge.DATA_POINTS_FIELD_NUMBER, dataPoints));
+      this.dataPoints = dataPoints;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalRepeatedMessage(Gauge.DATA_POINTS_FIELD_NUMBER, dataPoints, output);
+    }
+  }
+
+  private static final class SumMarshaler extends MarshalerWithSize {
+    private final NumberDataPointMarshaler[] dataPoints;
+    private final int aggregationTemporality;
+    private final boolean isMonotonic;
+
+    private SumMarshaler(
+        NumberDataPointMarshaler[] dataPoints, int aggregationTemporality, boolean isMonotonic) {
+      super(calculateSize(dataPoints, aggregationTemporality, isMonotonic));
+      this.dataPoints = dataPoints;
+      this.aggregationTemporality = aggregationTemporality;
+      this.isMonotonic = isMonotonic;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalRepeatedMessage(Sum.DATA_POINTS_FIELD_NUMBER, dataPoints, output);
+      MarshalerUtil.marshalEnum(
+          Sum.AGGREGATION_TEMPORALITY_FIELD_NUMBER, aggregationTemporality, output);
+      MarshalerUtil.marshalBool(Sum.IS_MONOTONIC_FIELD_NUMBER, isMonotonic, output);
+    }
+
+    private static int calculateSize(
+        NumberDataPointMarshaler[] dataPoints, int aggregationTemporality, boolean isMonotonic) {
+      int size = 0;
+      size += MarshalerUtil.sizeRepeatedMessage(Sum.DATA_POINTS_FIELD_NUMBER, dataPoints);
+      size +=
+          MarshalerUtil.sizeEnum(Sum.AGGREGATION_TEMPORALITY_FIELD_NUMBER, aggregationTemporality);
+      size += MarshalerUtil.sizeBool(Sum.IS_MONOTONIC_FIELD_NUMBER, isMonotonic);
+      return size;
+    }
+  }
+
+  private static final class HistogramMarshaler extends MarshalerWithSize {
+    private final HistogramDataPointMarshaler[] dataPoints;
+    private final int aggregationTemporality;
+
+    private HistogramMarshaler(
+        HistogramDataPointMarshaler[] dataPoints, int aggregationTemporality) {
+      super(calculateSize(dataPoints, aggregationTemporality));
+      this.dataPoints = dataPoints;
+      this.aggregationTemporality = aggregationTemporality;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalRepeatedMessage(Histogram.DATA_POINTS_FIELD_NUMBER, dataPoints, output);
+      MarshalerUtil.marshalEnum(
+          Histogram.AGGREGATION_TEMPORALITY_FIELD_NUMBER, aggregationTemporality, output);
+    }
+
+    private static int calculateSize(
+        HistogramDataPointMarshaler[] dataPoints, int aggregationTemporality) {
+      int size = 0;
+      size += MarshalerUtil.sizeRepeatedMessage(Histogram.DATA_POINTS_FIELD_NUMBER, dataPoints);
+      size +=
+          MarshalerUtil.sizeEnum(
+              Histogram.AGGREGATION_TEMPORALITY_FIELD_NUMBER, aggregationTemporality);
+      return size;
+    }
+  }
+
+  private static final class SummaryMarshaler extends MarshalerWithSize {
+    private final SummaryDataPointMarshaler[] dataPoints;
+
+    private SummaryMarshaler(SummaryDataPointMarshaler[] dataPoints) {
+      super(MarshalerUtil.sizeRepeatedMessage(Summary.DATA_POINTS_FIELD_NUMBER, dataPoints));
+      this.dataPoints = dataPoints;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalRepeatedMessage(Summary.DATA_POINTS_FIELD_NUMBER, dataPoints, output);
+    }
+  }
+
+  private static final class NumberDataPointMarshaler extends MarshalerWithSize {
+    private final long startEpochNanos;
+    private final long epochNanos;
+    // The value is either a double or a long, only one of them is written.
+    private final boolean isDouble;
+    private final double doubleValue;
+    private final long longValue;
+    private final AttributeMarshaler[] attributeMarshalers;
+
+    private static NumberDataPointMarshaler[] createLong(Collection<LongPointData> points) {
+      NumberDataPointMarshaler[] result = new NumberDataPointMarshaler[points.size()];
+      int pos = 0;
+      for (LongPointData point : points) {
+        result[pos++] =
+            new NumberDataPointMarshaler(
+                point.getStartEpochNanos(),
+                point.getEpochNanos(),
+                /* isDouble= */ false,
+                0,
+                point.getValue(),
+                AttributeMarshaler.createRepeated(point.getLabels()));
+      }
+      return result;
+    }
+
+    private static NumberDataPointMarshaler[] createDouble(Collection<DoublePointData> points) {
+      NumberDataPointMarshaler[] result = new NumberDataPointMarshaler[points.size()];
+      int pos = 0;
+      for (DoublePointData point : points) {
+        result[pos++] =
+            new NumberDataPointMarshaler(
+                point.getStartEpochNanos(),
+                point.getEpochNanos(),
+                /* isDouble= */ true,
+                point.getValue(),
+                0,
+                AttributeMarshaler.createRepeated(point.getLabels()));
+      }
+      return result;
+    }
+
+    private NumberDataPointMarshaler(
+        long startEpochNanos,
+        long epochNanos,
+        boolean isDouble,
+        double doubleValue,
+        long longValue,
+        AttributeMarshaler[] attributeMarshalers) {
+      super(
+          calculateSize(
+              startEpochNanos,
+              epochNanos,
+              isDouble,
+              doubleValue,
+              longValue,
+              attributeMarshalers));
+      this.startEpochNanos = startEpochNanos;
+      this.epochNanos = epochNanos;
+      this.isDouble = isDouble;
+      this.doubleValue = doubleValue;
+      this.longValue = longValue;
+      this.attributeMarshalers = attributeMarshalers;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalFixed64(
+          NumberDataPoint.START_TIME_UNIX_NANO_FIELD_NUMBER, startEpochNanos, output);
+      MarshalerUtil.marshalFixed64(NumberDataPoint.TIME_UNIX_NANO_FIELD_NUMBER, epochNanos, output);
+      // Do not call MarshalUtil because the value is a oneof field, it is always written even if
+      // zero.
+      if (isDouble) {
+        output.writeDouble(NumberDataPoint.AS_DOUBLE_FIELD_NUMBER, doubleValue);
+      } else {
+        output.writeSFixed64(NumberDataPoint.AS_INT_FIELD_NUMBER, longValue);
+      }
+      MarshalerUtil.marshalRepeatedMessage(
+          NumberDataPoint.ATTRIBUTES_FIELD_NUMBER, attributeMarshalers, output);
+    }
+
+    private static int calculateSize(
+        long startEpochNanos,
+        long epochNanos,
+        boolean isDouble,
+        double doubleValue,
+        long longValue,
+        AttributeMarshaler[] attributeMarshalers) {
+      int size = 0;
+      size +=
+          MarshalerUtil.sizeFixed64(
+              NumberDataPoint.START_TIME_UNIX_NANO_FIELD_NUMBER, startEpochNanos);
+      size += MarshalerUtil.sizeFixed64(NumberDataPoint.TIME_UNIX_NANO_FIELD_NUMBER, epochNanos);
+      if (isDouble) {
+        size +=
+            CodedOutputStream.computeDoubleSize(
+                NumberDataPoint.AS_DOUBLE_FIELD_NUMBER, doubleValue);
+      } else {
+        size +=
+            CodedOutputStream.computeSFixed64Size(NumberDataPoint.AS_INT_FIELD_NUMBER, longValue);
+      }
+      size +=
+          MarshalerUtil.sizeRepeatedMessage(
+              NumberDataPoint.ATTRIBUTES_FIELD_NUMBER, attributeMarshalers);
+      return size;
+    }
+  }
+
+  private static final class HistogramDataPointMarshaler extends MarshalerWithSize {
+    private final long startEpochNanos;
+    private final long epochNanos;
+    private final long count;
+    private final double sum;
+    private final List<Long> bucketCounts;
+    private final List<Double> explicitBounds;
+    private final AttributeMarshaler[] attributeMarshalers;
+
+    private static HistogramDataPointMarshaler[] create(
+        Collection<DoubleHistogramPointData> points) {
+      HistogramDataPointMarshaler[] result = new HistogramDataPointMarshaler[points.size()];
+      int pos = 0;
+      for (DoubleHistogramPointData point : points) {
+        result[pos++] =
+            new HistogramDataPointMarshaler(
+                point.getStartEpochNanos(),
+                point.getEpochNanos(),
+                point.getCount(),
+                point.getSum(),
+                point.getCounts(),
+                point.getBoundaries(),
+                AttributeMarshaler.createRepeated(point.getLabels()));
+      }
+      return result;
+    }
+
+    private HistogramDataPointMarshaler(
+        long startEpochNanos,
+        long epochNanos,
+        long count,
+        double sum,
+        List<Long> bucketCounts,
+        List<Double> explicitBounds,
+        AttributeMarshaler[] attributeMarshalers) {
+      super(
+          calculateSize(
+              startEpochNanos,
+              epochNanos,
+              count,
+              sum,
+              bucketCounts,
+              explicitBounds,
+              attributeMarshalers));
+      this.startEpochNanos = startEpochNanos;
+      this.epochNanos = epochNanos;
+      this.count = count;
+      this.sum = sum;
+      this.bucketCounts = bucketCounts;
+      this.explicitBounds = explicitBounds;
+      this.attributeMarshalers = attributeMarshalers;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalFixed64(
+          HistogramDataPoint.START_TIME_UNIX_NANO_FIELD_NUMBER, startEpochNanos, output);
+      MarshalerUtil.marshalFixed64(
+          HistogramDataPoint.TIME_UNIX_NANO_FIELD_NUMBER, epochNanos, output);
+      MarshalerUtil.marshalFixed64(HistogramDataPoint.COUNT_FIELD_NUMBER, count, output);
+      MarshalerUtil.marshalDouble(HistogramDataPoint.SUM_FIELD_NUMBER, sum, output);
+      MarshalerUtil.marshalRepeatedFixed64(
+          HistogramDataPoint.BUCKET_COUNTS_FIELD_NUMBER, bucketCounts, output);
+      MarshalerUtil.marshalRepeatedDouble(
+          HistogramDataPoint.EXPLICIT_BOUNDS_FIELD_NUMBER, explicitBounds, output);
+      MarshalerUtil.marshalRepeatedMessage(
+          HistogramDataPoint.ATTRIBUTES_FIELD_NUMBER, attributeMarshalers, output);
+    }
+
+    private static int calculateSize(
+        long startEpochNanos,
+        long epochNanos,
+        long count,
+        double sum,
+        List<Long> bucketCounts,
+        List<Double> explicitBounds,
+        AttributeMarshaler[] attributeMarshalers) {
+      int size = 0;
+      size +=
+          MarshalerUtil.sizeFixed64(
+              HistogramDataPoint.START_TIME_UNIX_NANO_FIELD_NUMBER, startEpochNanos);
+      size += MarshalerUtil.sizeFixed64(HistogramDataPoint.TIME_UNIX_NANO_FIELD_NUMBER, epochNanos);
+      size += MarshalerUtil.sizeFixed64(HistogramDataPoint.COUNT_FIELD_NUMBER, count);
+      size += MarshalerUtil.sizeDouble(HistogramDataPoint.SUM_FIELD_NUMBER, sum);
+      size +=
+          MarshalerUtil.sizeRepeatedFixed64(
+              HistogramDataPoint.BUCKET_COUNTS_FIELD_NUMBER, bucketCounts);
+      size +=
+          MarshalerUtil.sizeRepeatedDouble(
+              HistogramDataPoint.EXPLICIT_BOUNDS_FIELD_NUMBER, explicitBounds);
+      size +=
+          MarshalerUtil.sizeRepeatedMessage(
+              HistogramDataPoint.ATTRIBUTES_FIELD_NUMBER, attributeMarshalers);
+      return size;
+    }
+  }
+
+  private static final class SummaryDataPointMarshaler extends MarshalerWithSize {
+    private final long startEpochNanos;
+    private final long epochNanos;
+    private final long count;
+    private final double sum;
+    private final ValueAtQuantileMarshaler[] quantileValues;
+    private final AttributeMarshaler[] attributeMarshalers;
+
+    private static SummaryDataPointMarshaler[] create(Collection<DoubleSummaryPointData> points) {
+      SummaryDataPointMarshaler[] result = new SummaryDataPointMarshaler[points.size()];
+      int pos = 0;
+      for (DoubleSummaryPointData point : points) {
+        result[pos++] =
+            new SummaryDataPointMarshaler(
+                point.getStartEpochNanos(),
+                point.getEpochNanos(),
+                point.getCount(),
+                point.getSum(),
+                ValueAtQuantileMarshaler.create(point.getPercentileValues()),
+                AttributeMarshaler.createRepeated(point.getLabels()));
+      }
+      return result;
+    }
+
+    private SummaryDataPointMarshaler(
+        long startEpochNanos,
+        long epochNanos,
+        long count,
+        double sum,
+        ValueAtQuantileMarshaler[] quantileValues,
+        AttributeMarshaler[] attributeMarshalers) {
+      super(
+          calculateSize(
+              startEpochNanos, epochNanos, count, sum, quantileValues, attributeMarshalers));
+      this.startEpochNanos = startEpochNanos;
+      this.epochNanos = epochNanos;
+      this.count = count;
+      this.sum = sum;
+      this.quantileValues = quantileValues;
+      this.attributeMarshalers = attributeMarshalers;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalFixed64(
+          SummaryDataPoint.START_TIME_UNIX_NANO_FIELD_NUMBER, startEpochNanos, output);
+      MarshalerUtil.marshalFixed64(
+          SummaryDataPoint.TIME_UNIX_NANO_FIELD_NUMBER, epochNanos, output);
+      MarshalerUtil.marshalFixed64(SummaryDataPoint.COUNT_FIELD_NUMBER, count, output);
+      MarshalerUtil.marshalDouble(SummaryDataPoint.SUM_FIELD_NUMBER, sum, output);
+      MarshalerUtil.marshalRepeatedMessage(
+          SummaryDataPoint.QUANTILE_VALUES_FIELD_NUMBER, quantileValues, output);
+      MarshalerUtil.marshalRepeatedMessage(
+          SummaryDataPoint.ATTRIBUTES_FIELD_NUMBER, attributeMarshalers, output);
+    }
+
+    private static int calculateSize(
+        long startEpochNanos,
+        long epochNanos,
+        long count,
+        double sum,
+        ValueAtQuantileMarshaler[] quantileValues,
+        AttributeMarshaler[] attributeMarshalers) {
+      int size = 0;
+      size +=
+          MarshalerUtil.sizeFixed64(
+              SummaryDataPoint.START_TIME_UNIX_NANO_FIELD_NUMBER, startEpochNanos);
+      size += MarshalerUtil.sizeFixed64(SummaryDataPoint.TIME_UNIX_NANO_FIELD_NUMBER, epochNanos);
+      size += MarshalerUtil.sizeFixed64(SummaryDataPoint.COUNT_FIELD_NUMBER, count);
+      size += MarshalerUtil.sizeDouble(SummaryDataPoint.SUM_FIELD_NUMBER, sum);
+      size +=
+          MarshalerUtil.sizeRepeatedMessage(
+              SummaryDataPoint.QUANTILE_VALUES_FIELD_NUMBER, quantileValues);
+      size +=
+          MarshalerUtil.sizeRepeatedMessage(
+              SummaryDataPoint.ATTRIBUTES_FIELD_NUMBER, attributeMarshalers);
+      return size;
+    }
+  }
+
+  private static final class ValueAtQuantileMarshaler extends MarshalerWithSize {
+    private static final ValueAtQuantileMarshaler[] EMPTY = new ValueAtQuantileMarshaler[0];
+    private final double quantile;
+    private final double value;
+
+    private static ValueAtQuantileMarshaler[] create(List<ValueAtPercentile> values) {
+      if (values.isEmpty()) {
+        return EMPTY;
+      }
+
+      ValueAtQuantileMarshaler[] result = new ValueAtQuantileMarshaler[values.size()];
+      int pos = 0;
+      for (ValueAtPercentile value : values) {
+        result[pos++] =
+            new ValueAtQuantileMarshaler(value.getPercentile() / 100.0, value.getValue());
+      }
+      return result;
+    }
+
+    private ValueAtQuantileMarshaler(double quantile, double value) {
+      super(calculateSize(quantile, value));
+      this.quantile = quantile;
+      this.value = value;
+    }
+
+    @Override
+    public void writeTo(CodedOutputStream output) throws IOException {
+      MarshalerUtil.marshalDouble(
+          SummaryDataPoint.ValueAtQuantile.QUANTILE_FIELD_NUMBER, quantile, output);
+      MarshalerUtil.marshalDouble(
+          SummaryDataPoint.ValueAtQuantile.VALUE_FIELD_NUMBER, value, output);
+    }
+
+    private static int calculateSize(double quantile, double value) {
+      int size = 0;
+      size +=
+          MarshalerUtil.sizeDouble(
+              SummaryDataPoint.ValueAtQuantile.QUANTILE_FIELD_NUMBER, quantile);
+      size += MarshalerUtil.sizeDouble(SummaryDataPoint.ValueAtQuantile.VALUE_FIELD_NUMBER, value);
+      return size;
+    }
+  }
+
+  private static Map<Resource, Map<InstrumentationLibraryInfo, List<MetricMarshaler>>>
+      groupByResourceAndLibrary(Collection<MetricData> metricDataList) {
+    Map<Resource, Map<InstrumentationLibraryInfo, List<MetricMarshaler>>> result = new HashMap<>();
+    for (MetricData metricData : metricDataList) {
+      if (metricData.isEmpty()) {
+        // If no points available then ignore.
+        continue;
+      }
+
+      Resource resource = metricData.getResource();
+      Map<InstrumentationLibraryInfo, List<MetricMarshaler>> libraryInfoListMap =
+          result.get(metricData.getResource());
+      if (libraryInfoListMap == null) {
+        libraryInfoListMap = new HashMap<>();
+        result.put(resource, libraryInfoListMap);
+      }
+      List<MetricMarshaler> metricList =
+          libraryInfoListMap.get(metricData.getInstrumentationLibraryInfo());
+      if (metricList == null) {
+        metricList = new ArrayList<>();
+        libraryInfoListMap.put(metricData.getInstrumentationLibraryInfo(), metricList);
+      }
+      metricList.add(MetricMarshaler.create(metricData));
+    }
+    return result;
+  }
+
+  private static int toProtoTemporality(
+      io.opentelemetry.sdk.metrics.data.AggregationTemporality temporality) {
+    AggregationTemporality protoTemporality = AGGREGATION_TEMPORALITY_UNSPECIFIED;
+    switch (temporality) {
+      case CUMULATIVE:
+        protoTemporality = AGGREGATION_TEMPORALITY_CUMULATIVE;
+        break;
+      case DELTA:
+        protoTemporality = AGGREGATION_TEMPORALITY_DELTA;
+        break;
+    }
+    return protoTemporality.getNumber();
+  }
+
+  private MetricsMarshaler() {}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import com.google.protobuf.CodedOutputStream;
+import io.opentelemetry.context.internal.shaded.WeakConcurrentMap;
+import io.opentelemetry.proto.resource.v1.Resource;
+import java.io.IOException;
+
+/**
+ * Marshaler of a {@link Resource}. A resource usually lives as long as the process, so the
+ * marshaler of each resource is cached with its serialized bytes, which are written as is.
+ */
+final class ResourceMarshaler extends MarshalerWithSize {
+
+  private static final WeakConcurrentMap<io.opentelemetry.sdk.resources.Resource, ResourceMarshaler>
+      RESOURCE_MARSHALER_CACHE = new WeakConcurrentMap.WithInlinedExpunction<>();
+
+  private final byte[] serializedResource;
+
+  static ResourceMarshaler create(io.opentelemetry.sdk.resources.Resource resource) {
+    ResourceMarshaler cached = RESOURCE_MARSHALER_CACHE.get(resource);
+    if (cached == null) {
+      // Since WeakConcurrentMap doesn't support computeIfAbsent, we may end up doing the conversion
+      // a few times until the cache gets filled which is fine.
+      cached =
+          new ResourceMarshaler(
+              serialize(AttributeMarshaler.createRepeated(resource.getAttributes())));
+      RESOURCE_MARSHALER_CACHE.put(resource, cached);
+    }
+    return cached;
+  }
+
+  private ResourceMarshaler(byte[] serializedResource) {
+    super(serializedResource.length);
+    this.serializedResource = serializedResource;
+  }
+
+  @Override
+  public void writeTo(CodedOutputStream output) throws IOException {
+    output.writeRawBytes(serializedResource);
+  }
+
+  private static byte[] serialize(AttributeMarshaler[] attributeMarshalers) {
+    int size =
+        MarshalerUtil.sizeRepeatedMessage(Resource.ATTRIBUTES_FIELD_NUMBER, attributeMarshalers);
+    byte[] serialized = new byte[size];
+    CodedOutputStream output = CodedOutputStream.newInstance(serialized);
+    try {
+      MarshalerUtil.marshalRepeatedMessage(
+          Resource.ATTRIBUTES_FIELD_NUMBER, attributeMarshalers, output);
+    } catch (IOException e) {
+      // Presumably unreachable, as the output is an array of the exact size of the message.
+      throw new IllegalStateException("Serializing to a byte array threw an IOException", e);
+    }
+    output.checkNoSpaceLeft();
+    return serialized;
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import io.opentelemetry.api.metrics.BoundLongCounter;
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sends export requests, retrying those that fail with a transient error according to a {@link
+ * RetryPolicy}. A request failing with a transient error is handed off to a retry buffer bounded by
+ * {@link RetryPolicy#getMaxBufferedBytes()}, and its export result completes right away, so the
+ * thread that exports, such as the worker of a batch processor, never waits for a backoff. Retries
+ * are scheduled on a daemon thread and send the already encoded request again. Requests that are
+ * eventually abandoned are only counted and logged.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class Retrier {
+
+  private static final ThrottlingLogger logger =
+      new ThrottlingLogger(Logger.getLogger(Retrier.class.getName()));
+
+  /** A single attempt to send a request. */
+  public interface Attempt {
+    /** Sends the request, and notifies {@code callback} once it succeeds or fails. */
+    void send(Callback callback);
+  }
+
+  /** Notified of the outcome of an {@link Attempt}. */
+  public interface Callback {
+    /** Notified when the request succeeded. */
+    void onSuccess();
+
+    /**
+     * Notified when the request failed. The request is retried only if the failure is {@code
+     * retryable}, such as when the backend is temporarily unavailable.
+     */
+    void onFailure(boolean retryable);
+  }
+
+  private final RetryPolicy retryPolicy;
+  private final ScheduledExecutorService scheduler;
+  private final Set<Request> scheduledRequests = ConcurrentHashMap.newKeySet();
+  private final AtomicLong bufferedBytes = new AtomicLong();
+  private final BoundLongCounter requestsRetried;
+  private final BoundLongCounter requestsAbandoned;
+  private volatile boolean isShutdown;
+
+  /** Returns a {@link Retrier} of the requests of the exporter with the given name. */
+  public static Retrier create(String exporterName, RetryPolicy retryPolicy) {
+    return new Retrier(
+        exporterName,
+        retryPolicy,
+        Executors.newSingleThreadScheduledExecutor(
+            new DaemonThreadFactory(exporterName + "_Retrier")));
+  }
+
+  /** Sends a request once, without retrying it. */
+  public static CompletableResultCode sendOnce(Attempt attempt) {
+    CompletableResultCode result = new CompletableResultCode();
+    attempt.send(
+        new Callback() {
+          @Override
+          public void onSuccess() {
+            result.succeed();
+          }
+
+          @Override
+          public void onFailure(boolean retryable) {
+            result.fail();
+          }
+        });
+    return result;
+  }
+
+  // Visible for testing
+  Retrier(String exporterName, RetryPolicy retryPolicy, ScheduledExecutorService scheduler) {
+    this.retryPolicy = retryPolicy;
+    this.scheduler = scheduler;
+    Meter meter = GlobalMeterProvider.getMeter("io.opentelemetry.exporters.otlp");
+    Labels labels = Labels.of("exporter", exporterName);
+    this.requestsRetried =
+        meter.longCounterBuilder("requestsRetriedByExporter").build().bind(labels);
+    this.requestsAbandoned =
+        meter.longCounterBuilder("requestsAbandonedByExporter").build().bind(labels);
+  }
+
+  /**
+   * Sends a request of the given serialized size, retrying it if it fails with a transient error.
+   * The returned result succeeds once the request succeeds or is handed off to be retried, and
+   * fails if the request fails with an error that is not retryable or cannot be retried.
+   */
+  public CompletableResultCode send(int requestSize, Attempt attempt) {
+    Request request = new Request(requestSize, attempt);
+    request.send();
+    return request.result;
+  }
+
+  /** Stops retrying requests. The requests that are waiting to be retried are abandoned. */
+  public void shutdown() {
+    isShutdown = true;
+    scheduler.shutdownNow();
+    for (Request request : scheduledRequests) {
+      if (scheduledRequests.remove(request)) {
+        bufferedBytes.addAndGet(-request.size);
+        request.abandon("the exporter is shut down");
+      }
+    }
+    requestsRetried.unbind();
+    requestsAbandoned.unbind();
+  }
+
+  // Visible for testing
+  long getBufferedBytes() {
+    return bufferedBytes.get();
+  }
+
+  private final class Request implements Callback, Runnable {
+    private final int size;
+    private final Attempt attempt;
+    private final CompletableResultCode result = new CompletableResultCode();
+    private final long startNanos = System.nanoTime();
+    private int attempts;
+    // Whether the request was handed off to be retried, after which its result is already complete.
+    private volatile boolean handedOff;
+
+    private Request(int size, Attempt attempt) {
+      this.size = size;
+      this.attempt = attempt;
+    }
+
+    private void send() {
+      attempts++;
+      attempt.send(this);
+    }
+
+    @Override
+    public void onSuccess() {
+      result.succeed();
+    }
+
+    @Override
+    public void onFailure(boolean retryable) {
+      if (!retryable) {
+        if (handedOff) {
+          abandon("it failed with an error that is not retryable");
+        } else {
+          result.fail();
+        }
+        return;
+      }
+      if (isShutdown) {
+        abandon("the exporter is shut down");
+        return;
+      }
+      if (attempts >= retryPolicy.getMaxAttempts()) {
+        abandon("it failed " + attempts + " times");
+        return;
+      }
+      long delayNanos = nextDelayNanos();
+      if (System.nanoTime() + delayNanos - startNanos > retryPolicy.getTotalTimeout().toNanos()) {
+        abandon("its total timeout would be exceeded");
+        return;
+      }
+      if (bufferedBytes.addAndGet(size) > retryPolicy.getMaxBufferedBytes()) {
+        bufferedBytes.addAndGet(-size);
+        abandon("the retry buffer is full");
+        return;
+      }
+      boolean wasHandedOff = handedOff;
+      handedOff = true;
+      scheduledRequests.add(this);
+      try {
+        scheduler.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        handedOff = wasHandedOff;
+        if (scheduledRequests.remove(this)) {
+          bufferedBytes.addAndGet(-size);
+          abandon("the exporter is shut down");
+        } else {
+          // Abandoned by a concurrent shutdown.
+          result.fail();
+        }
+        return;
+      }
+      requestsRetried.add(1);
+      result.succeed();
+    }
+
+    @Override
+    public void run() {
+      // Unless the retrier was shut down in the meantime, which already failed the request.
+      if (scheduledRequests.remove(this)) {
+        bufferedBytes.addAndGet(-size);
+        send();
+      }
+    }
+
+    // A random delay of up to the exponential backoff of the current attempt, so that exporters
+    // failing at the same time do not retry in lockstep.
+    private long nextDelayNanos() {
+      double maxDelayNanos =
+          retryPolicy.getInitialBackoff().toNanos()
+              * Math.pow(retryPolicy.getBackoffMultiplier(), attempts - 1);
+      long boundNanos =
+          (long) Math.min(maxDelayNanos, (double) retryPolicy.getMaxBackoff().toNanos());
+      return ThreadLocalRandom.current().nextLong(boundNanos) + 1;
+    }
+
+    private void abandon(String reason) {
+      requestsAbandoned.add(1);
+      logger.log(Level.WARNING, "Export request is not retried, because " + reason + ".");
+      if (!handedOff) {
+        result.fail();
+      }
+    }
+  }
+}
@@ -3,7 +3,7 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
-package io.opentelemetry.exporter.otlp.trace;
+package io.opentelemetry.exporter.otlp.internal;
 
 import static io.opentelemetry.proto.trace.v1.Span.SpanKind.SPAN_KIND_CLIENT;
 import static io.opentelemetry.proto.trace.v1.Span.SpanKind.SPAN_KIND_CONSUMER;
@@ -32,18 +32,34 @@ import io.opentelemetry.sdk.trace.data.StatusData;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * Marshaler of {@link SpanData} directly to the OTLP protobuf wire format, without creating
+ * intermediate protobuf messages.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class TraceMarshaler {
 
-final class TraceMarshaler {
+  /** Marshaler of an {@link ExportTraceServiceRequest}. */
+  public static final class RequestMarshaler extends MarshalerWithSize {
+    private static final int PARALLEL_CHUNK_SIZE = 1024;
 
-  static final class RequestMarshaler extends MarshalerWithSize {
     private final ResourceSpansMarshaler[] resourceSpansMarshalers;
 
-    static RequestMarshaler create(Collection<SpanData> spanDataList) {
+    /** Returns a {@link RequestMarshaler} for the given spans. */
+    public static RequestMarshaler create(Collection<SpanData> spanDataList) {
       Map<Resource, Map<InstrumentationLibraryInfo, List<SpanMarshaler>>> resourceAndLibraryMap =
-          TraceMarshaler.groupByResourceAndLibrary(spanDataList);
+          TraceMarshaler.groupByResourceAndLibrary(spanDataList, SpanMarshaler::create);
 
       final ResourceSpansMarshaler[] resourceSpansMarshalers =
           new ResourceSpansMarshaler[resourceAndLibraryMap.size()];
@@ -57,7 +73,9 @@ final class TraceMarshaler {
             entry.getValue().entrySet()) {
           instrumentationLibrarySpansMarshalers[posInstrumentation++] =
               new InstrumentationLibrarySpansMarshaler(
-                  InstrumentationLibraryMarshaler.create(entryIs.getKey()), entryIs.getValue());
+                  InstrumentationLibraryMarshaler.create(entryIs.getKey()),
+                  MarshalerUtil.toBytes(entryIs.getKey().getSchemaUrl()),
+                  entryIs.getValue());
         }
         resourceSpansMarshalers[posResource++] =
             new ResourceSpansMarshaler(
@@ -67,6 +85,185 @@ final class TraceMarshaler {
       return new RequestMarshaler(resourceSpansMarshalers);
     }
 
+    /**
+     * Returns a {@link RequestMarshaler} for the given spans, which are sized and encoded
+     * concurrently on {@code pool}, in chunks of up to 1024 spans of the same resource and
+     * instrumentation library. As a repeated field is encoded as the concatenation of its elements,
+     * the encoded chunks are then written one after another. A batch of a single chunk is marshaled
+     * on the calling thread.
+     */
+    public static RequestMarshaler createParallel(
+        Collection<SpanData> spanDataList, ForkJoinPool pool) {
+      if (spanDataList.size() <= PARALLEL_CHUNK_SIZE) {
+        return create(spanDataList);
+      }
+      Map<Resource, Map<InstrumentationLibraryInfo, List<SpanData>>> resourceAndLibraryMap =
+          TraceMarshaler.groupByResourceAndLibrary(spanDataList, Function.identity());
+
+      // Submit all the chunks before waiting for any of them, in the order they are stitched.
+      List<ForkJoinTask<byte[]>> chunks = new ArrayList<>();
+      for (Map<InstrumentationLibraryInfo, List<SpanData>> libraryMap :
+          resourceAndLibraryMap.values()) {
+        for (List<SpanData> spans : libraryMap.values()) {
+          for (int start = 0; start < spans.size(); start += PARALLEL_CHUNK_SIZE) {
+            List<SpanData> chunk =
+                spans.subList(start, Math.min(start + PARALLEL_CHUNK_SIZE, spans.size()));
+            chunks.add(pool.submit(() -> encodeSpans(chunk)));
+          }
+        }
+      }
+
+      Iterator<ForkJoinTask<byte[]>> chunkIterator = chunks.iterator();
+      final ResourceSpansMarshaler[] resourceSpansMarshalers =
+          new ResourceSpansMarshaler[resourceAndLibraryMap.size()];
+      int posResource = 0;
+      for (Map.Entry<Resource, Map<InstrumentationLibraryInfo, List<SpanData>>> entry :
+          resourceAndLibraryMap.entrySet()) {
+        final InstrumentationLibrarySpansMarshaler[] instrumentationLibrarySpansMarshalers =
+            new InstrumentationLibrarySpansMarshaler[entry.getValue().size()];
+        int posInstrumentation = 0;
+        for (Map.Entry<InstrumentationLibraryInfo, List<SpanData>> entryIs :
+            entry.getValue().entrySet()) {
+          int numChunks =
+              (entryIs.getValue().size() + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+          List<byte[]> encodedSpans = new ArrayList<>(numChunks);
+          for (int i = 0; i < numChunks; i++) {
+            encodedSpans.add(chunkIterator.next().join());
+          }
+          instrumentationLibrarySpansMarshalers[posInstrumentation++] =
+              new InstrumentationLibrarySpansMarshaler(
+                  InstrumentationLibraryMarshaler.create(entryIs.getKey()),
+                  MarshalerUtil.toBytes(entryIs.getKey().getSchemaUrl()),
+                  Collections.emptyList(),
+                  encodedSpans);
+        }
+        resourceSpansMarshalers[posResource++] =
+            new ResourceSpansMarshaler(
+                ResourceMarshaler.create(entry.getKey()), instrumentationLibrarySpansMarshalers);
+      }
+
+      return new RequestMarshaler(resourceSpansMarshalers);
+    }
+
+    // Encodes the spans as the elements of the repeated spans field of InstrumentationLibrarySpans.
+    private static byte[] encodeSpans(List<SpanData> spanDataList) {
+      SpanMarshaler[] spanMarshalers = new SpanMarshaler[spanDataList.size()];
+      for (int i = 0; i < spanMarshalers.length; i++) {
+        spanMarshalers[i] = SpanMarshaler.create(spanDataList.get(i));
+      }
+      int size =
+          MarshalerUtil.sizeRepeatedMessage(
+              InstrumentationLibrarySpans.SPANS_FIELD_NUMBER, spanMarshalers);
+      byte[] encodedSpans = new byte[size];
+      CodedOutputStream output = CodedOutputStream.newInstance(encodedSpans);
+      try {
+        MarshalerUtil.marshalRepeatedMessage(
+            InstrumentationLibrarySpans.SPANS_FIELD_NUMBER, spanMarshalers, output);
+      } catch (IOException e) {
+        // Presumably unreachable, as the output is an array of the exact size of the spans.
+        throw new IllegalStateException("Serializing to a byte array threw an IOException", e);
+      }
+      output.checkNoSpaceLeft();
+      return encodedSpans;
+    }
+
+    /**
+     * Returns {@link RequestMarshaler}s for the given spans, each with a serialized size of at most
+     * {@code maxRequestSize} bytes. A span that alone exceeds {@code maxRequestSize} is returned in
+     * a request of its own. The spans are split using the sizes computed by their marshalers, so
+     * nothing is serialized to find the split points.
+     */
+    public static List<RequestMarshaler> createSplit(
+        Collection<SpanData> spanDataList, int maxRequestSize) {
+      Map<Resource, Map<InstrumentationLibraryInfo, List<SpanMarshaler>>> resourceAndLibraryMap =
+          TraceMarshaler.groupByResourceAndLibrary(spanDataList, SpanMarshaler::create);
+
+      List<RequestMarshaler> requestMarshalers = new ArrayList<>();
+      List<ResourceSpansMarshaler> resourceSpansMarshalers = new ArrayList<>();
+      int requestSize = 0;
+      for (Map.Entry<Resource, Map<InstrumentationLibraryInfo, List<SpanMarshaler>>> entry :
+          resourceAndLibraryMap.entrySet()) {
+        ResourceMarshaler resourceMarshaler = ResourceMarshaler.create(entry.getKey());
+        int resourceOverhead =
+            MarshalerUtil.sizeMessageHeaderUpperBound(
+                    ExportTraceServiceRequest.RESOURCE_SPANS_FIELD_NUMBER)
+                + MarshalerUtil.sizeMessage(ResourceSpans.RESOURCE_FIELD_NUMBER, resourceMarshaler);
+        List<InstrumentationLibrarySpansMarshaler> instrumentationLibrarySpansMarshalers =
+            new ArrayList<>();
+        for (Map.Entry<InstrumentationLibraryInfo, List<SpanMarshaler>> entryIs :
+            entry.getValue().entrySet()) {
+          InstrumentationLibraryMarshaler instrumentationLibraryMarshaler =
+              InstrumentationLibraryMarshaler.create(entryIs.getKey());
+          byte[] schemaUrl = MarshalerUtil.toBytes(entryIs.getKey().getSchemaUrl());
+          int instrumentationLibraryOverhead =
+              MarshalerUtil.sizeMessageHeaderUpperBound(
+                      ResourceSpans.INSTRUMENTATION_LIBRARY_SPANS_FIELD_NUMBER)
+                  + MarshalerUtil.sizeMessage(
+                      InstrumentationLibrarySpans.INSTRUMENTATION_LIBRARY_FIELD_NUMBER,
+                      instrumentationLibraryMarshaler)
+                  + MarshalerUtil.sizeBytes(
+                      InstrumentationLibrarySpans.SCHEMA_URL_FIELD_NUMBER, schemaUrl);
+          List<SpanMarshaler> spanMarshalers = new ArrayList<>();
+          for (SpanMarshaler spanMarshaler : entryIs.getValue()) {
+            int spanSize =
+                MarshalerUtil.sizeMessage(
+                    InstrumentationLibrarySpans.SPANS_FIELD_NUMBER, spanMarshaler);
+            if (spanMarshalers.isEmpty()) {
+              spanSize += instrumentationLibraryOverhead;
+              if (instrumentationLibrarySpansMarshalers.isEmpty()) {
+                spanSize += resourceOverhead;
+              }
+            }
+            if (requestSize > 0 && requestSize + spanSize > maxRequestSize) {
+              if (!spanMarshalers.isEmpty()) {
+                instrumentationLibrarySpansMarshalers.add(
+                    new InstrumentationLibrarySpansMarshaler(
+                        instrumentationLibraryMarshaler, schemaUrl, spanMarshalers));
+              }
+              if (!instrumentationLibrarySpansMarshalers.isEmpty()) {
+                resourceSpansMarshalers.add(
+                    new ResourceSpansMarshaler(
+                        resourceMarshaler,
+                        instrumentationLibrarySpansMarshalers.toArray(
+                            new InstrumentationLibrarySpansMarshaler[0])));
+              }
+              requestMarshalers.add(
+                  new RequestMarshaler(
+                      resourceSpansMarshalers.toArray(new ResourceSpansMarshaler[0])));
+              resourceSpansMarshalers = new ArrayList<>();
+              instrumentationLibrarySpansMarshalers = new ArrayList<>();
+              spanMarshalers = new ArrayList<>();
+              requestSize = 0;
+              spanSize =
+                  MarshalerUtil.sizeMessage(
+                          InstrumentationLibrarySpans.SPANS_FIELD_NUMBER, spanMarshaler)
+                      + instrumentationLibraryOverhead
+                      + resourceOverhead;
+            }
+            spanMarshalers.add(spanMarshaler);
+            requestSize += spanSize;
+          }
+          if (!spanMarshalers.isEmpty()) {
+            instrumentationLibrarySpansMarshalers.add(
+                new InstrumentationLibrarySpansMarshaler(
+                    instrumentationLibraryMarshaler, schemaUrl, spanMarshalers));
+          }
+        }
+        if (!instrumentationLibrarySpansMarshalers.isEmpty()) {
+          resourceSpansMarshalers.add(
+              new ResourceSpansMarshaler(
+                  resourceMarshaler,
+                  instrumentationLibrarySpansMarshalers.toArray(
+                      new InstrumentationLibrarySpansMarshaler[0])));
+        }
+      }
+      if (!resourceSpansMarshalers.isEmpty()) {
+        requestMarshalers.add(
+            new RequestMarshaler(resourceSpansMarshalers.toArray(new ResourceSpansMarshaler[0])));
+      }
+      return requestMarshalers;
+    }
+
     private RequestMarshaler(ResourceSpansMarshaler[] resourceSpansMarshalers) {
       super(
           MarshalerUtil.sizeRepeatedMessage(
@@ -74,7 +271,8 @@ final class TraceMarshaler {
       this.resourceSpansMarshalers = resourceSpansMarshalers;
     }
 
-    ExportTraceServiceRequest toRequest() throws IOException {
+    /** Returns the {@link ExportTraceServiceRequest} equivalent of this marshaler. */
+    public ExportTraceServiceRequest toRequest() throws IOException {
       byte[] buf = new byte[getSerializedSize()];
       writeTo(CodedOutputStream.newInstance(buf));
       return ExportTraceServiceRequest.newBuilder()
@@ -125,14 +323,28 @@ final class TraceMarshaler {
 
   private static final class InstrumentationLibrarySpansMarshaler extends MarshalerWithSize {
     private final InstrumentationLibraryMarshaler instrumentationLibrary;
+    private final byte[] schemaUrl;
     private final List<SpanMarshaler> spanMarshalers;
+    // Spans already encoded as elements of the repeated spans field, by parallel marshaling.
+    private final List<byte[]> encodedSpans;
 
     private InstrumentationLibrarySpansMarshaler(
         InstrumentationLibraryMarshaler instrumentationLibrary,
+        byte[] schemaUrl,
         List<SpanMarshaler> spanMarshalers) {
-      super(calculateSize(instrumentationLibrary, spanMarshalers));
+      this(instrumentationLibrary, schemaUrl, spanMarshalers, Collections.emptyList());
+    }
+
+    private InstrumentationLibrarySpansMarshaler(
+        InstrumentationLibraryMarshaler instrumentationLibrary,
+        byte[] schemaUrl,
+        List<SpanMarshaler> spanMarshalers,
+        List<byte[]> encodedSpans) {
+      super(calculateSize(instrumentationLibrary, schemaUrl, spanMarshalers, encodedSpans));
       this.instrumentationLibrary = instrumentationLibrary;
+      this.schemaUrl = schemaUrl;
       this.spanMarshalers = spanMarshalers;
+      this.encodedSpans = encodedSpans;
     }
 
     @Override
@@ -143,11 +355,18 @@ final class TraceMarshaler {
           output);
       MarshalerUtil.marshalRepeatedMessage(
           InstrumentationLibrarySpans.SPANS_FIELD_NUMBER, spanMarshalers, output);
+      for (byte[] spans : encodedSpans) {
+        output.writeRawBytes(spans);
+      }
+      MarshalerUtil.marshalBytes(
+          InstrumentationLibrarySpans.SCHEMA_URL_FIELD_NUMBER, schemaUrl, output);
     }
 
     private static int calculateSize(
         InstrumentationLibraryMarshaler instrumentationLibrary,
-        List<SpanMarshaler> spanMarshalers) {
+        byte[] schemaUrl,
+        List<SpanMarshaler> spanMarshalers,
+        List<byte[]> encodedSpans) {
       int size = 0;
       size +=
           MarshalerUtil.sizeMessage(
@@ -156,6 +375,11 @@ final class TraceMarshaler {
       size +=
           MarshalerUtil.sizeRepeatedMessage(
               InstrumentationLibrarySpans.SPANS_FIELD_NUMBER, spanMarshalers);
+      for (byte[] spans : encodedSpans) {
+        size += spans.length;
+      }
+      size +=
+          MarshalerUtil.sizeBytes(InstrumentationLibrarySpans.SCHEMA_URL_FIELD_NUMBER, schemaUrl);
       return size;
     }
   }
@@ -193,7 +417,7 @@ final class TraceMarshaler {
           spanData.getSpanContext().getTraceIdBytes(),
           spanData.getSpanContext().getSpanIdBytes(),
           parentSpanId,
-          MarshalerUtil.toBytes(spanData.getName()),
+          Utf8Cache.toBytes(spanData.getName()),
           toProtoSpanKind(spanData.getKind()).getNumber(),
           spanData.getStartEpochNanos(),
           spanData.getEndEpochNanos(),
@@ -344,7 +568,7 @@ final class TraceMarshaler {
         result[pos++] =
             new SpanEventMarshaler(
                 event.getEpochNanos(),
-                MarshalerUtil.toBytes(event.getName()),
+                Utf8Cache.toBytes(event.getName()),
                 AttributeMarshaler.createRepeated(event.getAttributes()),
                 event.getTotalAttributeCount() - event.getAttributes().size());
       }
@@ -522,24 +746,23 @@ final class TraceMarshaler {
     }
   }
 
-  private static Map<Resource, Map<InstrumentationLibraryInfo, List<SpanMarshaler>>>
-      groupByResourceAndLibrary(Collection<SpanData> spanDataList) {
-    Map<Resource, Map<InstrumentationLibraryInfo, List<SpanMarshaler>>> result = new HashMap<>();
+  private static <T> Map<Resource, Map<InstrumentationLibraryInfo, List<T>>>
+      groupByResourceAndLibrary(Collection<SpanData> spanDataList, Function<SpanData, T> mapper) {
+    Map<Resource, Map<InstrumentationLibraryInfo, List<T>>> result = new HashMap<>();
     for (SpanData spanData : spanDataList) {
       Resource resource = spanData.getResource();
-      Map<InstrumentationLibraryInfo, List<SpanMarshaler>> libraryInfoListMap =
+      Map<InstrumentationLibraryInfo, List<T>> libraryInfoListMap =
           result.get(spanData.getResource());
       if (libraryInfoListMap == null) {
         libraryInfoListMap = new HashMap<>();
         result.put(resource, libraryInfoListMap);
       }
-      List<SpanMarshaler> spanList =
-          libraryInfoListMap.get(spanData.getInstrumentationLibraryInfo());
+      List<T> spanList = libraryInfoListMap.get(spanData.getInstrumentationLibraryInfo());
       if (spanList == null) {
         spanList = new ArrayList<>();
         libraryInfoListMap.put(spanData.getInstrumentationLibraryInfo(), spanList);
       }
-      spanList.add(SpanMarshaler.create(spanData));
+      spanList.add(mapper.apply(spanData));
     }
     return result;
   }
@@ -0,0 +1,93 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.metrics.common.Labels;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded cache of the UTF-8 encoding of strings that repeat across exports, such as attribute
+ * keys and span names. Once the cache is full, strings that are not cached yet are encoded on each
+ * use, so that strings of unbounded cardinality cannot grow it.
+ *
+ * <p>The {@code utf8CacheLookups} counter records the hits and misses of the shared cache, labeled
+ * by {@code result}.
+ */
+final class Utf8Cache {
+
+  private static final int MAX_ENTRIES = 4096;
+  // Longer strings are rarely repeated, and are cheap to encode relative to their size anyway.
+  private static final int MAX_CACHED_LENGTH = 256;
+
+  private static final Utf8Cache INSTANCE = new Utf8Cache(MAX_ENTRIES);
+
+  static {
+    GlobalMeterProvider.getMeter("io.opentelemetry.exporters.otlp")
+        .longSumObserverBuilder("utf8CacheLookups")
+        .setUnit("1")
+        .setDescription("The number of strings looked up in the UTF-8 encoding cache.")
+        .setUpdater(
+            result -> {
+              result.observe(INSTANCE.getHits(), Labels.of("result", "hit"));
+              result.observe(INSTANCE.getMisses(), Labels.of("result", "miss"));
+            })
+        .build();
+  }
+
+  /** Returns the UTF-8 encoding of {@code value}, from the shared cache if possible. */
+  static byte[] toBytes(@Nullable String value) {
+    return INSTANCE.getBytes(value);
+  }
+
+  private final ConcurrentMap<String, byte[]> cache = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final int maxEntries;
+
+  // Visible for testing
+  Utf8Cache(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  // Visible for testing
+  byte[] getBytes(@Nullable String value) {
+    if (value == null || value.isEmpty()) {
+      return MarshalerUtil.EMPTY_BYTES;
+    }
+    byte[] bytes = cache.get(value);
+    if (bytes != null) {
+      hits.increment();
+      return bytes;
+    }
+    misses.increment();
+    bytes = MarshalerUtil.toBytes(value);
+    // The size check races with concurrent misses, so the cache may exceed its bound by the number
+    // of threads encoding at the same time, which is fine.
+    if (value.length() <= MAX_CACHED_LENGTH && cache.size() < maxEntries) {
+      cache.putIfAbsent(value, bytes);
+    }
+    return bytes;
+  }
+
+  // Visible for testing
+  long getHits() {
+    return hits.sum();
+  }
+
+  // Visible for testing
+  long getMisses() {
+    return misses.sum();
+  }
+
+  // Visible for testing
+  int size() {
+    return cache.size();
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.grpc.Status;
+import org.junit.jupiter.api.Test;
+
+class GrpcStatusUtilTest {
+
+  @Test
+  void retryable() {
+    assertThat(GrpcStatusUtil.isRetryable(Status.CANCELLED)).isTrue();
+    assertThat(GrpcStatusUtil.isRetryable(Status.DEADLINE_EXCEEDED)).isTrue();
+    assertThat(GrpcStatusUtil.isRetryable(Status.RESOURCE_EXHAUSTED)).isTrue();
+    assertThat(GrpcStatusUtil.isRetryable(Status.ABORTED)).isTrue();
+    assertThat(GrpcStatusUtil.isRetryable(Status.OUT_OF_RANGE)).isTrue();
+    assertThat(GrpcStatusUtil.isRetryable(Status.UNAVAILABLE)).isTrue();
+    assertThat(GrpcStatusUtil.isRetryable(Status.DATA_LOSS)).isTrue();
+  }
+
+  @Test
+  void notRetryable() {
+    assertThat(GrpcStatusUtil.isRetryable(Status.OK)).isFalse();
+    assertThat(GrpcStatusUtil.isRetryable(Status.UNKNOWN)).isFalse();
+    assertThat(GrpcStatusUtil.isRetryable(Status.INVALID_ARGUMENT)).isFalse();
+    assertThat(GrpcStatusUtil.isRetryable(Status.NOT_FOUND)).isFalse();
+    assertThat(GrpcStatusUtil.isRetryable(Status.PERMISSION_DENIED)).isFalse();
+    assertThat(GrpcStatusUtil.isRetryable(Status.UNIMPLEMENTED)).isFalse();
+    assertThat(GrpcStatusUtil.isRetryable(Status.INTERNAL)).isFalse();
+    assertThat(GrpcStatusUtil.isRetryable(Status.UNAUTHENTICATED)).isFalse();
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.internal.OtelEncodingUtils;
+import io.opentelemetry.proto.collector.logs.v1.ExportLogsServiceRequest;
+import io.opentelemetry.proto.common.v1.ArrayValue;
+import io.opentelemetry.proto.common.v1.KeyValue;
+import io.opentelemetry.proto.common.v1.KeyValueList;
+import io.opentelemetry.proto.logs.v1.InstrumentationLibraryLogs;
+import io.opentelemetry.proto.logs.v1.ResourceLogs;
+import io.opentelemetry.sdk.logging.data.AnyValue;
+import io.opentelemetry.sdk.logging.data.LogRecord;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LogsMarshalerTest {
+  private static final Resource RESOURCE =
+      Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), "logs-test"));
+
+  private static final String TRACE_ID = "0123456789abcdef0123456789abcdef";
+  private static final String SPAN_ID = "0123456789abcdef";
+
+  @Test
+  void marshalAndSizeRequest() throws IOException {
+    LogRecord logRecord =
+        LogRecord.builder()
+            .setUnixTimeNano(12345)
+            .setTraceId(TRACE_ID)
+            .setSpanId(SPAN_ID)
+            .setFlags(1)
+            .setSeverity(LogRecord.Severity.INFO)
+            .setSeverityText("INFO")
+            .setName("request")
+            .setBody(
+                AnyValue.kvlistAnyValue(
+                    Collections.singletonMap(
+                        "values",
+                        AnyValue.arrayAnyValue(
+                            Arrays.asList(
+                                AnyValue.stringAnyValue("string"),
+                                AnyValue.boolAnyValue(true),
+                                AnyValue.longAnyValue(100),
+                                AnyValue.doubleAnyValue(100.3),
+                                AnyValue.arrayAnyValue(Collections.emptyList()))))))
+            .setAttributes(Attributes.of(AttributeKey.stringKey("http.method"), "GET"))
+            .build();
+
+    ExportLogsServiceRequest request =
+        assertMarshalAndSize(Arrays.asList(logRecord, logRecord, logRecord));
+
+    assertThat(request.getResourceLogsList()).hasSize(1);
+    ResourceLogs resourceLogs = request.getResourceLogs(0);
+    assertThat(resourceLogs.getResource().getAttributesList())
+        .containsExactly(
+            CommonAdapter.toProtoAttribute(AttributeKey.stringKey("service.name"), "logs-test"));
+    assertThat(resourceLogs.getInstrumentationLibraryLogsList()).hasSize(1);
+    InstrumentationLibraryLogs instrumentationLibraryLogs =
+        resourceLogs.getInstrumentationLibraryLogs(0);
+    assertThat(instrumentationLibraryLogs.hasInstrumentationLibrary()).isTrue();
+    assertThat(instrumentationLibraryLogs.getLogsList()).hasSize(3);
+
+    io.opentelemetry.proto.logs.v1.LogRecord protoLogRecord = instrumentationLibraryLogs.getLogs(0);
+    assertThat(protoLogRecord.getTimeUnixNano()).isEqualTo(12345);
+    assertThat(protoLogRecord.getTraceId()).isEqualTo(bytesFromBase16(TRACE_ID));
+    assertThat(protoLogRecord.getSpanId()).isEqualTo(bytesFromBase16(SPAN_ID));
+    assertThat(protoLogRecord.getFlags()).isEqualTo(1);
+    assertThat(protoLogRecord.getSeverityNumberValue()).isEqualTo(9);
+    assertThat(protoLogRecord.getSeverityText()).isEqualTo("INFO");
+    assertThat(protoLogRecord.getName()).isEqualTo("request");
+    assertThat(protoLogRecord.getAttributesList())
+        .containsExactly(
+            CommonAdapter.toProtoAttribute(AttributeKey.stringKey("http.method"), "GET"));
+    ArrayValue expectedValues =
+        ArrayValue.newBuilder()
+            .addValues(protoAnyValue().setStringValue("string"))
+            .addValues(protoAnyValue().setBoolValue(true))
+            .addValues(protoAnyValue().setIntValue(100))
+            .addValues(protoAnyValue().setDoubleValue(100.3))
+            .addValues(protoAnyValue().setArrayValue(ArrayValue.getDefaultInstance()))
+            .build();
+    assertThat(protoLogRecord.getBody())
+        .isEqualTo(
+            protoAnyValue()
+                .setKvlistValue(
+                    KeyValueList.newBuilder()
+                        .addValues(
+                            KeyValue.newBuilder()
+                                .setKey("values")
+                                .setValue(protoAnyValue().setArrayValue(expectedValues))))
+                .build());
+  }
+
+  @Test
+  void marshalAndSizeRequest_Empty() throws IOException {
+    ExportLogsServiceRequest request =
+        assertMarshalAndSize(
+            Collections.singletonList(
+                LogRecord.builder().setUnixTimeNano(12345).setTraceId("").setSpanId("").build()));
+
+    io.opentelemetry.proto.logs.v1.LogRecord protoLogRecord =
+        request.getResourceLogs(0).getInstrumentationLibraryLogs(0).getLogs(0);
+    assertThat(protoLogRecord.getTraceId()).isEqualTo(ByteString.EMPTY);
+    assertThat(protoLogRecord.getSpanId()).isEqualTo(ByteString.EMPTY);
+    assertThat(protoLogRecord.getSeverityNumberValue()).isZero();
+    // An empty string body is still set, rather than left unset.
+    assertThat(protoLogRecord.hasBody()).isTrue();
+    assertThat(protoLogRecord.getBody().getValueCase())
+        .isEqualTo(io.opentelemetry.proto.common.v1.AnyValue.ValueCase.STRING_VALUE);
+  }
+
+  private static ExportLogsServiceRequest assertMarshalAndSize(List<LogRecord> logs)
+      throws IOException {
+    LogsMarshaler.RequestMarshaler requestMarshaler =
+        LogsMarshaler.RequestMarshaler.create(RESOURCE, logs);
+
+    byte[] customOutput = new byte[requestMarshaler.getSerializedSize()];
+    CodedOutputStream output = CodedOutputStream.newInstance(customOutput);
+    requestMarshaler.writeTo(output);
+    output.checkNoSpaceLeft();
+
+    ExportLogsServiceRequest request = ExportLogsServiceRequest.parseFrom(customOutput);
+    assertThat(request.getSerializedSize()).isEqualTo(requestMarshaler.getSerializedSize());
+    assertThat(request.toByteArray()).isEqualTo(customOutput);
+    assertThat(requestMarshaler.toRequest().toByteArray()).isEqualTo(customOutput);
+    return request;
+  }
+
+  private static io.opentelemetry.proto.common.v1.AnyValue.Builder protoAnyValue() {
+    return io.opentelemetry.proto.common.v1.AnyValue.newBuilder();
+  }
+
+  private static ByteString bytesFromBase16(String value) {
+    return ByteString.copyFrom(OtelEncodingUtils.bytesFromBase16(value, value.length()));
+  }
+}
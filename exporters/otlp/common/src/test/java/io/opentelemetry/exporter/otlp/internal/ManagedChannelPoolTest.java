@@ -0,0 +1,280 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+class ManagedChannelPoolTest {
+
+  private static final MethodDescriptor.Marshaller<byte[]> MARSHALLER =
+      new MethodDescriptor.Marshaller<byte[]>() {
+        @Override
+        public InputStream stream(byte[] value) {
+          return new ByteArrayInputStream(value);
+        }
+
+        @Override
+        public byte[] parse(InputStream stream) {
+          return new byte[0];
+        }
+      };
+
+  private static final MethodDescriptor<byte[], byte[]> METHOD =
+      MethodDescriptor.<byte[], byte[]>newBuilder()
+          .setType(MethodDescriptor.MethodType.UNARY)
+          .setFullMethodName("test/Export")
+          .setRequestMarshaller(MARSHALLER)
+          .setResponseMarshaller(MARSHALLER)
+          .build();
+
+  @Test
+  void roundRobin() {
+    List<FakeChannel> channels = fakeChannels(3);
+    ManagedChannelPool pool =
+        new ManagedChannelPool(new ArrayList<>(channels), ManagedChannelPool.ROUND_ROBIN);
+
+    for (int i = 0; i < 6; i++) {
+      startCall(pool);
+    }
+
+    for (FakeChannel channel : channels) {
+      assertThat(channel.calls).hasSize(2);
+    }
+  }
+
+  @Test
+  void leastOutstanding() {
+    List<FakeChannel> channels = fakeChannels(2);
+    ManagedChannelPool pool =
+        new ManagedChannelPool(new ArrayList<>(channels), ManagedChannelPool.LEAST_OUTSTANDING);
+
+    startCall(pool);
+    startCall(pool);
+    startCall(pool);
+    assertThat(channels.get(0).calls).hasSize(2);
+    assertThat(channels.get(1).calls).hasSize(1);
+
+    channels.get(1).calls.get(0).close();
+    startCall(pool);
+    assertThat(channels.get(1).calls).hasSize(2);
+
+    // Round-robin would select the first channel, which has more outstanding calls.
+    channels.get(1).calls.get(1).close();
+    startCall(pool);
+    assertThat(channels.get(0).calls).hasSize(2);
+    assertThat(channels.get(1).calls).hasSize(3);
+  }
+
+  @Test
+  void acquire_sharesPool() throws InterruptedException {
+    List<FakeChannel> channels = new ArrayList<>();
+    Object channelKey =
+        ManagedChannelPool.channelKey(URI.create("http://collector:4317"), null, null, null);
+    int sharedPoolCount = ManagedChannelPool.sharedPoolCount();
+
+    ManagedChannel first =
+        ManagedChannelPool.acquire(
+            channelKey, 2, ManagedChannelPool.ROUND_ROBIN, () -> addFakeChannel(channels));
+    ManagedChannel second =
+        ManagedChannelPool.acquire(
+            ManagedChannelPool.channelKey(URI.create("http://collector:4317"), null, null, null),
+            2,
+            ManagedChannelPool.ROUND_ROBIN,
+            () -> addFakeChannel(channels));
+    assertThat(channels).hasSize(2);
+    assertThat(ManagedChannelPool.sharedPoolCount()).isEqualTo(sharedPoolCount + 1);
+
+    first.shutdown();
+    assertThat(first.isShutdown()).isTrue();
+    assertThat(first.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(channels).noneMatch(ManagedChannel::isShutdown);
+    assertThat(startCall(first).closedStatus)
+        .isNotNull()
+        .extracting(Status::getCode)
+        .isEqualTo(Status.Code.UNAVAILABLE);
+    startCall(second);
+    assertThat(channels.get(0).calls).hasSize(1);
+
+    second.shutdown();
+    assertThat(channels).allMatch(ManagedChannel::isShutdown);
+    assertThat(ManagedChannelPool.sharedPoolCount()).isEqualTo(sharedPoolCount);
+  }
+
+  @Test
+  void acquire_differentConfiguration() {
+    List<FakeChannel> channels = new ArrayList<>();
+    Metadata headers = new Metadata();
+    headers.put(Metadata.Key.of("key", Metadata.ASCII_STRING_MARSHALLER), "value");
+
+    ManagedChannel first =
+        ManagedChannelPool.acquire(
+            ManagedChannelPool.channelKey(URI.create("http://collector:4317"), null, null, null),
+            1,
+            ManagedChannelPool.ROUND_ROBIN,
+            () -> addFakeChannel(channels));
+    ManagedChannel second =
+        ManagedChannelPool.acquire(
+            ManagedChannelPool.channelKey(URI.create("http://collector:4317"), headers, null, null),
+            1,
+            ManagedChannelPool.ROUND_ROBIN,
+            () -> addFakeChannel(channels));
+    ManagedChannel third =
+        ManagedChannelPool.acquire(
+            ManagedChannelPool.channelKey(URI.create("http://collector:4317"), null, null, null),
+            1,
+            ManagedChannelPool.LEAST_OUTSTANDING,
+            () -> addFakeChannel(channels));
+    assertThat(channels).hasSize(3);
+
+    first.shutdown();
+    second.shutdown();
+    third.shutdown();
+    assertThat(channels).allMatch(ManagedChannel::isShutdown);
+  }
+
+  @Test
+  void acquire_factoryFails() {
+    List<FakeChannel> channels = new ArrayList<>();
+    Object channelKey =
+        ManagedChannelPool.channelKey(URI.create("http://failing:4317"), null, null, null);
+    int sharedPoolCount = ManagedChannelPool.sharedPoolCount();
+
+    assertThatThrownBy(
+            () ->
+                ManagedChannelPool.acquire(
+                    channelKey,
+                    3,
+                    ManagedChannelPool.ROUND_ROBIN,
+                    () -> {
+                      if (channels.size() == 2) {
+                        throw new IllegalStateException("failed");
+                      }
+                      return addFakeChannel(channels);
+                    }))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("failed");
+    assertThat(channels).hasSize(2).allMatch(ManagedChannel::isShutdown);
+    assertThat(ManagedChannelPool.sharedPoolCount()).isEqualTo(sharedPoolCount);
+  }
+
+  private static List<FakeChannel> fakeChannels(int count) {
+    List<FakeChannel> channels = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      addFakeChannel(channels);
+    }
+    return channels;
+  }
+
+  private static FakeChannel addFakeChannel(List<FakeChannel> channels) {
+    FakeChannel channel = new FakeChannel();
+    channels.add(channel);
+    return channel;
+  }
+
+  private static RecordingListener startCall(ManagedChannel channel) {
+    RecordingListener listener = new RecordingListener();
+    channel.newCall(METHOD, CallOptions.DEFAULT).start(listener, new Metadata());
+    return listener;
+  }
+
+  private static final class RecordingListener extends ClientCall.Listener<byte[]> {
+    @Nullable private Status closedStatus;
+
+    @Override
+    public void onClose(Status status, Metadata trailers) {
+      closedStatus = status;
+    }
+  }
+
+  private static final class FakeChannel extends ManagedChannel {
+    private final List<FakeCall> calls = new ArrayList<>();
+    private boolean shutdown;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+        MethodDescriptor<ReqT, RespT> methodDescriptor, CallOptions callOptions) {
+      FakeCall call = new FakeCall();
+      calls.add(call);
+      return (ClientCall<ReqT, RespT>) call;
+    }
+
+    @Override
+    public String authority() {
+      return "collector:4317";
+    }
+
+    @Override
+    public ManagedChannel shutdown() {
+      shutdown = true;
+      return this;
+    }
+
+    @Override
+    public ManagedChannel shutdownNow() {
+      return shutdown();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return shutdown;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+      return shutdown;
+    }
+  }
+
+  private static final class FakeCall extends ClientCall<byte[], byte[]> {
+    @Nullable private Listener<byte[]> listener;
+
+    @Override
+    public void start(Listener<byte[]> responseListener, Metadata headers) {
+      this.listener = responseListener;
+    }
+
+    void close() {
+      Listener<byte[]> listener = this.listener;
+      if (listener != null) {
+        listener.onClose(Status.OK, new Metadata());
+      }
+    }
+
+    @Override
+    public void request(int numMessages) {}
+
+    @Override
+    public void cancel(@Nullable String message, @Nullable Throwable cause) {}
+
+    @Override
+    public void halfClose() {}
+
+    @Override
+    public void sendMessage(byte[] message) {}
+  }
+}
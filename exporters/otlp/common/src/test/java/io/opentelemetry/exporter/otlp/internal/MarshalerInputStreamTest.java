@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.protobuf.CodedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class MarshalerInputStreamTest {
+
+  private static final byte[] VALUE = "opentelemetry".getBytes(StandardCharsets.UTF_8);
+
+  private static final Marshaler MARSHALER =
+      new MarshalerWithSize(CodedOutputStream.computeByteArraySize(1, VALUE)) {
+        @Override
+        public void writeTo(CodedOutputStream output) throws IOException {
+          output.writeByteArray(1, VALUE);
+        }
+      };
+
+  private static byte[] expectedBytes() throws IOException {
+    byte[] bytes = new byte[MARSHALER.getSerializedSize()];
+    MARSHALER.writeTo(CodedOutputStream.newInstance(bytes));
+    return bytes;
+  }
+
+  @Test
+  void drainTo() throws IOException {
+    MarshalerInputStream stream = new MarshalerInputStream(MARSHALER);
+    assertThat(stream.available()).isEqualTo(MARSHALER.getSerializedSize());
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    assertThat(stream.drainTo(output)).isEqualTo(MARSHALER.getSerializedSize());
+    assertThat(output.toByteArray()).isEqualTo(expectedBytes());
+    assertThat(stream.available()).isEqualTo(0);
+    assertThat(stream.read()).isEqualTo(-1);
+  }
+
+  @Test
+  void read_wholeMessage() throws IOException {
+    MarshalerInputStream stream = new MarshalerInputStream(MARSHALER);
+    byte[] buffer = new byte[MARSHALER.getSerializedSize() + 2];
+    assertThat(stream.read(buffer, 1, buffer.length - 1))
+        .isEqualTo(MARSHALER.getSerializedSize());
+    byte[] read = new byte[MARSHALER.getSerializedSize()];
+    System.arraycopy(buffer, 1, read, 0, read.length);
+    assertThat(read).isEqualTo(expectedBytes());
+    assertThat(stream.read(buffer, 0, buffer.length)).isEqualTo(-1);
+  }
+
+  @Test
+  void read_partial() throws IOException {
+    MarshalerInputStream stream = new MarshalerInputStream(MARSHALER);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    output.write(stream.read());
+    byte[] buffer = new byte[3];
+    int read;
+    while ((read = stream.read(buffer, 0, buffer.length)) != -1) {
+      output.write(buffer, 0, read);
+    }
+    assertThat(output.toByteArray()).isEqualTo(expectedBytes());
+  }
+
+  @Test
+  void drainTo_afterRead() throws IOException {
+    MarshalerInputStream stream = new MarshalerInputStream(MARSHALER);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    output.write(stream.read());
+    assertThat(stream.drainTo(output)).isEqualTo(MARSHALER.getSerializedSize() - 1);
+    assertThat(output.toByteArray()).isEqualTo(expectedBytes());
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.CodedOutputStream;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoubleGaugeData;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramData;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.DoubleSumData;
+import io.opentelemetry.sdk.metrics.data.DoubleSummaryData;
+import io.opentelemetry.sdk.metrics.data.DoubleSummaryPointData;
+import io.opentelemetry.sdk.metrics.data.LongGaugeData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.LongSumData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.ValueAtPercentile;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MetricsMarshalerTest {
+  private static final Resource RESOURCE = Resource.create(Attributes.of(stringKey("ka"), "va"));
+  private static final InstrumentationLibraryInfo INSTRUMENTATION_LIBRARY_INFO =
+      InstrumentationLibraryInfo.create("name", "version", "http://url");
+
+  @Test
+  void marshalAndSizeRequest_sums() throws IOException {
+    assertMarshalAndSize(
+        ImmutableList.of(
+            MetricData.createLongSum(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "long_sum",
+                "description",
+                "1",
+                LongSumData.create(
+                    /* isMonotonic= */ true,
+                    AggregationTemporality.CUMULATIVE,
+                    ImmutableList.of(
+                        LongPointData.create(123, 456, Labels.of("k", "v"), 5),
+                        LongPointData.create(123, 456, Labels.empty(), 0),
+                        LongPointData.create(123, 456, Labels.of("k", ""), -5)))),
+            MetricData.createDoubleSum(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "double_sum",
+                "",
+                "",
+                DoubleSumData.create(
+                    /* isMonotonic= */ false,
+                    AggregationTemporality.DELTA,
+                    ImmutableList.of(
+                        DoublePointData.create(123, 456, Labels.of("k1", "v1", "k2", "v2"), 5.0),
+                        DoublePointData.create(0, 456, Labels.empty(), 0.0))))));
+  }
+
+  @Test
+  void marshalAndSizeRequest_gauges() throws IOException {
+    assertMarshalAndSize(
+        ImmutableList.of(
+            MetricData.createLongGauge(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "long_gauge",
+                "description",
+                "1",
+                LongGaugeData.create(
+                    singletonList(LongPointData.create(123, 456, Labels.of("k", "v"), 5)))),
+            MetricData.createDoubleGauge(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "double_gauge",
+                "description",
+                "1",
+                DoubleGaugeData.create(
+                    singletonList(DoublePointData.create(123, 456, Labels.of("k", "v"), 5.1))))));
+  }
+
+  @Test
+  void marshalAndSizeRequest_summary() throws IOException {
+    assertMarshalAndSize(
+        singletonList(
+            MetricData.createDoubleSummary(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "summary",
+                "description",
+                "1",
+                DoubleSummaryData.create(
+                    ImmutableList.of(
+                        DoubleSummaryPointData.create(
+                            123,
+                            456,
+                            Labels.of("k", "v"),
+                            5,
+                            33d,
+                            ImmutableList.of(
+                                ValueAtPercentile.create(0, 1.1),
+                                ValueAtPercentile.create(100.0, 20.3))),
+                        DoubleSummaryPointData.create(
+                            123, 456, Labels.empty(), 0, 0, Collections.emptyList()))))));
+  }
+
+  @Test
+  void marshalAndSizeRequest_histogram() throws IOException {
+    assertMarshalAndSize(
+        singletonList(
+            MetricData.createDoubleHistogram(
+                RESOURCE,
+                INSTRUMENTATION_LIBRARY_INFO,
+                "histogram",
+                "description",
+                "1",
+                DoubleHistogramData.create(
+                    AggregationTemporality.DELTA,
+                    ImmutableList.of(
+                        DoubleHistogramPointData.create(
+                            123,
+                            456,
+                            Labels.of("k", "v"),
+                            14.2,
+                            ImmutableList.of(1.0, 5.0),
+                            ImmutableList.of(1L, 5L, 0L)),
+                        DoubleHistogramPointData.create(
+                            123,
+                            456,
+                            Labels.empty(),
+                            15.3,
+                            ImmutableList.of(),
+                            ImmutableList.of(7L)))))));
+  }
+
+  @Test
+  void marshalAndSizeRequest_groupedByResourceAndLibrary() throws IOException {
+    assertMarshalAndSize(
+        ImmutableList.of(
+            doubleSum(RESOURCE, INSTRUMENTATION_LIBRARY_INFO),
+            doubleSum(RESOURCE, INSTRUMENTATION_LIBRARY_INFO),
+            doubleSum(Resource.empty(), INSTRUMENTATION_LIBRARY_INFO),
+            doubleSum(Resource.empty(), InstrumentationLibraryInfo.empty()),
+            // Ignored, as it has no points.
+            MetricData.createDoubleSum(
+                RESOURCE,
+                InstrumentationLibraryInfo.empty(),
+                "empty",
+                "description",
+                "1",
+                DoubleSumData.create(
+                    /* isMonotonic= */ true,
+                    AggregationTemporality.CUMULATIVE,
+                    Collections.emptyList()))));
+  }
+
+  @Test
+  void marshalAndSizeRequest_empty() throws IOException {
+    assertMarshalAndSize(Collections.emptyList());
+  }
+
+  private static MetricData doubleSum(
+      Resource resource, InstrumentationLibraryInfo instrumentationLibraryInfo) {
+    return MetricData.createDoubleSum(
+        resource,
+        instrumentationLibraryInfo,
+        "name",
+        "description",
+        "1",
+        DoubleSumData.create(
+            /* isMonotonic= */ true,
+            AggregationTemporality.CUMULATIVE,
+            singletonList(DoublePointData.create(123, 456, Labels.of("k", "v"), 5.0))));
+  }
+
+  private static void assertMarshalAndSize(List<MetricData> metricDataList) throws IOException {
+    ExportMetricsServiceRequest protoRequest =
+        ExportMetricsServiceRequest.newBuilder()
+            .addAllResourceMetrics(MetricAdapter.toProtoResourceMetrics(metricDataList))
+            .build();
+    MetricsMarshaler.RequestMarshaler requestMarshaler =
+        MetricsMarshaler.RequestMarshaler.create(metricDataList);
+    int protoSize = protoRequest.getSerializedSize();
+    assertThat(requestMarshaler.getSerializedSize()).isEqualTo(protoSize);
+
+    ExportMetricsServiceRequest protoCustomRequest =
+        MetricsMarshaler.RequestMarshaler.create(metricDataList).toRequest();
+    assertThat(protoCustomRequest.getSerializedSize()).isEqualTo(protoRequest.getSerializedSize());
+
+    byte[] protoOutput = new byte[protoRequest.getSerializedSize()];
+    protoRequest.writeTo(CodedOutputStream.newInstance(protoOutput));
+
+    byte[] customOutput = new byte[requestMarshaler.getSerializedSize()];
+    requestMarshaler.writeTo(CodedOutputStream.newInstance(customOutput));
+    assertThat(customOutput).isEqualTo(protoOutput);
+
+    byte[] protoCustomOutput = new byte[protoRequest.getSerializedSize()];
+    protoCustomRequest.writeTo(CodedOutputStream.newInstance(protoCustomOutput));
+    assertThat(protoCustomOutput).isEqualTo(protoOutput);
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RetrierTest {
+
+  private static final RetryPolicy RETRY_POLICY =
+      RetryPolicy.builder()
+          .setMaxAttempts(3)
+          .setInitialBackoff(Duration.ofMillis(1))
+          .setMaxBackoff(Duration.ofMillis(5))
+          .build();
+
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+  @AfterEach
+  void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  void sendOnce() {
+    assertThat(Retrier.sendOnce(Retrier.Callback::onSuccess).isSuccess()).isTrue();
+    assertThat(Retrier.sendOnce(callback -> callback.onFailure(true)).isSuccess()).isFalse();
+  }
+
+  @Test
+  void send_success() {
+    Retrier retrier = new Retrier("test", RETRY_POLICY, scheduler);
+    AtomicInteger attempts = new AtomicInteger();
+
+    CompletableResultCode result =
+        retrier.send(
+            10,
+            callback -> {
+              attempts.incrementAndGet();
+              callback.onSuccess();
+            });
+
+    assertThat(result.isSuccess()).isTrue();
+    assertThat(attempts).hasValue(1);
+  }
+
+  @Test
+  void send_retriesTransientFailures() {
+    Retrier retrier = new Retrier("test", RETRY_POLICY, scheduler);
+    AtomicInteger attempts = new AtomicInteger();
+
+    CompletableResultCode result =
+        retrier.send(
+            10,
+            callback -> {
+              if (attempts.incrementAndGet() < 3) {
+                callback.onFailure(/* retryable= */ true);
+              } else {
+                callback.onSuccess();
+              }
+            });
+
+    assertThat(result.isSuccess()).isTrue();
+    await().untilAsserted(() -> assertThat(attempts).hasValue(3));
+    assertThat(retrier.getBufferedBytes()).isZero();
+  }
+
+  @Test
+  void send_doesNotWaitForRetries() {
+    Retrier retrier =
+        new Retrier(
+            "test",
+            RETRY_POLICY.toBuilder()
+                .setInitialBackoff(Duration.ofSeconds(10))
+                .setMaxBackoff(Duration.ofSeconds(10))
+                .build(),
+            scheduler);
+
+    CompletableResultCode result =
+        retrier.send(10, callback -> callback.onFailure(/* retryable= */ true));
+
+    assertThat(result.isDone()).isTrue();
+    assertThat(result.isSuccess()).isTrue();
+    assertThat(retrier.getBufferedBytes()).isEqualTo(10);
+  }
+
+  @Test
+  void send_doesNotRetryPermanentFailures() {
+    Retrier retrier = new Retrier("test", RETRY_POLICY, scheduler);
+    AtomicInteger attempts = new AtomicInteger();
+
+    CompletableResultCode result =
+        retrier.send(
+            10,
+            callback -> {
+              attempts.incrementAndGet();
+              callback.onFailure(/* retryable= */ false);
+            });
+
+    assertThat(result.isDone()).isTrue();
+    assertThat(result.isSuccess()).isFalse();
+    assertThat(attempts).hasValue(1);
+  }
+
+  @Test
+  void send_givesUpAfterMaxAttempts() {
+    Retrier retrier = new Retrier("test", RETRY_POLICY, scheduler);
+    AtomicInteger attempts = new AtomicInteger();
+
+    CompletableResultCode result =
+        retrier.send(
+            10,
+            callback -> {
+              attempts.incrementAndGet();
+              callback.onFailure(/* retryable= */ true);
+            });
+
+    assertThat(result.isSuccess()).isTrue();
+    await().untilAsserted(() -> assertThat(attempts).hasValue(3));
+    assertThat(retrier.getBufferedBytes()).isZero();
+  }
+
+  @Test
+  void send_givesUpAfterTotalTimeout() {
+    Retrier retrier =
+        new Retrier(
+            "test",
+            RETRY_POLICY.toBuilder()
+                .setMaxAttempts(Integer.MAX_VALUE)
+                .setInitialBackoff(Duration.ofSeconds(10))
+                .setMaxBackoff(Duration.ofSeconds(10))
+                .setTotalTimeout(Duration.ofNanos(1))
+                .build(),
+            scheduler);
+
+    CompletableResultCode result =
+        retrier.send(10, callback -> callback.onFailure(/* retryable= */ true));
+
+    assertThat(result.isDone()).isTrue();
+    assertThat(result.isSuccess()).isFalse();
+    assertThat(retrier.getBufferedBytes()).isZero();
+  }
+
+  @Test
+  void send_givesUpWhenBufferIsFull() {
+    Retrier retrier =
+        new Retrier(
+            "test",
+            RETRY_POLICY.toBuilder()
+                .setInitialBackoff(Duration.ofSeconds(10))
+                .setMaxBackoff(Duration.ofSeconds(10))
+                .setMaxBufferedBytes(15)
+                .build(),
+            scheduler);
+
+    CompletableResultCode first =
+        retrier.send(10, callback -> callback.onFailure(/* retryable= */ true));
+    CompletableResultCode second =
+        retrier.send(10, callback -> callback.onFailure(/* retryable= */ true));
+
+    assertThat(first.isDone()).isTrue();
+    assertThat(first.isSuccess()).isTrue();
+    assertThat(second.isDone()).isTrue();
+    assertThat(second.isSuccess()).isFalse();
+    assertThat(retrier.getBufferedBytes()).isEqualTo(10);
+  }
+
+  @Test
+  void shutdown_abandonsScheduledRetries() {
+    Retrier retrier =
+        new Retrier(
+            "test",
+            RETRY_POLICY.toBuilder()
+                .setInitialBackoff(Duration.ofSeconds(10))
+                .setMaxBackoff(Duration.ofSeconds(10))
+                .build(),
+            scheduler);
+    AtomicInteger attempts = new AtomicInteger();
+    for (int i = 0; i < 3; i++) {
+      retrier.send(
+          10,
+          callback -> {
+            attempts.incrementAndGet();
+            callback.onFailure(/* retryable= */ true);
+          });
+    }
+    assertThat(retrier.getBufferedBytes()).isEqualTo(30);
+
+    retrier.shutdown();
+
+    assertThat(attempts).hasValue(3);
+    assertThat(retrier.getBufferedBytes()).isZero();
+    assertThat(retrier.send(10, callback -> callback.onFailure(/* retryable= */ true)).isSuccess())
+        .isFalse();
+  }
+}
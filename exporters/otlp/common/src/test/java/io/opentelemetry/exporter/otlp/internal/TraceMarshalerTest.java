@@ -3,7 +3,7 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
-package io.opentelemetry.exporter.otlp.trace;
+package io.opentelemetry.exporter.otlp.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -14,8 +14,9 @@ import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.TraceFlags;
 import io.opentelemetry.api.trace.TraceState;
-import io.opentelemetry.exporter.otlp.internal.SpanAdapter;
 import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.trace.v1.InstrumentationLibrarySpans;
+import io.opentelemetry.proto.trace.v1.ResourceSpans;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.testing.trace.TestSpanData;
@@ -24,9 +25,11 @@ import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.data.StatusData;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
 
 class TraceMarshalerTest {
@@ -125,6 +128,118 @@ class TraceMarshalerTest {
             testSpanDataWithInstrumentationLibrary(InstrumentationLibraryInfo.create("", ""))));
   }
 
+  @Test
+  void marshalAndSizeRequest_SchemaUrl() throws IOException {
+    assertMarshalAndSize(
+        Arrays.asList(
+            testSpanDataWithInstrumentationLibrary(
+                InstrumentationLibraryInfo.create("name", "version", "http://schema")),
+            testSpanDataWithInstrumentationLibrary(
+                InstrumentationLibraryInfo.create("name", "version", "")),
+            testSpanData()));
+  }
+
+  @Test
+  void resourceAndLibraryMarshalersAreCached() throws IOException {
+    assertThat(ResourceMarshaler.create(RESOURCE)).isSameAs(ResourceMarshaler.create(RESOURCE));
+    assertThat(InstrumentationLibraryMarshaler.create(INSTRUMENTATION_LIBRARY_INFO))
+        .isSameAs(InstrumentationLibraryMarshaler.create(INSTRUMENTATION_LIBRARY_INFO));
+
+    // Repeated marshaling writes the same cached bytes.
+    assertMarshalAndSize(Arrays.asList(testSpanData(), testSpanData()));
+    assertMarshalAndSize(Arrays.asList(testSpanData(), testSpanData()));
+  }
+
+  @Test
+  void createSplit_fitsInOneRequest() throws IOException {
+    List<SpanData> spanDataList = Arrays.asList(testSpanData(), testSpanData(), testSpanData());
+    List<TraceMarshaler.RequestMarshaler> requestMarshalers =
+        TraceMarshaler.RequestMarshaler.createSplit(spanDataList, Integer.MAX_VALUE);
+
+    assertThat(requestMarshalers).hasSize(1);
+    assertThat(requestMarshalers.get(0).toRequest())
+        .isEqualTo(TraceMarshaler.RequestMarshaler.create(spanDataList).toRequest());
+  }
+
+  @Test
+  void createSplit_respectsMaxRequestSize() throws IOException {
+    List<SpanData> spanDataList = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      spanDataList.add(testSpanData());
+      spanDataList.add(
+          testSpanDataWithInstrumentationLibrary(
+              InstrumentationLibraryInfo.create("other", "version", "http://schema")));
+    }
+    int maxRequestSize =
+        TraceMarshaler.RequestMarshaler.create(spanDataList).getSerializedSize() / 3;
+
+    List<TraceMarshaler.RequestMarshaler> requestMarshalers =
+        TraceMarshaler.RequestMarshaler.createSplit(spanDataList, maxRequestSize);
+
+    assertThat(requestMarshalers).hasSizeGreaterThanOrEqualTo(3);
+    int spanCount = 0;
+    for (TraceMarshaler.RequestMarshaler requestMarshaler : requestMarshalers) {
+      assertThat(requestMarshaler.getSerializedSize()).isLessThanOrEqualTo(maxRequestSize);
+      ExportTraceServiceRequest request =
+          ExportTraceServiceRequest.parseFrom(requestMarshaler.toRequest().toByteArray());
+      for (ResourceSpans resourceSpans : request.getResourceSpansList()) {
+        for (InstrumentationLibrarySpans instrumentationLibrarySpans :
+            resourceSpans.getInstrumentationLibrarySpansList()) {
+          spanCount += instrumentationLibrarySpans.getSpansCount();
+        }
+      }
+    }
+    assertThat(spanCount).isEqualTo(spanDataList.size());
+  }
+
+  @Test
+  void createSplit_spanLargerThanMaxRequestSize() {
+    List<TraceMarshaler.RequestMarshaler> requestMarshalers =
+        TraceMarshaler.RequestMarshaler.createSplit(
+            Arrays.asList(testSpanData(), testSpanData(), testSpanData()), 1);
+
+    assertThat(requestMarshalers).hasSize(3);
+  }
+
+  @Test
+  void createSplit_empty() {
+    assertThat(TraceMarshaler.RequestMarshaler.createSplit(Collections.emptyList(), 1)).isEmpty();
+  }
+
+  @Test
+  void createParallel() throws IOException {
+    List<SpanData> spanDataList = new ArrayList<>();
+    for (int i = 0; i < 2500; i++) {
+      spanDataList.add(testSpanData());
+      if (i % 2 == 0) {
+        spanDataList.add(
+            testSpanDataWithInstrumentationLibrary(
+                InstrumentationLibraryInfo.create("other", "version", "http://schema")));
+      }
+    }
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      TraceMarshaler.RequestMarshaler requestMarshaler =
+          TraceMarshaler.RequestMarshaler.createParallel(spanDataList, pool);
+
+      TraceMarshaler.RequestMarshaler expected =
+          TraceMarshaler.RequestMarshaler.create(spanDataList);
+      assertThat(requestMarshaler.getSerializedSize()).isEqualTo(expected.getSerializedSize());
+      assertThat(requestMarshaler.toRequest()).isEqualTo(expected.toRequest());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void createParallel_smallBatch() throws IOException {
+    List<SpanData> spanDataList = Arrays.asList(testSpanData(), testSpanData());
+    assertThat(
+            TraceMarshaler.RequestMarshaler.createParallel(spanDataList, ForkJoinPool.commonPool())
+                .toRequest())
+        .isEqualTo(TraceMarshaler.RequestMarshaler.create(spanDataList).toRequest());
+  }
+
   private static SpanData testSpanDataWithInstrumentationLibrary(
       InstrumentationLibraryInfo instrumentationLibraryInfo) {
     return TestSpanData.builder()
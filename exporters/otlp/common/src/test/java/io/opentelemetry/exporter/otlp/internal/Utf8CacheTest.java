@@ -0,0 +1,58 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class Utf8CacheTest {
+
+  @Test
+  void getBytes() {
+    Utf8Cache cache = new Utf8Cache(10);
+
+    byte[] bytes = cache.getBytes("http.method");
+    assertThat(bytes).isEqualTo("http.method".getBytes(StandardCharsets.UTF_8));
+    assertThat(cache.getBytes(new String("http.method".toCharArray()))).isSameAs(bytes);
+    assertThat(cache.getBytes("résumé")).isEqualTo("résumé".getBytes(StandardCharsets.UTF_8));
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(2);
+  }
+
+  @Test
+  void getBytes_empty() {
+    Utf8Cache cache = new Utf8Cache(10);
+
+    assertThat(cache.getBytes(null)).isEmpty();
+    assertThat(cache.getBytes("")).isEmpty();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void getBytes_bounded() {
+    Utf8Cache cache = new Utf8Cache(2);
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(cache.getBytes("key" + i)).isEqualTo(("key" + i).getBytes(StandardCharsets.UTF_8));
+    }
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getBytes("key4")).isNotSameAs(cache.getBytes("key4"));
+  }
+
+  @Test
+  void getBytes_longStringsNotCached() {
+    Utf8Cache cache = new Utf8Cache(10);
+
+    char[] chars = new char[1000];
+    Arrays.fill(chars, 'a');
+    String value = new String(chars);
+    assertThat(cache.getBytes(value)).hasSize(1000);
+    assertThat(cache.size()).isZero();
+  }
+}
@@ -0,0 +1,25 @@
+plugins {
+    `java-library`
+    `maven-publish`
+
+    id("ru.vyarus.animalsniffer")
+}
+
+description = "OpenTelemetry Protocol Logs Exporter"
+extra["moduleName"] = "io.opentelemetry.exporter.otlp.logs"
+
+dependencies {
+    api(project(":sdk-extensions:logging"))
+
+    implementation(project(":exporters:otlp:common"))
+
+    implementation("io.grpc:grpc-api")
+    implementation("io.grpc:grpc-protobuf")
+    implementation("io.grpc:grpc-stub")
+    implementation("com.google.protobuf:protobuf-java")
+
+    testImplementation(project(":sdk:testing"))
+
+    testImplementation("io.grpc:grpc-testing")
+    testRuntimeOnly("io.grpc:grpc-netty-shaded")
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.logs;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.MethodDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.AbstractFutureStub;
+import io.grpc.stub.ClientCalls;
+import io.opentelemetry.exporter.otlp.internal.LogsMarshaler;
+import io.opentelemetry.exporter.otlp.internal.MarshalerInputStream;
+import io.opentelemetry.proto.collector.logs.v1.ExportLogsServiceResponse;
+import io.opentelemetry.proto.collector.logs.v1.LogsServiceGrpc;
+import java.io.InputStream;
+
+/**
+ * A client of the OTLP logs service, equivalent to the generated {@link LogsServiceGrpc}, which
+ * sends a {@link LogsMarshaler.RequestMarshaler} instead of an {@code ExportLogsServiceRequest}.
+ * The request is written by the marshaler directly to the transport.
+ */
+final class MarshalerLogsServiceGrpc {
+
+  private static final MethodDescriptor.Marshaller<LogsMarshaler.RequestMarshaler>
+      REQUEST_MARSHALLER =
+          new MethodDescriptor.Marshaller<LogsMarshaler.RequestMarshaler>() {
+            @Override
+            public InputStream stream(LogsMarshaler.RequestMarshaler value) {
+              return new MarshalerInputStream(value);
+            }
+
+            @Override
+            public LogsMarshaler.RequestMarshaler parse(InputStream stream) {
+              throw new UnsupportedOperationException("Only for serializing");
+            }
+          };
+
+  private static final MethodDescriptor<LogsMarshaler.RequestMarshaler, ExportLogsServiceResponse>
+      EXPORT_METHOD =
+          MethodDescriptor.<LogsMarshaler.RequestMarshaler, ExportLogsServiceResponse>newBuilder()
+              .setType(MethodDescriptor.MethodType.UNARY)
+              .setFullMethodName(
+                  MethodDescriptor.generateFullMethodName(LogsServiceGrpc.SERVICE_NAME, "Export"))
+              .setRequestMarshaller(REQUEST_MARSHALLER)
+              .setResponseMarshaller(
+                  ProtoUtils.marshaller(ExportLogsServiceResponse.getDefaultInstance()))
+              .build();
+
+  static LogsServiceFutureStub newFutureStub(Channel channel) {
+    return LogsServiceFutureStub.newStub(LogsServiceFutureStub::new, channel);
+  }
+
+  static final class LogsServiceFutureStub extends AbstractFutureStub<LogsServiceFutureStub> {
+    private LogsServiceFutureStub(Channel channel, CallOptions callOptions) {
+      super(channel, callOptions);
+    }
+
+    @Override
+    protected LogsServiceFutureStub build(Channel channel, CallOptions callOptions) {
+      return new LogsServiceFutureStub(channel, callOptions);
+    }
+
+    ListenableFuture<ExportLogsServiceResponse> export(LogsMarshaler.RequestMarshaler request) {
+      return ClientCalls.futureUnaryCall(
+          getChannel().newCall(EXPORT_METHOD, getCallOptions()), request);
+    }
+  }
+
+  private MarshalerLogsServiceGrpc() {}
+}
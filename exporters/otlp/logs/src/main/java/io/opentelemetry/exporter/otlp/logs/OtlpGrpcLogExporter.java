@@ -0,0 +1,178 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.logs;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.opentelemetry.exporter.otlp.internal.GrpcStatusUtil;
+import io.opentelemetry.exporter.otlp.internal.LogsMarshaler;
+import io.opentelemetry.exporter.otlp.internal.Retrier;
+import io.opentelemetry.exporter.otlp.logs.MarshalerLogsServiceGrpc.LogsServiceFutureStub;
+import io.opentelemetry.proto.collector.logs.v1.ExportLogsServiceResponse;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import io.opentelemetry.sdk.logging.data.LogRecord;
+import io.opentelemetry.sdk.logging.export.LogExporter;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Exports log records using OTLP via gRPC, using OpenTelemetry's protobuf model. The log records
+ * are batched by a {@link io.opentelemetry.sdk.logging.export.BatchLogProcessor}.
+ */
+@ThreadSafe
+public final class OtlpGrpcLogExporter implements LogExporter {
+
+  private final ThrottlingLogger logger =
+      new ThrottlingLogger(Logger.getLogger(OtlpGrpcLogExporter.class.getName()));
+
+  private final LogsServiceFutureStub logsService;
+  private final ManagedChannel managedChannel;
+  private final long timeoutNanos;
+  private final Resource resource;
+  @Nullable private final Retrier retrier;
+
+  /**
+   * Creates a new OTLP gRPC Log Exporter, using the given channel.
+   *
+   * @param channel the channel to use when communicating with the OpenTelemetry Collector.
+   * @param timeoutNanos max waiting time for the collector to process each log batch. When set to
+   *     0 or to a negative value, the exporter will wait indefinitely.
+   * @param compressionMethod the name of the gRPC compressor to use, or {@code null} to not
+   *     compress payloads.
+   * @param resource the resource the log records are exported with.
+   * @param retryPolicy the policy of retrying requests that failed with a transient error, or
+   *     {@code null} to not retry them.
+   */
+  OtlpGrpcLogExporter(
+      ManagedChannel channel,
+      long timeoutNanos,
+      @Nullable String compressionMethod,
+      Resource resource,
+      @Nullable RetryPolicy retryPolicy) {
+    this.managedChannel = channel;
+    this.timeoutNanos = timeoutNanos;
+    this.resource = resource;
+    this.retrier =
+        retryPolicy != null
+            ? Retrier.create(OtlpGrpcLogExporter.class.getSimpleName(), retryPolicy)
+            : null;
+    LogsServiceFutureStub logsService = MarshalerLogsServiceGrpc.newFutureStub(channel);
+    if (compressionMethod != null) {
+      logsService = logsService.withCompression(compressionMethod);
+    }
+    this.logsService = logsService;
+  }
+
+  /**
+   * Submits all the given log records in a single batch to the OpenTelemetry collector.
+   *
+   * @param records the list of log records to be exported.
+   * @return the result of the operation
+   */
+  @Override
+  public CompletableResultCode export(Collection<LogRecord> records) {
+    LogsMarshaler.RequestMarshaler request =
+        LogsMarshaler.RequestMarshaler.create(resource, records);
+    if (retrier != null) {
+      return retrier.send(request.getSerializedSize(), callback -> send(request, callback));
+    }
+    return Retrier.sendOnce(callback -> send(request, callback));
+  }
+
+  private void send(LogsMarshaler.RequestMarshaler request, Retrier.Callback callback) {
+    LogsServiceFutureStub exporter;
+    if (timeoutNanos > 0) {
+      exporter = logsService.withDeadlineAfter(timeoutNanos, TimeUnit.NANOSECONDS);
+    } else {
+      exporter = logsService;
+    }
+
+    Futures.addCallback(
+        exporter.export(request),
+        new FutureCallback<ExportLogsServiceResponse>() {
+          @Override
+          public void onSuccess(@Nullable ExportLogsServiceResponse response) {
+            callback.onSuccess();
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            Status status = Status.fromThrowable(t);
+            switch (status.getCode()) {
+              case UNIMPLEMENTED:
+                logger.log(
+                    Level.SEVERE,
+                    "Failed to export logs. Server responded with UNIMPLEMENTED. "
+                        + "This usually means that your collector is not configured with an otlp "
+                        + "receiver in the \"pipelines\" section of the configuration. "
+                        + "Full error message: "
+                        + t.getMessage());
+                break;
+              case UNAVAILABLE:
+                logger.log(
+                    Level.SEVERE,
+                    "Failed to export logs. Server is UNAVAILABLE. "
+                        + "Make sure your collector is running and reachable from this network."
+                        + t.getMessage());
+                break;
+              default:
+                logger.log(
+                    Level.WARNING, "Failed to export logs. Error message: " + t.getMessage());
+                break;
+            }
+            logger.log(Level.FINEST, "Failed to export logs. Details follow: " + t);
+            callback.onFailure(GrpcStatusUtil.isRetryable(status));
+          }
+        },
+        MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Returns a new builder instance for this exporter.
+   *
+   * @return a new builder instance for this exporter.
+   */
+  public static OtlpGrpcLogExporterBuilder builder() {
+    return new OtlpGrpcLogExporterBuilder();
+  }
+
+  /**
+   * Returns a new {@link OtlpGrpcLogExporter} using the default values.
+   *
+   * @return a new {@link OtlpGrpcLogExporter} instance.
+   */
+  public static OtlpGrpcLogExporter getDefault() {
+    return builder().build();
+  }
+
+  /**
+   * Initiates an orderly shutdown in which preexisting calls continue but new calls are immediately
+   * cancelled. The channel is forcefully closed after a timeout.
+   */
+  @Override
+  public CompletableResultCode shutdown() {
+    if (retrier != null) {
+      retrier.shutdown();
+    }
+    try {
+      managedChannel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      logger.log(Level.WARNING, "Failed to shutdown the gRPC channel", e);
+      return CompletableResultCode.ofFailure();
+    }
+    return CompletableResultCode.ofSuccess();
+  }
+}
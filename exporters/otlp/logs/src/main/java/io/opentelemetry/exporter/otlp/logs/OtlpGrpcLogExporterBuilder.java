@@ -0,0 +1,247 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.logs;
+
+import static io.grpc.Metadata.ASCII_STRING_MARSHALLER;
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.grpc.CompressorRegistry;
+import io.grpc.LoadBalancerRegistry;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.stub.MetadataUtils;
+import io.opentelemetry.exporter.otlp.internal.ManagedChannelPool;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
+import io.opentelemetry.sdk.resources.Resource;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/** Builder utility for this exporter. */
+public final class OtlpGrpcLogExporterBuilder {
+
+  private static final String DEFAULT_ENDPOINT_URL = "http://localhost:4317";
+  private static final URI DEFAULT_ENDPOINT = URI.create(DEFAULT_ENDPOINT_URL);
+  private static final long DEFAULT_TIMEOUT_SECS = 10;
+
+  private ManagedChannel channel;
+  private long timeoutNanos = TimeUnit.SECONDS.toNanos(DEFAULT_TIMEOUT_SECS);
+  private URI endpoint = DEFAULT_ENDPOINT;
+
+  @Nullable private Metadata metadata;
+  @Nullable private String compressionMethod;
+  private Resource resource = Resource.getDefault();
+  @Nullable private RetryPolicy retryPolicy;
+  private int channelPoolSize = 1;
+  private String channelSelectionPolicy = ManagedChannelPool.ROUND_ROBIN;
+  @Nullable private String loadBalancingPolicy;
+
+  /**
+   * Sets the managed chanel to use when communicating with the backend. Takes precedence over
+   * {@link #setEndpoint(String)} if both are called.
+   *
+   * @param channel the channel to use
+   * @return this builder's instance
+   */
+  public OtlpGrpcLogExporterBuilder setChannel(ManagedChannel channel) {
+    this.channel = channel;
+    return this;
+  }
+
+  /**
+   * Sets the maximum time to wait for the collector to process an exported batch of log records. If
+   * unset, defaults to {@value DEFAULT_TIMEOUT_SECS}s.
+   */
+  public OtlpGrpcLogExporterBuilder setTimeout(long timeout, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(timeout >= 0, "timeout must be non-negative");
+    timeoutNanos = unit.toNanos(timeout);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time to wait for the collector to process an exported batch of log records. If
+   * unset, defaults to {@value DEFAULT_TIMEOUT_SECS}s.
+   */
+  public OtlpGrpcLogExporterBuilder setTimeout(Duration timeout) {
+    requireNonNull(timeout, "timeout");
+    return setTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Sets the OTLP endpoint to connect to. If unset, defaults to {@value DEFAULT_ENDPOINT_URL}. The
+   * endpoint must start with either http:// or https://.
+   */
+  public OtlpGrpcLogExporterBuilder setEndpoint(String endpoint) {
+    requireNonNull(endpoint, "endpoint");
+
+    URI uri;
+    try {
+      uri = new URI(endpoint);
+    } catch (URISyntaxException e) {
+      throw new IllegalArgumentException("Invalid endpoint, must be a URL: " + endpoint, e);
+    }
+
+    if (uri.getScheme() == null
+        || (!uri.getScheme().equals("http") && !uri.getScheme().equals("https"))) {
+      throw new IllegalArgumentException(
+          "Invalid endpoint, must start with http:// or https://: " + uri);
+    }
+
+    this.endpoint = uri;
+    return this;
+  }
+
+  /**
+   * Sets the method used to compress the payloads. Supported values are {@code "gzip"}, {@code
+   * "none"} and the name of any other compressor registered with the default gRPC {@link
+   * CompressorRegistry}, such as a faster codec supported by the collector. Payloads are compressed
+   * as they are streamed to the transport. If unset, payloads are not compressed.
+   */
+  public OtlpGrpcLogExporterBuilder setCompression(String compressionMethod) {
+    requireNonNull(compressionMethod, "compressionMethod");
+    checkArgument(
+        compressionMethod.equals("none")
+            || CompressorRegistry.getDefaultInstance().lookupCompressor(compressionMethod) != null,
+        "Unsupported compression method. Supported compression methods include: gzip, none and "
+            + "compressors registered with gRPC.");
+    this.compressionMethod = compressionMethod.equals("none") ? null : compressionMethod;
+    return this;
+  }
+
+  /**
+   * Sets the resource the log records are exported with. Log records do not carry the resource
+   * that emitted them, so all the log records of this exporter are exported with this resource,
+   * usually the resource of the tracer provider of the application. If unset, defaults to {@link
+   * Resource#getDefault()}.
+   */
+  public OtlpGrpcLogExporterBuilder setResource(Resource resource) {
+    this.resource = requireNonNull(resource, "resource");
+    return this;
+  }
+
+  /**
+   * Sets the policy of retrying requests that failed with a transient error, such as when the
+   * collector is restarting. A failed request is handed off to a retry buffer bounded by {@link
+   * RetryPolicy#getMaxBufferedBytes()}, and the export result then completes successfully, so
+   * exporting never waits for the retries. The export result fails only if the request cannot be
+   * retried. Requests that are abandoned later are counted by the {@code
+   * requestsAbandonedByExporter} counter. If unset, failed requests are not retried.
+   */
+  public OtlpGrpcLogExporterBuilder setRetryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = requireNonNull(retryPolicy, "retryPolicy");
+    return this;
+  }
+
+  /**
+   * Sets the number of channels, each with its own connection, over which export requests are
+   * spread. A single HTTP/2 connection to a collector behind an L4 load balancer always reaches the
+   * same collector instance, and can bound the export throughput. Exporters built with the same
+   * endpoint, headers and channel options share their channels, so that the span, metric and log
+   * exporters of a collector use a single pool. Not used if a channel is set with {@link
+   * #setChannel(ManagedChannel)}. If unset, defaults to 1.
+   */
+  public OtlpGrpcLogExporterBuilder setChannelPoolSize(int channelPoolSize) {
+    checkArgument(channelPoolSize > 0, "channelPoolSize must be positive");
+    this.channelPoolSize = channelPoolSize;
+    return this;
+  }
+
+  /**
+   * Sets how export requests are spread over the channels of the pool: {@code "round_robin"}
+   * sends them to the channels in turn, and {@code "least_outstanding"} to the channel with the
+   * fewest requests in flight. If unset, defaults to {@code "round_robin"}.
+   */
+  public OtlpGrpcLogExporterBuilder setChannelSelectionPolicy(String channelSelectionPolicy) {
+    requireNonNull(channelSelectionPolicy, "channelSelectionPolicy");
+    checkArgument(
+        ManagedChannelPool.isSupportedSelectionPolicy(channelSelectionPolicy),
+        "Unsupported channel selection policy. Supported policies include: round_robin and "
+            + "least_outstanding.");
+    this.channelSelectionPolicy = channelSelectionPolicy;
+    return this;
+  }
+
+  /**
+   * Sets the gRPC load balancing policy of the channels. With {@code "round_robin"}, each channel
+   * connects to all the addresses that DNS resolves for the endpoint host, and spreads requests
+   * over them, which balances collectors behind a headless service without an L4 load balancer.
+   * Supported values are {@code "pick_first"}, {@code "round_robin"} and any other policy
+   * registered with the default gRPC {@link LoadBalancerRegistry}. If unset, each channel
+   * connects to the first address that can be reached.
+   */
+  public OtlpGrpcLogExporterBuilder setLoadBalancingPolicy(String loadBalancingPolicy) {
+    requireNonNull(loadBalancingPolicy, "loadBalancingPolicy");
+    checkArgument(
+        LoadBalancerRegistry.getDefaultRegistry().getProvider(loadBalancingPolicy) != null,
+        "Unsupported load balancing policy. Supported policies include: pick_first, round_robin "
+            + "and policies registered with gRPC.");
+    this.loadBalancingPolicy = loadBalancingPolicy;
+    return this;
+  }
+
+  /**
+   * Add header to request. Optional. Applicable only if {@link
+   * OtlpGrpcLogExporterBuilder#endpoint} is set to build channel.
+   *
+   * @param key header key
+   * @param value header value
+   * @return this builder's instance
+   */
+  public OtlpGrpcLogExporterBuilder addHeader(String key, String value) {
+    if (metadata == null) {
+      metadata = new Metadata();
+    }
+    metadata.put(Metadata.Key.of(key, ASCII_STRING_MARSHALLER), value);
+    return this;
+  }
+
+  /**
+   * Constructs a new instance of the exporter based on the builder's values.
+   *
+   * @return a new exporter's instance
+   */
+  public OtlpGrpcLogExporter build() {
+    ManagedChannel exporterChannel = channel;
+    if (exporterChannel == null) {
+      exporterChannel =
+          ManagedChannelPool.acquire(
+              ManagedChannelPool.channelKey(endpoint, metadata, null, loadBalancingPolicy),
+              channelPoolSize,
+              channelSelectionPolicy,
+              this::createChannel);
+    }
+    return new OtlpGrpcLogExporter(
+        exporterChannel, timeoutNanos, compressionMethod, resource, retryPolicy);
+  }
+
+  private ManagedChannel createChannel() {
+    final ManagedChannelBuilder<?> managedChannelBuilder =
+        ManagedChannelBuilder.forTarget(endpoint.getAuthority());
+
+    if (endpoint.getScheme().equals("https")) {
+      managedChannelBuilder.useTransportSecurity();
+    } else {
+      managedChannelBuilder.usePlaintext();
+    }
+
+    if (metadata != null) {
+      managedChannelBuilder.intercept(MetadataUtils.newAttachHeadersInterceptor(metadata));
+    }
+
+    if (loadBalancingPolicy != null) {
+      managedChannelBuilder.defaultLoadBalancingPolicy(loadBalancingPolicy);
+    }
+
+    return managedChannelBuilder.build();
+  }
+
+  OtlpGrpcLogExporterBuilder() {}
+}
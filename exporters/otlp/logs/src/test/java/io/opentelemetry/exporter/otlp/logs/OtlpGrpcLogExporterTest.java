@@ -0,0 +1,253 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.logs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.google.common.io.Closer;
+import io.github.netmikey.logunit.api.LogCapturer;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.Status.Code;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.proto.collector.logs.v1.ExportLogsServiceRequest;
+import io.opentelemetry.proto.collector.logs.v1.ExportLogsServiceResponse;
+import io.opentelemetry.proto.collector.logs.v1.LogsServiceGrpc;
+import io.opentelemetry.proto.logs.v1.ResourceLogs;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
+import io.opentelemetry.sdk.logging.data.LogRecord;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.event.Level;
+import org.slf4j.event.LoggingEvent;
+
+class OtlpGrpcLogExporterTest {
+
+  private static final String TRACE_ID = "0123456789abcdef0123456789abcdef";
+  private static final String SPAN_ID = "0123456789abcdef";
+
+  private final FakeCollector fakeCollector = new FakeCollector();
+  private final String serverName = InProcessServerBuilder.generateName();
+  private final ManagedChannel inProcessChannel =
+      InProcessChannelBuilder.forName(serverName).directExecutor().build();
+
+  private final Closer closer = Closer.create();
+
+  @RegisterExtension
+  LogCapturer logs = LogCapturer.create().captureForType(OtlpGrpcLogExporter.class);
+
+  @BeforeEach
+  public void setup() throws IOException {
+    Server server =
+        InProcessServerBuilder.forName(serverName)
+            .directExecutor()
+            .addService(fakeCollector)
+            .build()
+            .start();
+    closer.register(server::shutdownNow);
+    closer.register(inProcessChannel::shutdownNow);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    closer.close();
+  }
+
+  @Test
+  @SuppressWarnings("PreferJavaTimeOverload")
+  void invalidConfig() {
+    assertThatThrownBy(() -> OtlpGrpcLogExporter.builder().setTimeout(-1, TimeUnit.MILLISECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("timeout must be non-negative");
+    assertThatThrownBy(() -> OtlpGrpcLogExporter.builder().setTimeout(1, null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("unit");
+    assertThatThrownBy(() -> OtlpGrpcLogExporter.builder().setTimeout(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("timeout");
+
+    assertThatThrownBy(() -> OtlpGrpcLogExporter.builder().setEndpoint(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("endpoint");
+    assertThatThrownBy(() -> OtlpGrpcLogExporter.builder().setEndpoint("localhost"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid endpoint, must start with http:// or https://: localhost");
+
+    assertThatThrownBy(() -> OtlpGrpcLogExporter.builder().setCompression("foo"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "Unsupported compression method. Supported compression methods include: gzip, none "
+                + "and compressors registered with gRPC.");
+    assertThatThrownBy(() -> OtlpGrpcLogExporter.builder().setResource(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("resource");
+    assertThatThrownBy(() -> OtlpGrpcLogExporter.builder().setRetryPolicy(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("retryPolicy");
+    assertThatThrownBy(() -> OtlpGrpcLogExporter.builder().setChannelPoolSize(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("channelPoolSize must be positive");
+  }
+
+  @Test
+  void testExport() {
+    Resource resource =
+        Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), "logs-test"));
+    OtlpGrpcLogExporter exporter =
+        OtlpGrpcLogExporter.builder().setChannel(inProcessChannel).setResource(resource).build();
+    try {
+      assertThat(
+              exporter
+                  .export(Collections.singletonList(generateFakeLogRecord("request")))
+                  .isSuccess())
+          .isTrue();
+      assertThat(fakeCollector.getReceivedLogs()).hasSize(1);
+      ResourceLogs resourceLogs = fakeCollector.getReceivedLogs().get(0);
+      assertThat(resourceLogs.getResource().getAttributes(0).getValue().getStringValue())
+          .isEqualTo("logs-test");
+      io.opentelemetry.proto.logs.v1.LogRecord log =
+          resourceLogs.getInstrumentationLibraryLogs(0).getLogs(0);
+      assertThat(log.getBody().getStringValue()).isEqualTo("request");
+      assertThat(log.getSeverityText()).isEqualTo("INFO");
+      assertThat(log.getTraceId().size()).isEqualTo(16);
+      assertThat(log.getSpanId().size()).isEqualTo(8);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_Compression() {
+    OtlpGrpcLogExporter exporter =
+        OtlpGrpcLogExporter.builder().setChannel(inProcessChannel).setCompression("gzip").build();
+    try {
+      List<LogRecord> records = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        records.add(generateFakeLogRecord("request " + i));
+      }
+      assertThat(exporter.export(records).isSuccess()).isTrue();
+      assertThat(fakeCollector.getReceivedLogs()).hasSize(1);
+      io.opentelemetry.proto.logs.v1.LogRecord log =
+          fakeCollector.getReceivedLogs().get(0).getInstrumentationLibraryLogs(0).getLogs(9);
+      assertThat(log.getBody().getStringValue()).isEqualTo("request 9");
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_AfterShutdown() {
+    OtlpGrpcLogExporter exporter =
+        OtlpGrpcLogExporter.builder().setChannel(inProcessChannel).build();
+    exporter.shutdown();
+    CompletableResultCode result =
+        exporter.export(Collections.singletonList(generateFakeLogRecord("request")));
+    assertThat(result.isSuccess()).isFalse();
+  }
+
+  @Test
+  void testExport_Unavailable() {
+    fakeCollector.setReturnedStatus(Status.UNAVAILABLE);
+    OtlpGrpcLogExporter exporter =
+        OtlpGrpcLogExporter.builder().setChannel(inProcessChannel).build();
+    try {
+      assertThat(
+              exporter
+                  .export(Collections.singletonList(generateFakeLogRecord("request")))
+                  .isSuccess())
+          .isFalse();
+    } finally {
+      exporter.shutdown();
+    }
+    LoggingEvent log =
+        logs.assertContains(
+            "Failed to export logs. Server is UNAVAILABLE. "
+                + "Make sure your collector is running and reachable from this network.");
+    assertThat(log.getLevel()).isEqualTo(Level.ERROR);
+  }
+
+  @Test
+  void testExport_RetriesTransientFailure() {
+    fakeCollector.setReturnedStatus(Status.UNAVAILABLE);
+    OtlpGrpcLogExporter exporter =
+        OtlpGrpcLogExporter.builder()
+            .setChannel(inProcessChannel)
+            .setRetryPolicy(
+                RetryPolicy.builder()
+                    .setMaxAttempts(3)
+                    .setInitialBackoff(Duration.ofMillis(1))
+                    .setMaxBackoff(Duration.ofMillis(5))
+                    .build())
+            .build();
+    try {
+      CompletableResultCode result =
+          exporter.export(Collections.singletonList(generateFakeLogRecord("request")));
+      // The export completes once the failed request is handed off to be retried.
+      assertThat(result.join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      await().untilAsserted(() -> assertThat(fakeCollector.getReceivedLogs()).hasSize(3));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  private static LogRecord generateFakeLogRecord(String body) {
+    return LogRecord.builder()
+        .setTraceId(TRACE_ID)
+        .setSpanId(SPAN_ID)
+        .setSeverity(LogRecord.Severity.INFO)
+        .setSeverityText("INFO")
+        .setBody(body)
+        .setAttributes(Attributes.of(AttributeKey.stringKey("http.method"), "GET"))
+        .build();
+  }
+
+  private static final class FakeCollector extends LogsServiceGrpc.LogsServiceImplBase {
+    private final List<ResourceLogs> receivedLogs = new ArrayList<>();
+    private Status returnedStatus = Status.OK;
+
+    @Override
+    public void export(
+        ExportLogsServiceRequest request,
+        StreamObserver<ExportLogsServiceResponse> responseObserver) {
+      receivedLogs.addAll(request.getResourceLogsList());
+      responseObserver.onNext(ExportLogsServiceResponse.newBuilder().build());
+      if (!returnedStatus.isOk()) {
+        if (returnedStatus.getCode() == Code.DEADLINE_EXCEEDED) {
+          // Do not call onCompleted to simulate a deadline exceeded.
+          return;
+        }
+        responseObserver.onError(returnedStatus.asRuntimeException());
+        return;
+      }
+      responseObserver.onCompleted();
+    }
+
+    List<ResourceLogs> getReceivedLogs() {
+      return receivedLogs;
+    }
+
+    void setReturnedStatus(Status returnedStatus) {
+      this.returnedStatus = returnedStatus;
+    }
+  }
+}
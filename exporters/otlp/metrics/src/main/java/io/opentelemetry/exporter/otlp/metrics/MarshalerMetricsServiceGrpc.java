@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.metrics;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.MethodDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.AbstractFutureStub;
+import io.grpc.stub.ClientCalls;
+import io.opentelemetry.exporter.otlp.internal.MarshalerInputStream;
+import io.opentelemetry.exporter.otlp.internal.MetricsMarshaler;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceResponse;
+import io.opentelemetry.proto.collector.metrics.v1.MetricsServiceGrpc;
+import java.io.InputStream;
+
+/**
+ * A client of the OTLP metrics service, equivalent to the generated {@link MetricsServiceGrpc},
+ * which sends a {@link MetricsMarshaler.RequestMarshaler} instead of an {@code
+ * ExportMetricsServiceRequest}. The request is written by the marshaler directly to the transport.
+ */
+final class MarshalerMetricsServiceGrpc {
+
+  private static final MethodDescriptor.Marshaller<MetricsMarshaler.RequestMarshaler>
+      REQUEST_MARSHALLER =
+          new MethodDescriptor.Marshaller<MetricsMarshaler.RequestMarshaler>() {
+            @Override
+            public InputStream stream(MetricsMarshaler.RequestMarshaler value) {
+              return new MarshalerInputStream(value);
+            }
+
+            @Override
+            public MetricsMarshaler.RequestMarshaler parse(InputStream stream) {
+              throw new UnsupportedOperationException("Only for serializing");
+            }
+          };
+
+  private static final MethodDescriptor<
+          MetricsMarshaler.RequestMarshaler, ExportMetricsServiceResponse>
+      EXPORT_METHOD =
+          MethodDescriptor
+              .<MetricsMarshaler.RequestMarshaler, ExportMetricsServiceResponse>newBuilder()
+              .setType(MethodDescriptor.MethodType.UNARY)
+              .setFullMethodName(
+                  MethodDescriptor.generateFullMethodName(
+                      MetricsServiceGrpc.SERVICE_NAME, "Export"))
+              .setRequestMarshaller(REQUEST_MARSHALLER)
+              .setResponseMarshaller(
+                  ProtoUtils.marshaller(ExportMetricsServiceResponse.getDefaultInstance()))
+              .build();
+
+  static MetricsServiceFutureStub newFutureStub(Channel channel) {
+    return MetricsServiceFutureStub.newStub(MetricsServiceFutureStub::new, channel);
+  }
+
+  static final class MetricsServiceFutureStub
+      extends AbstractFutureStub<MetricsServiceFutureStub> {
+    private MetricsServiceFutureStub(Channel channel, CallOptions callOptions) {
+      super(channel, callOptions);
+    }
+
+    @Override
+    protected MetricsServiceFutureStub build(Channel channel, CallOptions callOptions) {
+      return new MetricsServiceFutureStub(channel, callOptions);
+    }
+
+    ListenableFuture<ExportMetricsServiceResponse> export(
+        MetricsMarshaler.RequestMarshaler request) {
+      return ClientCalls.futureUnaryCall(
+          getChannel().newCall(EXPORT_METHOD, getCallOptions()), request);
+    }
+  }
+
+  private MarshalerMetricsServiceGrpc() {}
+}
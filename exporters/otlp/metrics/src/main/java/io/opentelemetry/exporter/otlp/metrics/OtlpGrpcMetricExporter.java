@@ -10,12 +10,13 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
 import io.grpc.ManagedChannel;
 import io.grpc.Status;
-import io.opentelemetry.exporter.otlp.internal.MetricAdapter;
-import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.exporter.otlp.internal.GrpcStatusUtil;
+import io.opentelemetry.exporter.otlp.internal.MetricsMarshaler;
+import io.opentelemetry.exporter.otlp.internal.Retrier;
+import io.opentelemetry.exporter.otlp.metrics.MarshalerMetricsServiceGrpc.MetricsServiceFutureStub;
 import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceResponse;
-import io.opentelemetry.proto.collector.metrics.v1.MetricsServiceGrpc;
-import io.opentelemetry.proto.collector.metrics.v1.MetricsServiceGrpc.MetricsServiceFutureStub;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
 import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.export.MetricExporter;
@@ -36,6 +37,7 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
   private final MetricsServiceFutureStub metricsService;
   private final ManagedChannel managedChannel;
   private final long timeoutNanos;
+  @Nullable private final Retrier retrier;
 
   /**
    * Creates a new OTLP gRPC Metric Reporter with the given name, using the given channel.
@@ -43,11 +45,27 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
    * @param channel the channel to use when communicating with the OpenTelemetry Collector.
    * @param timeoutNanos max waiting time for the collector to process each metric batch. When set
    *     to 0 or to a negative value, the exporter will wait indefinitely.
+   * @param compressionMethod the name of the gRPC compressor to use, or {@code null} to not
+   *     compress payloads.
+   * @param retryPolicy the policy of retrying requests that failed with a transient error, or
+   *     {@code null} to not retry them.
    */
-  OtlpGrpcMetricExporter(ManagedChannel channel, long timeoutNanos) {
+  OtlpGrpcMetricExporter(
+      ManagedChannel channel,
+      long timeoutNanos,
+      @Nullable String compressionMethod,
+      @Nullable RetryPolicy retryPolicy) {
     this.managedChannel = channel;
     this.timeoutNanos = timeoutNanos;
-    metricsService = MetricsServiceGrpc.newFutureStub(channel);
+    this.retrier =
+        retryPolicy != null
+            ? Retrier.create(OtlpGrpcMetricExporter.class.getSimpleName(), retryPolicy)
+            : null;
+    MetricsServiceFutureStub metricsService = MarshalerMetricsServiceGrpc.newFutureStub(channel);
+    if (compressionMethod != null) {
+      metricsService = metricsService.withCompression(compressionMethod);
+    }
+    this.metricsService = metricsService;
   }
 
   /**
@@ -58,12 +76,14 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
    */
   @Override
   public CompletableResultCode export(Collection<MetricData> metrics) {
-    ExportMetricsServiceRequest exportMetricsServiceRequest =
-        ExportMetricsServiceRequest.newBuilder()
-            .addAllResourceMetrics(MetricAdapter.toProtoResourceMetrics(metrics))
-            .build();
+    MetricsMarshaler.RequestMarshaler request = MetricsMarshaler.RequestMarshaler.create(metrics);
+    if (retrier != null) {
+      return retrier.send(request.getSerializedSize(), callback -> send(request, callback));
+    }
+    return Retrier.sendOnce(callback -> send(request, callback));
+  }
 
-    final CompletableResultCode result = new CompletableResultCode();
+  private void send(MetricsMarshaler.RequestMarshaler request, Retrier.Callback callback) {
     MetricsServiceFutureStub exporter;
     if (timeoutNanos > 0) {
       exporter = metricsService.withDeadlineAfter(timeoutNanos, TimeUnit.NANOSECONDS);
@@ -72,11 +92,11 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
     }
 
     Futures.addCallback(
-        exporter.export(exportMetricsServiceRequest),
+        exporter.export(request),
         new FutureCallback<ExportMetricsServiceResponse>() {
           @Override
           public void onSuccess(@Nullable ExportMetricsServiceResponse response) {
-            result.succeed();
+            callback.onSuccess();
           }
 
           @Override
@@ -105,11 +125,10 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
                 break;
             }
             logger.log(Level.FINEST, "Failed to export metrics. Details follow: " + t);
-            result.fail();
+            callback.onFailure(GrpcStatusUtil.isRetryable(status));
           }
         },
         MoreExecutors.directExecutor());
-    return result;
   }
 
   /**
@@ -148,6 +167,9 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
    */
   @Override
   public CompletableResultCode shutdown() {
+    if (retrier != null) {
+      retrier.shutdown();
+    }
     try {
       managedChannel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
     } catch (InterruptedException e) {
@@ -9,10 +9,14 @@ import static io.grpc.Metadata.ASCII_STRING_MARSHALLER;
 import static io.opentelemetry.api.internal.Utils.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import io.grpc.CompressorRegistry;
+import io.grpc.LoadBalancerRegistry;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.Metadata;
 import io.grpc.stub.MetadataUtils;
+import io.opentelemetry.exporter.otlp.internal.ManagedChannelPool;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
@@ -31,6 +35,11 @@ public final class OtlpGrpcMetricExporterBuilder {
   private URI endpoint = DEFAULT_ENDPOINT;
 
   @Nullable private Metadata metadata;
+  @Nullable private String compressionMethod;
+  @Nullable private RetryPolicy retryPolicy;
+  private int channelPoolSize = 1;
+  private String channelSelectionPolicy = ManagedChannelPool.ROUND_ROBIN;
+  @Nullable private String loadBalancingPolicy;
 
   /**
    * Sets the managed chanel to use when communicating with the backend. Takes precedence over
@@ -88,6 +97,83 @@ public final class OtlpGrpcMetricExporterBuilder {
     return this;
   }
 
+  /**
+   * Sets the method used to compress the payloads. Supported values are {@code "gzip"}, {@code
+   * "none"} and the name of any other compressor registered with the default gRPC {@link
+   * CompressorRegistry}, such as a faster codec supported by the collector. Payloads are compressed
+   * as they are streamed to the transport. If unset, payloads are not compressed.
+   */
+  public OtlpGrpcMetricExporterBuilder setCompression(String compressionMethod) {
+    requireNonNull(compressionMethod, "compressionMethod");
+    checkArgument(
+        compressionMethod.equals("none")
+            || CompressorRegistry.getDefaultInstance().lookupCompressor(compressionMethod) != null,
+        "Unsupported compression method. Supported compression methods include: gzip, none and "
+            + "compressors registered with gRPC.");
+    this.compressionMethod = compressionMethod.equals("none") ? null : compressionMethod;
+    return this;
+  }
+
+  /**
+   * Sets the policy of retrying requests that failed with a transient error, such as when the
+   * collector is restarting. A failed request is handed off to a retry buffer bounded by {@link
+   * RetryPolicy#getMaxBufferedBytes()}, and the export result then completes successfully, so
+   * exporting never waits for the retries. The export result fails only if the request cannot be
+   * retried. Requests that are abandoned later are counted by the {@code
+   * requestsAbandonedByExporter} counter. If unset, failed requests are not retried.
+   */
+  public OtlpGrpcMetricExporterBuilder setRetryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = requireNonNull(retryPolicy, "retryPolicy");
+    return this;
+  }
+
+  /**
+   * Sets the number of channels, each with its own connection, over which export requests are
+   * spread. A single HTTP/2 connection to a collector behind an L4 load balancer always reaches the
+   * same collector instance, and can bound the export throughput. Exporters built with the same
+   * endpoint, headers and channel options share their channels, so that the span and metric
+   * exporters of a collector use a single pool. Not used if a channel is set with {@link
+   * #setChannel(ManagedChannel)}. If unset, defaults to 1.
+   */
+  public OtlpGrpcMetricExporterBuilder setChannelPoolSize(int channelPoolSize) {
+    checkArgument(channelPoolSize > 0, "channelPoolSize must be positive");
+    this.channelPoolSize = channelPoolSize;
+    return this;
+  }
+
+  /**
+   * Sets how export requests are spread over the channels of the pool: {@code "round_robin"}
+   * sends them to the channels in turn, and {@code "least_outstanding"} to the channel with the
+   * fewest requests in flight. If unset, defaults to {@code "round_robin"}.
+   */
+  public OtlpGrpcMetricExporterBuilder setChannelSelectionPolicy(String channelSelectionPolicy) {
+    requireNonNull(channelSelectionPolicy, "channelSelectionPolicy");
+    checkArgument(
+        ManagedChannelPool.isSupportedSelectionPolicy(channelSelectionPolicy),
+        "Unsupported channel selection policy. Supported policies include: round_robin and "
+            + "least_outstanding.");
+    this.channelSelectionPolicy = channelSelectionPolicy;
+    return this;
+  }
+
+  /**
+   * Sets the gRPC load balancing policy of the channels. With {@code "round_robin"}, each channel
+   * connects to all the addresses that DNS resolves for the endpoint host, and spreads requests
+   * over them, which balances collectors behind a headless service without an L4 load balancer.
+   * Supported values are {@code "pick_first"}, {@code "round_robin"} and any other policy
+   * registered with the default gRPC {@link LoadBalancerRegistry}. If unset, each channel
+   * connects to the first address that can be reached.
+   */
+  public OtlpGrpcMetricExporterBuilder setLoadBalancingPolicy(String loadBalancingPolicy) {
+    requireNonNull(loadBalancingPolicy, "loadBalancingPolicy");
+    checkArgument(
+        LoadBalancerRegistry.getDefaultRegistry().getProvider(loadBalancingPolicy) != null,
+        "Unsupported load balancing policy. Supported policies include: pick_first, round_robin "
+            + "and policies registered with gRPC.");
+    this.loadBalancingPolicy = loadBalancingPolicy;
+    return this;
+  }
+
   /**
    * Add header to request. Optional. Applicable only if {@link
    * OtlpGrpcMetricExporterBuilder#endpoint} is set to build channel.
@@ -110,23 +196,38 @@ public final class OtlpGrpcMetricExporterBuilder {
    * @return a new exporter's instance
    */
   public OtlpGrpcMetricExporter build() {
-    if (channel == null) {
-      final ManagedChannelBuilder<?> managedChannelBuilder =
-          ManagedChannelBuilder.forTarget(endpoint.getAuthority());
+    ManagedChannel exporterChannel = channel;
+    if (exporterChannel == null) {
+      exporterChannel =
+          ManagedChannelPool.acquire(
+              ManagedChannelPool.channelKey(endpoint, metadata, null, loadBalancingPolicy),
+              channelPoolSize,
+              channelSelectionPolicy,
+              this::createChannel);
+    }
+    return new OtlpGrpcMetricExporter(
+        exporterChannel, timeoutNanos, compressionMethod, retryPolicy);
+  }
 
-      if (endpoint.getScheme().equals("https")) {
-        managedChannelBuilder.useTransportSecurity();
-      } else {
-        managedChannelBuilder.usePlaintext();
-      }
+  private ManagedChannel createChannel() {
+    final ManagedChannelBuilder<?> managedChannelBuilder =
+        ManagedChannelBuilder.forTarget(endpoint.getAuthority());
 
-      if (metadata != null) {
-        managedChannelBuilder.intercept(MetadataUtils.newAttachHeadersInterceptor(metadata));
-      }
+    if (endpoint.getScheme().equals("https")) {
+      managedChannelBuilder.useTransportSecurity();
+    } else {
+      managedChannelBuilder.usePlaintext();
+    }
 
-      channel = managedChannelBuilder.build();
+    if (metadata != null) {
+      managedChannelBuilder.intercept(MetadataUtils.newAttachHeadersInterceptor(metadata));
     }
-    return new OtlpGrpcMetricExporter(channel, timeoutNanos);
+
+    if (loadBalancingPolicy != null) {
+      managedChannelBuilder.defaultLoadBalancingPolicy(loadBalancingPolicy);
+    }
+
+    return managedChannelBuilder.build();
   }
 
   OtlpGrpcMetricExporterBuilder() {}
@@ -100,6 +100,35 @@ class OtlpGrpcMetricExporterTest {
     assertThatThrownBy(() -> OtlpGrpcMetricExporter.builder().setEndpoint("gopher://localhost"))
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessage("Invalid endpoint, must start with http:// or https://: gopher://localhost");
+
+    assertThatThrownBy(() -> OtlpGrpcMetricExporter.builder().setCompression(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("compressionMethod");
+    assertThatThrownBy(() -> OtlpGrpcMetricExporter.builder().setCompression("foo"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "Unsupported compression method. Supported compression methods include: gzip, none "
+                + "and compressors registered with gRPC.");
+
+    assertThatThrownBy(() -> OtlpGrpcMetricExporter.builder().setChannelPoolSize(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("channelPoolSize must be positive");
+    assertThatThrownBy(() -> OtlpGrpcMetricExporter.builder().setChannelSelectionPolicy(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("channelSelectionPolicy");
+    assertThatThrownBy(() -> OtlpGrpcMetricExporter.builder().setChannelSelectionPolicy("random"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "Unsupported channel selection policy. Supported policies include: round_robin and "
+                + "least_outstanding.");
+    assertThatThrownBy(() -> OtlpGrpcMetricExporter.builder().setLoadBalancingPolicy(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("loadBalancingPolicy");
+    assertThatThrownBy(() -> OtlpGrpcMetricExporter.builder().setLoadBalancingPolicy("foo"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "Unsupported load balancing policy. Supported policies include: pick_first, "
+                + "round_robin and policies registered with gRPC.");
   }
 
   @Test
@@ -116,6 +145,23 @@ class OtlpGrpcMetricExporterTest {
     }
   }
 
+  @Test
+  void testExport_Compression() {
+    MetricData metric = generateFakeMetric();
+    OtlpGrpcMetricExporter exporter =
+        OtlpGrpcMetricExporter.builder()
+            .setChannel(inProcessChannel)
+            .setCompression("gzip")
+            .build();
+    try {
+      assertThat(exporter.export(Collections.singletonList(metric)).isSuccess()).isTrue();
+      assertThat(fakeCollector.getReceivedMetrics())
+          .isEqualTo(MetricAdapter.toProtoResourceMetrics(Collections.singletonList(metric)));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
   @Test
   void testExport_MultipleMetrics() {
     List<MetricData> spans = new ArrayList<>();
@@ -0,0 +1,26 @@
+plugins {
+    `java-library`
+    `maven-publish`
+
+    id("ru.vyarus.animalsniffer")
+}
+
+description = "OpenTelemetry Protocol Exporters with Persistent Queue"
+extra["moduleName"] = "io.opentelemetry.exporter.otlp.persistent"
+
+dependencies {
+    api(project(":sdk:trace"))
+    api(project(":sdk:metrics"))
+
+    implementation(project(":exporters:otlp:common"))
+
+    implementation("io.grpc:grpc-api")
+    implementation("io.grpc:grpc-protobuf")
+    implementation("io.grpc:grpc-stub")
+    implementation("com.google.protobuf:protobuf-java")
+
+    testImplementation(project(":sdk:testing"))
+
+    testImplementation("io.grpc:grpc-testing")
+    testRuntimeOnly("io.grpc:grpc-netty-shaded")
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.persistent;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.CallOptions;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.stub.ClientCalls;
+import io.opentelemetry.api.metrics.BoundLongCounter;
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.exporter.otlp.internal.GrpcStatusUtil;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Sends serialized OTLP export requests over gRPC, persisting the requests that could not be sent
+ * to a {@link SegmentLog} and replaying them from a background thread once the backend recovers.
+ *
+ * <p>Requests are sent directly as long as nothing is persisted. Once requests are persisted, new
+ * requests are appended to the log too so that the backend receives them in order. Failed replays
+ * are retried with exponential backoff. Requests that keep failing with a retryable status are
+ * dropped after {@code maxRetryableReplayAttempts}, and requests rejected with any other status
+ * after {@code maxReplayAttempts}.
+ */
+final class PersistentExportQueue {
+
+  private static final ThrottlingLogger logger =
+      new ThrottlingLogger(Logger.getLogger(PersistentExportQueue.class.getName()));
+
+  private static final MethodDescriptor.Marshaller<byte[]> BYTES_MARSHALLER =
+      new MethodDescriptor.Marshaller<byte[]>() {
+        @Override
+        public InputStream stream(byte[] value) {
+          return new ByteArrayInputStream(value);
+        }
+
+        @Override
+        public byte[] parse(InputStream stream) {
+          try {
+            return ByteStreams.toByteArray(stream);
+          } catch (IOException e) {
+            throw Status.INTERNAL.withCause(e).asRuntimeException();
+          }
+        }
+      };
+
+  private final ManagedChannel channel;
+  private final MethodDescriptor<byte[], byte[]> method;
+  private final SegmentLog log;
+  private final long timeoutNanos;
+  private final int maxReplayAttempts;
+  private final int maxRetryableReplayAttempts;
+  private final long initialBackoffNanos;
+  private final long maxBackoffNanos;
+  private final BoundLongCounter requestsPersisted;
+  private final BoundLongCounter requestsReplayed;
+  private final BoundLongCounter requestsDropped;
+  private final BlockingQueue<Boolean> signal = new ArrayBlockingQueue<>(1);
+  private final Thread workerThread;
+  private volatile boolean continueWork = true;
+
+  /** Parses an OTLP endpoint, which must start with either http:// or https://. */
+  static URI parseEndpoint(String endpoint) {
+    requireNonNull(endpoint, "endpoint");
+
+    URI uri;
+    try {
+      uri = new URI(endpoint);
+    } catch (URISyntaxException e) {
+      throw new IllegalArgumentException("Invalid endpoint, must be a URL: " + endpoint, e);
+    }
+
+    if (uri.getScheme() == null
+        || (!uri.getScheme().equals("http") && !uri.getScheme().equals("https"))) {
+      throw new IllegalArgumentException(
+          "Invalid endpoint, must start with http:// or https://: " + uri);
+    }
+    return uri;
+  }
+
+  /** Creates a channel to an endpoint returned by {@link #parseEndpoint(String)}. */
+  static ManagedChannel createChannel(URI endpoint) {
+    ManagedChannelBuilder<?> managedChannelBuilder =
+        ManagedChannelBuilder.forTarget(endpoint.getAuthority());
+    if (endpoint.getScheme().equals("https")) {
+      managedChannelBuilder.useTransportSecurity();
+    } else {
+      managedChannelBuilder.usePlaintext();
+    }
+    return managedChannelBuilder.build();
+  }
+
+  /**
+   * Creates a queue sending requests to the given unary gRPC method.
+   *
+   * @param exporterName the name of the exporter, used to label metrics.
+   * @param channel the channel to send requests on.
+   * @param fullMethodName the full name of the export method, e.g. {@code
+   *     opentelemetry.proto.collector.trace.v1.TraceService/Export}.
+   * @param log the log to persist requests to, owned by this queue.
+   * @param timeoutNanos the deadline of each request, or 0 for none.
+   * @param maxReplayAttempts the number of times a request rejected by the backend is replayed.
+   * @param maxRetryableReplayAttempts the number of times a request failing with a retryable status
+   *     is replayed.
+   * @param initialBackoffNanos the delay before replaying a request for the first time.
+   * @param maxBackoffNanos the maximum delay between replays of a request.
+   */
+  PersistentExportQueue(
+      String exporterName,
+      ManagedChannel channel,
+      String fullMethodName,
+      SegmentLog log,
+      long timeoutNanos,
+      int maxReplayAttempts,
+      int maxRetryableReplayAttempts,
+      long initialBackoffNanos,
+      long maxBackoffNanos) {
+    this.channel = channel;
+    this.method =
+        MethodDescriptor.<byte[], byte[]>newBuilder()
+            .setType(MethodDescriptor.MethodType.UNARY)
+            .setFullMethodName(fullMethodName)
+            .setRequestMarshaller(BYTES_MARSHALLER)
+            .setResponseMarshaller(BYTES_MARSHALLER)
+            .build();
+    this.log = log;
+    this.timeoutNanos = timeoutNanos;
+    this.maxReplayAttempts = maxReplayAttempts;
+    this.maxRetryableReplayAttempts = maxRetryableReplayAttempts;
+    this.initialBackoffNanos = initialBackoffNanos;
+    this.maxBackoffNanos = maxBackoffNanos;
+
+    Meter meter = GlobalMeterProvider.getMeter("io.opentelemetry.exporters.otlp.persistent");
+    LongCounter requestsCounter =
+        meter
+            .longCounterBuilder("persistentExportRequests")
+            .setUnit("1")
+            .setDescription("The number of export requests persisted, replayed or dropped.")
+            .build();
+    this.requestsPersisted =
+        requestsCounter.bind(Labels.of("exporter", exporterName, "result", "persisted"));
+    this.requestsReplayed =
+        requestsCounter.bind(Labels.of("exporter", exporterName, "result", "replayed"));
+    this.requestsDropped =
+        requestsCounter.bind(Labels.of("exporter", exporterName, "result", "dropped"));
+    Labels exporterLabels = Labels.of("exporter", exporterName);
+    meter
+        .longValueObserverBuilder("persistentExportDiskUsage")
+        .setUnit("By")
+        .setDescription("The disk space used by persisted export requests.")
+        .setUpdater(result -> result.observe(log.getDiskUsage(), exporterLabels))
+        .build();
+
+    this.workerThread =
+        new DaemonThreadFactory(exporterName + "_PersistentExportQueue").newThread(this::replay);
+    this.workerThread.start();
+  }
+
+  /**
+   * Sends the request, or persists it if it cannot be sent. The result succeeds if the request was
+   * either sent or persisted.
+   */
+  CompletableResultCode export(byte[] request) {
+    if (!log.isEmpty()) {
+      return persist(request);
+    }
+    CompletableResultCode result = new CompletableResultCode();
+    Futures.addCallback(
+        ClientCalls.futureUnaryCall(channel.newCall(method, callOptions()), request),
+        new FutureCallback<byte[]>() {
+          @Override
+          public void onSuccess(@Nullable byte[] response) {
+            result.succeed();
+          }
+
+          @Override
+          public void onFailure(Throwable t) {
+            Status status = Status.fromThrowable(t);
+            if (GrpcStatusUtil.isRetryable(status)) {
+              logger.log(
+                  Level.WARNING,
+                  "Failed to export, persisting the request for replay. Error message: "
+                      + t.getMessage());
+              if (persist(request).isSuccess()) {
+                result.succeed();
+              } else {
+                result.fail();
+              }
+            } else {
+              logger.log(Level.WARNING, "Failed to export. Error message: " + t.getMessage());
+              requestsDropped.add(1);
+              result.fail();
+            }
+          }
+        },
+        MoreExecutors.directExecutor());
+    return result;
+  }
+
+  /** Persists the request without trying to send it first. */
+  CompletableResultCode persist(byte[] request) {
+    boolean persisted;
+    try {
+      persisted = log.append(request);
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to persist export request.", e);
+      persisted = false;
+    }
+    if (!persisted) {
+      requestsDropped.add(1);
+      return CompletableResultCode.ofFailure();
+    }
+    requestsPersisted.add(1);
+    signal.offer(true);
+    return CompletableResultCode.ofSuccess();
+  }
+
+  /** Writes the persisted requests to disk. */
+  CompletableResultCode flush() {
+    log.force();
+    return CompletableResultCode.ofSuccess();
+  }
+
+  /**
+   * Stops replaying, closes the log and shuts down the channel. Persisted requests are replayed the
+   * next time a queue is created for the same directory.
+   */
+  CompletableResultCode shutdown() {
+    continueWork = false;
+    workerThread.interrupt();
+    try {
+      workerThread.join(TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + 1000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    log.close();
+    requestsPersisted.unbind();
+    requestsReplayed.unbind();
+    requestsDropped.unbind();
+
+    final CompletableResultCode result = new CompletableResultCode();
+    channel.notifyWhenStateChanged(ConnectivityState.SHUTDOWN, result::succeed);
+    if (channel.isShutdown()) {
+      return result.succeed();
+    }
+    channel.shutdown();
+    return result;
+  }
+
+  private void replay() {
+    long backoffNanos = initialBackoffNanos;
+    int attempts = 0;
+    try {
+      while (continueWork) {
+        SegmentLog.Entry entry = log.peek();
+        if (entry == null) {
+          signal.poll(100, TimeUnit.MILLISECONDS);
+          continue;
+        }
+        Status status = send(entry.getRecord());
+        if (status.isOk()) {
+          log.remove(entry);
+          requestsReplayed.add(1);
+          backoffNanos = initialBackoffNanos;
+          attempts = 0;
+          continue;
+        }
+        boolean retryable = GrpcStatusUtil.isRetryable(status);
+        if (++attempts >= (retryable ? maxRetryableReplayAttempts : maxReplayAttempts)) {
+          logger.log(
+              Level.WARNING,
+              "Dropping persisted export request after "
+                  + attempts
+                  + " attempts. Error message: "
+                  + status);
+          log.remove(entry);
+          requestsDropped.add(1);
+          attempts = 0;
+          if (!retryable) {
+            backoffNanos = initialBackoffNanos;
+            continue;
+          }
+          // The backend is still failing, so keep backing off before replaying the next request.
+        }
+        TimeUnit.NANOSECONDS.sleep(backoffNanos);
+        backoffNanos = Math.min(maxBackoffNanos, backoffNanos * 2);
+      }
+    } catch (InterruptedException e) {
+      // Shutting down.
+    }
+  }
+
+  private Status send(byte[] request) throws InterruptedException {
+    try {
+      ClientCalls.futureUnaryCall(channel.newCall(method, callOptions()), request).get();
+      return Status.OK;
+    } catch (ExecutionException e) {
+      return Status.fromThrowable(e.getCause());
+    }
+  }
+
+  private CallOptions callOptions() {
+    if (timeoutNanos > 0) {
+      return CallOptions.DEFAULT.withDeadlineAfter(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+    return CallOptions.DEFAULT;
+  }
+
+  // Visible for testing
+  SegmentLog getLog() {
+    return log;
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.persistent;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.grpc.ManagedChannel;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * The settings shared by {@link PersistentSpanExporterBuilder} and {@link
+ * PersistentMetricExporterBuilder}, which validates them and builds the {@link
+ * PersistentExportQueue} of an exporter.
+ */
+final class PersistentExportQueueBuilder {
+
+  private static final String DEFAULT_ENDPOINT_URL = "http://localhost:4317";
+  private static final URI DEFAULT_ENDPOINT = URI.create(DEFAULT_ENDPOINT_URL);
+  private static final long DEFAULT_TIMEOUT_SECS = 10;
+  private static final int DEFAULT_MAX_SEGMENT_SIZE = 8 * 1024 * 1024;
+  private static final long DEFAULT_MAX_DISK_USAGE = 256 * 1024 * 1024;
+  private static final int DEFAULT_MAX_REPLAY_ATTEMPTS = 5;
+  private static final int DEFAULT_MAX_RETRYABLE_REPLAY_ATTEMPTS = 100;
+  private static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 1000;
+  private static final long DEFAULT_MAX_BACKOFF_MILLIS = 30_000;
+
+  @Nullable private ManagedChannel channel;
+  private URI endpoint = DEFAULT_ENDPOINT;
+  @Nullable private Path directory;
+  private long timeoutNanos = TimeUnit.SECONDS.toNanos(DEFAULT_TIMEOUT_SECS);
+  private int maxSegmentSize = DEFAULT_MAX_SEGMENT_SIZE;
+  private long maxDiskUsage = DEFAULT_MAX_DISK_USAGE;
+  private int maxReplayAttempts = DEFAULT_MAX_REPLAY_ATTEMPTS;
+  private int maxRetryableReplayAttempts = DEFAULT_MAX_RETRYABLE_REPLAY_ATTEMPTS;
+  private long initialBackoffNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_INITIAL_BACKOFF_MILLIS);
+  private long maxBackoffNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_BACKOFF_MILLIS);
+
+  void setDirectory(Path directory) {
+    this.directory = directory;
+  }
+
+  void setChannel(ManagedChannel channel) {
+    requireNonNull(channel, "channel");
+    this.channel = channel;
+  }
+
+  void setEndpoint(String endpoint) {
+    this.endpoint = PersistentExportQueue.parseEndpoint(endpoint);
+  }
+
+  void setTimeout(long timeout, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(timeout >= 0, "timeout must be non-negative");
+    timeoutNanos = unit.toNanos(timeout);
+  }
+
+  void setMaxSegmentSize(int maxSegmentSize) {
+    checkArgument(
+        maxSegmentSize > SegmentLog.HEADER_SIZE + SegmentLog.RECORD_HEADER_SIZE,
+        "maxSegmentSize must be large enough to hold a record.");
+    this.maxSegmentSize = maxSegmentSize;
+  }
+
+  void setMaxDiskUsage(long maxDiskUsage) {
+    checkArgument(maxDiskUsage > 0, "maxDiskUsage must be positive.");
+    this.maxDiskUsage = maxDiskUsage;
+  }
+
+  void setMaxReplayAttempts(int maxReplayAttempts) {
+    checkArgument(maxReplayAttempts > 0, "maxReplayAttempts must be positive.");
+    this.maxReplayAttempts = maxReplayAttempts;
+  }
+
+  void setMaxRetryableReplayAttempts(int maxRetryableReplayAttempts) {
+    checkArgument(maxRetryableReplayAttempts > 0, "maxRetryableReplayAttempts must be positive.");
+    this.maxRetryableReplayAttempts = maxRetryableReplayAttempts;
+  }
+
+  void setReplayBackoff(Duration initialBackoff, Duration maxBackoff) {
+    requireNonNull(initialBackoff, "initialBackoff");
+    requireNonNull(maxBackoff, "maxBackoff");
+    checkArgument(!initialBackoff.isNegative(), "initialBackoff must be non-negative.");
+    checkArgument(
+        maxBackoff.compareTo(initialBackoff) >= 0,
+        "maxBackoff must not be less than initialBackoff.");
+    this.initialBackoffNanos = initialBackoff.toNanos();
+    this.maxBackoffNanos = maxBackoff.toNanos();
+  }
+
+  /**
+   * Opens the log in {@code subdirectory} of the configured directory, then creates the channel if
+   * none was set. Nothing is left open if any step fails.
+   */
+  PersistentExportQueue build(String exporterName, String fullMethodName, String subdirectory) {
+    Path directory = this.directory;
+    if (directory == null) {
+      throw new IllegalStateException("directory must be set.");
+    }
+    checkArgument(
+        maxDiskUsage >= maxSegmentSize, "maxDiskUsage must not be less than maxSegmentSize.");
+
+    Path logDirectory = directory.resolve(subdirectory);
+    int maxSegments = (int) Math.min(Integer.MAX_VALUE, maxDiskUsage / maxSegmentSize);
+    SegmentLog log;
+    try {
+      log = SegmentLog.open(logDirectory, maxSegmentSize, maxSegments);
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Failed to open persistent export queue in " + logDirectory, e);
+    }
+
+    ManagedChannel createdChannel = null;
+    try {
+      ManagedChannel channel = this.channel;
+      if (channel == null) {
+        createdChannel = PersistentExportQueue.createChannel(endpoint);
+        channel = createdChannel;
+      }
+      return new PersistentExportQueue(
+          exporterName,
+          channel,
+          fullMethodName,
+          log,
+          timeoutNanos,
+          maxReplayAttempts,
+          maxRetryableReplayAttempts,
+          initialBackoffNanos,
+          maxBackoffNanos);
+    } catch (RuntimeException | Error e) {
+      log.close();
+      if (createdChannel != null) {
+        createdChannel.shutdownNow();
+      }
+      throw e;
+    }
+  }
+}
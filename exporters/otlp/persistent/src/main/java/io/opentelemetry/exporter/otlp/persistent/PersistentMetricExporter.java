@@ -0,0 +1,90 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.persistent;
+
+import com.google.protobuf.CodedOutputStream;
+import io.opentelemetry.exporter.otlp.internal.MetricsMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Exports metrics using OTLP via gRPC, persisting the batches that cannot be exported to local disk
+ * and replaying them once the collector is reachable again. Persisted batches survive a restart of
+ * the application and are replayed by the next exporter using the same directory.
+ *
+ * <p>An export succeeds once the batch has been either sent or persisted.
+ */
+@ThreadSafe
+public final class PersistentMetricExporter implements MetricExporter {
+
+  private static final Logger logger = Logger.getLogger(PersistentMetricExporter.class.getName());
+
+  private final PersistentExportQueue queue;
+
+  PersistentMetricExporter(PersistentExportQueue queue) {
+    this.queue = queue;
+  }
+
+  /**
+   * Returns a new builder instance for this exporter.
+   *
+   * @return a new builder instance for this exporter.
+   */
+  public static PersistentMetricExporterBuilder builder() {
+    return new PersistentMetricExporterBuilder();
+  }
+
+  @Override
+  public CompletableResultCode export(Collection<MetricData> metrics) {
+    byte[] request = serialize(metrics);
+    if (request == null) {
+      return CompletableResultCode.ofFailure();
+    }
+    return queue.export(request);
+  }
+
+  /** Writes the persisted metrics to disk. */
+  @Override
+  public CompletableResultCode flush() {
+    return queue.flush();
+  }
+
+  /**
+   * Stops replaying persisted metrics and shuts down the channel. Metrics which have not been
+   * replayed yet remain on disk.
+   */
+  @Override
+  public CompletableResultCode shutdown() {
+    return queue.shutdown();
+  }
+
+  // Visible for testing
+  PersistentExportQueue getQueue() {
+    return queue;
+  }
+
+  @Nullable
+  private static byte[] serialize(Collection<MetricData> metrics) {
+    MetricsMarshaler.RequestMarshaler marshaler = MetricsMarshaler.RequestMarshaler.create(metrics);
+    byte[] request = new byte[marshaler.getSerializedSize()];
+    try {
+      CodedOutputStream output = CodedOutputStream.newInstance(request);
+      marshaler.writeTo(output);
+      output.checkNoSpaceLeft();
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to serialize metrics.", e);
+      return null;
+    }
+    return request;
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.persistent;
+
+import static java.util.Objects.requireNonNull;
+
+import io.grpc.ManagedChannel;
+import io.opentelemetry.proto.collector.metrics.v1.MetricsServiceGrpc;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/** Builder utility for {@link PersistentMetricExporter}. */
+public final class PersistentMetricExporterBuilder {
+
+  private static final String SUBDIRECTORY = "metrics";
+
+  private final PersistentExportQueueBuilder queueBuilder = new PersistentExportQueueBuilder();
+
+  /**
+   * Sets the directory to persist metrics to. Metrics are stored in a {@code metrics} subdirectory,
+   * so the same directory can be passed to a {@link PersistentSpanExporterBuilder}. Required.
+   */
+  public PersistentMetricExporterBuilder setDirectory(Path directory) {
+    requireNonNull(directory, "directory");
+    queueBuilder.setDirectory(directory);
+    return this;
+  }
+
+  /**
+   * Sets the managed chanel to use when communicating with the backend. Takes precedence over
+   * {@link #setEndpoint(String)} if both are called.
+   */
+  public PersistentMetricExporterBuilder setChannel(ManagedChannel channel) {
+    queueBuilder.setChannel(channel);
+    return this;
+  }
+
+  /**
+   * Sets the OTLP endpoint to connect to. If unset, defaults to {@code http://localhost:4317}. The
+   * endpoint must start with either http:// or https://. Any other configuration of the connection
+   * requires {@link #setChannel(ManagedChannel)}.
+   */
+  public PersistentMetricExporterBuilder setEndpoint(String endpoint) {
+    queueBuilder.setEndpoint(endpoint);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time to wait for the collector to process an exported batch of metrics. If
+   * unset, defaults to 10s.
+   */
+  public PersistentMetricExporterBuilder setTimeout(long timeout, TimeUnit unit) {
+    queueBuilder.setTimeout(timeout, unit);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time to wait for the collector to process an exported batch of metrics. If
+   * unset, defaults to 10s.
+   */
+  public PersistentMetricExporterBuilder setTimeout(Duration timeout) {
+    requireNonNull(timeout, "timeout");
+    return setTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Sets the size of each segment file, in bytes. Batches which do not fit in a segment are
+   * dropped. If unset, defaults to 8 MiB.
+   */
+  public PersistentMetricExporterBuilder setMaxSegmentSize(int maxSegmentSize) {
+    queueBuilder.setMaxSegmentSize(maxSegmentSize);
+    return this;
+  }
+
+  /**
+   * Sets the maximum disk space used by persisted metrics, in bytes. Once reached, the oldest
+   * persisted metrics are dropped. If unset, defaults to 256 MiB.
+   */
+  public PersistentMetricExporterBuilder setMaxDiskUsage(long maxDiskUsage) {
+    queueBuilder.setMaxDiskUsage(maxDiskUsage);
+    return this;
+  }
+
+  /**
+   * Sets the number of times a persisted batch is replayed when the backend rejects it with a
+   * non-retryable status, before it is dropped. If unset, defaults to 5.
+   */
+  public PersistentMetricExporterBuilder setMaxReplayAttempts(int maxReplayAttempts) {
+    queueBuilder.setMaxReplayAttempts(maxReplayAttempts);
+    return this;
+  }
+
+  /**
+   * Sets the number of times a persisted batch is replayed while the backend fails with a retryable
+   * status, e.g. because it is unavailable, before it is dropped. The replays are spaced by the
+   * replay backoff, so with the default backoff this bounds the time a batch is retried to about 50
+   * minutes. If unset, defaults to 100.
+   */
+  public PersistentMetricExporterBuilder setMaxRetryableReplayAttempts(
+      int maxRetryableReplayAttempts) {
+    queueBuilder.setMaxRetryableReplayAttempts(maxRetryableReplayAttempts);
+    return this;
+  }
+
+  /**
+   * Sets the delay before a failed replay is retried, doubled after every failure up to {@code
+   * maxBackoff}. If unset, defaults to 1s and 30s.
+   */
+  public PersistentMetricExporterBuilder setReplayBackoff(
+      Duration initialBackoff, Duration maxBackoff) {
+    queueBuilder.setReplayBackoff(initialBackoff, maxBackoff);
+    return this;
+  }
+
+  /**
+   * Constructs a new instance of the exporter based on the builder's values. Metrics persisted by a
+   * previous instance using the same directory are replayed.
+   *
+   * @return a new exporter's instance
+   */
+  public PersistentMetricExporter build() {
+    return new PersistentMetricExporter(
+        queueBuilder.build(
+            PersistentMetricExporter.class.getSimpleName(),
+            MetricsServiceGrpc.getExportMethod().getFullMethodName(),
+            SUBDIRECTORY));
+  }
+
+  PersistentMetricExporterBuilder() {}
+}
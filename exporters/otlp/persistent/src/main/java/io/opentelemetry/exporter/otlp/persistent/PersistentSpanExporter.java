@@ -0,0 +1,124 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.persistent;
+
+import com.google.protobuf.CodedOutputStream;
+import io.opentelemetry.exporter.otlp.internal.TraceMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Exports spans using OTLP via gRPC, persisting the batches that cannot be exported to local disk
+ * and replaying them once the collector is reachable again. Persisted batches survive a restart of
+ * the application and are replayed by the next exporter using the same directory.
+ *
+ * <p>An export succeeds once the batch has been either sent or persisted, so a {@link
+ * io.opentelemetry.sdk.trace.export.BatchSpanProcessor} does not discard batches while the
+ * collector is unavailable. The exporter returned by {@link #asSpillExporter()} persists spans
+ * without trying to send them first, for use as the spill exporter of a {@link
+ * io.opentelemetry.sdk.trace.export.BatchSpanProcessor} with the {@code SPILL} overflow policy.
+ */
+@ThreadSafe
+public final class PersistentSpanExporter implements SpanExporter {
+
+  private static final Logger logger = Logger.getLogger(PersistentSpanExporter.class.getName());
+
+  private final PersistentExportQueue queue;
+  private final SpanExporter spillExporter = new SpillExporter();
+
+  PersistentSpanExporter(PersistentExportQueue queue) {
+    this.queue = queue;
+  }
+
+  /**
+   * Returns a new builder instance for this exporter.
+   *
+   * @return a new builder instance for this exporter.
+   */
+  public static PersistentSpanExporterBuilder builder() {
+    return new PersistentSpanExporterBuilder();
+  }
+
+  @Override
+  public CompletableResultCode export(Collection<SpanData> spans) {
+    byte[] request = serialize(spans);
+    if (request == null) {
+      return CompletableResultCode.ofFailure();
+    }
+    return queue.export(request);
+  }
+
+  /**
+   * Returns a {@link SpanExporter} which persists spans to the directory of this exporter, to be
+   * replayed by this exporter. Shutting down the returned exporter has no effect.
+   */
+  public SpanExporter asSpillExporter() {
+    return spillExporter;
+  }
+
+  /** Writes the persisted spans to disk. */
+  @Override
+  public CompletableResultCode flush() {
+    return queue.flush();
+  }
+
+  /**
+   * Stops replaying persisted spans and shuts down the channel. Spans which have not been replayed
+   * yet remain on disk.
+   */
+  @Override
+  public CompletableResultCode shutdown() {
+    return queue.shutdown();
+  }
+
+  // Visible for testing
+  PersistentExportQueue getQueue() {
+    return queue;
+  }
+
+  @Nullable
+  private static byte[] serialize(Collection<SpanData> spans) {
+    TraceMarshaler.RequestMarshaler marshaler = TraceMarshaler.RequestMarshaler.create(spans);
+    byte[] request = new byte[marshaler.getSerializedSize()];
+    try {
+      CodedOutputStream output = CodedOutputStream.newInstance(request);
+      marshaler.writeTo(output);
+      output.checkNoSpaceLeft();
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to serialize spans.", e);
+      return null;
+    }
+    return request;
+  }
+
+  private final class SpillExporter implements SpanExporter {
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+      byte[] request = serialize(spans);
+      if (request == null) {
+        return CompletableResultCode.ofFailure();
+      }
+      return queue.persist(request);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return queue.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+}
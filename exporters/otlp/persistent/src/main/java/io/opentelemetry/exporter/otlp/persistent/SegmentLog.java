@@ -0,0 +1,392 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.persistent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A FIFO log of byte records stored in fixed size, memory-mapped segment files.
+ *
+ * <p>Each segment starts with a header holding a magic number and the offset of the first record
+ * that has not been consumed yet, followed by records prefixed by their length. A zero length marks
+ * the end of the written records. The payload of a record is written before its length, so a record
+ * that was only partially written when the process died is ignored when the log is reopened.
+ *
+ * <p>Records are appended to the newest segment, and a new segment is created once it is full.
+ * Segments are deleted once all their records have been consumed. When creating a new segment would
+ * exceed the maximum number of segments, the oldest segment is deleted along with its unconsumed
+ * records.
+ *
+ * <p>Writes are not explicitly synced to disk except by {@link #force()} and {@link #close()}, so
+ * records survive a restart of the process but not necessarily a crash of the operating system.
+ */
+@ThreadSafe
+final class SegmentLog implements Closeable {
+
+  private static final Logger logger = Logger.getLogger(SegmentLog.class.getName());
+
+  private static final String SEGMENT_SUFFIX = ".seg";
+  private static final String LOCK_FILE_NAME = "lock";
+  // "OTLP" in ASCII.
+  private static final int MAGIC = 0x4f544c50;
+  private static final int MAGIC_OFFSET = 0;
+  private static final int READ_OFFSET_OFFSET = 4;
+  static final int HEADER_SIZE = 8;
+  static final int RECORD_HEADER_SIZE = 4;
+
+  private final Path directory;
+  private final FileChannel lockChannel;
+  private final int segmentSize;
+  private final int maxSegments;
+  // Oldest segment first, records are appended to the last segment.
+  private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+  private long nextSegmentId;
+  private long droppedRecords;
+  private boolean closed;
+
+  /**
+   * Opens the log stored in {@code directory}, creating the directory if needed and recovering the
+   * records that were not consumed before the log was last closed. The directory is locked until
+   * the log is closed.
+   *
+   * @param directory the directory storing the segment files.
+   * @param segmentSize the size of each segment file, in bytes.
+   * @param maxSegments the maximum number of segment files.
+   */
+  static SegmentLog open(Path directory, int segmentSize, int maxSegments) throws IOException {
+    Files.createDirectories(directory);
+    FileChannel lockChannel =
+        FileChannel.open(
+            directory.resolve(LOCK_FILE_NAME), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    try {
+      if (lockChannel.tryLock() == null) {
+        throw new IllegalStateException("Directory is used by another process: " + directory);
+      }
+    } catch (OverlappingFileLockException e) {
+      closeQuietly(lockChannel);
+      throw new IllegalStateException("Directory is already in use: " + directory, e);
+    } catch (IOException | RuntimeException e) {
+      closeQuietly(lockChannel);
+      throw e;
+    }
+    SegmentLog log = new SegmentLog(directory, lockChannel, segmentSize, maxSegments);
+    try {
+      log.recover();
+    } catch (IOException | RuntimeException e) {
+      log.close();
+      throw e;
+    }
+    return log;
+  }
+
+  private SegmentLog(Path directory, FileChannel lockChannel, int segmentSize, int maxSegments) {
+    this.directory = directory;
+    this.lockChannel = lockChannel;
+    this.segmentSize = segmentSize;
+    this.maxSegments = maxSegments;
+  }
+
+  /**
+   * Appends a record to the log. Returns {@code false} if the record does not fit in a segment or
+   * the log is closed.
+   */
+  synchronized boolean append(byte[] record) throws IOException {
+    if (closed || record.length > segmentSize - HEADER_SIZE - RECORD_HEADER_SIZE) {
+      return false;
+    }
+    Segment segment = segments.peekLast();
+    if (segment == null || !segment.hasRoomFor(record.length)) {
+      if (segments.size() >= maxSegments) {
+        Segment oldest = segments.removeFirst();
+        droppedRecords += oldest.countUnconsumed();
+        delete(oldest);
+      }
+      segment = createSegment(nextSegmentId++);
+      segments.addLast(segment);
+    }
+    segment.append(record);
+    return true;
+  }
+
+  /** Returns the oldest record which has not been consumed, or {@code null} if there is none. */
+  @Nullable
+  synchronized Entry peek() {
+    while (!closed) {
+      Segment segment = segments.peekFirst();
+      if (segment == null) {
+        return null;
+      }
+      if (segment.readOffset < segment.writeOffset) {
+        return new Entry(segment, segment.readOffset, segment.read());
+      }
+      if (segments.size() == 1) {
+        return null;
+      }
+      segments.removeFirst();
+      delete(segment);
+    }
+    return null;
+  }
+
+  /**
+   * Marks the record returned by {@link #peek()} as consumed. Does nothing if the record has
+   * already been consumed or dropped in the meantime.
+   */
+  synchronized void remove(Entry entry) {
+    Segment segment = segments.peekFirst();
+    if (closed || segment != entry.segment || segment.readOffset != entry.offset) {
+      return;
+    }
+    segment.consume(entry.record.length);
+    if (segment.readOffset == segment.writeOffset && segments.size() > 1) {
+      segments.removeFirst();
+      delete(segment);
+    }
+  }
+
+  /** Returns whether all records have been consumed. */
+  synchronized boolean isEmpty() {
+    for (Segment segment : segments) {
+      if (segment.readOffset < segment.writeOffset) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns the disk space used by the segment files, in bytes. */
+  synchronized long getDiskUsage() {
+    long usage = 0;
+    for (Segment segment : segments) {
+      usage += segment.buffer.capacity();
+    }
+    return usage;
+  }
+
+  /** Returns the number of records that were dropped because the log was full. */
+  synchronized long getDroppedRecords() {
+    return droppedRecords;
+  }
+
+  /** Writes all appended records and read offsets to disk. */
+  synchronized void force() {
+    for (Segment segment : segments) {
+      segment.buffer.force();
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    for (Segment segment : segments) {
+      segment.buffer.force();
+      closeQuietly(segment.channel);
+    }
+    segments.clear();
+    // Releases the lock.
+    closeQuietly(lockChannel);
+  }
+
+  private void recover() throws IOException {
+    List<Path> paths = new ArrayList<>();
+    try (DirectoryStream<Path> stream =
+        Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+      for (Path path : stream) {
+        paths.add(path);
+      }
+    }
+    Collections.sort(paths);
+    for (Path path : paths) {
+      long id;
+      try {
+        String fileName = path.getFileName().toString();
+        id = Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+      } catch (NumberFormatException e) {
+        continue;
+      }
+      nextSegmentId = Math.max(nextSegmentId, id + 1);
+      // Segments written with a different configured size are still read back.
+      long size = Files.size(path);
+      if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+        logger.log(Level.WARNING, "Discarding segment with invalid size: " + path);
+        Files.deleteIfExists(path);
+        continue;
+      }
+      Segment segment = mapSegment(path, (int) size);
+      if (!segment.recover()) {
+        logger.log(Level.WARNING, "Discarding corrupted segment: " + path);
+        closeQuietly(segment.channel);
+        Files.deleteIfExists(path);
+        continue;
+      }
+      segments.addLast(segment);
+    }
+    while (segments.size() > maxSegments) {
+      Segment oldest = segments.removeFirst();
+      droppedRecords += oldest.countUnconsumed();
+      delete(oldest);
+    }
+  }
+
+  private Segment createSegment(long id) throws IOException {
+    Segment segment =
+        mapSegment(directory.resolve(String.format("%020d", id) + SEGMENT_SUFFIX), segmentSize);
+    segment.initialize();
+    return segment;
+  }
+
+  private static Segment mapSegment(Path path, int size) throws IOException {
+    FileChannel channel =
+        FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+      return new Segment(path, channel, buffer);
+    } catch (IOException e) {
+      closeQuietly(channel);
+      throw e;
+    }
+  }
+
+  private static void delete(Segment segment) {
+    closeQuietly(segment.channel);
+    try {
+      Files.deleteIfExists(segment.path);
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to delete segment " + segment.path, e);
+    }
+  }
+
+  private static void closeQuietly(FileChannel channel) {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      // Nothing left to do with the channel.
+    }
+  }
+
+  /** A record returned by {@link #peek()}. */
+  static final class Entry {
+    private final Segment segment;
+    private final int offset;
+    private final byte[] record;
+
+    private Entry(Segment segment, int offset, byte[] record) {
+      this.segment = segment;
+      this.offset = offset;
+      this.record = record;
+    }
+
+    byte[] getRecord() {
+      return record;
+    }
+  }
+
+  private static final class Segment {
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int readOffset;
+    private int writeOffset;
+
+    private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+      this.path = path;
+      this.channel = channel;
+      this.buffer = buffer;
+    }
+
+    private void initialize() {
+      buffer.putInt(READ_OFFSET_OFFSET, HEADER_SIZE);
+      buffer.putInt(HEADER_SIZE, 0);
+      buffer.putInt(MAGIC_OFFSET, MAGIC);
+      readOffset = HEADER_SIZE;
+      writeOffset = HEADER_SIZE;
+    }
+
+    /** Restores the offsets from the file, returns {@code false} if the header is invalid. */
+    private boolean recover() {
+      if (buffer.getInt(MAGIC_OFFSET) != MAGIC) {
+        return false;
+      }
+      int offset = buffer.getInt(READ_OFFSET_OFFSET);
+      if (offset < HEADER_SIZE || offset > buffer.capacity()) {
+        return false;
+      }
+      readOffset = offset;
+      while (offset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+        int length = buffer.getInt(offset);
+        if (length <= 0 || length > buffer.capacity() - offset - RECORD_HEADER_SIZE) {
+          break;
+        }
+        offset += RECORD_HEADER_SIZE + length;
+      }
+      writeOffset = offset;
+      return true;
+    }
+
+    private boolean hasRoomFor(int length) {
+      return writeOffset + RECORD_HEADER_SIZE + length <= buffer.capacity();
+    }
+
+    private void append(byte[] record) {
+      int payloadOffset = writeOffset + RECORD_HEADER_SIZE;
+      int nextOffset = payloadOffset + record.length;
+      ByteBuffer target = buffer.duplicate();
+      target.position(payloadOffset);
+      target.put(record);
+      // Terminate the log after this record before publishing its length, a partially written
+      // record from a previous run may follow.
+      if (nextOffset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+        buffer.putInt(nextOffset, 0);
+      }
+      buffer.putInt(writeOffset, record.length);
+      writeOffset = nextOffset;
+    }
+
+    private byte[] read() {
+      byte[] record = new byte[buffer.getInt(readOffset)];
+      ByteBuffer source = buffer.duplicate();
+      source.position(readOffset + RECORD_HEADER_SIZE);
+      source.get(record);
+      return record;
+    }
+
+    private void consume(int length) {
+      readOffset += RECORD_HEADER_SIZE + length;
+      buffer.putInt(READ_OFFSET_OFFSET, readOffset);
+    }
+
+    private int countUnconsumed() {
+      int count = 0;
+      int offset = readOffset;
+      while (offset < writeOffset) {
+        offset += RECORD_HEADER_SIZE + buffer.getInt(offset);
+        count++;
+      }
+      return count;
+    }
+  }
+}
@@ -0,0 +1,13 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/**
+ * OpenTelemetry exporters which send data to the OpenTelemetry collector via gRPC, persisting the
+ * data that cannot be sent to local disk until the collector is reachable again.
+ */
+@ParametersAreNonnullByDefault
+package io.opentelemetry.exporter.otlp.persistent;
+
+import javax.annotation.ParametersAreNonnullByDefault;
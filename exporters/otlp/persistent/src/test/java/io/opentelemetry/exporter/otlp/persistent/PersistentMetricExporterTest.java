@@ -0,0 +1,137 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.persistent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.io.Closer;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.exporter.otlp.internal.MetricAdapter;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceResponse;
+import io.opentelemetry.proto.collector.metrics.v1.MetricsServiceGrpc;
+import io.opentelemetry.proto.metrics.v1.ResourceMetrics;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.LongSumData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistentMetricExporterTest {
+
+  private final FakeCollector fakeCollector = new FakeCollector();
+  private final String serverName = InProcessServerBuilder.generateName();
+  private final ManagedChannel inProcessChannel =
+      InProcessChannelBuilder.forName(serverName).directExecutor().build();
+  private final Closer closer = Closer.create();
+
+  @TempDir Path directory;
+
+  @BeforeEach
+  void setup() throws IOException {
+    Server server =
+        InProcessServerBuilder.forName(serverName)
+            .directExecutor()
+            .addService(fakeCollector)
+            .build()
+            .start();
+    closer.register(server::shutdownNow);
+    closer.register(inProcessChannel::shutdownNow);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    closer.close();
+  }
+
+  @Test
+  void persistsAndReplaysWhenUnavailable() {
+    fakeCollector.setReturnedStatus(Status.UNAVAILABLE);
+    PersistentMetricExporter exporter =
+        PersistentMetricExporter.builder()
+            .setChannel(inProcessChannel)
+            .setDirectory(directory)
+            .setReplayBackoff(Duration.ofMillis(10), Duration.ofMillis(10))
+            .build();
+    try {
+      List<MetricData> metrics = Collections.singletonList(generateFakeMetric());
+      assertThat(exporter.export(metrics).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      assertThat(exporter.getQueue().getLog().isEmpty()).isFalse();
+      assertThat(exporter.flush().isSuccess()).isTrue();
+
+      fakeCollector.setReturnedStatus(Status.OK);
+      Awaitility.await()
+          .untilAsserted(
+              () ->
+                  assertThat(fakeCollector.getReceivedMetrics())
+                      .isEqualTo(MetricAdapter.toProtoResourceMetrics(metrics)));
+      assertThat(directory.resolve("metrics")).isDirectory();
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  private static MetricData generateFakeMetric() {
+    long startNs = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    long endNs = startNs + TimeUnit.MILLISECONDS.toNanos(900);
+    return MetricData.createLongSum(
+        Resource.empty(),
+        InstrumentationLibraryInfo.empty(),
+        "name",
+        "description",
+        "1",
+        LongSumData.create(
+            /* isMonotonic= */ true,
+            AggregationTemporality.CUMULATIVE,
+            Collections.singletonList(
+                LongPointData.create(startNs, endNs, Labels.of("k", "v"), 5))));
+  }
+
+  private static final class FakeCollector extends MetricsServiceGrpc.MetricsServiceImplBase {
+    private final List<ResourceMetrics> receivedMetrics = new CopyOnWriteArrayList<>();
+    private volatile Status returnedStatus = Status.OK;
+
+    @Override
+    public void export(
+        ExportMetricsServiceRequest request,
+        StreamObserver<ExportMetricsServiceResponse> responseObserver) {
+      if (!returnedStatus.isOk()) {
+        responseObserver.onError(returnedStatus.asRuntimeException());
+        return;
+      }
+      receivedMetrics.addAll(request.getResourceMetricsList());
+      responseObserver.onNext(ExportMetricsServiceResponse.newBuilder().build());
+      responseObserver.onCompleted();
+    }
+
+    List<ResourceMetrics> getReceivedMetrics() {
+      return receivedMetrics;
+    }
+
+    void setReturnedStatus(Status returnedStatus) {
+      this.returnedStatus = returnedStatus;
+    }
+  }
+}
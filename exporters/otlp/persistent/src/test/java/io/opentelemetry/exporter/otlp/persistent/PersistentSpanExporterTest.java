@@ -0,0 +1,356 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.persistent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.io.Closer;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.exporter.otlp.internal.SpanAdapter;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceResponse;
+import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc;
+import io.opentelemetry.proto.trace.v1.ResourceSpans;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PersistentSpanExporterTest {
+
+  private static final String TRACE_ID = "00000000000000000000000000abc123";
+  private static final String SPAN_ID = "0000000000def456";
+
+  private final FakeCollector fakeCollector = new FakeCollector();
+  private final String serverName = InProcessServerBuilder.generateName();
+  private final Closer closer = Closer.create();
+
+  @TempDir Path directory;
+
+  @BeforeEach
+  void setup() throws IOException {
+    Server server =
+        InProcessServerBuilder.forName(serverName)
+            .directExecutor()
+            .addService(fakeCollector)
+            .build()
+            .start();
+    closer.register(server::shutdownNow);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    closer.close();
+  }
+
+  @Test
+  @SuppressWarnings("PreferJavaTimeOverload")
+  void invalidConfig() {
+    assertThatThrownBy(() -> PersistentSpanExporter.builder().setDirectory(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("directory");
+    assertThatThrownBy(() -> PersistentSpanExporter.builder().setTimeout(-1, TimeUnit.MILLISECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("timeout must be non-negative");
+    assertThatThrownBy(() -> PersistentSpanExporter.builder().setEndpoint("localhost"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid endpoint, must start with http:// or https://: localhost");
+    assertThatThrownBy(() -> PersistentSpanExporter.builder().setMaxSegmentSize(12))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxSegmentSize must be large enough to hold a record.");
+    assertThatThrownBy(() -> PersistentSpanExporter.builder().setMaxDiskUsage(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxDiskUsage must be positive.");
+    assertThatThrownBy(() -> PersistentSpanExporter.builder().setMaxReplayAttempts(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxReplayAttempts must be positive.");
+    assertThatThrownBy(() -> PersistentSpanExporter.builder().setMaxRetryableReplayAttempts(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxRetryableReplayAttempts must be positive.");
+    assertThatThrownBy(
+            () ->
+                PersistentSpanExporter.builder()
+                    .setReplayBackoff(Duration.ofSeconds(2), Duration.ofSeconds(1)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxBackoff must not be less than initialBackoff.");
+    assertThatThrownBy(() -> PersistentSpanExporter.builder().build())
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("directory must be set.");
+    assertThatThrownBy(
+            () ->
+                PersistentSpanExporter.builder()
+                    .setDirectory(directory)
+                    .setMaxSegmentSize(1024)
+                    .setMaxDiskUsage(512)
+                    .build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxDiskUsage must not be less than maxSegmentSize.");
+  }
+
+  @Test
+  void directoryInUse() {
+    PersistentSpanExporter exporter = newExporter(Duration.ofMillis(10));
+    try {
+      assertThatThrownBy(
+              () ->
+                  PersistentSpanExporter.builder()
+                      .setDirectory(directory)
+                      .setEndpoint("http://localhost:4317")
+                      .build())
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessageStartingWith("Directory is already in use");
+    } finally {
+      exporter.shutdown().join(10, TimeUnit.SECONDS);
+    }
+    // The failed build did not keep the directory locked.
+    newExporter(Duration.ofMillis(10)).shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void exportWhenAvailable() {
+    PersistentSpanExporter exporter = newExporter(Duration.ofMillis(10));
+    try {
+      List<SpanData> spans = Collections.singletonList(span("span"));
+      assertThat(exporter.export(spans).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      assertThat(fakeCollector.getReceivedSpans())
+          .isEqualTo(SpanAdapter.toProtoResourceSpans(spans));
+      assertThat(exporter.getQueue().getLog().isEmpty()).isTrue();
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void persistsAndReplaysInOrderWhenUnavailable() {
+    fakeCollector.setReturnedStatus(Status.UNAVAILABLE);
+    PersistentSpanExporter exporter = newExporter(Duration.ofMillis(10));
+    try {
+      for (String name : Arrays.asList("one", "two", "three")) {
+        assertThat(
+                exporter
+                    .export(Collections.singletonList(span(name)))
+                    .join(10, TimeUnit.SECONDS)
+                    .isSuccess())
+            .isTrue();
+      }
+      assertThat(exporter.getQueue().getLog().isEmpty()).isFalse();
+      assertThat(fakeCollector.getReceivedSpans()).isEmpty();
+
+      fakeCollector.setReturnedStatus(Status.OK);
+      Awaitility.await()
+          .untilAsserted(() -> assertThat(fakeCollector.getReceivedSpanNames()).hasSize(3));
+      assertThat(fakeCollector.getReceivedSpanNames()).containsExactly("one", "two", "three");
+      assertThat(exporter.getQueue().getLog().isEmpty()).isTrue();
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void replaysAfterRestart() {
+    fakeCollector.setReturnedStatus(Status.UNAVAILABLE);
+    PersistentSpanExporter exporter = newExporter(Duration.ofMinutes(1));
+    assertThat(
+            exporter
+                .export(Collections.singletonList(span("persisted")))
+                .join(10, TimeUnit.SECONDS)
+                .isSuccess())
+        .isTrue();
+    exporter.shutdown().join(10, TimeUnit.SECONDS);
+    assertThat(fakeCollector.getReceivedSpans()).isEmpty();
+
+    fakeCollector.setReturnedStatus(Status.OK);
+    PersistentSpanExporter restarted = newExporter(Duration.ofMillis(10));
+    try {
+      Awaitility.await()
+          .untilAsserted(
+              () -> assertThat(fakeCollector.getReceivedSpanNames()).containsExactly("persisted"));
+    } finally {
+      restarted.shutdown();
+    }
+  }
+
+  @Test
+  void nonRetryableFailureIsNotPersisted() {
+    fakeCollector.setReturnedStatus(Status.INVALID_ARGUMENT);
+    PersistentSpanExporter exporter = newExporter(Duration.ofMillis(10));
+    try {
+      assertThat(
+              exporter
+                  .export(Collections.singletonList(span("span")))
+                  .join(10, TimeUnit.SECONDS)
+                  .isSuccess())
+          .isFalse();
+      assertThat(exporter.getQueue().getLog().isEmpty()).isTrue();
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void dropsAfterMaxReplayAttempts() {
+    fakeCollector.setReturnedStatus(Status.INVALID_ARGUMENT);
+    PersistentSpanExporter exporter = newExporter(Duration.ofMillis(10));
+    try {
+      assertThat(
+              exporter
+                  .asSpillExporter()
+                  .export(Collections.singletonList(span("span")))
+                  .isSuccess())
+          .isTrue();
+      Awaitility.await()
+          .untilAsserted(() -> assertThat(exporter.getQueue().getLog().isEmpty()).isTrue());
+      assertThat(fakeCollector.getExportCalls()).isEqualTo(3);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void dropsAfterMaxRetryableReplayAttempts() {
+    fakeCollector.setReturnedStatus(Status.UNAVAILABLE);
+    ManagedChannel channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    closer.register(channel::shutdownNow);
+    PersistentSpanExporter exporter =
+        PersistentSpanExporter.builder()
+            .setChannel(channel)
+            .setDirectory(directory)
+            .setMaxSegmentSize(64 * 1024)
+            .setMaxDiskUsage(1024 * 1024)
+            .setMaxReplayAttempts(3)
+            .setMaxRetryableReplayAttempts(4)
+            .setReplayBackoff(Duration.ofMillis(10), Duration.ofMillis(10))
+            .build();
+    try {
+      assertThat(
+              exporter
+                  .asSpillExporter()
+                  .export(Collections.singletonList(span("span")))
+                  .isSuccess())
+          .isTrue();
+      Awaitility.await()
+          .untilAsserted(() -> assertThat(exporter.getQueue().getLog().isEmpty()).isTrue());
+      assertThat(fakeCollector.getExportCalls()).isEqualTo(4);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void spillExporterPersistsWithoutSending() {
+    fakeCollector.setReturnedStatus(Status.UNAVAILABLE);
+    PersistentSpanExporter exporter = newExporter(Duration.ofMillis(10));
+    try {
+      assertThat(
+              exporter
+                  .asSpillExporter()
+                  .export(Collections.singletonList(span("spilled")))
+                  .isSuccess())
+          .isTrue();
+      assertThat(exporter.asSpillExporter().shutdown().isSuccess()).isTrue();
+
+      fakeCollector.setReturnedStatus(Status.OK);
+      Awaitility.await()
+          .untilAsserted(
+              () -> assertThat(fakeCollector.getReceivedSpanNames()).containsExactly("spilled"));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  private PersistentSpanExporter newExporter(Duration initialBackoff) {
+    ManagedChannel channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    closer.register(channel::shutdownNow);
+    return PersistentSpanExporter.builder()
+        .setChannel(channel)
+        .setDirectory(directory)
+        .setMaxSegmentSize(64 * 1024)
+        .setMaxDiskUsage(1024 * 1024)
+        .setMaxReplayAttempts(3)
+        .setReplayBackoff(initialBackoff, initialBackoff)
+        .build();
+  }
+
+  private static SpanData span(String name) {
+    long startNs = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    return TestSpanData.builder()
+        .setSpanContext(
+            SpanContext.create(TRACE_ID, SPAN_ID, TraceFlags.getSampled(), TraceState.getDefault()))
+        .setName(name)
+        .setKind(SpanKind.SERVER)
+        .setStartEpochNanos(startNs)
+        .setEndEpochNanos(startNs + TimeUnit.MILLISECONDS.toNanos(900))
+        .setStatus(StatusData.ok())
+        .setHasEnded(true)
+        .build();
+  }
+
+  private static final class FakeCollector extends TraceServiceGrpc.TraceServiceImplBase {
+    private final List<ResourceSpans> receivedSpans = new CopyOnWriteArrayList<>();
+    private volatile Status returnedStatus = Status.OK;
+    private final AtomicInteger exportCalls = new AtomicInteger();
+
+    @Override
+    public void export(
+        ExportTraceServiceRequest request,
+        StreamObserver<ExportTraceServiceResponse> responseObserver) {
+      exportCalls.incrementAndGet();
+      if (!returnedStatus.isOk()) {
+        responseObserver.onError(returnedStatus.asRuntimeException());
+        return;
+      }
+      receivedSpans.addAll(request.getResourceSpansList());
+      responseObserver.onNext(ExportTraceServiceResponse.newBuilder().build());
+      responseObserver.onCompleted();
+    }
+
+    List<ResourceSpans> getReceivedSpans() {
+      return receivedSpans;
+    }
+
+    List<String> getReceivedSpanNames() {
+      List<String> names = new ArrayList<>();
+      for (ResourceSpans resourceSpans : receivedSpans) {
+        resourceSpans
+            .getInstrumentationLibrarySpansList()
+            .forEach(library -> library.getSpansList().forEach(span -> names.add(span.getName())));
+      }
+      return names;
+    }
+
+    int getExportCalls() {
+      return exportCalls.get();
+    }
+
+    void setReturnedStatus(Status returnedStatus) {
+      this.returnedStatus = returnedStatus;
+    }
+  }
+}
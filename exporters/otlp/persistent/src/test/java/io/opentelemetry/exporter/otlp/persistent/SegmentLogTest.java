@@ -0,0 +1,174 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.persistent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SegmentLogTest {
+
+  private static final int SEGMENT_SIZE = 64;
+
+  @TempDir Path directory;
+
+  @Test
+  void appendAndConsumeInOrder() throws IOException {
+    try (SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE, 10)) {
+      assertThat(log.isEmpty()).isTrue();
+      assertThat(log.peek()).isNull();
+
+      for (int i = 0; i < 10; i++) {
+        assertThat(log.append(bytes("record" + i))).isTrue();
+      }
+      assertThat(log.isEmpty()).isFalse();
+
+      for (int i = 0; i < 10; i++) {
+        SegmentLog.Entry entry = log.peek();
+        assertThat(string(entry)).isEqualTo("record" + i);
+        // Peeking again returns the same record until it is removed.
+        assertThat(string(log.peek())).isEqualTo("record" + i);
+        log.remove(entry);
+        // Removing twice does not skip a record.
+        log.remove(entry);
+      }
+      assertThat(log.peek()).isNull();
+      assertThat(log.isEmpty()).isTrue();
+    }
+  }
+
+  @Test
+  void consumedSegmentsAreDeleted() throws IOException {
+    try (SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE, 10)) {
+      // Each record takes 4 + 20 bytes, so two records fit in a segment.
+      for (int i = 0; i < 6; i++) {
+        log.append(new byte[20]);
+      }
+      assertThat(countSegments()).isEqualTo(3);
+      assertThat(log.getDiskUsage()).isEqualTo(3 * SEGMENT_SIZE);
+
+      while (!log.isEmpty()) {
+        log.remove(log.peek());
+      }
+      // The last segment is kept for further appends.
+      assertThat(countSegments()).isEqualTo(1);
+      assertThat(log.getDiskUsage()).isEqualTo(SEGMENT_SIZE);
+    }
+  }
+
+  @Test
+  void dropsOldestSegmentWhenFull() throws IOException {
+    try (SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE, 2)) {
+      for (int i = 0; i < 6; i++) {
+        log.append(new byte[] {(byte) i});
+      }
+      // Exceeds the first two segments.
+      log.append(new byte[40]);
+      log.append(new byte[40]);
+
+      assertThat(countSegments()).isEqualTo(2);
+      assertThat(log.getDroppedRecords()).isEqualTo(6);
+      assertThat(log.peek().getRecord()).hasSize(40);
+    }
+  }
+
+  @Test
+  void rejectsRecordLargerThanSegment() throws IOException {
+    try (SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE, 2)) {
+      assertThat(log.append(new byte[SEGMENT_SIZE])).isFalse();
+      assertThat(log.append(new byte[SEGMENT_SIZE - 12])).isTrue();
+      assertThat(log.isEmpty()).isFalse();
+    }
+  }
+
+  @Test
+  void recoversAfterReopen() throws IOException {
+    try (SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE, 10)) {
+      for (int i = 0; i < 5; i++) {
+        log.append(bytes("record" + i));
+      }
+      log.remove(log.peek());
+      log.remove(log.peek());
+    }
+
+    try (SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE, 10)) {
+      for (int i = 2; i < 5; i++) {
+        SegmentLog.Entry entry = log.peek();
+        assertThat(string(entry)).isEqualTo("record" + i);
+        log.remove(entry);
+      }
+      assertThat(log.peek()).isNull();
+
+      // New segments do not reuse the names of recovered ones.
+      log.append(new byte[50]);
+      log.append(bytes("last"));
+      log.remove(log.peek());
+      assertThat(string(log.peek())).isEqualTo("last");
+    }
+  }
+
+  @Test
+  void ignoresPartiallyWrittenRecord() throws IOException {
+    try (SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE, 10)) {
+      log.append(bytes("complete"));
+    }
+    Path segment;
+    try (Stream<Path> files = Files.list(directory)) {
+      segment = files.filter(p -> p.toString().endsWith(".seg")).findFirst().get();
+    }
+    // Simulate a crash after the payload of a second record was written, but not its length.
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(bytes("torn")), SegmentLog.HEADER_SIZE + 4 + 8 + 4);
+    }
+
+    try (SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE, 10)) {
+      SegmentLog.Entry entry = log.peek();
+      assertThat(string(entry)).isEqualTo("complete");
+      log.remove(entry);
+      assertThat(log.peek()).isNull();
+
+      log.append(bytes("a"));
+      assertThat(string(log.peek())).isEqualTo("a");
+      log.remove(log.peek());
+      assertThat(log.peek()).isNull();
+    }
+  }
+
+  @Test
+  void directoryIsLocked() throws IOException {
+    try (SegmentLog unused = SegmentLog.open(directory, SEGMENT_SIZE, 10)) {
+      assertThatThrownBy(() -> SegmentLog.open(directory, SEGMENT_SIZE, 10))
+          .isInstanceOf(IllegalStateException.class);
+    }
+    SegmentLog.open(directory, SEGMENT_SIZE, 10).close();
+  }
+
+  private long countSegments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(p -> p.toString().endsWith(".seg")).count();
+    }
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String string(@Nullable SegmentLog.Entry entry) {
+    assertThat(entry).isNotNull();
+    return new String(entry.getRecord(), StandardCharsets.UTF_8);
+  }
+}
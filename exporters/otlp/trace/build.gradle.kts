@@ -2,7 +2,6 @@ plugins {
     `java-library`
     `maven-publish`
 
-    id("me.champeau.jmh")
     id("org.unbroken-dome.test-sets")
     id("ru.vyarus.animalsniffer")
 }
@@ -47,8 +46,6 @@ dependencies {
     add("testGrpcNettyShadedRuntimeOnly", "io.grpc:grpc-netty-shaded")
 
     add("testGrpcOkhttpRuntimeOnly", "io.grpc:grpc-okhttp")
-
-    jmh(project(":sdk:testing"))
 }
 
 tasks {
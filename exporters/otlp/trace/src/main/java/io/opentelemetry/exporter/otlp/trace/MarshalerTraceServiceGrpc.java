@@ -0,0 +1,75 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.trace;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.MethodDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.AbstractFutureStub;
+import io.grpc.stub.ClientCalls;
+import io.opentelemetry.exporter.otlp.internal.MarshalerInputStream;
+import io.opentelemetry.exporter.otlp.internal.TraceMarshaler;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceResponse;
+import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc;
+import java.io.InputStream;
+
+/**
+ * A client of the OTLP trace service, equivalent to the generated {@link TraceServiceGrpc}, which
+ * sends a {@link TraceMarshaler.RequestMarshaler} instead of an {@code ExportTraceServiceRequest}.
+ * The request is written by the marshaler directly to the transport.
+ */
+final class MarshalerTraceServiceGrpc {
+
+  private static final MethodDescriptor.Marshaller<TraceMarshaler.RequestMarshaler>
+      REQUEST_MARSHALLER =
+          new MethodDescriptor.Marshaller<TraceMarshaler.RequestMarshaler>() {
+            @Override
+            public InputStream stream(TraceMarshaler.RequestMarshaler value) {
+              return new MarshalerInputStream(value);
+            }
+
+            @Override
+            public TraceMarshaler.RequestMarshaler parse(InputStream stream) {
+              throw new UnsupportedOperationException("Only for serializing");
+            }
+          };
+
+  private static final MethodDescriptor<
+          TraceMarshaler.RequestMarshaler, ExportTraceServiceResponse>
+      EXPORT_METHOD =
+          MethodDescriptor.<TraceMarshaler.RequestMarshaler, ExportTraceServiceResponse>newBuilder()
+              .setType(MethodDescriptor.MethodType.UNARY)
+              .setFullMethodName(
+                  MethodDescriptor.generateFullMethodName(TraceServiceGrpc.SERVICE_NAME, "Export"))
+              .setRequestMarshaller(REQUEST_MARSHALLER)
+              .setResponseMarshaller(
+                  ProtoUtils.marshaller(ExportTraceServiceResponse.getDefaultInstance()))
+              .build();
+
+  static TraceServiceFutureStub newFutureStub(Channel channel) {
+    return TraceServiceFutureStub.newStub(TraceServiceFutureStub::new, channel);
+  }
+
+  static final class TraceServiceFutureStub extends AbstractFutureStub<TraceServiceFutureStub> {
+    private TraceServiceFutureStub(Channel channel, CallOptions callOptions) {
+      super(channel, callOptions);
+    }
+
+    @Override
+    protected TraceServiceFutureStub build(Channel channel, CallOptions callOptions) {
+      return new TraceServiceFutureStub(channel, callOptions);
+    }
+
+    ListenableFuture<ExportTraceServiceResponse> export(TraceMarshaler.RequestMarshaler request) {
+      return ClientCalls.futureUnaryCall(
+          getChannel().newCall(EXPORT_METHOD, getCallOptions()), request);
+    }
+  }
+
+  private MarshalerTraceServiceGrpc() {}
+}
@@ -1,19 +0,0 @@
-/*
- * Copyright The OpenTelemetry Authors
- * SPDX-License-Identifier: Apache-2.0
- */
-
-package io.opentelemetry.exporter.otlp.trace;
-
-abstract class MarshalerWithSize implements Marshaler {
-  private final int size;
-
-  protected MarshalerWithSize(int size) {
-    this.size = size;
-  }
-
-  @Override
-  public final int getSerializedSize() {
-    return size;
-  }
-}
@@ -16,16 +16,21 @@ import io.opentelemetry.api.metrics.GlobalMeterProvider;
 import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.common.Labels;
-import io.opentelemetry.exporter.otlp.internal.SpanAdapter;
-import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.exporter.otlp.internal.GrpcStatusUtil;
+import io.opentelemetry.exporter.otlp.internal.Retrier;
+import io.opentelemetry.exporter.otlp.internal.TraceMarshaler;
+import io.opentelemetry.exporter.otlp.trace.MarshalerTraceServiceGrpc.TraceServiceFutureStub;
 import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceResponse;
-import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc;
-import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc.TraceServiceFutureStub;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
 import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -50,6 +55,9 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
 
   private final ManagedChannel managedChannel;
   private final long timeoutNanos;
+  private final int maxRequestSize;
+  @Nullable private final ForkJoinPool marshalingPool;
+  @Nullable private final Retrier retrier;
   private final BoundLongCounter spansSeen;
   private final BoundLongCounter spansExportedSuccess;
   private final BoundLongCounter spansExportedFailure;
@@ -60,8 +68,22 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
    * @param channel the channel to use when communicating with the OpenTelemetry Collector.
    * @param timeoutNanos max waiting time for the collector to process each span batch. When set to
    *     0 or to a negative value, the exporter will wait indefinitely.
+   * @param compressionMethod the name of the gRPC compressor to use, or {@code null} to not
+   *     compress payloads.
+   * @param maxRequestSize max serialized size of each export request. When set to 0, each batch
+   *     is sent in a single request.
+   * @param marshalingPool the pool on which large batches are marshaled in parallel, or {@code
+   *     null} to marshal them on the exporting thread.
+   * @param retryPolicy the policy of retrying requests that failed with a transient error, or
+   *     {@code null} to not retry them.
    */
-  OtlpGrpcSpanExporter(ManagedChannel channel, long timeoutNanos) {
+  OtlpGrpcSpanExporter(
+      ManagedChannel channel,
+      long timeoutNanos,
+      @Nullable String compressionMethod,
+      int maxRequestSize,
+      @Nullable ForkJoinPool marshalingPool,
+      @Nullable RetryPolicy retryPolicy) {
     Meter meter = GlobalMeterProvider.getMeter("io.opentelemetry.exporters.otlp");
     this.spansSeen =
         meter.longCounterBuilder("spansSeenByExporter").build().bind(EXPORTER_NAME_LABELS);
@@ -70,12 +92,20 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
     this.spansExportedFailure = spansExportedCounter.bind(EXPORT_FAILURE_LABELS);
     this.managedChannel = channel;
     this.timeoutNanos = timeoutNanos;
+    this.maxRequestSize = maxRequestSize;
+    this.marshalingPool = marshalingPool;
+    this.retrier = retryPolicy != null ? Retrier.create(EXPORTER_NAME, retryPolicy) : null;
 
-    this.traceService = TraceServiceGrpc.newFutureStub(channel);
+    TraceServiceFutureStub traceService = MarshalerTraceServiceGrpc.newFutureStub(channel);
+    if (compressionMethod != null) {
+      traceService = traceService.withCompression(compressionMethod);
+    }
+    this.traceService = traceService;
   }
 
   /**
-   * Submits all the given spans in a single batch to the OpenTelemetry collector.
+   * Submits all the given spans to the OpenTelemetry collector, in a single request unless a
+   * maximum request size is configured and the spans exceed it.
    *
    * @param spans the list of sampled Spans to be exported.
    * @return the result of the operation
@@ -83,13 +113,46 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
   @Override
   public CompletableResultCode export(Collection<SpanData> spans) {
     spansSeen.add(spans.size());
-    ExportTraceServiceRequest exportTraceServiceRequest =
-        ExportTraceServiceRequest.newBuilder()
-            .addAllResourceSpans(SpanAdapter.toProtoResourceSpans(spans))
-            .build();
+    List<TraceMarshaler.RequestMarshaler> requests;
+    if (maxRequestSize > 0) {
+      requests = TraceMarshaler.RequestMarshaler.createSplit(spans, maxRequestSize);
+    } else if (marshalingPool != null) {
+      requests =
+          Collections.singletonList(
+              TraceMarshaler.RequestMarshaler.createParallel(spans, marshalingPool));
+    } else {
+      requests = Collections.singletonList(TraceMarshaler.RequestMarshaler.create(spans));
+    }
 
-    final CompletableResultCode result = new CompletableResultCode();
+    CompletableResultCode result;
+    if (requests.size() == 1) {
+      result = exportRequest(requests.get(0));
+    } else {
+      List<CompletableResultCode> results = new ArrayList<>(requests.size());
+      for (TraceMarshaler.RequestMarshaler request : requests) {
+        results.add(exportRequest(request));
+      }
+      result = CompletableResultCode.ofAll(results);
+    }
+    result.whenComplete(
+        () -> {
+          if (result.isSuccess()) {
+            spansExportedSuccess.add(spans.size());
+          } else {
+            spansExportedFailure.add(spans.size());
+          }
+        });
+    return result;
+  }
+
+  private CompletableResultCode exportRequest(TraceMarshaler.RequestMarshaler request) {
+    if (retrier != null) {
+      return retrier.send(request.getSerializedSize(), callback -> send(request, callback));
+    }
+    return Retrier.sendOnce(callback -> send(request, callback));
+  }
 
+  private void send(TraceMarshaler.RequestMarshaler request, Retrier.Callback callback) {
     TraceServiceFutureStub exporter;
     if (timeoutNanos > 0) {
       exporter = traceService.withDeadlineAfter(timeoutNanos, TimeUnit.NANOSECONDS);
@@ -98,17 +161,15 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
     }
 
     Futures.addCallback(
-        exporter.export(exportTraceServiceRequest),
+        exporter.export(request),
         new FutureCallback<ExportTraceServiceResponse>() {
           @Override
           public void onSuccess(@Nullable ExportTraceServiceResponse response) {
-            spansExportedSuccess.add(spans.size());
-            result.succeed();
+            callback.onSuccess();
           }
 
           @Override
           public void onFailure(Throwable t) {
-            spansExportedFailure.add(spans.size());
             Status status = Status.fromThrowable(t);
             switch (status.getCode()) {
               case UNIMPLEMENTED:
@@ -136,11 +197,10 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
             if (logger.isLoggable(Level.FINEST)) {
               logger.log(Level.FINEST, "Failed to export spans. Details follow: " + t);
             }
-            result.fail();
+            callback.onFailure(GrpcStatusUtil.isRetryable(status));
           }
         },
         MoreExecutors.directExecutor());
-    return result;
   }
 
   /**
@@ -184,6 +244,9 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
     if (managedChannel.isShutdown()) {
       return result.succeed();
     }
+    if (retrier != null) {
+      retrier.shutdown();
+    }
     managedChannel.shutdown();
     this.spansSeen.unbind();
     this.spansExportedSuccess.unbind();
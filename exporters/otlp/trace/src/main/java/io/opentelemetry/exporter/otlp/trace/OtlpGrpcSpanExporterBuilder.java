@@ -9,16 +9,21 @@ import static io.grpc.Metadata.ASCII_STRING_MARSHALLER;
 import static io.opentelemetry.api.internal.Utils.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import io.grpc.CompressorRegistry;
+import io.grpc.LoadBalancerRegistry;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.Metadata;
 import io.grpc.netty.GrpcSslContexts;
 import io.grpc.netty.NettyChannelBuilder;
 import io.grpc.stub.MetadataUtils;
+import io.opentelemetry.exporter.otlp.internal.ManagedChannelPool;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
 import java.io.ByteArrayInputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLException;
@@ -35,6 +40,13 @@ public final class OtlpGrpcSpanExporterBuilder {
   private URI endpoint = DEFAULT_ENDPOINT;
   @Nullable private Metadata metadata;
   @Nullable private byte[] trustedCertificatesPem;
+  @Nullable private String compressionMethod;
+  private int maxRequestSize;
+  @Nullable private ForkJoinPool marshalingPool;
+  @Nullable private RetryPolicy retryPolicy;
+  private int channelPoolSize = 1;
+  private String channelSelectionPolicy = ManagedChannelPool.ROUND_ROBIN;
+  @Nullable private String loadBalancingPolicy;
 
   /**
    * Sets the managed chanel to use when communicating with the backend. Takes precedence over
@@ -102,6 +114,108 @@ public final class OtlpGrpcSpanExporterBuilder {
     return this;
   }
 
+  /**
+   * Sets the method used to compress the payloads. Supported values are {@code "gzip"}, {@code
+   * "none"} and the name of any other compressor registered with the default gRPC {@link
+   * CompressorRegistry}, such as a faster codec supported by the collector. Payloads are compressed
+   * as they are streamed to the transport. If unset, payloads are not compressed.
+   */
+  public OtlpGrpcSpanExporterBuilder setCompression(String compressionMethod) {
+    requireNonNull(compressionMethod, "compressionMethod");
+    checkArgument(
+        compressionMethod.equals("none")
+            || CompressorRegistry.getDefaultInstance().lookupCompressor(compressionMethod) != null,
+        "Unsupported compression method. Supported compression methods include: gzip, none and "
+            + "compressors registered with gRPC.");
+    this.compressionMethod = compressionMethod.equals("none") ? null : compressionMethod;
+    return this;
+  }
+
+  /**
+   * Sets the maximum serialized size, in bytes, of each export request. A batch of spans that would
+   * exceed it is split into several requests, using the size computed while encoding the spans, so
+   * that requests stay under the limits of the collector, which default to 4 MiB for gRPC. A single
+   * span that alone exceeds the limit is still sent in a request of its own. If unset, each batch
+   * is sent in a single request.
+   */
+  public OtlpGrpcSpanExporterBuilder setMaxRequestSize(int maxRequestSize) {
+    checkArgument(maxRequestSize > 0, "maxRequestSize must be positive");
+    this.maxRequestSize = maxRequestSize;
+    return this;
+  }
+
+  /**
+   * Sets the pool on which large batches of spans are marshaled in parallel, such as {@link
+   * ForkJoinPool#commonPool()}. Batches of more than 1024 spans are then sized and encoded in
+   * chunks on the pool, which scales the export throughput of large batches with the number of
+   * cores. Batches that are split by {@link #setMaxRequestSize(int)} are still marshaled on the
+   * exporting thread. If unset, batches are marshaled on the exporting thread.
+   */
+  public OtlpGrpcSpanExporterBuilder setMarshalingPool(ForkJoinPool marshalingPool) {
+    this.marshalingPool = requireNonNull(marshalingPool, "marshalingPool");
+    return this;
+  }
+
+  /**
+   * Sets the policy of retrying requests that failed with a transient error, such as when the
+   * collector is restarting. A failed request is handed off to a retry buffer bounded by {@link
+   * RetryPolicy#getMaxBufferedBytes()}, and the export result then completes successfully, so
+   * exporting never waits for the retries. The export result fails only if the request cannot be
+   * retried. Requests that are abandoned later are counted by the {@code
+   * requestsAbandonedByExporter} counter. If unset, failed requests are not retried.
+   */
+  public OtlpGrpcSpanExporterBuilder setRetryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = requireNonNull(retryPolicy, "retryPolicy");
+    return this;
+  }
+
+  /**
+   * Sets the number of channels, each with its own connection, over which export requests are
+   * spread. A single HTTP/2 connection to a collector behind an L4 load balancer always reaches the
+   * same collector instance, and can bound the export throughput. Exporters built with the same
+   * endpoint, headers and channel options share their channels, so that the span and metric
+   * exporters of a collector use a single pool. Not used if a channel is set with {@link
+   * #setChannel(ManagedChannel)}. If unset, defaults to 1.
+   */
+  public OtlpGrpcSpanExporterBuilder setChannelPoolSize(int channelPoolSize) {
+    checkArgument(channelPoolSize > 0, "channelPoolSize must be positive");
+    this.channelPoolSize = channelPoolSize;
+    return this;
+  }
+
+  /**
+   * Sets how export requests are spread over the channels of the pool: {@code "round_robin"}
+   * sends them to the channels in turn, and {@code "least_outstanding"} to the channel with the
+   * fewest requests in flight. If unset, defaults to {@code "round_robin"}.
+   */
+  public OtlpGrpcSpanExporterBuilder setChannelSelectionPolicy(String channelSelectionPolicy) {
+    requireNonNull(channelSelectionPolicy, "channelSelectionPolicy");
+    checkArgument(
+        ManagedChannelPool.isSupportedSelectionPolicy(channelSelectionPolicy),
+        "Unsupported channel selection policy. Supported policies include: round_robin and "
+            + "least_outstanding.");
+    this.channelSelectionPolicy = channelSelectionPolicy;
+    return this;
+  }
+
+  /**
+   * Sets the gRPC load balancing policy of the channels. With {@code "round_robin"}, each channel
+   * connects to all the addresses that DNS resolves for the endpoint host, and spreads requests
+   * over them, which balances collectors behind a headless service without an L4 load balancer.
+   * Supported values are {@code "pick_first"}, {@code "round_robin"} and any other policy
+   * registered with the default gRPC {@link LoadBalancerRegistry}. If unset, each channel
+   * connects to the first address that can be reached.
+   */
+  public OtlpGrpcSpanExporterBuilder setLoadBalancingPolicy(String loadBalancingPolicy) {
+    requireNonNull(loadBalancingPolicy, "loadBalancingPolicy");
+    checkArgument(
+        LoadBalancerRegistry.getDefaultRegistry().getProvider(loadBalancingPolicy) != null,
+        "Unsupported load balancing policy. Supported policies include: pick_first, round_robin "
+            + "and policies registered with gRPC.");
+    this.loadBalancingPolicy = loadBalancingPolicy;
+    return this;
+  }
+
   /**
    * Add header to request. Optional. Applicable only if {@link
    * OtlpGrpcSpanExporterBuilder#endpoint} is set to build channel.
@@ -124,68 +238,89 @@ public final class OtlpGrpcSpanExporterBuilder {
    * @return a new exporter's instance
    */
   public OtlpGrpcSpanExporter build() {
-    if (channel == null) {
-      final ManagedChannelBuilder<?> managedChannelBuilder =
-          ManagedChannelBuilder.forTarget(endpoint.getAuthority());
+    ManagedChannel exporterChannel = channel;
+    if (exporterChannel == null) {
+      exporterChannel =
+          ManagedChannelPool.acquire(
+              ManagedChannelPool.channelKey(
+                  endpoint, metadata, trustedCertificatesPem, loadBalancingPolicy),
+              channelPoolSize,
+              channelSelectionPolicy,
+              this::createChannel);
+    }
+    return new OtlpGrpcSpanExporter(
+        exporterChannel,
+        timeoutNanos,
+        compressionMethod,
+        maxRequestSize,
+        marshalingPool,
+        retryPolicy);
+  }
 
-      if (endpoint.getScheme().equals("https")) {
-        managedChannelBuilder.useTransportSecurity();
-      } else {
-        managedChannelBuilder.usePlaintext();
-      }
+  private ManagedChannel createChannel() {
+    final ManagedChannelBuilder<?> managedChannelBuilder =
+        ManagedChannelBuilder.forTarget(endpoint.getAuthority());
 
-      if (metadata != null) {
-        managedChannelBuilder.intercept(MetadataUtils.newAttachHeadersInterceptor(metadata));
-      }
+    if (endpoint.getScheme().equals("https")) {
+      managedChannelBuilder.useTransportSecurity();
+    } else {
+      managedChannelBuilder.usePlaintext();
+    }
+
+    if (metadata != null) {
+      managedChannelBuilder.intercept(MetadataUtils.newAttachHeadersInterceptor(metadata));
+    }
+
+    if (loadBalancingPolicy != null) {
+      managedChannelBuilder.defaultLoadBalancingPolicy(loadBalancingPolicy);
+    }
 
-      if (trustedCertificatesPem != null) {
-        // gRPC does not abstract TLS configuration so we need to check the implementation and act
-        // accordingly.
-        if (managedChannelBuilder
-            .getClass()
-            .getName()
-            .equals("io.grpc.netty.NettyChannelBuilder")) {
-          NettyChannelBuilder nettyBuilder = (NettyChannelBuilder) managedChannelBuilder;
-          try {
-            nettyBuilder.sslContext(
-                GrpcSslContexts.forClient()
-                    .trustManager(new ByteArrayInputStream(trustedCertificatesPem))
-                    .build());
-          } catch (IllegalArgumentException | SSLException e) {
-            throw new IllegalStateException(
-                "Could not set trusted certificates for gRPC TLS connection, are they valid "
-                    + "X.509 in PEM format?",
-                e);
-          }
-        } else if (managedChannelBuilder
-            .getClass()
-            .getName()
-            .equals("io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder")) {
-          io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder nettyBuilder =
-              (io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder) managedChannelBuilder;
-          try {
-            nettyBuilder.sslContext(
-                io.grpc.netty.shaded.io.grpc.netty.GrpcSslContexts.forClient()
-                    .trustManager(new ByteArrayInputStream(trustedCertificatesPem))
-                    .build());
-          } catch (IllegalArgumentException | SSLException e) {
-            throw new IllegalStateException(
-                "Could not set trusted certificates for gRPC TLS connection, are they valid "
-                    + "X.509 in PEM format?",
-                e);
-          }
-        } else {
+    if (trustedCertificatesPem != null) {
+      // gRPC does not abstract TLS configuration so we need to check the implementation and act
+      // accordingly.
+      if (managedChannelBuilder
+          .getClass()
+          .getName()
+          .equals("io.grpc.netty.NettyChannelBuilder")) {
+        NettyChannelBuilder nettyBuilder = (NettyChannelBuilder) managedChannelBuilder;
+        try {
+          nettyBuilder.sslContext(
+              GrpcSslContexts.forClient()
+                  .trustManager(new ByteArrayInputStream(trustedCertificatesPem))
+                  .build());
+        } catch (IllegalArgumentException | SSLException e) {
+          throw new IllegalStateException(
+              "Could not set trusted certificates for gRPC TLS connection, are they valid "
+                  + "X.509 in PEM format?",
+              e);
+        }
+      } else if (managedChannelBuilder
+          .getClass()
+          .getName()
+          .equals("io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder")) {
+        io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder nettyBuilder =
+            (io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder) managedChannelBuilder;
+        try {
+          nettyBuilder.sslContext(
+              io.grpc.netty.shaded.io.grpc.netty.GrpcSslContexts.forClient()
+                  .trustManager(new ByteArrayInputStream(trustedCertificatesPem))
+                  .build());
+        } catch (IllegalArgumentException | SSLException e) {
           throw new IllegalStateException(
-              "TLS cerificate configuration only supported with Netty. "
-                  + "If you need to configure a certificate, switch to grpc-netty or "
-                  + "grpc-netty-shaded.");
+              "Could not set trusted certificates for gRPC TLS connection, are they valid "
+                  + "X.509 in PEM format?",
+              e);
         }
-        // TODO(anuraaga): Support okhttp.
+      } else {
+        throw new IllegalStateException(
+            "TLS cerificate configuration only supported with Netty. "
+                + "If you need to configure a certificate, switch to grpc-netty or "
+                + "grpc-netty-shaded.");
       }
-
-      channel = managedChannelBuilder.build();
+      // TODO(anuraaga): Support okhttp.
     }
-    return new OtlpGrpcSpanExporter(channel, timeoutNanos);
+
+    return managedChannelBuilder.build();
   }
 
   OtlpGrpcSpanExporterBuilder() {}
@@ -12,7 +12,12 @@ import static org.awaitility.Awaitility.await;
 import com.google.common.io.Closer;
 import io.github.netmikey.logunit.api.LogCapturer;
 import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
 import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
 import io.grpc.Status;
 import io.grpc.Status.Code;
 import io.grpc.inprocess.InProcessChannelBuilder;
@@ -23,12 +28,15 @@ import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.TraceFlags;
 import io.opentelemetry.api.trace.TraceState;
 import io.opentelemetry.exporter.otlp.internal.SpanAdapter;
+import io.opentelemetry.exporter.otlp.internal.TraceMarshaler;
 import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
 import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceResponse;
 import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc;
+import io.opentelemetry.proto.trace.v1.InstrumentationLibrarySpans;
 import io.opentelemetry.proto.trace.v1.ResourceSpans;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
 import io.opentelemetry.sdk.testing.trace.TestSpanData;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.data.StatusData;
@@ -37,6 +45,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,7 +59,11 @@ class OtlpGrpcSpanExporterTest {
   private static final String TRACE_ID = "00000000000000000000000000abc123";
   private static final String SPAN_ID = "0000000000def456";
 
+  private static final Metadata.Key<String> GRPC_ENCODING =
+      Metadata.Key.of("grpc-encoding", Metadata.ASCII_STRING_MARSHALLER);
+
   private final FakeCollector fakeCollector = new FakeCollector();
+  private final List<String> receivedEncodings = new ArrayList<>();
   private final String serverName = InProcessServerBuilder.generateName();
   private final ManagedChannel inProcessChannel =
       InProcessChannelBuilder.forName(serverName).directExecutor().build();
@@ -65,7 +78,19 @@ class OtlpGrpcSpanExporterTest {
     Server server =
         InProcessServerBuilder.forName(serverName)
             .directExecutor()
-            .addService(fakeCollector)
+            .addService(
+                ServerInterceptors.intercept(
+                    fakeCollector,
+                    new ServerInterceptor() {
+                      @Override
+                      public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+                          ServerCall<ReqT, RespT> call,
+                          Metadata headers,
+                          ServerCallHandler<ReqT, RespT> next) {
+                        receivedEncodings.add(String.valueOf(headers.get(GRPC_ENCODING)));
+                        return next.startCall(call, headers);
+                      }
+                    }))
             .build()
             .start();
     closer.register(server::shutdownNow);
@@ -102,6 +127,47 @@ class OtlpGrpcSpanExporterTest {
     assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setEndpoint("gopher://localhost"))
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessage("Invalid endpoint, must start with http:// or https://: gopher://localhost");
+
+    assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setCompression(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("compressionMethod");
+    assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setCompression("foo"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "Unsupported compression method. Supported compression methods include: gzip, none "
+                + "and compressors registered with gRPC.");
+
+    assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setRetryPolicy(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("retryPolicy");
+
+    assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setChannelPoolSize(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("channelPoolSize must be positive");
+    assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setChannelSelectionPolicy(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("channelSelectionPolicy");
+    assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setChannelSelectionPolicy("random"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "Unsupported channel selection policy. Supported policies include: round_robin and "
+                + "least_outstanding.");
+    assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setLoadBalancingPolicy(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("loadBalancingPolicy");
+    assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setLoadBalancingPolicy("foo"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "Unsupported load balancing policy. Supported policies include: pick_first, "
+                + "round_robin and policies registered with gRPC.");
+
+    assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setMaxRequestSize(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxRequestSize must be positive");
+
+    assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setMarshalingPool(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("marshalingPool");
   }
 
   @Test
@@ -135,6 +201,92 @@ class OtlpGrpcSpanExporterTest {
     }
   }
 
+  @Test
+  void testExport_Compression() {
+    SpanData span = generateFakeSpan();
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.builder()
+            .setChannel(inProcessChannel)
+            .setCompression("gzip")
+            .build();
+    try {
+      assertThat(exporter.export(Collections.singletonList(span)).isSuccess()).isTrue();
+      assertThat(receivedEncodings).containsExactly("gzip");
+      assertThat(fakeCollector.getReceivedSpans())
+          .isEqualTo(SpanAdapter.toProtoResourceSpans(Collections.singletonList(span)));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_NoCompression() {
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.builder()
+            .setChannel(inProcessChannel)
+            .setCompression("none")
+            .build();
+    try {
+      assertThat(exporter.export(Collections.singletonList(generateFakeSpan())).isSuccess())
+          .isTrue();
+      assertThat(receivedEncodings).containsExactly("null");
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_SplitByMaxRequestSize() {
+    List<SpanData> spans = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      spans.add(generateFakeSpan());
+    }
+    int spanRequestSize =
+        TraceMarshaler.RequestMarshaler.create(Collections.singletonList(spans.get(0)))
+            .getSerializedSize();
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.builder()
+            .setChannel(inProcessChannel)
+            .setMaxRequestSize(spanRequestSize * 4)
+            .build();
+    try {
+      assertThat(exporter.export(spans).isSuccess()).isTrue();
+      assertThat(receivedEncodings).hasSizeGreaterThan(1);
+      int receivedSpanCount = 0;
+      for (ResourceSpans resourceSpans : fakeCollector.getReceivedSpans()) {
+        for (InstrumentationLibrarySpans instrumentationLibrarySpans :
+            resourceSpans.getInstrumentationLibrarySpansList()) {
+          receivedSpanCount += instrumentationLibrarySpans.getSpansCount();
+        }
+      }
+      assertThat(receivedSpanCount).isEqualTo(spans.size());
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_ParallelMarshaling() {
+    List<SpanData> spans = new ArrayList<>();
+    for (int i = 0; i < 3000; i++) {
+      spans.add(generateFakeSpan());
+    }
+    ForkJoinPool marshalingPool = new ForkJoinPool(2);
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.builder()
+            .setChannel(inProcessChannel)
+            .setMarshalingPool(marshalingPool)
+            .build();
+    try {
+      assertThat(exporter.export(spans).isSuccess()).isTrue();
+      assertThat(fakeCollector.getReceivedSpans())
+          .isEqualTo(SpanAdapter.toProtoResourceSpans(spans));
+    } finally {
+      exporter.shutdown();
+      marshalingPool.shutdown();
+    }
+  }
+
   @Test
   void testExport_DeadlineSetPerExport() throws InterruptedException {
     OtlpGrpcSpanExporter exporter =
@@ -240,6 +392,59 @@ class OtlpGrpcSpanExporterTest {
     assertThat(log.getLevel()).isEqualTo(Level.ERROR);
   }
 
+  @Test
+  void testExport_RetriesTransientFailure() {
+    fakeCollector.setReturnedStatus(Status.UNAVAILABLE);
+    SpanData span = generateFakeSpan();
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.builder()
+            .setChannel(inProcessChannel)
+            .setRetryPolicy(
+                RetryPolicy.builder()
+                    .setMaxAttempts(3)
+                    .setInitialBackoff(Duration.ofMillis(1))
+                    .setMaxBackoff(Duration.ofMillis(5))
+                    .build())
+            .build();
+    try {
+      CompletableResultCode result = exporter.export(Collections.singletonList(span));
+      // The export completes once the failed request is handed off to be retried.
+      assertThat(result.join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+      await()
+          .untilAsserted(
+              () ->
+                  assertThat(fakeCollector.getReceivedSpans())
+                      .hasSize(
+                          3
+                              * SpanAdapter.toProtoResourceSpans(Collections.singletonList(span))
+                                  .size()));
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_DoesNotRetryPermanentFailure() {
+    fakeCollector.setReturnedStatus(Status.INVALID_ARGUMENT);
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.builder()
+            .setChannel(inProcessChannel)
+            .setRetryPolicy(
+                RetryPolicy.builder()
+                    .setInitialBackoff(Duration.ofMillis(1))
+                    .setMaxBackoff(Duration.ofMillis(5))
+                    .build())
+            .build();
+    try {
+      CompletableResultCode result =
+          exporter.export(Collections.singletonList(generateFakeSpan()));
+      assertThat(result.join(10, TimeUnit.SECONDS).isSuccess()).isFalse();
+      assertThat(receivedEncodings).hasSize(1);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
   @Test
   void testExport_Unimplemented() {
     fakeCollector.setReturnedStatus(Status.UNIMPLEMENTED);
@@ -15,6 +15,7 @@ import io.opentelemetry.sdk.trace.SpanLimitsBuilder;
 import io.opentelemetry.sdk.trace.SpanProcessor;
 import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
 import io.opentelemetry.sdk.trace.export.BatchSpanProcessorBuilder;
+import io.opentelemetry.sdk.trace.export.OverflowPolicy;
 import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
@@ -92,9 +93,39 @@ final class TracerProviderConfiguration {
       builder.setExporterTimeout(timeout);
     }
 
+    Integer shardCount = config.getInt("otel.bsp.shard.count");
+    if (shardCount != null) {
+      builder.setShardCount(shardCount);
+    }
+
+    String overflowPolicy = config.getString("otel.bsp.overflow.policy");
+    if (overflowPolicy != null) {
+      builder.setOverflowPolicy(configureOverflowPolicy(overflowPolicy));
+    }
+
+    Duration blockTimeout = config.getDuration("otel.bsp.block.timeout");
+    if (blockTimeout != null) {
+      builder.setBlockTimeout(blockTimeout);
+    }
+
     return builder.build();
   }
 
+  private static OverflowPolicy configureOverflowPolicy(String overflowPolicy) {
+    switch (overflowPolicy) {
+      case "drop_newest":
+        return OverflowPolicy.DROP_NEWEST;
+      case "drop_oldest":
+        return OverflowPolicy.DROP_OLDEST;
+      case "block":
+        return OverflowPolicy.BLOCK;
+      default:
+        // SPILL needs an exporter instance so it can only be configured programmatically.
+        throw new ConfigurationException(
+            "Unrecognized value for otel.bsp.overflow.policy: " + overflowPolicy);
+    }
+  }
+
   // Visible for testing
   static SpanLimits configureSpanLimits(ConfigProperties config) {
     SpanLimitsBuilder builder = SpanLimits.builder();
@@ -114,6 +145,11 @@ final class TracerProviderConfiguration {
       builder.setMaxNumberOfLinks(maxLinks);
     }
 
+    Integer maxAttributeValueLength = config.getInt("otel.span.attribute.value.length.limit");
+    if (maxAttributeValueLength != null) {
+      builder.setMaxAttributeValueLength(maxAttributeValueLength);
+    }
+
     return builder.build();
   }
 
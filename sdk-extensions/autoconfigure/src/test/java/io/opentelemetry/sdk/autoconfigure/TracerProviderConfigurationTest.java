@@ -16,6 +16,7 @@ import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.SpanLimits;
 import io.opentelemetry.sdk.trace.SpanProcessor;
 import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.OverflowPolicy;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
 import io.opentelemetry.sdk.trace.internal.JcTools;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
@@ -24,6 +25,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -85,7 +87,8 @@ class TracerProviderConfigurationTest {
 
     try {
       assertThat(processor)
-          .extracting("worker")
+          .extracting("workers", InstanceOfAssertFactories.LIST)
+          .singleElement()
           .satisfies(
               worker -> {
                 assertThat(worker)
@@ -106,6 +109,70 @@ class TracerProviderConfigurationTest {
     }
   }
 
+  @Test
+  void configureSpanProcessor_shards() {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("otel.bsp.max.queue.size", "1024");
+    properties.put("otel.bsp.shard.count", "4");
+
+    BatchSpanProcessor processor =
+        TracerProviderConfiguration.configureSpanProcessor(
+            ConfigProperties.createForTest(properties), mockSpanExporter);
+
+    try {
+      assertThat(processor)
+          .extracting("workers", InstanceOfAssertFactories.LIST)
+          .hasSize(4)
+          .allSatisfy(
+              worker ->
+                  assertThat(worker)
+                      .extracting("queue")
+                      .isInstanceOfSatisfying(
+                          Queue.class,
+                          queue -> assertThat(JcTools.capacity(queue)).isEqualTo(256)));
+    } finally {
+      processor.shutdown();
+    }
+  }
+
+  @Test
+  void configureSpanProcessor_overflowPolicy() {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("otel.bsp.overflow.policy", "block");
+    properties.put("otel.bsp.block.timeout", "50");
+
+    BatchSpanProcessor processor =
+        TracerProviderConfiguration.configureSpanProcessor(
+            ConfigProperties.createForTest(properties), mockSpanExporter);
+
+    try {
+      assertThat(processor)
+          .extracting("workers", InstanceOfAssertFactories.LIST)
+          .singleElement()
+          .satisfies(
+              worker -> {
+                assertThat(worker).extracting("overflowPolicy").isEqualTo(OverflowPolicy.BLOCK);
+                assertThat(worker)
+                    .extracting("blockTimeoutNanos")
+                    .isEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+              });
+    } finally {
+      processor.shutdown();
+    }
+  }
+
+  @Test
+  void configureSpanProcessor_invalidOverflowPolicy() {
+    assertThatThrownBy(
+            () ->
+                TracerProviderConfiguration.configureSpanProcessor(
+                    ConfigProperties.createForTest(
+                        Collections.singletonMap("otel.bsp.overflow.policy", "spill")),
+                    mockSpanExporter))
+        .isInstanceOf(ConfigurationException.class)
+        .hasMessage("Unrecognized value for otel.bsp.overflow.policy: spill");
+  }
+
   @Test
   void configureSpanProcessor_configured() {
     Map<String, String> properties = new HashMap<>();
@@ -120,7 +187,8 @@ class TracerProviderConfigurationTest {
 
     try {
       assertThat(processor)
-          .extracting("worker")
+          .extracting("workers", InstanceOfAssertFactories.LIST)
+          .singleElement()
           .satisfies(
               worker -> {
                 assertThat(worker)
@@ -155,12 +223,14 @@ class TracerProviderConfigurationTest {
     properties.put("otel.span.attribute.count.limit", "5");
     properties.put("otel.span.event.count.limit", "4");
     properties.put("otel.span.link.count.limit", "3");
+    properties.put("otel.span.attribute.value.length.limit", "2");
 
     SpanLimits config =
         TracerProviderConfiguration.configureSpanLimits(ConfigProperties.createForTest(properties));
     assertThat(config.getMaxNumberOfAttributes()).isEqualTo(5);
     assertThat(config.getMaxNumberOfEvents()).isEqualTo(4);
     assertThat(config.getMaxNumberOfLinks()).isEqualTo(3);
+    assertThat(config.getMaxAttributeValueLength()).isEqualTo(2);
   }
 
   @Test
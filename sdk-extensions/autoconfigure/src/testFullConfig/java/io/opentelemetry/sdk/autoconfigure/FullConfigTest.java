@@ -119,6 +119,7 @@ class FullConfigTest {
     String endpoint = "http://localhost:" + server.httpPort();
     System.setProperty("otel.exporter.otlp.endpoint", endpoint);
     System.setProperty("otel.exporter.otlp.timeout", "10000");
+    System.setProperty("otel.exporter.otlp.compression", "gzip");
 
     Collection<String> fields =
         GlobalOpenTelemetry.get().getPropagators().getTextMapPropagator().fields();
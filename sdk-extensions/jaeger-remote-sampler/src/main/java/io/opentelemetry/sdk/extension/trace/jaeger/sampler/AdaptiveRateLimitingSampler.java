@@ -0,0 +1,191 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.trace.jaeger.sampler;
+
+import static io.opentelemetry.api.common.AttributeKey.doubleKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.internal.OtelEncodingUtils;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.internal.RateLimiter;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link Sampler} which adapts the sampling probability of each operation, identified by the span
+ * name, to sample a target number of spans per second, without a remote sampling configuration.
+ *
+ * <p>The spans of each operation are counted, and once per adjustment interval the probability of
+ * the operation is set to the target rate divided by the rate of spans seen in the previous
+ * interval. A token bucket of the target rate caps the spans sampled during traffic spikes, before
+ * the probability has been adjusted. Rare operations are therefore always sampled, while the
+ * number of sampled spans of frequent operations stays flat.
+ *
+ * <p>The state of an operation is updated without locks, with striped counters, so that the cost
+ * of sampling does not increase under contention. The number of tracked operations is bounded,
+ * spans of the operations seen once the maximum is reached share a single state.
+ *
+ * <p>The decision is based on the trace ID, so it is recommended to only use this {@link Sampler}
+ * for root spans using {@link Sampler#parentBased(Sampler)}.
+ */
+public final class AdaptiveRateLimitingSampler implements Sampler {
+
+  static final String TYPE = "adaptive";
+  static final AttributeKey<String> SAMPLER_TYPE = stringKey("sampler.type");
+  static final AttributeKey<Double> SAMPLER_PARAM = doubleKey("sampler.param");
+
+  private final double targetSpansPerSecond;
+  private final int maxOperations;
+  private final long adjustmentIntervalNanos;
+  private final Clock clock;
+  private final ConcurrentHashMap<String, OperationState> operations = new ConcurrentHashMap<>();
+  private final AtomicInteger operationCount = new AtomicInteger();
+  // Shared by the operations seen once maxOperations are tracked.
+  private final OperationState otherOperations;
+
+  /**
+   * Returns a new Builder for {@link AdaptiveRateLimitingSampler}.
+   *
+   * @return a new {@link AdaptiveRateLimitingSamplerBuilder}.
+   */
+  public static AdaptiveRateLimitingSamplerBuilder builder() {
+    return new AdaptiveRateLimitingSamplerBuilder();
+  }
+
+  AdaptiveRateLimitingSampler(
+      double targetSpansPerSecond, int maxOperations, long adjustmentIntervalNanos, Clock clock) {
+    this.targetSpansPerSecond = targetSpansPerSecond;
+    this.maxOperations = maxOperations;
+    this.adjustmentIntervalNanos = adjustmentIntervalNanos;
+    this.clock = clock;
+    this.otherOperations = new OperationState();
+  }
+
+  @Override
+  public SamplingResult shouldSample(
+      Context parentContext,
+      String traceId,
+      String name,
+      SpanKind spanKind,
+      Attributes attributes,
+      List<LinkData> parentLinks) {
+    OperationState operation = getOperation(name);
+    operation.seen.increment();
+    long now = clock.nanoTime();
+    long intervalStart = operation.intervalStartNanos.get();
+    if (now - intervalStart >= adjustmentIntervalNanos
+        && operation.intervalStartNanos.compareAndSet(intervalStart, now)) {
+      operation.adjust(now - intervalStart);
+    }
+    Probability probability = operation.probability;
+    // Only spend a token for spans within the probability, the bucket only caps spikes.
+    if (Math.abs(getTraceIdRandomPart(traceId)) < probability.idUpperBound
+        && operation.rateLimiter.trySpend(1.0)) {
+      return probability.sampledResult;
+    }
+    return probability.droppedResult;
+  }
+
+  private OperationState getOperation(String name) {
+    OperationState operation = operations.get(name);
+    if (operation != null) {
+      return operation;
+    }
+    if (operationCount.get() >= maxOperations) {
+      return otherOperations;
+    }
+    if (operationCount.incrementAndGet() > maxOperations) {
+      operationCount.decrementAndGet();
+      return otherOperations;
+    }
+    OperationState newOperation = new OperationState();
+    operation = operations.putIfAbsent(name, newOperation);
+    if (operation != null) {
+      operationCount.decrementAndGet();
+      return operation;
+    }
+    return newOperation;
+  }
+
+  // Visible for testing
+  double getSamplingProbability(String name) {
+    OperationState operation = operations.get(name);
+    return (operation != null ? operation : otherOperations).probability.value;
+  }
+
+  // Visible for testing
+  int getOperationCount() {
+    return operationCount.get();
+  }
+
+  @Override
+  public boolean canSampleBeforeAttributes() {
+    return true;
+  }
+
+  @Override
+  public String getDescription() {
+    return String.format("AdaptiveRateLimitingSampler{%.2f}", targetSpansPerSecond);
+  }
+
+  @Override
+  public String toString() {
+    return getDescription();
+  }
+
+  private static long getTraceIdRandomPart(String traceId) {
+    return OtelEncodingUtils.longFromBase16String(traceId, 16);
+  }
+
+  private final class OperationState {
+    private final LongAdder seen = new LongAdder();
+    private final AtomicLong intervalStartNanos = new AtomicLong(clock.nanoTime());
+    private final RateLimiter rateLimiter =
+        new RateLimiter(targetSpansPerSecond, Math.max(targetSpansPerSecond, 1.0), clock);
+    // Replaced as a whole, so that a decision never mixes two probabilities.
+    private volatile Probability probability = Probability.ALWAYS;
+
+    /** Only called by the thread which started a new interval. */
+    private void adjust(long elapsedNanos) {
+      double spansPerSecond = seen.sumThenReset() * 1e9 / elapsedNanos;
+      double value =
+          spansPerSecond <= targetSpansPerSecond ? 1.0 : targetSpansPerSecond / spansPerSecond;
+      if (value != probability.value) {
+        probability = new Probability(value);
+      }
+    }
+  }
+
+  /** A sampling probability and its precomputed decision threshold and results. */
+  private static final class Probability {
+    private static final Probability ALWAYS = new Probability(1.0);
+
+    private final double value;
+    private final long idUpperBound;
+    private final SamplingResult sampledResult;
+    private final SamplingResult droppedResult;
+
+    private Probability(double value) {
+      this.value = value;
+      // As in the TraceIdRatioBased sampler, the absolute value of the id is compared.
+      idUpperBound = value == 1.0 ? Long.MAX_VALUE : (long) (value * Long.MAX_VALUE);
+      Attributes attributes = Attributes.of(SAMPLER_TYPE, TYPE, SAMPLER_PARAM, value);
+      sampledResult = SamplingResult.create(SamplingDecision.RECORD_AND_SAMPLE, attributes);
+      droppedResult = SamplingResult.create(SamplingDecision.DROP, attributes);
+    }
+  }
+}
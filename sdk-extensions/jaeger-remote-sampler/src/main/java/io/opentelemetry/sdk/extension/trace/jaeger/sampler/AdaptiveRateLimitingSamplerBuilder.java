@@ -0,0 +1,90 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.trace.jaeger.sampler;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.internal.SystemClock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/** A builder for {@link AdaptiveRateLimitingSampler}. */
+public final class AdaptiveRateLimitingSamplerBuilder {
+
+  // Visible for testing
+  static final double DEFAULT_TARGET_SPANS_PER_SECOND = 1.0;
+  // Visible for testing
+  static final int DEFAULT_MAX_OPERATIONS = 2000;
+  // Visible for testing
+  static final long DEFAULT_ADJUSTMENT_INTERVAL_MILLIS = 10_000;
+
+  private double targetSpansPerSecond = DEFAULT_TARGET_SPANS_PER_SECOND;
+  private int maxOperations = DEFAULT_MAX_OPERATIONS;
+  private long adjustmentIntervalNanos =
+      TimeUnit.MILLISECONDS.toNanos(DEFAULT_ADJUSTMENT_INTERVAL_MILLIS);
+  private Clock clock = SystemClock.getInstance();
+
+  AdaptiveRateLimitingSamplerBuilder() {}
+
+  /**
+   * Sets the number of spans to sample per second for each operation. If unset, defaults to
+   * {@value DEFAULT_TARGET_SPANS_PER_SECOND}.
+   */
+  public AdaptiveRateLimitingSamplerBuilder setTargetSpansPerSecond(double targetSpansPerSecond) {
+    checkArgument(targetSpansPerSecond > 0, "targetSpansPerSecond must be positive.");
+    this.targetSpansPerSecond = targetSpansPerSecond;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of operations, distinct span names, to adapt the probability of
+   * separately. The spans of the operations seen once the maximum is reached are sampled together.
+   * If unset, defaults to {@value DEFAULT_MAX_OPERATIONS}.
+   */
+  public AdaptiveRateLimitingSamplerBuilder setMaxOperations(int maxOperations) {
+    checkArgument(maxOperations > 0, "maxOperations must be positive.");
+    this.maxOperations = maxOperations;
+    return this;
+  }
+
+  /**
+   * Sets the interval at which the sampling probabilities are adjusted. If unset, defaults to
+   * {@value DEFAULT_ADJUSTMENT_INTERVAL_MILLIS}ms.
+   */
+  public AdaptiveRateLimitingSamplerBuilder setAdjustmentInterval(long interval, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(interval > 0, "interval must be positive.");
+    adjustmentIntervalNanos = unit.toNanos(interval);
+    return this;
+  }
+
+  /**
+   * Sets the interval at which the sampling probabilities are adjusted. If unset, defaults to
+   * {@value DEFAULT_ADJUSTMENT_INTERVAL_MILLIS}ms.
+   */
+  public AdaptiveRateLimitingSamplerBuilder setAdjustmentInterval(Duration interval) {
+    requireNonNull(interval, "interval");
+    return setAdjustmentInterval(interval.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  // Visible for testing
+  AdaptiveRateLimitingSamplerBuilder setClock(Clock clock) {
+    this.clock = requireNonNull(clock, "clock");
+    return this;
+  }
+
+  /**
+   * Builds the {@link AdaptiveRateLimitingSampler}.
+   *
+   * @return the adaptive sampler instance.
+   */
+  public AdaptiveRateLimitingSampler build() {
+    return new AdaptiveRateLimitingSampler(
+        targetSpansPerSecond, maxOperations, adjustmentIntervalNanos, clock);
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.trace.jaeger.sampler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.internal.TestClock;
+import io.opentelemetry.sdk.trace.IdGenerator;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveRateLimitingSamplerTest {
+
+  private static final SpanKind SPAN_KIND = SpanKind.INTERNAL;
+  private static final IdGenerator idGenerator = IdGenerator.random();
+
+  private final TestClock clock = TestClock.create();
+
+  private static SamplingResult sample(AdaptiveRateLimitingSampler sampler, String name) {
+    return sampler.shouldSample(
+        Context.root(),
+        idGenerator.generateTraceId(),
+        name,
+        SPAN_KIND,
+        Attributes.empty(),
+        Collections.emptyList());
+  }
+
+  private static int sampleCount(AdaptiveRateLimitingSampler sampler, String name, int spans) {
+    int sampled = 0;
+    for (int i = 0; i < spans; i++) {
+      if (sample(sampler, name).getDecision() == SamplingDecision.RECORD_AND_SAMPLE) {
+        sampled++;
+      }
+    }
+    return sampled;
+  }
+
+  @Test
+  void builderDefaults() {
+    assertThat(AdaptiveRateLimitingSampler.builder().build().getDescription())
+        .isEqualTo(
+            String.format(
+                "AdaptiveRateLimitingSampler{%.2f}",
+                AdaptiveRateLimitingSamplerBuilder.DEFAULT_TARGET_SPANS_PER_SECOND));
+  }
+
+  @Test
+  void builderInvalidConfig() {
+    AdaptiveRateLimitingSamplerBuilder builder = AdaptiveRateLimitingSampler.builder();
+    assertThatThrownBy(() -> builder.setTargetSpansPerSecond(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("targetSpansPerSecond must be positive.");
+    assertThatThrownBy(() -> builder.setMaxOperations(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxOperations must be positive.");
+    assertThatThrownBy(() -> builder.setAdjustmentInterval(0, TimeUnit.SECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("interval must be positive.");
+    assertThatThrownBy(() -> builder.setAdjustmentInterval(1, null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("unit");
+    assertThatThrownBy(() -> builder.setAdjustmentInterval(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("interval");
+  }
+
+  @Test
+  void rareOperation_alwaysSampled() {
+    AdaptiveRateLimitingSampler sampler =
+        AdaptiveRateLimitingSampler.builder()
+            .setTargetSpansPerSecond(10)
+            .setAdjustmentInterval(Duration.ofSeconds(1))
+            .setClock(clock)
+            .build();
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(sampleCount(sampler, "rare", 5)).isEqualTo(5);
+      clock.advanceMillis(1000);
+    }
+    assertThat(sampler.getSamplingProbability("rare")).isEqualTo(1.0);
+  }
+
+  @Test
+  void spike_cappedByTokenBucket() {
+    AdaptiveRateLimitingSampler sampler =
+        AdaptiveRateLimitingSampler.builder()
+            .setTargetSpansPerSecond(10)
+            .setAdjustmentInterval(Duration.ofSeconds(1))
+            .setClock(clock)
+            .build();
+
+    // The probability is still 1, the token bucket limits the burst to the target.
+    assertThat(sampleCount(sampler, "spike", 1000)).isEqualTo(10);
+  }
+
+  @Test
+  void frequentOperation_probabilityAdjusted() {
+    AdaptiveRateLimitingSampler sampler =
+        AdaptiveRateLimitingSampler.builder()
+            .setTargetSpansPerSecond(10)
+            .setAdjustmentInterval(Duration.ofSeconds(1))
+            .setClock(clock)
+            .build();
+
+    sampleCount(sampler, "frequent", 1000);
+    clock.advanceMillis(1000);
+    sample(sampler, "frequent");
+    // 1001 spans seen in a second, a few more than the next interval will see.
+    assertThat(sampler.getSamplingProbability("frequent")).isCloseTo(10 / 1001.0, within(1e-9));
+
+    int sampled = 0;
+    for (int i = 0; i < 10; i++) {
+      // Spread over the interval so that the token bucket refills.
+      for (int j = 0; j < 10; j++) {
+        sampled += sampleCount(sampler, "frequent", 100);
+        clock.advanceMillis(100);
+      }
+    }
+    // Ten seconds at ten spans per second.
+    assertThat(sampled).isBetween(60, 140);
+
+    SamplingResult result = sample(sampler, "frequent");
+    assertThat(result.getAttributes().get(AdaptiveRateLimitingSampler.SAMPLER_TYPE))
+        .isEqualTo(AdaptiveRateLimitingSampler.TYPE);
+    assertThat(result.getAttributes().get(AdaptiveRateLimitingSampler.SAMPLER_PARAM))
+        .isEqualTo(sampler.getSamplingProbability("frequent"));
+  }
+
+  @Test
+  void trafficDrop_probabilityRestored() {
+    AdaptiveRateLimitingSampler sampler =
+        AdaptiveRateLimitingSampler.builder()
+            .setTargetSpansPerSecond(10)
+            .setAdjustmentInterval(Duration.ofSeconds(1))
+            .setClock(clock)
+            .build();
+
+    sampleCount(sampler, "op", 1000);
+    clock.advanceMillis(1000);
+    sample(sampler, "op");
+    assertThat(sampler.getSamplingProbability("op")).isLessThan(1.0);
+
+    clock.advanceMillis(1000);
+    sample(sampler, "op");
+    assertThat(sampler.getSamplingProbability("op")).isEqualTo(1.0);
+  }
+
+  @Test
+  void maxOperations_sharedState() {
+    AdaptiveRateLimitingSampler sampler =
+        AdaptiveRateLimitingSampler.builder()
+            .setTargetSpansPerSecond(10)
+            .setMaxOperations(2)
+            .setClock(clock)
+            .build();
+
+    sample(sampler, "op1");
+    sample(sampler, "op2");
+    // Share the token bucket of the other operations.
+    assertThat(sampleCount(sampler, "op3", 6) + sampleCount(sampler, "op4", 6)).isEqualTo(10);
+    assertThat(sampler.getOperationCount()).isEqualTo(2);
+  }
+}
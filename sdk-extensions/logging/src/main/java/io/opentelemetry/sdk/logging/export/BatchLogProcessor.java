@@ -11,28 +11,28 @@ import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.common.Labels;
 import io.opentelemetry.sdk.common.CompletableResultCode;
-import io.opentelemetry.sdk.internal.DaemonThreadFactory;
 import io.opentelemetry.sdk.logging.LogProcessor;
 import io.opentelemetry.sdk.logging.data.LogRecord;
 import java.util.ArrayList;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 public final class BatchLogProcessor implements LogProcessor {
-  private static final String WORKER_THREAD_NAME =
+  static final String WORKER_THREAD_NAME =
       BatchLogProcessor.class.getSimpleName() + "_WorkerThread";
 
   private final Worker worker;
-  private final Thread workerThread;
 
   BatchLogProcessor(
       int maxQueueSize,
       long scheduleDelayMillis,
       int maxExportBatchSize,
       long exporterTimeoutMillis,
-      LogExporter logExporter) {
+      LogExporter logExporter,
+      Executor executor) {
     this.worker =
         new Worker(
             logExporter,
@@ -40,8 +40,7 @@ public final class BatchLogProcessor implements LogProcessor {
             maxExportBatchSize,
             exporterTimeoutMillis,
             new ArrayBlockingQueue<LogRecord>(maxQueueSize));
-    this.workerThread = new DaemonThreadFactory(WORKER_THREAD_NAME).newThread(worker);
-    this.workerThread.start();
+    executor.execute(worker);
   }
 
   public static BatchLogProcessorBuilder builder(LogExporter logExporter) {
@@ -55,7 +54,8 @@ public final class BatchLogProcessor implements LogProcessor {
 
   @Override
   public CompletableResultCode shutdown() {
-    workerThread.interrupt();
+    // The worker stops once the final flush completes, without interrupting a thread which may
+    // belong to a user provided executor.
     return worker.shutdown();
   }
 
@@ -151,6 +151,7 @@ public final class BatchLogProcessor implements LogProcessor {
       CompletableResultCode result = flushRequested.get();
       assert result != null;
       flushRequested.set(null);
+      result.succeed();
     }
 
     private void updateNextExportTime() {
@@ -6,7 +6,10 @@
 package io.opentelemetry.sdk.logging.export;
 
 import io.opentelemetry.api.internal.Utils;
+import io.opentelemetry.sdk.internal.WorkerThreads;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
 
 public final class BatchLogProcessorBuilder {
   private static final long DEFAULT_SCHEDULE_DELAY_MILLIS = 200;
@@ -19,6 +22,7 @@ public final class BatchLogProcessorBuilder {
   private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
   private int maxExportBatchSize = DEFAULT_MAX_EXPORT_BATCH_SIZE;
   private long exporterTimeoutMillis = DEFAULT_EXPORT_TIMEOUT_MILLIS;
+  @Nullable private Executor executor;
 
   BatchLogProcessorBuilder(LogExporter logExporter) {
     this.logExporter = Objects.requireNonNull(logExporter, "Exporter argument can not be null");
@@ -31,7 +35,14 @@ public final class BatchLogProcessorBuilder {
    */
   public BatchLogProcessor build() {
     return new BatchLogProcessor(
-        maxQueueSize, scheduleDelayMillis, maxExportBatchSize, exporterTimeoutMillis, logExporter);
+        maxQueueSize,
+        scheduleDelayMillis,
+        maxExportBatchSize,
+        exporterTimeoutMillis,
+        logExporter,
+        executor != null
+            ? executor
+            : WorkerThreads.newExecutor(BatchLogProcessor.WORKER_THREAD_NAME));
   }
 
   /**
@@ -112,4 +123,19 @@ public final class BatchLogProcessorBuilder {
   public int getMaxExportBatchSize() {
     return maxExportBatchSize;
   }
+
+  /**
+   * Sets the {@link Executor} running the worker of the processor. The worker runs until the
+   * processor is shut down, and the executor is not shut down with the processor.
+   *
+   * <p>If unset, a new thread is started for the worker, a virtual thread on Java 21 and later and
+   * a daemon thread otherwise.
+   *
+   * @param executor the executor running the worker.
+   * @return this.
+   */
+  public BatchLogProcessorBuilder setExecutor(Executor executor) {
+    this.executor = Objects.requireNonNull(executor, "executor");
+    return this;
+  }
 }
@@ -21,6 +21,7 @@ dependencies {
 
     annotationProcessor("com.google.auto.value:auto-value")
     testImplementation(project(":sdk:testing"))
+    testImplementation(project(":sdk:metrics"))
     testImplementation("com.google.guava:guava-testlib")
 
     jmh(project(":sdk:metrics"))
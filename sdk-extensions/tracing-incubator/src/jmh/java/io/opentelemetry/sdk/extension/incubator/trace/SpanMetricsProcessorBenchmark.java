@@ -0,0 +1,133 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.aggregator.AggregatorFactory;
+import io.opentelemetry.sdk.metrics.common.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.view.InstrumentSelector;
+import io.opentelemetry.sdk.metrics.view.View;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures the cost of deriving metrics from an ended span. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SpanMetricsProcessorBenchmark {
+
+  private static final int SPAN_COUNT = 64;
+
+  @Param({"0", "2"})
+  private int dimensionCount;
+
+  @Param({"16", "64"})
+  private int distinctNames;
+
+  private SdkMeterProvider meterProvider;
+  private SpanMetricsProcessor processor;
+  private Tracer tracer;
+  private ReadableSpan[] endedSpans;
+
+  @Setup(Level.Trial)
+  public final void setup() {
+    meterProvider =
+        SdkMeterProvider.builder()
+            .registerView(
+                InstrumentSelector.builder()
+                    .setInstrumentType(InstrumentType.VALUE_RECORDER)
+                    .setInstrumentNameRegex(SpanMetricsProcessor.DURATION_INSTRUMENT_NAME)
+                    .build(),
+                View.builder()
+                    .setAggregatorFactory(
+                        AggregatorFactory.histogram(
+                            Arrays.asList(5.0, 10.0, 25.0, 50.0, 100.0, 250.0, 500.0, 1000.0),
+                            AggregationTemporality.CUMULATIVE))
+                    .build())
+            .build();
+    SpanMetricsProcessorBuilder builder = SpanMetricsProcessor.builder(meterProvider);
+    for (int i = 0; i < dimensionCount; i++) {
+      builder.addDimension(stringKey("dimension" + i));
+    }
+    processor = builder.build();
+    tracer = SdkTracerProvider.builder().addSpanProcessor(processor).build().get("benchmark");
+
+    Tracer untracked = SdkTracerProvider.builder().build().get("benchmark");
+    endedSpans = new ReadableSpan[SPAN_COUNT];
+    for (int i = 0; i < SPAN_COUNT; i++) {
+      Span span =
+          untracked
+              .spanBuilder("span" + (i % distinctNames))
+              .setSpanKind(SpanKind.SERVER)
+              .setAttribute("dimension0", "value")
+              .setAttribute("dimension1", "value")
+              .setAttribute("other", "value")
+              .startSpan();
+      span.end();
+      endedSpans[i] = (ReadableSpan) span;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public final void tearDown() {
+    processor.shutdown();
+  }
+
+  /** The per-span cost of the processor alone. */
+  @Benchmark
+  @Threads(1)
+  public void onEnd_1Thread(ThreadState threadState) {
+    processor.onEnd(threadState.nextSpan(endedSpans));
+  }
+
+  /** The per-span cost of the processor alone, with contention on the instruments. */
+  @Benchmark
+  @Threads(4)
+  public void onEnd_4Threads(ThreadState threadState) {
+    processor.onEnd(threadState.nextSpan(endedSpans));
+  }
+
+  /** The cost of a span measured by the processor, for comparison with an unmeasured span. */
+  @Benchmark
+  @Threads(1)
+  public void startAndEndSpan() {
+    tracer.spanBuilder("span").setSpanKind(SpanKind.SERVER).startSpan().end();
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    private int index;
+
+    private ReadableSpan nextSpan(ReadableSpan[] spans) {
+      return spans[index++ & (SPAN_COUNT - 1)];
+    }
+  }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.BoundDoubleValueRecorder;
+import io.opentelemetry.api.metrics.BoundLongCounter;
+import io.opentelemetry.api.metrics.DoubleValueRecorder;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.api.metrics.common.LabelsBuilder;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link SpanProcessor} which derives request rate, error and duration (RED) metrics from ended
+ * spans, so they do not need to be instrumented separately. All recording spans are measured,
+ * whether they are sampled or not, so the metrics are not affected by sampling.
+ *
+ * <p>The following instruments are updated when a span ends:
+ *
+ * <ul>
+ *   <li>{@value #CALLS_INSTRUMENT_NAME}, a counter of the ended spans.
+ *   <li>{@value #ERRORS_INSTRUMENT_NAME}, a counter of the ended spans with an {@link
+ *       StatusCode#ERROR} status.
+ *   <li>{@value #DURATION_INSTRUMENT_NAME}, a value recorder of the duration of the spans, in
+ *       milliseconds. With the SDK, a histogram of the durations is aggregated by registering a
+ *       view with a histogram aggregator for this instrument on the {@code
+ *       SdkMeterProviderBuilder}.
+ * </ul>
+ *
+ * <p>The measurements are labeled with the name, kind and status code of the span, and the values
+ * of the configured span attributes. To bound the memory used by the metrics, once the maximum
+ * number of label sets is reached, spans with a new label set are measured with only their kind,
+ * status code and an {@code overflow} label.
+ */
+public final class SpanMetricsProcessor implements SpanProcessor {
+
+  static final String CALLS_INSTRUMENT_NAME = "span.calls";
+  static final String ERRORS_INSTRUMENT_NAME = "span.errors";
+  static final String DURATION_INSTRUMENT_NAME = "span.duration";
+
+  static final String SPAN_NAME_LABEL = "span.name";
+  static final String SPAN_KIND_LABEL = "span.kind";
+  static final String STATUS_CODE_LABEL = "status.code";
+  static final String OVERFLOW_LABEL = "overflow";
+
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final LongCounter calls;
+  private final LongCounter errors;
+  private final DoubleValueRecorder duration;
+  private final AttributeKey<?>[] dimensions;
+  // The values of spans without any of the dimensions.
+  private final Object[] noDimensionValues;
+  private final int maxCardinality;
+  private final ConcurrentHashMap<Key, BoundInstruments> boundInstruments =
+      new ConcurrentHashMap<>();
+  // Guarded by boundInstruments, excludes the overflow label sets.
+  private int cardinality;
+  private volatile boolean overflowed;
+
+  /**
+   * Returns a new Builder for {@link SpanMetricsProcessor}.
+   *
+   * @param meterProvider the {@link MeterProvider} used to create the instruments.
+   * @return a new {@link SpanMetricsProcessorBuilder}.
+   * @throws NullPointerException if the {@code meterProvider} is {@code null}.
+   */
+  public static SpanMetricsProcessorBuilder builder(MeterProvider meterProvider) {
+    return new SpanMetricsProcessorBuilder(meterProvider);
+  }
+
+  SpanMetricsProcessor(
+      MeterProvider meterProvider, List<AttributeKey<?>> dimensions, int maxCardinality) {
+    Meter meter = meterProvider.get("io.opentelemetry.sdk.extension.trace.incubator");
+    calls =
+        meter
+            .longCounterBuilder(CALLS_INSTRUMENT_NAME)
+            .setUnit("1")
+            .setDescription("The number of ended spans")
+            .build();
+    errors =
+        meter
+            .longCounterBuilder(ERRORS_INSTRUMENT_NAME)
+            .setUnit("1")
+            .setDescription("The number of ended spans with an error status")
+            .build();
+    duration =
+        meter
+            .doubleValueRecorderBuilder(DURATION_INSTRUMENT_NAME)
+            .setUnit("ms")
+            .setDescription("The duration of ended spans")
+            .build();
+    this.dimensions = dimensions.toArray(new AttributeKey<?>[0]);
+    noDimensionValues = new Object[this.dimensions.length];
+    this.maxCardinality = maxCardinality;
+  }
+
+  @Override
+  public void onStart(Context parentContext, ReadWriteSpan span) {}
+
+  @Override
+  public boolean isStartRequired() {
+    return false;
+  }
+
+  @Override
+  public void onEnd(ReadableSpan span) {
+    // Cheap once the span has ended, the span data shares the state of the span.
+    SpanData spanData = span.toSpanData();
+    StatusCode statusCode = spanData.getStatus().getStatusCode();
+    Key key =
+        new Key(
+            spanData.getName(),
+            spanData.getKind(),
+            statusCode,
+            dimensionValues(spanData.getAttributes()));
+    BoundInstruments instruments = boundInstruments.get(key);
+    if (instruments == null && overflowed) {
+      instruments = boundInstruments.get(key.toOverflowKey());
+    }
+    if (instruments == null) {
+      instruments = bind(key);
+    }
+    instruments.calls.add(1);
+    if (instruments.errors != null) {
+      instruments.errors.add(1);
+    }
+    instruments.duration.record(
+        (spanData.getEndEpochNanos() - spanData.getStartEpochNanos()) / NANOS_PER_MILLI);
+  }
+
+  @Override
+  public boolean isEndRequired() {
+    return true;
+  }
+
+  /** Unbinds the instruments. The {@link MeterProvider} is not shut down. */
+  @Override
+  public CompletableResultCode shutdown() {
+    synchronized (boundInstruments) {
+      for (BoundInstruments instruments : boundInstruments.values()) {
+        instruments.unbind();
+      }
+      boundInstruments.clear();
+      cardinality = 0;
+      overflowed = false;
+    }
+    return CompletableResultCode.ofSuccess();
+  }
+
+  private Object[] dimensionValues(Attributes attributes) {
+    if (dimensions.length == 0 || attributes.isEmpty()) {
+      return noDimensionValues;
+    }
+    Object[] values = new Object[dimensions.length];
+    for (int i = 0; i < dimensions.length; i++) {
+      values[i] = attributes.get(dimensions[i]);
+    }
+    return values;
+  }
+
+  private BoundInstruments bind(Key key) {
+    synchronized (boundInstruments) {
+      BoundInstruments instruments = boundInstruments.get(key);
+      if (instruments != null) {
+        return instruments;
+      }
+      if (cardinality >= maxCardinality) {
+        overflowed = true;
+        Key overflowKey = key.toOverflowKey();
+        instruments = boundInstruments.get(overflowKey);
+        if (instruments == null) {
+          instruments = new BoundInstruments(overflowKey.toLabels(dimensions), key.statusCode);
+          boundInstruments.put(overflowKey, instruments);
+        }
+        return instruments;
+      }
+      instruments = new BoundInstruments(key.toLabels(dimensions), key.statusCode);
+      boundInstruments.put(key, instruments);
+      cardinality++;
+      return instruments;
+    }
+  }
+
+  // Visible for testing
+  int getCardinality() {
+    synchronized (boundInstruments) {
+      return cardinality;
+    }
+  }
+
+  private final class BoundInstruments {
+    private final BoundLongCounter calls;
+    @Nullable private final BoundLongCounter errors;
+    private final BoundDoubleValueRecorder duration;
+
+    private BoundInstruments(Labels labels, StatusCode statusCode) {
+      calls = SpanMetricsProcessor.this.calls.bind(labels);
+      errors =
+          statusCode == StatusCode.ERROR ? SpanMetricsProcessor.this.errors.bind(labels) : null;
+      duration = SpanMetricsProcessor.this.duration.bind(labels);
+    }
+
+    private void unbind() {
+      calls.unbind();
+      if (errors != null) {
+        errors.unbind();
+      }
+      duration.unbind();
+    }
+  }
+
+  /** The label set of a span. The name is {@code null} for the overflow label sets. */
+  private static final class Key {
+    private static final Object[] NO_VALUES = new Object[0];
+
+    @Nullable private final String name;
+    private final SpanKind kind;
+    private final StatusCode statusCode;
+    private final Object[] values;
+    private final int hashCode;
+
+    private Key(@Nullable String name, SpanKind kind, StatusCode statusCode, Object[] values) {
+      this.name = name;
+      this.kind = kind;
+      this.statusCode = statusCode;
+      this.values = values;
+      int hashCode = Objects.hashCode(name);
+      hashCode = 31 * hashCode + kind.hashCode();
+      hashCode = 31 * hashCode + statusCode.hashCode();
+      this.hashCode = 31 * hashCode + Arrays.hashCode(values);
+    }
+
+    private Key toOverflowKey() {
+      return new Key(null, kind, statusCode, NO_VALUES);
+    }
+
+    private Labels toLabels(AttributeKey<?>[] dimensions) {
+      LabelsBuilder labels =
+          Labels.builder()
+              .put(SPAN_KIND_LABEL, kind.name())
+              .put(STATUS_CODE_LABEL, statusCode.name());
+      if (name == null) {
+        return labels.put(OVERFLOW_LABEL, "true").build();
+      }
+      labels.put(SPAN_NAME_LABEL, name);
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] != null) {
+          labels.put(dimensions[i].getKey(), String.valueOf(values[i]));
+        }
+      }
+      return labels.build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) o;
+      return hashCode == that.hashCode
+          && kind == that.kind
+          && statusCode == that.statusCode
+          && Objects.equals(name, that.name)
+          && Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.metrics.MeterProvider;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builder class for the {@link SpanMetricsProcessor}.
+ *
+ * @see SpanMetricsProcessor#builder(MeterProvider)
+ */
+public final class SpanMetricsProcessorBuilder {
+
+  // Visible for testing
+  static final int DEFAULT_MAX_CARDINALITY = 1000;
+
+  private final MeterProvider meterProvider;
+  private final List<AttributeKey<?>> dimensions = new ArrayList<>();
+  private int maxCardinality = DEFAULT_MAX_CARDINALITY;
+
+  SpanMetricsProcessorBuilder(MeterProvider meterProvider) {
+    this.meterProvider = requireNonNull(meterProvider, "meterProvider");
+  }
+
+  /**
+   * Adds a span attribute to label the measurements with. Spans without the attribute are measured
+   * without the label. Attributes with many distinct values quickly exhaust the maximum
+   * cardinality.
+   */
+  public SpanMetricsProcessorBuilder addDimension(AttributeKey<?> attributeKey) {
+    requireNonNull(attributeKey, "attributeKey");
+    dimensions.add(attributeKey);
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of distinct label sets to measure spans with, not including the
+   * overflow label sets. If unset, defaults to {@value DEFAULT_MAX_CARDINALITY}.
+   */
+  public SpanMetricsProcessorBuilder setMaxCardinality(int maxCardinality) {
+    checkArgument(maxCardinality > 0, "maxCardinality must be positive.");
+    this.maxCardinality = maxCardinality;
+    return this;
+  }
+
+  // Visible for testing
+  int getMaxCardinality() {
+    return maxCardinality;
+  }
+
+  /**
+   * Returns a new {@link SpanMetricsProcessor} which measures ended spans with instruments created
+   * by the given {@code meterProvider}.
+   *
+   * @return a new {@link SpanMetricsProcessor}.
+   */
+  public SpanMetricsProcessor build() {
+    return new SpanMetricsProcessor(meterProvider, new ArrayList<>(dimensions), maxCardinality);
+  }
+}
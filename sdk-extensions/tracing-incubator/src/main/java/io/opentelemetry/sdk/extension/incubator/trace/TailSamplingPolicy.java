@@ -0,0 +1,105 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.internal.OtelEncodingUtils;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.time.Duration;
+import java.util.List;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A policy deciding whether a trace buffered by a {@link TailSamplingSpanProcessor} is kept. A
+ * trace is kept if any of the policies of the processor keeps it.
+ */
+@ThreadSafe
+@FunctionalInterface
+public interface TailSamplingPolicy {
+
+  /**
+   * Returns a {@link TailSamplingPolicy} keeping the traces containing a span with an {@link
+   * StatusCode#ERROR} status.
+   */
+  static TailSamplingPolicy errors() {
+    return spans -> {
+      for (SpanData span : spans) {
+        if (span.getStatus().getStatusCode() == StatusCode.ERROR) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Returns a {@link TailSamplingPolicy} keeping the traces containing a span which lasted at least
+   * {@code threshold}.
+   */
+  static TailSamplingPolicy latency(Duration threshold) {
+    requireNonNull(threshold, "threshold");
+    checkArgument(!threshold.isNegative(), "threshold must be non-negative.");
+    long thresholdNanos = threshold.toNanos();
+    return spans -> {
+      for (SpanData span : spans) {
+        if (span.getEndEpochNanos() - span.getStartEpochNanos() >= thresholdNanos) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Returns a {@link TailSamplingPolicy} keeping the traces containing a span with the attribute
+   * {@code key} set to {@code value}.
+   */
+  static <T> TailSamplingPolicy attribute(AttributeKey<T> key, T value) {
+    requireNonNull(key, "key");
+    requireNonNull(value, "value");
+    return spans -> {
+      for (SpanData span : spans) {
+        if (value.equals(span.getAttributes().get(key))) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Returns a {@link TailSamplingPolicy} keeping a {@code ratio} of the traces, e.g. to keep a
+   * baseline of the traces not kept by other policies. The decision is derived from the trace ID in
+   * the same way as by {@link
+   * io.opentelemetry.sdk.trace.samplers.Sampler#traceIdRatioBased(double)}, so it is consistent
+   * across processes.
+   */
+  static TailSamplingPolicy traceIdRatioBased(double ratio) {
+    checkArgument(ratio >= 0.0 && ratio <= 1.0, "ratio must be in range [0.0, 1.0]");
+    long idUpperBound;
+    if (ratio == 0.0) {
+      idUpperBound = Long.MIN_VALUE;
+    } else if (ratio == 1.0) {
+      idUpperBound = Long.MAX_VALUE;
+    } else {
+      idUpperBound = (long) (ratio * Long.MAX_VALUE);
+    }
+    return spans ->
+        !spans.isEmpty()
+            && Math.abs(OtelEncodingUtils.longFromBase16String(spans.get(0).getTraceId(), 16))
+                < idUpperBound;
+  }
+
+  /**
+   * Returns whether the trace made of {@code spans} should be exported. The spans are the ended
+   * spans of the trace recorded in this process, in no particular order. The list is never empty.
+   */
+  boolean shouldKeep(List<SpanData> spans);
+}
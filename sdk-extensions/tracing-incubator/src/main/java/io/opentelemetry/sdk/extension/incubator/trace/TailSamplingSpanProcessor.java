@@ -0,0 +1,577 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.api.metrics.BoundLongCounter;
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link SpanProcessor} which decides whether to export a trace once it has ended, instead of
+ * when it starts, based on {@link TailSamplingPolicy policies} such as the presence of an error or
+ * the latency of a span. It should be used with a {@link
+ * io.opentelemetry.sdk.trace.samplers.Sampler} sampling all the traces which may be kept, as spans
+ * which are not sampled are ignored.
+ *
+ * <p>Ended spans are buffered by trace ID. A trace is decided once all its local root spans, i.e.
+ * the spans started in this process without a parent or with a remote parent, have ended, or once
+ * the decision wait has elapsed since the trace was first seen, whichever comes first. Spans ending
+ * after the decision follow it. The policies are evaluated, and the spans of kept traces are
+ * batched and exported, on a dedicated thread.
+ *
+ * <p>The memory used is bounded:
+ *
+ * <ul>
+ *   <li>When the maximum number of pending traces is reached, the oldest pending trace is decided
+ *       early to make room for a new one.
+ *   <li>When a pending trace reaches the maximum number of spans per trace, it is decided early.
+ *   <li>When the maximum number of buffered spans is reached, ended spans are dropped and the
+ *       oldest pending traces are decided early until spans can be buffered again.
+ * </ul>
+ *
+ * <p>Traces decided early are evaluated on the spans buffered so far. Decisions are remembered for
+ * as many traces as can be pending, after which spans ending late are buffered as a new trace.
+ */
+@SuppressWarnings("FutureReturnValueIgnored")
+public final class TailSamplingSpanProcessor implements SpanProcessor {
+
+  private static final Logger logger = Logger.getLogger(TailSamplingSpanProcessor.class.getName());
+
+  private static final String WORKER_THREAD_NAME =
+      TailSamplingSpanProcessor.class.getSimpleName() + "_WorkerThread";
+  private static final String SPAN_PROCESSOR_TYPE_LABEL = "spanProcessorType";
+  private static final String SPAN_PROCESSOR_TYPE_VALUE =
+      TailSamplingSpanProcessor.class.getSimpleName();
+  private static final Labels SPAN_PROCESSOR_LABELS =
+      Labels.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE);
+  private static final Labels SPAN_PROCESSOR_DROPPED_LABELS =
+      Labels.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE, "dropped", "true");
+  private static final int MAX_STRIPES = 16;
+  private static final long MIN_SWEEP_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long MAX_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final SpanExporter spanExporter;
+  private final List<TailSamplingPolicy> policies;
+  private final long decisionWaitNanos;
+  private final int maxSpansPerTrace;
+  private final int maxBufferedSpans;
+  private final int maxExportBatchSize;
+  private final long exporterTimeoutNanos;
+  private final Stripe[] stripes;
+  private final AtomicInteger bufferedSpans = new AtomicInteger();
+  private final AtomicBoolean isShutdown = new AtomicBoolean(false);
+  private final ScheduledExecutorService executor;
+  private final LongCounter decidedTraces;
+  private final BoundLongCounter droppedSpans;
+  // Only accessed by the worker thread.
+  private final ArrayList<SpanData> batch = new ArrayList<>();
+
+  /**
+   * Returns a new Builder for {@link TailSamplingSpanProcessor}.
+   *
+   * @param spanExporter the {@link SpanExporter} to which the spans of kept traces are pushed.
+   * @return a new {@link TailSamplingSpanProcessorBuilder}.
+   * @throws NullPointerException if the {@code spanExporter} is {@code null}.
+   */
+  public static TailSamplingSpanProcessorBuilder builder(SpanExporter spanExporter) {
+    return new TailSamplingSpanProcessorBuilder(spanExporter);
+  }
+
+  TailSamplingSpanProcessor(
+      SpanExporter spanExporter,
+      List<TailSamplingPolicy> policies,
+      long decisionWaitNanos,
+      int maxTraces,
+      int maxSpansPerTrace,
+      int maxBufferedSpans,
+      int maxExportBatchSize,
+      long exporterTimeoutNanos) {
+    this.spanExporter = spanExporter;
+    this.policies = policies;
+    this.decisionWaitNanos = decisionWaitNanos;
+    this.maxSpansPerTrace = maxSpansPerTrace;
+    this.maxBufferedSpans = maxBufferedSpans;
+    this.maxExportBatchSize = maxExportBatchSize;
+    this.exporterTimeoutNanos = exporterTimeoutNanos;
+
+    // Striping by trace ID keeps threads ending spans of different traces from contending. The
+    // remainder of maxTraces is spread over the first stripes, so that they add up to maxTraces.
+    int stripeCount = Math.min(MAX_STRIPES, maxTraces);
+    stripes = new Stripe[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      stripes[i] = new Stripe(maxTraces / stripeCount + (i < maxTraces % stripeCount ? 1 : 0));
+    }
+
+    Meter meter = GlobalMeterProvider.getMeter("io.opentelemetry.sdk.trace");
+    meter
+        .longValueObserverBuilder("bufferedSpans")
+        .setDescription("The number of spans buffered until their trace is decided")
+        .setUnit("1")
+        .setUpdater(result -> result.observe(bufferedSpans.get(), SPAN_PROCESSOR_LABELS))
+        .build();
+    decidedTraces =
+        meter
+            .longCounterBuilder("decidedTraces")
+            .setUnit("1")
+            .setDescription(
+                "The number of traces decided by the TailSamplingSpanProcessor. "
+                    + "[kept=true if they were exported, reason=why they were decided]")
+            .build();
+    droppedSpans =
+        meter
+            .longCounterBuilder("processedSpans")
+            .setUnit("1")
+            .setDescription(
+                "The number of spans processed by the TailSamplingSpanProcessor. "
+                    + "[dropped=true if they were dropped because the buffer was full]")
+            .build()
+            .bind(SPAN_PROCESSOR_DROPPED_LABELS);
+
+    executor =
+        Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory(WORKER_THREAD_NAME));
+    long sweepIntervalNanos =
+        Math.max(
+            MIN_SWEEP_INTERVAL_NANOS, Math.min(MAX_SWEEP_INTERVAL_NANOS, decisionWaitNanos / 10));
+    executor.scheduleWithFixedDelay(
+        this::sweep, sweepIntervalNanos, sweepIntervalNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void onStart(Context parentContext, ReadWriteSpan span) {
+    SpanContext spanContext = span.getSpanContext();
+    if (!spanContext.isSampled() || isShutdown.get()) {
+      return;
+    }
+    SpanContext parentSpanContext = Span.fromContext(parentContext).getSpanContext();
+    if (parentSpanContext.isValid() && !parentSpanContext.isRemote()) {
+      return;
+    }
+    String traceId = spanContext.getTraceId();
+    stripeFor(traceId).localRootStarted(traceId, spanContext.getSpanId());
+  }
+
+  @Override
+  public boolean isStartRequired() {
+    return true;
+  }
+
+  @Override
+  public void onEnd(ReadableSpan span) {
+    if (!span.getSpanContext().isSampled() || isShutdown.get()) {
+      return;
+    }
+    if (!stripeFor(span.getSpanContext().getTraceId()).spanEnded(span)) {
+      // The buffer is full, the oldest trace may be pending in any stripe.
+      decideOldest(Reason.MAX_BUFFERED_SPANS);
+    }
+  }
+
+  @Override
+  public boolean isEndRequired() {
+    return true;
+  }
+
+  /**
+   * Decides all the pending traces, and exports the spans of the kept ones.
+   *
+   * @return a {@link CompletableResultCode} which completes when the spans have been exported.
+   */
+  @Override
+  public CompletableResultCode forceFlush() {
+    for (Stripe stripe : stripes) {
+      stripe.decideAll();
+    }
+    // The worker runs tasks in order, so the batch is exported once the traces are evaluated.
+    CompletableResultCode result = new CompletableResultCode();
+    boolean submitted =
+        submit(
+            () -> {
+              CompletableResultCode exportResult = exportBatch();
+              exportResult.whenComplete(
+                  () -> {
+                    if (exportResult.isSuccess()) {
+                      result.succeed();
+                    } else {
+                      result.fail();
+                    }
+                  });
+            });
+    if (!submitted) {
+      result.fail();
+    }
+    return result;
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    if (isShutdown.getAndSet(true)) {
+      return CompletableResultCode.ofSuccess();
+    }
+    CompletableResultCode result = new CompletableResultCode();
+    CompletableResultCode flushResult = forceFlush();
+    flushResult.whenComplete(
+        () -> {
+          CompletableResultCode shutdownResult = spanExporter.shutdown();
+          shutdownResult.whenComplete(
+              () -> {
+                executor.shutdown();
+                if (!flushResult.isSuccess() || !shutdownResult.isSuccess()) {
+                  result.fail();
+                } else {
+                  result.succeed();
+                }
+              });
+        });
+    return result;
+  }
+
+  // Visible for testing
+  int getBufferedSpans() {
+    return bufferedSpans.get();
+  }
+
+  // Visible for testing
+  int getMaxTraces() {
+    int maxTraces = 0;
+    for (Stripe stripe : stripes) {
+      maxTraces += stripe.maxTraces;
+    }
+    return maxTraces;
+  }
+
+  private Stripe stripeFor(String traceId) {
+    return stripes[(traceId.hashCode() & Integer.MAX_VALUE) % stripes.length];
+  }
+
+  /**
+   * Decides the oldest pending trace of all the stripes early. The stripes are locked one at a
+   * time, so that threads evicting traces concurrently cannot deadlock. If the oldest trace is
+   * decided meanwhile, the next oldest trace of its stripe is decided instead.
+   */
+  private void decideOldest(Reason reason) {
+    Stripe oldestStripe = null;
+    long oldestFirstSeenNanos = 0;
+    for (Stripe stripe : stripes) {
+      PendingTrace oldest = stripe.oldestPending();
+      if (oldest != null
+          && (oldestStripe == null || oldest.firstSeenNanos - oldestFirstSeenNanos < 0)) {
+        oldestStripe = stripe;
+        oldestFirstSeenNanos = oldest.firstSeenNanos;
+      }
+    }
+    if (oldestStripe != null) {
+      oldestStripe.decideOldest(reason);
+    }
+  }
+
+  private boolean submit(Runnable task) {
+    try {
+      executor.execute(task);
+      return true;
+    } catch (RejectedExecutionException e) {
+      // Shut down.
+      return false;
+    }
+  }
+
+  private void sweep() {
+    long now = System.nanoTime();
+    for (Stripe stripe : stripes) {
+      stripe.decideExpired(now);
+    }
+    // Kept traces are exported at most one sweep interval after they are decided.
+    submit(this::exportBatch);
+  }
+
+  /** Runs on the worker thread. */
+  private void evaluate(Stripe stripe, PendingTrace trace, Reason reason) {
+    List<ReadableSpan> spans;
+    synchronized (stripe) {
+      spans = trace.spans;
+      trace.spans = new ArrayList<>();
+    }
+    List<SpanData> spanData = toSpanData(spans);
+    boolean keep = shouldKeep(spanData);
+    List<ReadableSpan> lateSpans;
+    synchronized (stripe) {
+      trace.decision = keep ? Decision.KEEP : Decision.DROP;
+      lateSpans = trace.spans;
+      trace.spans = Collections.emptyList();
+    }
+    bufferedSpans.addAndGet(-(spans.size() + lateSpans.size()));
+    decidedTraces.add(1, keep ? reason.keptLabels : reason.droppedLabels);
+    if (keep) {
+      addToBatch(spanData);
+      addToBatch(toSpanData(lateSpans));
+    }
+  }
+
+  private boolean shouldKeep(List<SpanData> spans) {
+    for (TailSamplingPolicy policy : policies) {
+      try {
+        if (policy.shouldKeep(spans)) {
+          return true;
+        }
+      } catch (RuntimeException e) {
+        logger.log(Level.WARNING, "Exception thrown by the tail sampling policy " + policy, e);
+      }
+    }
+    return false;
+  }
+
+  private static List<SpanData> toSpanData(List<ReadableSpan> spans) {
+    List<SpanData> spanData = new ArrayList<>(spans.size());
+    for (ReadableSpan span : spans) {
+      spanData.add(span.toSpanData());
+    }
+    return spanData;
+  }
+
+  /** Runs on the worker thread. */
+  private void addToBatch(List<SpanData> spans) {
+    for (SpanData span : spans) {
+      batch.add(span);
+      if (batch.size() >= maxExportBatchSize) {
+        exportBatch();
+      }
+    }
+  }
+
+  /** Runs on the worker thread. */
+  private CompletableResultCode exportBatch() {
+    if (batch.isEmpty()) {
+      return CompletableResultCode.ofSuccess();
+    }
+    try {
+      // Copied, the exporter may still use the spans after the timeout.
+      CompletableResultCode result = spanExporter.export(new ArrayList<>(batch));
+      result.join(exporterTimeoutNanos, TimeUnit.NANOSECONDS);
+      if (!result.isSuccess()) {
+        logger.log(Level.FINE, "Exporter failed");
+      }
+      return result;
+    } catch (RuntimeException e) {
+      logger.log(Level.WARNING, "Exporter threw an Exception", e);
+      return CompletableResultCode.ofFailure();
+    } finally {
+      batch.clear();
+    }
+  }
+
+  private enum Decision {
+    PENDING,
+    KEEP,
+    DROP
+  }
+
+  private enum Reason {
+    ROOT_ENDED("rootEnded"),
+    TIMEOUT("timeout"),
+    MAX_TRACES("maxTraces"),
+    MAX_SPANS_PER_TRACE("maxSpansPerTrace"),
+    MAX_BUFFERED_SPANS("maxBufferedSpans"),
+    FLUSH("flush");
+
+    private final Labels keptLabels;
+    private final Labels droppedLabels;
+
+    Reason(String value) {
+      keptLabels = labels("true", value);
+      droppedLabels = labels("false", value);
+    }
+
+    private static Labels labels(String kept, String reason) {
+      return Labels.of(
+          SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE, "kept", kept, "reason", reason);
+    }
+  }
+
+  /** The spans of a trace, guarded by the {@link Stripe} of the trace. */
+  private static final class PendingTrace {
+    private final long firstSeenNanos;
+    // The local roots which have started but not ended yet, usually only one.
+    private final List<String> openLocalRoots = new ArrayList<>(1);
+    private List<ReadableSpan> spans = new ArrayList<>();
+    // Set by the worker thread once the trace is evaluated, spans ending while the trace is being
+    // evaluated are added to spans in the meantime.
+    private Decision decision = Decision.PENDING;
+
+    private PendingTrace(long firstSeenNanos) {
+      this.firstSeenNanos = firstSeenNanos;
+    }
+  }
+
+  /** The pending traces and recent decisions for a subset of the trace IDs. */
+  private final class Stripe {
+    private final int maxTraces;
+
+    // Oldest first.
+    @GuardedBy("this")
+    private final LinkedHashMap<String, PendingTrace> pending = new LinkedHashMap<>();
+
+    @GuardedBy("this")
+    private final LinkedHashMap<String, PendingTrace> decided;
+
+    private Stripe(int maxTraces) {
+      this.maxTraces = maxTraces;
+      decided =
+          new LinkedHashMap<String, PendingTrace>() {
+            private static final long serialVersionUID = 0L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PendingTrace> eldest) {
+              return size() > maxTraces;
+            }
+          };
+    }
+
+    private synchronized void localRootStarted(String traceId, String spanId) {
+      if (decided.containsKey(traceId)) {
+        return;
+      }
+      getOrCreatePending(traceId).openLocalRoots.add(spanId);
+    }
+
+    /** Returns {@code false} if the span was dropped because the buffer is full. */
+    private synchronized boolean spanEnded(ReadableSpan span) {
+      String traceId = span.getSpanContext().getTraceId();
+      PendingTrace trace = decided.get(traceId);
+      if (trace != null) {
+        switch (trace.decision) {
+          case PENDING:
+            if (!reserveSpan()) {
+              return false;
+            }
+            trace.spans.add(span);
+            return true;
+          case KEEP:
+            submit(() -> addToBatch(Collections.singletonList(span.toSpanData())));
+            return true;
+          case DROP:
+            return true;
+        }
+      }
+      if (!reserveSpan()) {
+        return false;
+      }
+      trace = getOrCreatePending(traceId);
+      trace.spans.add(span);
+      if (trace.openLocalRoots.remove(span.getSpanContext().getSpanId())
+          && trace.openLocalRoots.isEmpty()) {
+        decide(traceId, trace, Reason.ROOT_ENDED);
+      } else if (trace.spans.size() >= maxSpansPerTrace) {
+        decide(traceId, trace, Reason.MAX_SPANS_PER_TRACE);
+      }
+      return true;
+    }
+
+    private synchronized void decideExpired(long now) {
+      Iterator<Map.Entry<String, PendingTrace>> it = pending.entrySet().iterator();
+      while (it.hasNext()) {
+        Map.Entry<String, PendingTrace> entry = it.next();
+        if (now - entry.getValue().firstSeenNanos < decisionWaitNanos) {
+          // Traces are ordered by the time they were first seen.
+          return;
+        }
+        it.remove();
+        decideRemoved(entry.getKey(), entry.getValue(), Reason.TIMEOUT);
+      }
+    }
+
+    private synchronized void decideAll() {
+      for (Map.Entry<String, PendingTrace> entry : pending.entrySet()) {
+        decideRemoved(entry.getKey(), entry.getValue(), Reason.FLUSH);
+      }
+      pending.clear();
+    }
+
+    @GuardedBy("this")
+    private PendingTrace getOrCreatePending(String traceId) {
+      PendingTrace trace = pending.get(traceId);
+      if (trace == null) {
+        if (pending.size() >= maxTraces) {
+          decideOldest(Reason.MAX_TRACES);
+        }
+        trace = new PendingTrace(System.nanoTime());
+        pending.put(traceId, trace);
+      }
+      return trace;
+    }
+
+    @Nullable
+    private synchronized PendingTrace oldestPending() {
+      Iterator<PendingTrace> it = pending.values().iterator();
+      return it.hasNext() ? it.next() : null;
+    }
+
+    /**
+     * Reserves room for a span in the buffer. If the buffer is full, the span is dropped, and the
+     * caller decides the oldest pending trace early to make room.
+     */
+    @GuardedBy("this")
+    private boolean reserveSpan() {
+      if (bufferedSpans.incrementAndGet() <= maxBufferedSpans) {
+        return true;
+      }
+      bufferedSpans.decrementAndGet();
+      droppedSpans.add(1);
+      return false;
+    }
+
+    private synchronized void decideOldest(Reason reason) {
+      Iterator<Map.Entry<String, PendingTrace>> it = pending.entrySet().iterator();
+      if (it.hasNext()) {
+        Map.Entry<String, PendingTrace> oldest = it.next();
+        it.remove();
+        decideRemoved(oldest.getKey(), oldest.getValue(), reason);
+      }
+    }
+
+    @GuardedBy("this")
+    private void decide(String traceId, PendingTrace trace, Reason reason) {
+      pending.remove(traceId);
+      decideRemoved(traceId, trace, reason);
+    }
+
+    @GuardedBy("this")
+    private void decideRemoved(String traceId, PendingTrace trace, Reason reason) {
+      decided.put(traceId, trace);
+      if (!submit(() -> evaluate(this, trace, reason))) {
+        // Shut down, the trace will never be evaluated.
+        bufferedSpans.addAndGet(-trace.spans.size());
+        trace.decision = Decision.DROP;
+      }
+    }
+  }
+}
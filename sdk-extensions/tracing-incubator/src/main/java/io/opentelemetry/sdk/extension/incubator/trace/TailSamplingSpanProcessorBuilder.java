@@ -0,0 +1,194 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder class for the {@link TailSamplingSpanProcessor}.
+ *
+ * @see TailSamplingSpanProcessor#builder(SpanExporter)
+ */
+public final class TailSamplingSpanProcessorBuilder {
+
+  // Visible for testing
+  static final long DEFAULT_DECISION_WAIT_MILLIS = 30_000;
+  // Visible for testing
+  static final int DEFAULT_MAX_TRACES = 10_000;
+  // Visible for testing
+  static final int DEFAULT_MAX_SPANS_PER_TRACE = 1000;
+  // Visible for testing
+  static final int DEFAULT_MAX_BUFFERED_SPANS = 100_000;
+  // Visible for testing
+  static final int DEFAULT_MAX_EXPORT_BATCH_SIZE = 512;
+  // Visible for testing
+  static final int DEFAULT_EXPORT_TIMEOUT_MILLIS = 30_000;
+
+  private final SpanExporter spanExporter;
+  private final List<TailSamplingPolicy> policies = new ArrayList<>();
+  private long decisionWaitNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_DECISION_WAIT_MILLIS);
+  private int maxTraces = DEFAULT_MAX_TRACES;
+  private int maxSpansPerTrace = DEFAULT_MAX_SPANS_PER_TRACE;
+  private int maxBufferedSpans = DEFAULT_MAX_BUFFERED_SPANS;
+  private int maxExportBatchSize = DEFAULT_MAX_EXPORT_BATCH_SIZE;
+  private long exporterTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_EXPORT_TIMEOUT_MILLIS);
+
+  TailSamplingSpanProcessorBuilder(SpanExporter spanExporter) {
+    this.spanExporter = requireNonNull(spanExporter, "spanExporter");
+  }
+
+  /**
+   * Adds a policy deciding whether traces are kept. A trace is kept if any policy keeps it. At
+   * least one policy must be added.
+   */
+  public TailSamplingSpanProcessorBuilder addPolicy(TailSamplingPolicy policy) {
+    requireNonNull(policy, "policy");
+    policies.add(policy);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time to wait for the local root spans of a trace to end before deciding it,
+   * counted from when the trace is first seen. If unset, defaults to {@value
+   * DEFAULT_DECISION_WAIT_MILLIS}ms.
+   */
+  public TailSamplingSpanProcessorBuilder setDecisionWait(long decisionWait, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(decisionWait >= 0, "decisionWait must be non-negative");
+    decisionWaitNanos = unit.toNanos(decisionWait);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time to wait for the local root spans of a trace to end before deciding it,
+   * counted from when the trace is first seen. If unset, defaults to {@value
+   * DEFAULT_DECISION_WAIT_MILLIS}ms.
+   */
+  public TailSamplingSpanProcessorBuilder setDecisionWait(Duration decisionWait) {
+    requireNonNull(decisionWait, "decisionWait");
+    return setDecisionWait(decisionWait.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  // Visible for testing
+  long getDecisionWaitNanos() {
+    return decisionWaitNanos;
+  }
+
+  /**
+   * Sets the maximum number of traces pending a decision. Once reached, the oldest pending trace is
+   * decided early when a new trace starts. If unset, defaults to {@value DEFAULT_MAX_TRACES}.
+   */
+  public TailSamplingSpanProcessorBuilder setMaxTraces(int maxTraces) {
+    checkArgument(maxTraces > 0, "maxTraces must be positive.");
+    this.maxTraces = maxTraces;
+    return this;
+  }
+
+  // Visible for testing
+  int getMaxTraces() {
+    return maxTraces;
+  }
+
+  /**
+   * Sets the maximum number of spans buffered for a trace. Once reached, the trace is decided early.
+   * If unset, defaults to {@value DEFAULT_MAX_SPANS_PER_TRACE}.
+   */
+  public TailSamplingSpanProcessorBuilder setMaxSpansPerTrace(int maxSpansPerTrace) {
+    checkArgument(maxSpansPerTrace > 0, "maxSpansPerTrace must be positive.");
+    this.maxSpansPerTrace = maxSpansPerTrace;
+    return this;
+  }
+
+  // Visible for testing
+  int getMaxSpansPerTrace() {
+    return maxSpansPerTrace;
+  }
+
+  /**
+   * Sets the maximum number of spans buffered for all the traces pending a decision. Once reached,
+   * ended spans are dropped and the oldest pending traces are decided early. If unset, defaults to
+   * {@value DEFAULT_MAX_BUFFERED_SPANS}.
+   */
+  public TailSamplingSpanProcessorBuilder setMaxBufferedSpans(int maxBufferedSpans) {
+    checkArgument(maxBufferedSpans > 0, "maxBufferedSpans must be positive.");
+    this.maxBufferedSpans = maxBufferedSpans;
+    return this;
+  }
+
+  // Visible for testing
+  int getMaxBufferedSpans() {
+    return maxBufferedSpans;
+  }
+
+  /**
+   * Sets the maximum batch size for every export. If unset, defaults to {@value
+   * DEFAULT_MAX_EXPORT_BATCH_SIZE}.
+   */
+  public TailSamplingSpanProcessorBuilder setMaxExportBatchSize(int maxExportBatchSize) {
+    checkArgument(maxExportBatchSize > 0, "maxExportBatchSize must be positive.");
+    this.maxExportBatchSize = maxExportBatchSize;
+    return this;
+  }
+
+  // Visible for testing
+  int getMaxExportBatchSize() {
+    return maxExportBatchSize;
+  }
+
+  /**
+   * Sets the maximum time an export will be allowed to run before being cancelled. If unset,
+   * defaults to {@value DEFAULT_EXPORT_TIMEOUT_MILLIS}ms.
+   */
+  public TailSamplingSpanProcessorBuilder setExporterTimeout(long timeout, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(timeout >= 0, "timeout must be non-negative");
+    exporterTimeoutNanos = unit.toNanos(timeout);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time an export will be allowed to run before being cancelled. If unset,
+   * defaults to {@value DEFAULT_EXPORT_TIMEOUT_MILLIS}ms.
+   */
+  public TailSamplingSpanProcessorBuilder setExporterTimeout(Duration timeout) {
+    requireNonNull(timeout, "timeout");
+    return setExporterTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  // Visible for testing
+  long getExporterTimeoutNanos() {
+    return exporterTimeoutNanos;
+  }
+
+  /**
+   * Returns a new {@link TailSamplingSpanProcessor} which buffers spans until their trace is decided
+   * and forwards the spans of the kept traces to the given {@code spanExporter}.
+   *
+   * @return a new {@link TailSamplingSpanProcessor}.
+   * @throws IllegalStateException if no policy was added.
+   */
+  public TailSamplingSpanProcessor build() {
+    if (policies.isEmpty()) {
+      throw new IllegalStateException("At least one policy must be added.");
+    }
+    return new TailSamplingSpanProcessor(
+        spanExporter,
+        new ArrayList<>(policies),
+        decisionWaitNanos,
+        maxTraces,
+        maxSpansPerTrace,
+        maxBufferedSpans,
+        maxExportBatchSize,
+        exporterTimeoutNanos);
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.aggregator.AggregatorFactory;
+import io.opentelemetry.sdk.metrics.common.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.view.InstrumentSelector;
+import io.opentelemetry.sdk.metrics.view.View;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SpanMetricsProcessorTest {
+
+  private SdkMeterProvider meterProvider;
+
+  @BeforeEach
+  void setUp() {
+    meterProvider =
+        SdkMeterProvider.builder()
+            .registerView(
+                InstrumentSelector.builder()
+                    .setInstrumentType(InstrumentType.VALUE_RECORDER)
+                    .setInstrumentNameRegex(SpanMetricsProcessor.DURATION_INSTRUMENT_NAME)
+                    .build(),
+                View.builder()
+                    .setAggregatorFactory(
+                        AggregatorFactory.histogram(
+                            Arrays.asList(10.0, 100.0), AggregationTemporality.CUMULATIVE))
+                    .build())
+            .build();
+  }
+
+  private Tracer tracer(SpanMetricsProcessor processor, Sampler sampler) {
+    return SdkTracerProvider.builder()
+        .addSpanProcessor(processor)
+        .setSampler(sampler)
+        .build()
+        .get("test");
+  }
+
+  private MetricData metric(String name) {
+    return meterProvider.collectAllMetrics().stream()
+        .filter(metric -> metric.getName().equals(name))
+        .findFirst()
+        .orElseThrow(AssertionError::new);
+  }
+
+  private Map<Labels, Long> counts(String name) {
+    return metric(name).getLongSumData().getPoints().stream()
+        .collect(Collectors.toMap(LongPointData::getLabels, LongPointData::getValue));
+  }
+
+  @Test
+  void builderInvalidConfig() {
+    assertThatThrownBy(() -> SpanMetricsProcessor.builder(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("meterProvider");
+    assertThatThrownBy(() -> SpanMetricsProcessor.builder(meterProvider).addDimension(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("attributeKey");
+    assertThatThrownBy(() -> SpanMetricsProcessor.builder(meterProvider).setMaxCardinality(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxCardinality must be positive.");
+    assertThat(SpanMetricsProcessor.builder(meterProvider).getMaxCardinality())
+        .isEqualTo(SpanMetricsProcessorBuilder.DEFAULT_MAX_CARDINALITY);
+  }
+
+  @Test
+  void recordsCallsErrorsAndDuration() {
+    Tracer tracer =
+        tracer(
+            SpanMetricsProcessor.builder(meterProvider).addDimension(stringKey("route")).build(),
+            Sampler.alwaysOn());
+
+    tracer
+        .spanBuilder("GET")
+        .setSpanKind(SpanKind.SERVER)
+        .setAttribute("route", "/users")
+        .setAttribute("user", "alice")
+        .setStartTimestamp(0, TimeUnit.MILLISECONDS)
+        .startSpan()
+        .end(5, TimeUnit.MILLISECONDS);
+    tracer
+        .spanBuilder("GET")
+        .setSpanKind(SpanKind.SERVER)
+        .setAttribute("route", "/users")
+        .setAttribute("user", "bob")
+        .setStartTimestamp(0, TimeUnit.MILLISECONDS)
+        .startSpan()
+        .end(50, TimeUnit.MILLISECONDS);
+    tracer
+        .spanBuilder("GET")
+        .setSpanKind(SpanKind.SERVER)
+        .setAttribute("route", "/users")
+        .setStartTimestamp(0, TimeUnit.MILLISECONDS)
+        .startSpan()
+        .setStatus(StatusCode.ERROR)
+        .end(500, TimeUnit.MILLISECONDS);
+    tracer.spanBuilder("query").startSpan().end();
+
+    Labels ok =
+        Labels.of(
+            SpanMetricsProcessor.SPAN_NAME_LABEL, "GET",
+            SpanMetricsProcessor.SPAN_KIND_LABEL, "SERVER",
+            SpanMetricsProcessor.STATUS_CODE_LABEL, "UNSET",
+            "route", "/users");
+    Labels error =
+        Labels.of(
+            SpanMetricsProcessor.SPAN_NAME_LABEL, "GET",
+            SpanMetricsProcessor.SPAN_KIND_LABEL, "SERVER",
+            SpanMetricsProcessor.STATUS_CODE_LABEL, "ERROR",
+            "route", "/users");
+    Labels internal =
+        Labels.of(
+            SpanMetricsProcessor.SPAN_NAME_LABEL, "query",
+            SpanMetricsProcessor.SPAN_KIND_LABEL, "INTERNAL",
+            SpanMetricsProcessor.STATUS_CODE_LABEL, "UNSET");
+
+    assertThat(counts(SpanMetricsProcessor.CALLS_INSTRUMENT_NAME))
+        .containsOnlyKeys(ok, error, internal)
+        .containsEntry(ok, 2L)
+        .containsEntry(error, 1L)
+        .containsEntry(internal, 1L);
+    assertThat(counts(SpanMetricsProcessor.ERRORS_INSTRUMENT_NAME))
+        .containsOnlyKeys(error)
+        .containsEntry(error, 1L);
+
+    Collection<DoubleHistogramPointData> durations =
+        metric(SpanMetricsProcessor.DURATION_INSTRUMENT_NAME).getDoubleHistogramData().getPoints();
+    DoubleHistogramPointData okDuration =
+        durations.stream().filter(point -> point.getLabels().equals(ok)).findFirst().get();
+    assertThat(okDuration.getCount()).isEqualTo(2);
+    assertThat(okDuration.getSum()).isEqualTo(55.0);
+    assertThat(okDuration.getCounts()).containsExactly(1L, 1L, 0L);
+    DoubleHistogramPointData errorDuration =
+        durations.stream().filter(point -> point.getLabels().equals(error)).findFirst().get();
+    assertThat(errorDuration.getCounts()).containsExactly(0L, 0L, 1L);
+  }
+
+  @Test
+  void recordsNotSampledSpans() {
+    Sampler recordOnly =
+        new Sampler() {
+          @Override
+          public SamplingResult shouldSample(
+              Context parentContext,
+              String traceId,
+              String name,
+              SpanKind spanKind,
+              Attributes attributes,
+              List<LinkData> parentLinks) {
+            return SamplingResult.create(SamplingDecision.RECORD_ONLY);
+          }
+
+          @Override
+          public String getDescription() {
+            return "RecordOnly";
+          }
+        };
+    Tracer tracer = tracer(SpanMetricsProcessor.builder(meterProvider).build(), recordOnly);
+
+    tracer.spanBuilder("span").startSpan().end();
+
+    assertThat(counts(SpanMetricsProcessor.CALLS_INSTRUMENT_NAME).values()).containsExactly(1L);
+  }
+
+  @Test
+  void cardinalityGuard() {
+    SpanMetricsProcessor processor =
+        SpanMetricsProcessor.builder(meterProvider).setMaxCardinality(2).build();
+    Tracer tracer = tracer(processor, Sampler.alwaysOn());
+
+    for (int i = 0; i < 10; i++) {
+      tracer.spanBuilder("span" + i).startSpan().end();
+    }
+    tracer.spanBuilder("span0").startSpan().end();
+
+    assertThat(processor.getCardinality()).isEqualTo(2);
+    Labels overflow =
+        Labels.of(
+            SpanMetricsProcessor.SPAN_KIND_LABEL, "INTERNAL",
+            SpanMetricsProcessor.STATUS_CODE_LABEL, "UNSET",
+            SpanMetricsProcessor.OVERFLOW_LABEL, "true");
+    assertThat(counts(SpanMetricsProcessor.CALLS_INSTRUMENT_NAME))
+        .hasSize(3)
+        .containsEntry(overflow, 8L)
+        .containsEntry(
+            Labels.of(
+                SpanMetricsProcessor.SPAN_NAME_LABEL, "span0",
+                SpanMetricsProcessor.SPAN_KIND_LABEL, "INTERNAL",
+                SpanMetricsProcessor.STATUS_CODE_LABEL, "UNSET"),
+            2L);
+
+    processor.shutdown();
+    assertThat(processor.getCardinality()).isZero();
+  }
+}
@@ -0,0 +1,450 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TailSamplingSpanProcessorTest {
+
+  private final InMemorySpanExporter spanExporter = InMemorySpanExporter.create();
+  private SdkTracerProvider sdkTracerProvider;
+  private Tracer tracer;
+
+  @AfterEach
+  void cleanup() {
+    if (sdkTracerProvider != null) {
+      sdkTracerProvider.shutdown();
+    }
+  }
+
+  private TailSamplingSpanProcessor setUp(TailSamplingSpanProcessorBuilder builder) {
+    TailSamplingSpanProcessor processor = builder.build();
+    sdkTracerProvider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+    tracer = sdkTracerProvider.get("test");
+    return processor;
+  }
+
+  private static Context localParent(String traceId) {
+    return Context.root()
+        .with(
+            Span.wrap(
+                SpanContext.create(
+                    traceId,
+                    "0000000000000001",
+                    TraceFlags.getSampled(),
+                    TraceState.getDefault())));
+  }
+
+  private static void flush(TailSamplingSpanProcessor processor) {
+    assertThat(processor.forceFlush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+  }
+
+  @Test
+  void builderDefaults() {
+    TailSamplingSpanProcessorBuilder builder = TailSamplingSpanProcessor.builder(spanExporter);
+    assertThat(builder.getDecisionWaitNanos())
+        .isEqualTo(
+            TimeUnit.MILLISECONDS.toNanos(
+                TailSamplingSpanProcessorBuilder.DEFAULT_DECISION_WAIT_MILLIS));
+    assertThat(builder.getMaxTraces())
+        .isEqualTo(TailSamplingSpanProcessorBuilder.DEFAULT_MAX_TRACES);
+    assertThat(builder.getMaxSpansPerTrace())
+        .isEqualTo(TailSamplingSpanProcessorBuilder.DEFAULT_MAX_SPANS_PER_TRACE);
+    assertThat(builder.getMaxBufferedSpans())
+        .isEqualTo(TailSamplingSpanProcessorBuilder.DEFAULT_MAX_BUFFERED_SPANS);
+    assertThat(builder.getMaxExportBatchSize())
+        .isEqualTo(TailSamplingSpanProcessorBuilder.DEFAULT_MAX_EXPORT_BATCH_SIZE);
+    assertThat(builder.getExporterTimeoutNanos())
+        .isEqualTo(
+            TimeUnit.MILLISECONDS.toNanos(
+                TailSamplingSpanProcessorBuilder.DEFAULT_EXPORT_TIMEOUT_MILLIS));
+  }
+
+  @Test
+  void builderInvalidConfig() {
+    assertThatThrownBy(() -> TailSamplingSpanProcessor.builder(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("spanExporter");
+    TailSamplingSpanProcessorBuilder builder = TailSamplingSpanProcessor.builder(spanExporter);
+    assertThatThrownBy(() -> builder.addPolicy(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("policy");
+    assertThatThrownBy(() -> builder.setDecisionWait(-1, TimeUnit.MILLISECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("decisionWait must be non-negative");
+    assertThatThrownBy(() -> builder.setMaxTraces(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxTraces must be positive.");
+    assertThatThrownBy(() -> builder.setMaxSpansPerTrace(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxSpansPerTrace must be positive.");
+    assertThatThrownBy(() -> builder.setMaxBufferedSpans(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxBufferedSpans must be positive.");
+    assertThatThrownBy(builder::build)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("At least one policy must be added.");
+    assertThatThrownBy(() -> TailSamplingPolicy.latency(Duration.ofMillis(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> TailSamplingPolicy.traceIdRatioBased(1.1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void keepsTracesWithErrors() {
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(spanExporter)
+                .addPolicy(TailSamplingPolicy.errors()));
+
+    Span errorRoot = tracer.spanBuilder("errorRoot").startSpan();
+    tracer
+        .spanBuilder("errorChild")
+        .setParent(Context.current().with(errorRoot))
+        .startSpan()
+        .setStatus(StatusCode.ERROR)
+        .end();
+    errorRoot.end();
+
+    Span okRoot = tracer.spanBuilder("okRoot").startSpan();
+    tracer.spanBuilder("okChild").setParent(Context.current().with(okRoot)).startSpan().end();
+    okRoot.end();
+
+    flush(processor);
+    assertThat(spanExporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactlyInAnyOrder("errorRoot", "errorChild");
+    assertThat(processor.getBufferedSpans()).isZero();
+  }
+
+  @Test
+  void keepsSlowTraces() {
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(spanExporter)
+                .addPolicy(TailSamplingPolicy.latency(Duration.ofSeconds(1))));
+
+    tracer
+        .spanBuilder("slow")
+        .setStartTimestamp(0, TimeUnit.SECONDS)
+        .startSpan()
+        .end(2, TimeUnit.SECONDS);
+    tracer
+        .spanBuilder("fast")
+        .setStartTimestamp(0, TimeUnit.SECONDS)
+        .startSpan()
+        .end(1, TimeUnit.MILLISECONDS);
+
+    flush(processor);
+    assertThat(spanExporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("slow");
+  }
+
+  @Test
+  void keepsTracesWithAttribute() {
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(spanExporter)
+                .addPolicy(TailSamplingPolicy.attribute(stringKey("debug"), "true")));
+
+    tracer.spanBuilder("debug").setAttribute("debug", "true").startSpan().end();
+    tracer.spanBuilder("other").setAttribute("debug", "false").startSpan().end();
+    tracer.spanBuilder("none").startSpan().end();
+
+    flush(processor);
+    assertThat(spanExporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("debug");
+  }
+
+  @Test
+  void traceIdRatioBased() {
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(spanExporter)
+                .addPolicy(TailSamplingPolicy.traceIdRatioBased(0.0))
+                .addPolicy(TailSamplingPolicy.errors()));
+
+    tracer.spanBuilder("ok").startSpan().end();
+    tracer.spanBuilder("error").startSpan().setStatus(StatusCode.ERROR).end();
+    flush(processor);
+    assertThat(spanExporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("error");
+
+    assertThat(
+            TailSamplingPolicy.traceIdRatioBased(1.0)
+                .shouldKeep(spanExporter.getFinishedSpanItems()))
+        .isTrue();
+  }
+
+  @Test
+  void waitsForAllLocalRoots() {
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(spanExporter)
+                .addPolicy(TailSamplingPolicy.errors()));
+
+    SpanContext remoteParent =
+        SpanContext.createFromRemoteParent(
+            "ff000000000000000000000000000041",
+            "ff00000000000041",
+            TraceFlags.getSampled(),
+            TraceState.getDefault());
+    Context parentContext = Context.root().with(Span.wrap(remoteParent));
+    Span first = tracer.spanBuilder("first").setParent(parentContext).startSpan();
+    Span second = tracer.spanBuilder("second").setParent(parentContext).startSpan();
+    second.setStatus(StatusCode.ERROR);
+    second.end();
+    // The trace is pending until the first local root ends.
+    assertThat(processor.getBufferedSpans()).isEqualTo(1);
+    first.end();
+
+    await().untilAsserted(() -> assertThat(processor.getBufferedSpans()).isZero());
+    flush(processor);
+    assertThat(spanExporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactlyInAnyOrder("first", "second");
+  }
+
+  @Test
+  void lateSpansFollowDecision() {
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(spanExporter)
+                .addPolicy(TailSamplingPolicy.errors()));
+
+    Span keptRoot = tracer.spanBuilder("keptRoot").startSpan();
+    Span keptChild =
+        tracer.spanBuilder("keptChild").setParent(Context.current().with(keptRoot)).startSpan();
+    keptRoot.setStatus(StatusCode.ERROR);
+    keptRoot.end();
+    Span droppedRoot = tracer.spanBuilder("droppedRoot").startSpan();
+    Span droppedChild =
+        tracer
+            .spanBuilder("droppedChild")
+            .setParent(Context.current().with(droppedRoot))
+            .startSpan();
+    droppedRoot.end();
+    flush(processor);
+
+    droppedChild.setStatus(StatusCode.ERROR);
+    droppedChild.end();
+    keptChild.end();
+    flush(processor);
+    assertThat(spanExporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactlyInAnyOrder("keptRoot", "keptChild");
+    assertThat(processor.getBufferedSpans()).isZero();
+  }
+
+  @Test
+  void decidesAfterDecisionWait() {
+    setUp(
+        TailSamplingSpanProcessor.builder(spanExporter)
+            .addPolicy(TailSamplingPolicy.errors())
+            .setDecisionWait(Duration.ofMillis(10)));
+
+    Span root = tracer.spanBuilder("root").startSpan();
+    tracer
+        .spanBuilder("child")
+        .setParent(Context.current().with(root))
+        .startSpan()
+        .setStatus(StatusCode.ERROR)
+        .end();
+
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(spanExporter.getFinishedSpanItems())
+                    .extracting(SpanData::getName)
+                    .containsExactly("child"));
+    root.end();
+  }
+
+  @Test
+  void maxSpansPerTrace() {
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(spanExporter)
+                .addPolicy(TailSamplingPolicy.errors())
+                .setMaxSpansPerTrace(2));
+
+    Span root = tracer.spanBuilder("root").startSpan();
+    Context context = Context.current().with(root);
+    tracer.spanBuilder("child1").setParent(context).startSpan().setStatus(StatusCode.ERROR).end();
+    tracer.spanBuilder("child2").setParent(context).startSpan().end();
+    // Decided early, the trace is kept because child1 failed.
+    await().untilAsserted(() -> assertThat(processor.getBufferedSpans()).isZero());
+    flush(processor);
+    assertThat(spanExporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactlyInAnyOrder("child1", "child2");
+
+    root.end();
+    flush(processor);
+    assertThat(spanExporter.getFinishedSpanItems()).hasSize(3);
+  }
+
+  @Test
+  void maxTraces() {
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(spanExporter)
+                .addPolicy(TailSamplingPolicy.errors())
+                .setMaxTraces(1));
+
+    Span first = tracer.spanBuilder("first").startSpan();
+    tracer
+        .spanBuilder("firstChild")
+        .setParent(Context.current().with(first))
+        .startSpan()
+        .setStatus(StatusCode.ERROR)
+        .end();
+    // Evicts the first trace, which is decided early.
+    Span second = tracer.spanBuilder("second").startSpan();
+
+    await().untilAsserted(() -> assertThat(processor.getBufferedSpans()).isZero());
+    flush(processor);
+    assertThat(spanExporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("firstChild");
+
+    first.end();
+    second.end();
+    flush(processor);
+    assertThat(spanExporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactlyInAnyOrder("firstChild", "first");
+  }
+
+  @Test
+  void maxTracesSpreadOverStripes() {
+    for (int maxTraces : new int[] {1, 15, 16, 20, 31, 10_000}) {
+      TailSamplingSpanProcessor processor =
+          TailSamplingSpanProcessor.builder(spanExporter)
+              .addPolicy(TailSamplingPolicy.errors())
+              .setMaxTraces(maxTraces)
+              .build();
+      try {
+        assertThat(processor.getMaxTraces()).isEqualTo(maxTraces);
+      } finally {
+        processor.shutdown();
+      }
+    }
+  }
+
+  @Test
+  void maxBufferedSpans() {
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(spanExporter)
+                .addPolicy(TailSamplingPolicy.traceIdRatioBased(1.0))
+                .setMaxBufferedSpans(2));
+
+    Span root = tracer.spanBuilder("root").startSpan();
+    Context context = Context.current().with(root);
+    tracer.spanBuilder("child1").setParent(context).startSpan().end();
+    tracer.spanBuilder("child2").setParent(context).startSpan().end();
+    // Dropped, the buffer is full.
+    tracer.spanBuilder("child3").setParent(context).startSpan().end();
+    assertThat(processor.getBufferedSpans()).isLessThanOrEqualTo(2);
+
+    flush(processor);
+    assertThat(spanExporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactlyInAnyOrder("child1", "child2");
+    root.end();
+  }
+
+  @Test
+  void maxBufferedSpans_decidesOldestTraceOfAnyStripe() {
+    TailSamplingSpanProcessor processor =
+        setUp(
+            TailSamplingSpanProcessor.builder(spanExporter)
+                .addPolicy(TailSamplingPolicy.traceIdRatioBased(1.0))
+                .setDecisionWait(1, TimeUnit.MINUTES)
+                .setMaxBufferedSpans(1));
+
+    // The hash codes of these trace IDs differ by one, so they are in different stripes. Their
+    // parents are local, so the spans do not end a local root and are buffered.
+    tracer
+        .spanBuilder("first")
+        .setParent(localParent("00000000000000000000000000000001"))
+        .startSpan()
+        .end();
+    // Dropped, the buffer is full, which decides the first trace early.
+    tracer
+        .spanBuilder("second")
+        .setParent(localParent("00000000000000000000000000000002"))
+        .startSpan()
+        .end();
+
+    await().untilAsserted(() -> assertThat(processor.getBufferedSpans()).isZero());
+    flush(processor);
+    assertThat(spanExporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("first");
+  }
+
+  @Test
+  void ignoresNotSampledSpans() {
+    TailSamplingSpanProcessor processor =
+        TailSamplingSpanProcessor.builder(spanExporter)
+            .addPolicy(TailSamplingPolicy.traceIdRatioBased(1.0))
+            .build();
+    sdkTracerProvider =
+        SdkTracerProvider.builder()
+            .addSpanProcessor(processor)
+            .setSampler(Sampler.alwaysOff())
+            .build();
+    sdkTracerProvider.get("test").spanBuilder("span").startSpan().end();
+
+    assertThat(processor.getBufferedSpans()).isZero();
+    flush(processor);
+    assertThat(spanExporter.getFinishedSpanItems()).isEmpty();
+  }
+
+  @Test
+  void shutdownFlushesPendingTraces() {
+    WaitingSpanExporter waitingSpanExporter =
+        new WaitingSpanExporter(1, CompletableResultCode.ofSuccess());
+    setUp(
+        TailSamplingSpanProcessor.builder(waitingSpanExporter)
+            .addPolicy(TailSamplingPolicy.traceIdRatioBased(1.0)));
+
+    Span root = tracer.spanBuilder("root").startSpan();
+    tracer.spanBuilder("child").setParent(Context.current().with(root)).startSpan().end();
+
+    assertThat(sdkTracerProvider.shutdown().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+    sdkTracerProvider = null;
+    assertThat(waitingSpanExporter.getExported())
+        .extracting(SpanData::getName)
+        .containsExactly("child");
+    assertThat(waitingSpanExporter.shutDownCalled.get()).isTrue();
+  }
+}
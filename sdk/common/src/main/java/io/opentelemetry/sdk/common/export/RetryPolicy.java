@@ -0,0 +1,108 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.common.export;
+
+import com.google.auto.value.AutoValue;
+import java.time.Duration;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Configuration of how an exporter retries requests that failed with a transient error. Each
+ * retry is delayed by a randomized exponential backoff: the delay before retry {@code n} is picked
+ * uniformly between zero and {@code min(initialBackoff * backoffMultiplier^(n - 1), maxBackoff)}.
+ */
+@AutoValue
+@Immutable
+public abstract class RetryPolicy {
+
+  private static final RetryPolicy DEFAULT = new RetryPolicyBuilder().build();
+
+  /** Returns the default {@link RetryPolicy}. */
+  public static RetryPolicy getDefault() {
+    return DEFAULT;
+  }
+
+  /** Returns a new {@link RetryPolicyBuilder} to construct a {@link RetryPolicy}. */
+  public static RetryPolicyBuilder builder() {
+    return new RetryPolicyBuilder();
+  }
+
+  static RetryPolicy create(
+      int maxAttempts,
+      Duration initialBackoff,
+      Duration maxBackoff,
+      double backoffMultiplier,
+      Duration totalTimeout,
+      long maxBufferedBytes) {
+    return new AutoValue_RetryPolicy(
+        maxAttempts,
+        initialBackoff,
+        maxBackoff,
+        backoffMultiplier,
+        totalTimeout,
+        maxBufferedBytes);
+  }
+
+  /**
+   * Returns the max number of attempts of each request, including the first one.
+   *
+   * @return the max number of attempts of each request.
+   */
+  public abstract int getMaxAttempts();
+
+  /**
+   * Returns the max delay before the first retry of a request.
+   *
+   * @return the max delay before the first retry.
+   */
+  public abstract Duration getInitialBackoff();
+
+  /**
+   * Returns the upper bound of the max delay before each retry of a request.
+   *
+   * @return the upper bound of the max delay before each retry.
+   */
+  public abstract Duration getMaxBackoff();
+
+  /**
+   * Returns the factor by which the max delay grows after each retry.
+   *
+   * @return the factor by which the max delay grows after each retry.
+   */
+  public abstract double getBackoffMultiplier();
+
+  /**
+   * Returns the max time from the first attempt of a request after which it is no longer retried.
+   *
+   * @return the max time during which a request is retried.
+   */
+  public abstract Duration getTotalTimeout();
+
+  /**
+   * Returns the max total size, in bytes, of the requests that are waiting to be retried. A failed
+   * request that does not fit is not retried.
+   *
+   * @return the max total size of the requests that are waiting to be retried.
+   */
+  public abstract long getMaxBufferedBytes();
+
+  /**
+   * Returns a {@link RetryPolicyBuilder} initialized to the same property values as the current
+   * instance.
+   *
+   * @return a {@link RetryPolicyBuilder} initialized to the same property values as the current
+   *     instance.
+   */
+  public RetryPolicyBuilder toBuilder() {
+    return new RetryPolicyBuilder()
+        .setMaxAttempts(getMaxAttempts())
+        .setInitialBackoff(getInitialBackoff())
+        .setMaxBackoff(getMaxBackoff())
+        .setBackoffMultiplier(getBackoffMultiplier())
+        .setTotalTimeout(getTotalTimeout())
+        .setMaxBufferedBytes(getMaxBufferedBytes());
+  }
+}
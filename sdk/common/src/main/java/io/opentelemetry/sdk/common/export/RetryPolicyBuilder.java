@@ -0,0 +1,122 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.common.export;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+
+/** Builder for {@link RetryPolicy}. */
+public final class RetryPolicyBuilder {
+
+  private static final int DEFAULT_MAX_ATTEMPTS = 5;
+  private static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
+  private static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(5);
+  private static final double DEFAULT_BACKOFF_MULTIPLIER = 1.5;
+  private static final Duration DEFAULT_TOTAL_TIMEOUT = Duration.ofSeconds(30);
+  private static final long DEFAULT_MAX_BUFFERED_BYTES = 16 * 1024 * 1024;
+
+  private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+  private Duration initialBackoff = DEFAULT_INITIAL_BACKOFF;
+  private Duration maxBackoff = DEFAULT_MAX_BACKOFF;
+  private double backoffMultiplier = DEFAULT_BACKOFF_MULTIPLIER;
+  private Duration totalTimeout = DEFAULT_TOTAL_TIMEOUT;
+  private long maxBufferedBytes = DEFAULT_MAX_BUFFERED_BYTES;
+
+  RetryPolicyBuilder() {}
+
+  /**
+   * Sets the max number of attempts of each request, including the first one. If unset, defaults
+   * to {@value DEFAULT_MAX_ATTEMPTS}.
+   *
+   * @param maxAttempts the max number of attempts of each request. Must be greater than 1.
+   * @return this.
+   */
+  public RetryPolicyBuilder setMaxAttempts(int maxAttempts) {
+    checkArgument(maxAttempts > 1, "maxAttempts must be greater than 1");
+    this.maxAttempts = maxAttempts;
+    return this;
+  }
+
+  /**
+   * Sets the max delay before the first retry of a request. If unset, defaults to 1s.
+   *
+   * @param initialBackoff the max delay before the first retry. Must be positive.
+   * @return this.
+   */
+  public RetryPolicyBuilder setInitialBackoff(Duration initialBackoff) {
+    requireNonNull(initialBackoff, "initialBackoff");
+    checkArgument(
+        !initialBackoff.isNegative() && !initialBackoff.isZero(),
+        "initialBackoff must be positive");
+    this.initialBackoff = initialBackoff;
+    return this;
+  }
+
+  /**
+   * Sets the upper bound of the max delay before each retry of a request. If unset, defaults to
+   * 5s.
+   *
+   * @param maxBackoff the upper bound of the max delay before each retry. Must be positive.
+   * @return this.
+   */
+  public RetryPolicyBuilder setMaxBackoff(Duration maxBackoff) {
+    requireNonNull(maxBackoff, "maxBackoff");
+    checkArgument(!maxBackoff.isNegative() && !maxBackoff.isZero(), "maxBackoff must be positive");
+    this.maxBackoff = maxBackoff;
+    return this;
+  }
+
+  /**
+   * Sets the factor by which the max delay grows after each retry. If unset, defaults to {@value
+   * DEFAULT_BACKOFF_MULTIPLIER}.
+   *
+   * @param backoffMultiplier the factor by which the max delay grows. Must be at least 1.
+   * @return this.
+   */
+  public RetryPolicyBuilder setBackoffMultiplier(double backoffMultiplier) {
+    checkArgument(backoffMultiplier >= 1, "backoffMultiplier must be at least 1");
+    this.backoffMultiplier = backoffMultiplier;
+    return this;
+  }
+
+  /**
+   * Sets the max time from the first attempt of a request after which it is no longer retried. If
+   * unset, defaults to 30s.
+   *
+   * @param totalTimeout the max time during which a request is retried. Must be positive.
+   * @return this.
+   */
+  public RetryPolicyBuilder setTotalTimeout(Duration totalTimeout) {
+    requireNonNull(totalTimeout, "totalTimeout");
+    checkArgument(
+        !totalTimeout.isNegative() && !totalTimeout.isZero(), "totalTimeout must be positive");
+    this.totalTimeout = totalTimeout;
+    return this;
+  }
+
+  /**
+   * Sets the max total size, in bytes, of the requests that are waiting to be retried, which bounds
+   * the memory held by retries while the backend is unavailable. A failed request that does not fit
+   * is not retried. If unset, defaults to 16 MiB.
+   *
+   * @param maxBufferedBytes the max total size of the requests waiting to be retried. Must be
+   *     positive.
+   * @return this.
+   */
+  public RetryPolicyBuilder setMaxBufferedBytes(long maxBufferedBytes) {
+    checkArgument(maxBufferedBytes > 0, "maxBufferedBytes must be positive");
+    this.maxBufferedBytes = maxBufferedBytes;
+    return this;
+  }
+
+  /** Builds and returns a {@link RetryPolicy} with the values of this builder. */
+  public RetryPolicy build() {
+    return RetryPolicy.create(
+        maxAttempts, initialBackoff, maxBackoff, backoffMultiplier, totalTimeout, maxBufferedBytes);
+  }
+}
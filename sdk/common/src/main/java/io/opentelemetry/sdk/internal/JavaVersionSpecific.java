@@ -22,6 +22,7 @@
 
 package io.opentelemetry.sdk.internal;
 
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -58,4 +59,12 @@ class JavaVersionSpecific {
   long currentTimeNanos() {
     return TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
   }
+
+  /**
+   * Returns a {@link ThreadFactory} for the threads running the background workers of the SDK,
+   * named with the given prefix.
+   */
+  ThreadFactory newWorkerThreadFactory(String namePrefix) {
+    return new DaemonThreadFactory(namePrefix);
+  }
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the threads running the long-lived background workers of SDK components, such as batch
+ * processors and periodic metric readers. On Java 21 and later these are virtual threads, so that
+ * a host running many SDK instances does not dedicate a platform thread to each worker, otherwise
+ * they are daemon platform threads.
+ */
+public final class WorkerThreads {
+
+  /**
+   * Returns a {@link ThreadFactory} for worker threads named with the given prefix followed by a
+   * sequence number.
+   */
+  public static ThreadFactory newThreadFactory(String namePrefix) {
+    return JavaVersionSpecific.get().newWorkerThreadFactory(namePrefix);
+  }
+
+  /**
+   * Returns an {@link Executor} starting a new worker thread, named with the given prefix, for each
+   * task. It is the default executor of components which accept a user provided {@link Executor}
+   * for their workers.
+   */
+  public static Executor newExecutor(String namePrefix) {
+    ThreadFactory threadFactory = newThreadFactory(namePrefix);
+    return task -> threadFactory.newThread(task).start();
+  }
+
+  private WorkerThreads() {}
+}
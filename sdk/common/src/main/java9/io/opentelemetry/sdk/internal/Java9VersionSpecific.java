@@ -22,13 +22,24 @@
 
 package io.opentelemetry.sdk.internal;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.time.Clock;
 import java.time.Instant;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /** Implementation of {@link JavaVersionSpecific} using Java 9 APIs. */
 class Java9VersionSpecific extends JavaVersionSpecific {
 
+  // (String namePrefix) -> Thread.ofVirtual().name(namePrefix, 1).factory(), when virtual threads
+  // are available, i.e., on Java 21 and later. They are looked up reflectively so that this class
+  // still compiles for Java 9.
+  @Nullable
+  private static final MethodHandle NEW_VIRTUAL_THREAD_FACTORY = findNewVirtualThreadFactory();
+
   @Override
   String name() {
     return "Java 9+";
@@ -39,4 +50,46 @@ class Java9VersionSpecific extends JavaVersionSpecific {
     final Instant now = Clock.systemUTC().instant();
     return TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
   }
+
+  /**
+   * Returns a factory of virtual threads when they are available, which do not hold a platform
+   * thread while waiting for spans or for an export to complete. Virtual threads are always daemon
+   * threads.
+   */
+  @Override
+  ThreadFactory newWorkerThreadFactory(String namePrefix) {
+    if (NEW_VIRTUAL_THREAD_FACTORY != null) {
+      try {
+        return (ThreadFactory) NEW_VIRTUAL_THREAD_FACTORY.invokeExact(namePrefix + "-");
+      } catch (Throwable t) {
+        // Fall back to platform threads.
+      }
+    }
+    return super.newWorkerThreadFactory(namePrefix);
+  }
+
+  @Nullable
+  private static MethodHandle findNewVirtualThreadFactory() {
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      Class<?> ofVirtual = Class.forName("java.lang.Thread$Builder$OfVirtual");
+      MethodHandle newBuilder =
+          lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtual));
+      MethodHandle name =
+          lookup.findVirtual(
+              ofVirtual, "name", MethodType.methodType(ofVirtual, String.class, long.class));
+      MethodHandle factory =
+          lookup.findVirtual(ofVirtual, "factory", MethodType.methodType(ThreadFactory.class));
+      // (OfVirtual builder, String namePrefix) -> builder.name(namePrefix, 1).factory()
+      MethodHandle nameAndFactory =
+          MethodHandles.filterReturnValue(MethodHandles.insertArguments(name, 2, 1L), factory);
+      MethodHandle newFactory = MethodHandles.collectArguments(nameAndFactory, 0, newBuilder);
+      // Virtual threads are a preview API on Java 19 and 20, which throws unless previews are
+      // enabled, so make sure it can be used.
+      ThreadFactory unused = (ThreadFactory) newFactory.invokeExact("probe-");
+      return newFactory;
+    } catch (Throwable t) {
+      return null;
+    }
+  }
 }
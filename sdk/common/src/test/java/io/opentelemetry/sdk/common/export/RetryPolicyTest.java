@@ -0,0 +1,71 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.common.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class RetryPolicyTest {
+
+  @Test
+  void defaultPolicy() {
+    RetryPolicy retryPolicy = RetryPolicy.getDefault();
+    assertThat(retryPolicy.getMaxAttempts()).isEqualTo(5);
+    assertThat(retryPolicy.getInitialBackoff()).isEqualTo(Duration.ofSeconds(1));
+    assertThat(retryPolicy.getMaxBackoff()).isEqualTo(Duration.ofSeconds(5));
+    assertThat(retryPolicy.getBackoffMultiplier()).isEqualTo(1.5);
+    assertThat(retryPolicy.getTotalTimeout()).isEqualTo(Duration.ofSeconds(30));
+    assertThat(retryPolicy.getMaxBufferedBytes()).isEqualTo(16 * 1024 * 1024);
+  }
+
+  @Test
+  void updatePolicy() {
+    RetryPolicy retryPolicy =
+        RetryPolicy.getDefault().toBuilder()
+            .setMaxAttempts(2)
+            .setInitialBackoff(Duration.ofMillis(10))
+            .setMaxBackoff(Duration.ofMillis(100))
+            .setBackoffMultiplier(2)
+            .setTotalTimeout(Duration.ofSeconds(1))
+            .setMaxBufferedBytes(1024)
+            .build();
+    assertThat(retryPolicy.getMaxAttempts()).isEqualTo(2);
+    assertThat(retryPolicy.getInitialBackoff()).isEqualTo(Duration.ofMillis(10));
+    assertThat(retryPolicy.getMaxBackoff()).isEqualTo(Duration.ofMillis(100));
+    assertThat(retryPolicy.getBackoffMultiplier()).isEqualTo(2);
+    assertThat(retryPolicy.getTotalTimeout()).isEqualTo(Duration.ofSeconds(1));
+    assertThat(retryPolicy.getMaxBufferedBytes()).isEqualTo(1024);
+    assertThat(retryPolicy.toBuilder().build()).isEqualTo(retryPolicy);
+  }
+
+  @Test
+  void invalidPolicy() {
+    assertThatThrownBy(() -> RetryPolicy.builder().setMaxAttempts(1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxAttempts must be greater than 1");
+    assertThatThrownBy(() -> RetryPolicy.builder().setInitialBackoff(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("initialBackoff");
+    assertThatThrownBy(() -> RetryPolicy.builder().setInitialBackoff(Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("initialBackoff must be positive");
+    assertThatThrownBy(() -> RetryPolicy.builder().setMaxBackoff(Duration.ofMillis(-1)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxBackoff must be positive");
+    assertThatThrownBy(() -> RetryPolicy.builder().setBackoffMultiplier(0.5))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("backoffMultiplier must be at least 1");
+    assertThatThrownBy(() -> RetryPolicy.builder().setTotalTimeout(Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("totalTimeout must be positive");
+    assertThatThrownBy(() -> RetryPolicy.builder().setMaxBufferedBytes(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxBufferedBytes must be positive");
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class WorkerThreadsTest {
+
+  @Test
+  void newThreadFactory() {
+    Thread thread = WorkerThreads.newThreadFactory("TestWorker").newThread(() -> {});
+    assertThat(thread.getName()).isEqualTo("TestWorker-1");
+    assertThat(thread.isDaemon()).isTrue();
+  }
+
+  @Test
+  void newExecutor() throws Exception {
+    CompletableFuture<Thread> thread = new CompletableFuture<>();
+    WorkerThreads.newExecutor("TestWorker").execute(() -> thread.complete(Thread.currentThread()));
+    assertThat(thread.get(10, TimeUnit.SECONDS).getName()).isEqualTo("TestWorker-1");
+    assertThat(thread.get().isDaemon()).isTrue();
+  }
+}
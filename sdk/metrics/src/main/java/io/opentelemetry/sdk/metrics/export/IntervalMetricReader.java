@@ -7,7 +7,7 @@ package io.opentelemetry.sdk.metrics.export;
 
 import com.google.auto.value.AutoValue;
 import io.opentelemetry.sdk.common.CompletableResultCode;
-import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.internal.WorkerThreads;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -32,6 +32,8 @@ public final class IntervalMetricReader {
 
   private final Exporter exporter;
   private final ScheduledExecutorService scheduler;
+  // Whether the scheduler was created by this reader, rather than set with the builder.
+  private final boolean ownsScheduler;
 
   private volatile ScheduledFuture<?> scheduledFuture;
   private final Object lock = new Object();
@@ -42,14 +44,20 @@ public final class IntervalMetricReader {
     if (scheduledFuture != null) {
       scheduledFuture.cancel(false);
     }
-    scheduler.shutdown();
+    if (ownsScheduler) {
+      scheduler.shutdown();
+    }
     try {
-      scheduler.awaitTermination(5, TimeUnit.SECONDS);
+      if (ownsScheduler) {
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+      }
       final CompletableResultCode flushResult = exporter.doRun();
       flushResult.join(5, TimeUnit.SECONDS);
     } catch (InterruptedException e) {
       // force a shutdown if the export hasn't finished.
-      scheduler.shutdownNow();
+      if (ownsScheduler) {
+        scheduler.shutdownNow();
+      }
       // reset the interrupted status
       Thread.currentThread().interrupt();
     } finally {
@@ -78,13 +86,20 @@ public final class IntervalMetricReader {
   IntervalMetricReader(InternalState internalState) {
     this(
         internalState,
-        Executors.newScheduledThreadPool(1, new DaemonThreadFactory("IntervalMetricReader")));
+        Executors.newScheduledThreadPool(
+            1, WorkerThreads.newThreadFactory("IntervalMetricReader")),
+        /* ownsScheduler= */ true);
+  }
+
+  IntervalMetricReader(InternalState internalState, ScheduledExecutorService scheduler) {
+    this(internalState, scheduler, /* ownsScheduler= */ false);
   }
 
-  // visible for testing
-  IntervalMetricReader(InternalState internalState, ScheduledExecutorService intervalMetricReader) {
+  private IntervalMetricReader(
+      InternalState internalState, ScheduledExecutorService scheduler, boolean ownsScheduler) {
     this.exporter = new Exporter(internalState);
-    this.scheduler = intervalMetricReader;
+    this.scheduler = scheduler;
+    this.ownsScheduler = ownsScheduler;
   }
 
   /**
@@ -7,10 +7,14 @@ package io.opentelemetry.sdk.metrics.export;
 
 import io.opentelemetry.api.internal.Utils;
 import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.annotation.Nullable;
 
 /** Builder for {@link IntervalMetricReader}. */
 public final class IntervalMetricReaderBuilder {
   private final IntervalMetricReader.InternalState.Builder optionsBuilder;
+  @Nullable private ScheduledExecutorService scheduler;
 
   IntervalMetricReaderBuilder(IntervalMetricReader.InternalState.Builder optionsBuilder) {
     this.optionsBuilder = optionsBuilder;
@@ -51,6 +55,21 @@ public final class IntervalMetricReaderBuilder {
     return this;
   }
 
+  /**
+   * Sets the {@link ScheduledExecutorService} running the periodic exports, for example one shared
+   * with other periodic tasks of the application. The executor is not shut down with the reader.
+   *
+   * <p>If unset, a new thread is started for the exports, a virtual thread on Java 21 and later and
+   * a daemon thread otherwise.
+   *
+   * @param scheduler the executor running the periodic exports.
+   * @return this.
+   */
+  public IntervalMetricReaderBuilder setScheduledExecutor(ScheduledExecutorService scheduler) {
+    this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
+    return this;
+  }
+
   /**
    * Builds a new {@link IntervalMetricReader} with current settings. Does not start the background
    * thread. Please call {@link IntervalMetricReader#start()} to do that.
@@ -62,7 +81,9 @@ public final class IntervalMetricReaderBuilder {
     Utils.checkArgument(
         internalState.getExportIntervalMillis() > 0, "Export interval must be positive");
 
-    return new IntervalMetricReader(internalState);
+    return scheduler != null
+        ? new IntervalMetricReader(internalState, scheduler)
+        : new IntervalMetricReader(internalState);
   }
 
   /**
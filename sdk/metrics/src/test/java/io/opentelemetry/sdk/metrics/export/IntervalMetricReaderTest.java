@@ -26,6 +26,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -148,6 +149,32 @@ class IntervalMetricReaderTest {
     assertThat(waitingMetricExporter.hasShutdown.get()).isTrue();
   }
 
+  @Test
+  void intervalExport_scheduledExecutor() throws Exception {
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    WaitingMetricExporter waitingMetricExporter = new WaitingMetricExporter();
+    IntervalMetricReader intervalMetricReader =
+        IntervalMetricReader.builder()
+            .setExportIntervalMillis(100)
+            .setMetricExporter(waitingMetricExporter)
+            .setMetricProducers(Collections.singletonList(metricProducer))
+            .setScheduledExecutor(scheduler)
+            .buildAndStart();
+
+    try {
+      assertThat(waitingMetricExporter.waitForNumberOfExports(1))
+          .containsExactly(Collections.singletonList(METRIC_DATA));
+
+      intervalMetricReader.shutdown();
+
+      // The executor set with the builder is not shut down with the reader.
+      assertThat(scheduler.isShutdown()).isFalse();
+      assertThat(waitingMetricExporter.hasShutdown.get()).isTrue();
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
+
   private static class WaitingMetricExporter implements MetricExporter {
 
     private final AtomicBoolean hasShutdown = new AtomicBoolean(false);
@@ -7,6 +7,7 @@ package io.opentelemetry.sdk.trace.internal;
 
 import java.util.Queue;
 import org.jctools.queues.MessagePassingQueue;
+import org.jctools.queues.MpmcArrayQueue;
 import org.jctools.queues.MpscArrayQueue;
 
 /** Internal accessor of JCTools package for fast queues. */
@@ -19,6 +20,14 @@ public final class JcTools {
     return new MpscArrayQueue<>(capacity);
   }
 
+  /**
+   * Returns a new {@link Queue} appropriate for use with multiple producers and multiple consumers.
+   * Its capacity is at least 2, the minimum supported by the implementation.
+   */
+  public static <T> Queue<T> newMpmcArrayQueue(int capacity) {
+    return new MpmcArrayQueue<>(Math.max(2, capacity));
+  }
+
   /**
    * Returns the capacity of the {@link Queue}, which must be a JcTools queue. We cast to the
    * implementation so callers do not need to use the shaded classes.
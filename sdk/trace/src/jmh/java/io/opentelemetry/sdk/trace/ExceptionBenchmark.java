@@ -5,6 +5,7 @@
 
 package io.opentelemetry.sdk.trace;
 
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.Tracer;
@@ -63,6 +64,24 @@ public class ExceptionBenchmark {
     return span;
   }
 
+  /**
+   * Also renders the exception attributes like an exporter would. The stack trace is rendered once
+   * and then served from the cache, since every exception is thrown from the same place.
+   */
+  @Benchmark
+  @Threads(value = 1)
+  @Fork(1)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @BenchmarkMode(Mode.AverageTime)
+  public Attributes createSpanRecordExceptionAndExport() {
+    Span span = spanBuilder.startSpan();
+    span.recordException(new RuntimeException());
+    span.end();
+    return ((ReadableSpan) span).toSpanData().getEvents().get(0).getAttributes();
+  }
+
   @Benchmark
   @Threads(value = 1)
   @Fork(1)
@@ -7,15 +7,21 @@ package io.opentelemetry.sdk.trace;
 
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -87,6 +93,62 @@ public class SpanBenchmark {
     doSpanWork();
   }
 
+  /** Spans dropped by a ratio based sampler, which is called before or after the attributes. */
+  @State(Scope.Benchmark)
+  public static class DroppedSpanState {
+    @Param({"true", "false"})
+    private boolean sampleBeforeAttributes;
+
+    private Tracer tracer;
+
+    @Setup(Level.Trial)
+    public final void setup() {
+      Sampler ratioBased = Sampler.traceIdRatioBased(0.01);
+      Sampler sampler =
+          sampleBeforeAttributes
+              ? ratioBased
+              : new Sampler() {
+                @Override
+                public SamplingResult shouldSample(
+                    Context parentContext,
+                    String traceId,
+                    String name,
+                    SpanKind spanKind,
+                    Attributes attributes,
+                    List<LinkData> parentLinks) {
+                  return ratioBased.shouldSample(
+                      parentContext, traceId, name, spanKind, attributes, parentLinks);
+                }
+
+                @Override
+                public String getDescription() {
+                  return ratioBased.getDescription();
+                }
+              };
+      tracer = SdkTracerProvider.builder().setSampler(sampler).build().get("benchmarkTracer");
+    }
+  }
+
+  @Benchmark
+  @Threads(value = 1)
+  @Fork(1)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void droppedSpanWithAttributes_01Thread(DroppedSpanState state) {
+    Span span =
+        state
+            .tracer
+            .spanBuilder("benchmarkSpanBuilder")
+            .setNoParent()
+            .setAttribute("http.method", "GET")
+            .setAttribute("http.url", "http://localhost:8080/users/123")
+            .setAttribute("http.status_code", 200L)
+            .setAttribute("net.peer.port", 8080L)
+            .startSpan();
+    span.end();
+  }
+
   private static void doSpanWork() {
     Span span = sdkSpanBuilder.startSpan();
     span.addEvent("testEvent");
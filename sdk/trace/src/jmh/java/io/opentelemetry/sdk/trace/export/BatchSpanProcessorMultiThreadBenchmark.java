@@ -39,6 +39,9 @@ public class BatchSpanProcessorMultiThreadBenchmark {
     @Param({"0"})
     private int delayMs;
 
+    @Param({"1", "4"})
+    private int shardCount;
+
     private long exportedSpans;
     private long droppedSpans;
 
@@ -46,7 +49,7 @@ public class BatchSpanProcessorMultiThreadBenchmark {
     public final void setup() {
       sdkMeterProvider = SdkMeterProvider.builder().buildAndRegisterGlobal();
       SpanExporter exporter = new DelayingSpanExporter(delayMs);
-      processor = BatchSpanProcessor.builder(exporter).build();
+      processor = BatchSpanProcessor.builder(exporter).setShardCount(shardCount).build();
       tracer =
           SdkTracerProvider.builder().addSpanProcessor(processor).build().get("benchmarkTracer");
     }
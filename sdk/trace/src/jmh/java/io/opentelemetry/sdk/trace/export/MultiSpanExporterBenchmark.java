@@ -17,6 +17,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Level;
@@ -26,6 +27,7 @@ import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 
 @State(Scope.Benchmark)
@@ -49,9 +51,33 @@ public class MultiSpanExporterBenchmark {
     }
   }
 
+  /** Blocks the calling thread, like an exporter doing synchronous I/O. */
+  private static class BlockingSpanExporter extends NoopSpanExporter {
+
+    private final long delayNanos;
+
+    private BlockingSpanExporter(long delayNanos) {
+      this.delayNanos = delayNanos;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+      LockSupport.parkNanos(delayNanos);
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+
   @Param({"1", "3"})
   private int exporterCount;
 
+  // The delay of the last exporter, 0 for a noop exporter.
+  @Param({"0", "1"})
+  private int slowExporterDelayMs;
+
+  // Whether the exporters are wrapped in an AsyncSpanExporter.
+  @Param({"false", "true"})
+  private boolean async;
+
   private SpanExporter exporter;
 
   @Param({"1000"})
@@ -63,6 +89,15 @@ public class MultiSpanExporterBenchmark {
   public final void setup() {
     SpanExporter[] exporter = new SpanExporter[exporterCount];
     Arrays.fill(exporter, new NoopSpanExporter());
+    if (slowExporterDelayMs > 0) {
+      exporter[exporterCount - 1] =
+          new BlockingSpanExporter(TimeUnit.MILLISECONDS.toNanos(slowExporterDelayMs));
+    }
+    if (async) {
+      for (int i = 0; i < exporter.length; i++) {
+        exporter[i] = AsyncSpanExporter.builder(exporter[i]).build();
+      }
+    }
     this.exporter = SpanExporter.composite(Arrays.asList(exporter));
 
     TestSpanData[] spans = new TestSpanData[spanCount];
@@ -86,6 +121,11 @@ public class MultiSpanExporterBenchmark {
     this.spans = Arrays.asList(spans);
   }
 
+  @TearDown(Level.Trial)
+  public final void tearDown() {
+    exporter.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
   @Benchmark
   @Fork(1)
   @Warmup(iterations = 5, time = 1)
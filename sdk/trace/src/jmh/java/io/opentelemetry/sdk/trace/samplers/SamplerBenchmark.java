@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.samplers;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.IdGenerator;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Threads(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class SamplerBenchmark {
+
+  private static final int TRACE_ID_COUNT = 1024;
+
+  @Param({"traceIdRatioBased", "consistentProbabilityBased"})
+  private String samplerType;
+
+  @Param({"0.1"})
+  private double probability;
+
+  private Sampler sampler;
+  private String[] traceIds;
+  private int index;
+
+  @Setup(Level.Trial)
+  public final void setup() {
+    switch (samplerType) {
+      case "traceIdRatioBased":
+        sampler = Sampler.traceIdRatioBased(probability);
+        break;
+      case "consistentProbabilityBased":
+        sampler = Sampler.consistentProbabilityBased(probability);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown sampler type: " + samplerType);
+    }
+    IdGenerator idGenerator = IdGenerator.random();
+    traceIds = new String[TRACE_ID_COUNT];
+    for (int i = 0; i < traceIds.length; i++) {
+      traceIds[i] = idGenerator.generateTraceId();
+    }
+  }
+
+  @Benchmark
+  public SamplingResult shouldSample() {
+    String traceId = traceIds[index++ & (TRACE_ID_COUNT - 1)];
+    return sampler.shouldSample(
+        Context.root(),
+        traceId,
+        "span",
+        SpanKind.INTERNAL,
+        Attributes.empty(),
+        Collections.emptyList());
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/** Applies the {@link SpanLimits} of attributes. */
+final class AttributeUtil {
+
+  /**
+   * Returns the attributes limited to {@code countLimit} entries, with string values truncated to
+   * {@code lengthLimit}. The attributes are returned as is, without being copied, if they are
+   * within the limits.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  static Attributes applyAttributesLimit(
+      final Attributes attributes, final int countLimit, final int lengthLimit) {
+    if (attributes.isEmpty()
+        || (attributes.size() <= countLimit && !exceedsLengthLimit(attributes, lengthLimit))) {
+      return attributes;
+    }
+
+    AttributesBuilder result = Attributes.builder();
+    int i = 0;
+    for (Map.Entry<AttributeKey<?>, Object> entry : attributes.asMap().entrySet()) {
+      if (i >= countLimit) {
+        break;
+      }
+      result.put(
+          (AttributeKey) entry.getKey(), applyAttributeLengthLimit(entry.getValue(), lengthLimit));
+      i++;
+    }
+    return result.build();
+  }
+
+  private static boolean exceedsLengthLimit(Attributes attributes, int lengthLimit) {
+    if (lengthLimit == Integer.MAX_VALUE) {
+      return false;
+    }
+    for (Object value : attributes.asMap().values()) {
+      if (value instanceof String && ((String) value).length() > lengthLimit) {
+        return true;
+      }
+      if (value instanceof List) {
+        for (Object element : (List<?>) value) {
+          if (element instanceof String && ((String) element).length() > lengthLimit) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the value truncated to {@code lengthLimit} if it is a string, or with each string
+   * truncated if it is a string array. The same value is returned if nothing is truncated.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> T applyAttributeLengthLimit(T value, int lengthLimit) {
+    if (lengthLimit == Integer.MAX_VALUE) {
+      return value;
+    }
+    if (value instanceof String) {
+      return (T) truncate((String) value, lengthLimit);
+    }
+    if (value instanceof List) {
+      List<?> values = (List<?>) value;
+      for (int i = 0; i < values.size(); i++) {
+        Object element = values.get(i);
+        if (element instanceof String && ((String) element).length() > lengthLimit) {
+          return (T) truncateAll(values, i, lengthLimit);
+        }
+      }
+    }
+    return value;
+  }
+
+  // Copies the values, truncating them from the first one which is too long.
+  private static List<Object> truncateAll(List<?> values, int firstTruncated, int lengthLimit) {
+    List<Object> result = new ArrayList<>(values.size());
+    result.addAll(values.subList(0, firstTruncated));
+    for (int i = firstTruncated; i < values.size(); i++) {
+      Object element = values.get(i);
+      result.add(element instanceof String ? truncate((String) element, lengthLimit) : element);
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  private static String truncate(String value, int lengthLimit) {
+    if (value.length() <= lengthLimit) {
+      return value;
+    }
+    int end = lengthLimit;
+    // Do not split a surrogate pair, which would leave an invalid character.
+    if (Character.isHighSurrogate(value.charAt(end - 1))) {
+      end--;
+    }
+    return value.substring(0, end);
+  }
+
+  private AttributeUtil() {}
+}
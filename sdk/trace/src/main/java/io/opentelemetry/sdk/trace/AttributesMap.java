@@ -12,16 +12,25 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
-/** A map with a fixed capacity that drops attributes when the map gets full. */
+/**
+ * A map with a fixed capacity that drops attributes when the map gets full, and truncates string
+ * values longer than the length limit when they are put.
+ */
 final class AttributesMap extends HashMap<AttributeKey<?>, Object> implements Attributes {
 
   private static final long serialVersionUID = -5072696312123632376L;
 
   private final long capacity;
+  private final int lengthLimit;
   private int totalAddedValues = 0;
 
   AttributesMap(long capacity) {
+    this(capacity, Integer.MAX_VALUE);
+  }
+
+  AttributesMap(long capacity, int lengthLimit) {
     this.capacity = capacity;
+    this.lengthLimit = lengthLimit;
   }
 
   <T> void put(AttributeKey<T> key, T value) {
@@ -29,7 +38,7 @@ final class AttributesMap extends HashMap<AttributeKey<?>, Object> implements At
     if (size() >= capacity && !containsKey(key)) {
       return;
     }
-    super.put(key, value);
+    super.put(key, AttributeUtil.applyAttributeLengthLimit(value, lengthLimit));
   }
 
   int getTotalAddedValues() {
@@ -0,0 +1,123 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The event recorded by {@link RecordEventsReadableSpan#recordException(Throwable, Attributes)}.
+ * The exception attributes, notably the stack trace, are only rendered when first accessed, which
+ * usually happens on the export thread, and never if the span is not exported. The exception is
+ * referenced until then.
+ */
+@ThreadSafe
+final class ExceptionEventData implements EventData {
+
+  private final long epochNanos;
+  private final Throwable exception;
+  @Nullable private final Attributes additionalAttributes;
+  private final SpanLimits spanLimits;
+
+  // Written before attributes, which publishes it.
+  private int totalAttributeCount;
+  @Nullable private volatile Attributes attributes;
+
+  ExceptionEventData(
+      long epochNanos,
+      Throwable exception,
+      @Nullable Attributes additionalAttributes,
+      SpanLimits spanLimits) {
+    this.epochNanos = epochNanos;
+    this.exception = exception;
+    this.additionalAttributes = additionalAttributes;
+    this.spanLimits = spanLimits;
+  }
+
+  @Override
+  public String getName() {
+    return SemanticAttributes.EXCEPTION_EVENT_NAME;
+  }
+
+  @Override
+  public Attributes getAttributes() {
+    Attributes attributes = this.attributes;
+    if (attributes == null) {
+      attributes = render();
+    }
+    return attributes;
+  }
+
+  @Override
+  public long getEpochNanos() {
+    return epochNanos;
+  }
+
+  @Override
+  public int getTotalAttributeCount() {
+    if (attributes == null) {
+      render();
+    }
+    return totalAttributeCount;
+  }
+
+  private synchronized Attributes render() {
+    Attributes attributes = this.attributes;
+    if (attributes != null) {
+      return attributes;
+    }
+    AttributesBuilder builder = Attributes.builder();
+    builder.put(SemanticAttributes.EXCEPTION_TYPE, exception.getClass().getCanonicalName());
+    String message = exception.getMessage();
+    if (message != null) {
+      builder.put(SemanticAttributes.EXCEPTION_MESSAGE, message);
+    }
+    if (additionalAttributes == null
+        || additionalAttributes.get(SemanticAttributes.EXCEPTION_STACKTRACE) == null) {
+      builder.put(
+          SemanticAttributes.EXCEPTION_STACKTRACE,
+          StackTraceRenderer.getInstance()
+              .render(
+                  exception,
+                  spanLimits.getMaxExceptionStackTraceDepth(),
+                  // Keeps only what the attribute value length limit would keep, which also
+                  // stops rendering early when the depth is limited.
+                  Math.min(
+                      spanLimits.getMaxExceptionStackTraceLength(),
+                      spanLimits.getMaxAttributeValueLength())));
+    }
+    if (additionalAttributes != null) {
+      builder.putAll(additionalAttributes);
+    }
+    attributes = builder.build();
+    totalAttributeCount = attributes.size();
+    attributes =
+        AttributeUtil.applyAttributesLimit(
+            attributes,
+            spanLimits.getMaxNumberOfAttributesPerEvent(),
+            spanLimits.getMaxAttributeValueLength());
+    this.attributes = attributes;
+    return attributes;
+  }
+
+  @Override
+  public String toString() {
+    return "ExceptionEventData{"
+        + "name="
+        + getName()
+        + ", attributes="
+        + getAttributes()
+        + ", epochNanos="
+        + epochNanos
+        + ", totalAttributeCount="
+        + getTotalAttributeCount()
+        + "}";
+  }
+}
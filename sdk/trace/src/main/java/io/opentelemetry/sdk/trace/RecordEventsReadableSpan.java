@@ -7,7 +7,6 @@ package io.opentelemetry.sdk.trace;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
-import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.internal.GuardedBy;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
@@ -21,13 +20,9 @@ import io.opentelemetry.sdk.trace.data.EventData;
 import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.data.StatusData;
-import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -260,7 +255,9 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
         return this;
       }
       if (attributes == null) {
-        attributes = new AttributesMap(spanLimits.getMaxNumberOfAttributes());
+        attributes =
+            new AttributesMap(
+                spanLimits.getMaxNumberOfAttributes(), spanLimits.getMaxAttributeValueLength());
       }
 
       attributes.put(key, value);
@@ -299,7 +296,10 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
         EventData.create(
             clock.now(),
             name,
-            applyAttributesLimit(attributes, spanLimits.getMaxNumberOfAttributesPerEvent()),
+            AttributeUtil.applyAttributesLimit(
+                attributes,
+                spanLimits.getMaxNumberOfAttributesPerEvent(),
+                spanLimits.getMaxAttributeValueLength()),
             totalAttributeCount));
     return this;
   }
@@ -317,29 +317,14 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
         EventData.create(
             unit.toNanos(timestamp),
             name,
-            applyAttributesLimit(attributes, spanLimits.getMaxNumberOfAttributesPerEvent()),
+            AttributeUtil.applyAttributesLimit(
+                attributes,
+                spanLimits.getMaxNumberOfAttributesPerEvent(),
+                spanLimits.getMaxAttributeValueLength()),
             totalAttributeCount));
     return this;
   }
 
-  @SuppressWarnings({"unchecked", "rawtypes"})
-  static Attributes applyAttributesLimit(final Attributes attributes, final int limit) {
-    if (attributes.isEmpty() || attributes.size() <= limit) {
-      return attributes;
-    }
-
-    AttributesBuilder result = Attributes.builder();
-    int i = 0;
-    for (Map.Entry<AttributeKey<?>, Object> entry : attributes.asMap().entrySet()) {
-      if (i >= limit) {
-        break;
-      }
-      result.put((AttributeKey) entry.getKey(), entry.getValue());
-      i++;
-    }
-    return result.build();
-  }
-
   private void addTimedEvent(EventData timedEvent) {
     synchronized (lock) {
       if (hasEnded) {
@@ -379,26 +364,8 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
     if (exception == null) {
       return this;
     }
-    long timestampNanos = clock.now();
-
-    AttributesBuilder attributes = Attributes.builder();
-    attributes.put(SemanticAttributes.EXCEPTION_TYPE, exception.getClass().getCanonicalName());
-    if (exception.getMessage() != null) {
-      attributes.put(SemanticAttributes.EXCEPTION_MESSAGE, exception.getMessage());
-    }
-    StringWriter writer = new StringWriter();
-    exception.printStackTrace(new PrintWriter(writer));
-    attributes.put(SemanticAttributes.EXCEPTION_STACKTRACE, writer.toString());
-
-    if (additionalAttributes != null) {
-      attributes.putAll(additionalAttributes);
-    }
-
-    addEvent(
-        SemanticAttributes.EXCEPTION_EVENT_NAME,
-        attributes.build(),
-        timestampNanos,
-        TimeUnit.NANOSECONDS);
+    // The exception attributes are rendered lazily, usually on the export thread.
+    addTimedEvent(new ExceptionEventData(clock.now(), exception, additionalAttributes, spanLimits));
     return this;
   }
 
@@ -23,6 +23,7 @@ import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.internal.MonotonicClock;
 import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
 import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
 import io.opentelemetry.sdk.trace.samplers.SamplingResult;
 import java.util.ArrayList;
@@ -37,6 +38,8 @@ final class SdkSpanBuilder implements SpanBuilder {
   private final String spanName;
   private final InstrumentationLibraryInfo instrumentationLibraryInfo;
   private final TracerSharedState tracerSharedState;
+  private final Sampler sampler;
+  private final boolean sampleBeforeAttributes;
   private final SpanLimits spanLimits;
 
   @Nullable private Context parent; // null means: Use current context.
@@ -45,15 +48,28 @@ final class SdkSpanBuilder implements SpanBuilder {
   @Nullable private List<LinkData> links;
   private int totalNumberOfLinksAdded = 0;
   private long startEpochNanos = 0;
+  // Set when the span is sampled before it is started, see Sampler#canSampleBeforeAttributes. Only
+  // done once the parent is set explicitly, as Context.current() may differ when the span starts.
+  @Nullable private SpanContext earlyParentSpanContext;
+  @Nullable private String earlyTraceId;
+  @Nullable private SamplingResult earlySamplingResult;
+  // What was added while the early decision drops the span, in case a new parent changes it. Kept
+  // as given, the limits are only applied if the span is recorded after all.
+  @Nullable private List<Object> attributesSkippedEarly; // Keys and values, alternately.
+  @Nullable private List<Object> linksSkippedEarly; // Span contexts and attributes, alternately.
 
   SdkSpanBuilder(
       String spanName,
       InstrumentationLibraryInfo instrumentationLibraryInfo,
       TracerSharedState tracerSharedState,
+      Sampler sampler,
+      boolean sampleBeforeAttributes,
       SpanLimits spanLimits) {
     this.spanName = spanName;
     this.instrumentationLibraryInfo = instrumentationLibraryInfo;
     this.tracerSharedState = tracerSharedState;
+    this.sampler = sampler;
+    this.sampleBeforeAttributes = sampleBeforeAttributes;
     this.spanLimits = spanLimits;
   }
 
@@ -63,15 +79,33 @@ final class SdkSpanBuilder implements SpanBuilder {
       return this;
     }
     this.parent = context;
+    resetEarlySamplingIfParentChanged();
     return this;
   }
 
   @Override
   public SpanBuilder setNoParent() {
     this.parent = Context.root();
+    resetEarlySamplingIfParentChanged();
     return this;
   }
 
+  /**
+   * Clears the early sampling decision if the new parent is a different span, so that the span is
+   * sampled again, with what was skipped because of the old decision. The decision is kept
+   * otherwise, so the sampler is not charged twice for a span.
+   */
+  private void resetEarlySamplingIfParentChanged() {
+    if (earlySamplingResult == null || parent == null) {
+      return;
+    }
+    if (!Span.fromContext(parent).getSpanContext().equals(earlyParentSpanContext)) {
+      earlyParentSpanContext = null;
+      earlyTraceId = null;
+      earlySamplingResult = null;
+    }
+  }
+
   @Override
   public SpanBuilder setSpanKind(SpanKind spanKind) {
     if (spanKind == null) {
@@ -86,6 +120,10 @@ final class SdkSpanBuilder implements SpanBuilder {
     if (spanContext == null || !spanContext.isValid()) {
       return this;
     }
+    if (isDroppedEarly()) {
+      linksSkippedEarly = skip(linksSkippedEarly, spanContext, null);
+      return this;
+    }
     addLink(LinkData.create(spanContext));
     return this;
   }
@@ -95,17 +133,28 @@ final class SdkSpanBuilder implements SpanBuilder {
     if (spanContext == null || !spanContext.isValid()) {
       return this;
     }
+    if (isDroppedEarly()) {
+      linksSkippedEarly = skip(linksSkippedEarly, spanContext, attributes);
+      return this;
+    }
+    addLink(spanContext, attributes);
+    return this;
+  }
+
+  private void addLink(SpanContext spanContext, @Nullable Attributes attributes) {
     if (attributes == null) {
-      attributes = Attributes.empty();
+      addLink(LinkData.create(spanContext));
+      return;
     }
     int totalAttributeCount = attributes.size();
     addLink(
         LinkData.create(
             spanContext,
-            RecordEventsReadableSpan.applyAttributesLimit(
-                attributes, spanLimits.getMaxNumberOfAttributesPerLink()),
+            AttributeUtil.applyAttributesLimit(
+                attributes,
+                spanLimits.getMaxNumberOfAttributesPerLink(),
+                spanLimits.getMaxAttributeValueLength()),
             totalAttributeCount));
-    return this;
   }
 
   private void addLink(LinkData link) {
@@ -147,14 +196,82 @@ final class SdkSpanBuilder implements SpanBuilder {
     if (key == null || key.getKey().isEmpty() || value == null) {
       return this;
     }
+    if (attributes == null && isDroppedEarly()) {
+      attributesSkippedEarly = skip(attributesSkippedEarly, key, value);
+      return this;
+    }
     if (attributes == null) {
-      attributes = new AttributesMap(spanLimits.getMaxNumberOfAttributes());
+      attributes =
+          new AttributesMap(
+              spanLimits.getMaxNumberOfAttributes(), spanLimits.getMaxAttributeValueLength());
     }
 
     attributes.put(key, value);
     return this;
   }
 
+  /**
+   * Returns whether the span is dropped by the sampler, if it can decide before the attributes and
+   * links are collected and the parent is set. The decision is reused when the span is started,
+   * unless the parent is changed to a different span in between.
+   */
+  private boolean isDroppedEarly() {
+    if (earlySamplingResult == null) {
+      if (!sampleBeforeAttributes || parent == null) {
+        return false;
+      }
+      SpanContext parentSpanContext = Span.fromContext(parent).getSpanContext();
+      String traceId =
+          parentSpanContext.isValid()
+              ? parentSpanContext.getTraceId()
+              : tracerSharedState.getIdGenerator().generateTraceId();
+      earlySamplingResult =
+          sampler.shouldSample(
+              parent, traceId, spanName, spanKind, Attributes.empty(), Collections.emptyList());
+      earlyParentSpanContext = parentSpanContext;
+      earlyTraceId = traceId;
+      if (isRecording(earlySamplingResult.getDecision())) {
+        // Recorded for the new parent, so add what an earlier parent's decision skipped first.
+        addSkippedEarly();
+      }
+    }
+    return !isRecording(earlySamplingResult.getDecision());
+  }
+
+  private static List<Object> skip(
+      @Nullable List<Object> skipped, Object first, @Nullable Object second) {
+    if (skipped == null) {
+      skipped = new ArrayList<>();
+    }
+    skipped.add(first);
+    skipped.add(second);
+    return skipped;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private void addSkippedEarly() {
+    List<Object> attributesSkippedEarly = this.attributesSkippedEarly;
+    if (attributesSkippedEarly != null) {
+      this.attributesSkippedEarly = null;
+      if (attributes == null) {
+        attributes =
+            new AttributesMap(
+                spanLimits.getMaxNumberOfAttributes(), spanLimits.getMaxAttributeValueLength());
+      }
+      for (int i = 0; i < attributesSkippedEarly.size(); i += 2) {
+        attributes.put(
+            (AttributeKey) attributesSkippedEarly.get(i), attributesSkippedEarly.get(i + 1));
+      }
+    }
+    List<Object> linksSkippedEarly = this.linksSkippedEarly;
+    if (linksSkippedEarly != null) {
+      this.linksSkippedEarly = null;
+      for (int i = 0; i < linksSkippedEarly.size(); i += 2) {
+        addLink((SpanContext) linksSkippedEarly.get(i), (Attributes) linksSkippedEarly.get(i + 1));
+      }
+    }
+  }
+
   @Override
   public SpanBuilder setStartTimestamp(long startTimestamp, TimeUnit unit) {
     if (startTimestamp < 0 || unit == null) {
@@ -170,27 +287,44 @@ final class SdkSpanBuilder implements SpanBuilder {
     final Context parentContext = parent == null ? Context.current() : parent;
     final Span parentSpan = Span.fromContext(parentContext);
     final SpanContext parentSpanContext = parentSpan.getSpanContext();
-    final String traceId;
     IdGenerator idGenerator = tracerSharedState.getIdGenerator();
     String spanId = idGenerator.generateSpanId();
-    if (!parentSpanContext.isValid()) {
+    String traceId;
+    SamplingResult samplingResult = null;
+    if (earlySamplingResult != null && earlyTraceId != null) {
+      // Sampled when the first attribute or link was added, with the same parent span.
+      traceId = earlyTraceId;
+      samplingResult = earlySamplingResult;
+    } else if (!parentSpanContext.isValid()) {
       // New root span.
       traceId = idGenerator.generateTraceId();
     } else {
       // New child span.
       traceId = parentSpanContext.getTraceId();
     }
+    // The builder may start more spans, each with its own decision.
+    earlyParentSpanContext = null;
+    earlyTraceId = null;
+    earlySamplingResult = null;
+    if (samplingResult == null) {
+      // Skipped because of a decision for an earlier parent, which no longer applies.
+      addSkippedEarly();
+    } else {
+      // Only skipped if the early decision drops the span.
+      attributesSkippedEarly = null;
+      linksSkippedEarly = null;
+    }
     List<LinkData> immutableLinks =
         links == null ? Collections.emptyList() : Collections.unmodifiableList(links);
     // Avoid any possibility to modify the links list by adding links to the Builder after the
     // startSpan is called. If that happens all the links will be added in a new list.
     links = null;
-    Attributes immutableAttributes = attributes == null ? Attributes.empty() : attributes;
-    SamplingResult samplingResult =
-        tracerSharedState
-            .getSampler()
-            .shouldSample(
-                parentContext, traceId, spanName, spanKind, immutableAttributes, immutableLinks);
+    if (samplingResult == null) {
+      Attributes immutableAttributes = attributes == null ? Attributes.empty() : attributes;
+      samplingResult =
+          sampler.shouldSample(
+              parentContext, traceId, spanName, spanKind, immutableAttributes, immutableLinks);
+    }
     SamplingDecision samplingDecision = samplingResult.getDecision();
 
     TraceState samplingResultTraceState =
@@ -208,7 +342,9 @@ final class SdkSpanBuilder implements SpanBuilder {
     Attributes samplingAttributes = samplingResult.getAttributes();
     if (!samplingAttributes.isEmpty()) {
       if (attributes == null) {
-        attributes = new AttributesMap(spanLimits.getMaxNumberOfAttributes());
+        attributes =
+            new AttributesMap(
+                spanLimits.getMaxNumberOfAttributes(), spanLimits.getMaxAttributeValueLength());
       }
       samplingAttributes.forEach((key, value) -> attributes.put((AttributeKey) key, value));
     }
@@ -9,21 +9,47 @@ import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.api.trace.TracerProvider;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import javax.annotation.Nullable;
 
 /** {@link SdkTracer} is SDK implementation of {@link Tracer}. */
 final class SdkTracer implements Tracer {
   static final String FALLBACK_SPAN_NAME = "<unspecified span name>";
+  private static final Tracer NOOP_TRACER =
+      TracerProvider.noop().get(SdkTracerProvider.DEFAULT_TRACER_NAME);
 
   private final TracerSharedState sharedState;
   private final InstrumentationLibraryInfo instrumentationLibraryInfo;
+  private final boolean enabled;
+  private final Sampler sampler;
+  private final boolean sampleBeforeAttributes;
+  // Overrides the limits of the provider.
+  @Nullable private final SpanLimits spanLimits;
 
-  SdkTracer(TracerSharedState sharedState, InstrumentationLibraryInfo instrumentationLibraryInfo) {
+  SdkTracer(
+      TracerSharedState sharedState,
+      InstrumentationLibraryInfo instrumentationLibraryInfo,
+      TracerConfig config) {
     this.sharedState = sharedState;
     this.instrumentationLibraryInfo = instrumentationLibraryInfo;
+    this.enabled = config.isEnabled();
+    Sampler sampler = config.getSampler();
+    if (sampler != null) {
+      this.sampler = sampler;
+      this.sampleBeforeAttributes = sampler.canSampleBeforeAttributes();
+    } else {
+      this.sampler = sharedState.getSampler();
+      this.sampleBeforeAttributes = sharedState.isSampleBeforeAttributes();
+    }
+    this.spanLimits = config.getSpanLimits();
   }
 
   @Override
   public SpanBuilder spanBuilder(String spanName) {
+    if (!enabled) {
+      // Before any other work, the no-op builder only propagates the parent span context.
+      return NOOP_TRACER.spanBuilder(spanName);
+    }
     if (spanName == null || spanName.trim().isEmpty()) {
       spanName = FALLBACK_SPAN_NAME;
     }
@@ -33,7 +59,22 @@ final class SdkTracer implements Tracer {
           .spanBuilder(spanName);
     }
     return new SdkSpanBuilder(
-        spanName, instrumentationLibraryInfo, sharedState, sharedState.getSpanLimits());
+        spanName,
+        instrumentationLibraryInfo,
+        sharedState,
+        sampler,
+        sampleBeforeAttributes,
+        spanLimits != null ? spanLimits : sharedState.getSpanLimits());
+  }
+
+  // Visible for testing
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  // Visible for testing
+  Sampler getSampler() {
+    return sampler;
   }
 
   /**
@@ -11,12 +11,14 @@ import io.opentelemetry.api.trace.TracerBuilder;
 import io.opentelemetry.api.trace.TracerProvider;
 import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.internal.ComponentRegistry;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
 import java.io.Closeable;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -50,13 +52,25 @@ public final class SdkTracerProvider implements TracerProvider, Closeable {
       Resource resource,
       Supplier<SpanLimits> spanLimitsSupplier,
       Sampler sampler,
-      List<SpanProcessor> spanProcessors) {
+      List<SpanProcessor> spanProcessors,
+      Function<InstrumentationLibraryInfo, TracerConfig> tracerConfigurator) {
     this.sharedState =
         new TracerSharedState(
             clock, idsGenerator, resource, spanLimitsSupplier, sampler, spanProcessors);
     this.tracerSdkComponentRegistry =
         new ComponentRegistry<>(
-            instrumentationLibraryInfo -> new SdkTracer(sharedState, instrumentationLibraryInfo));
+            instrumentationLibraryInfo ->
+                new SdkTracer(
+                    sharedState,
+                    instrumentationLibraryInfo,
+                    getTracerConfig(tracerConfigurator, instrumentationLibraryInfo)));
+  }
+
+  private static TracerConfig getTracerConfig(
+      Function<InstrumentationLibraryInfo, TracerConfig> tracerConfigurator,
+      InstrumentationLibraryInfo instrumentationLibraryInfo) {
+    TracerConfig config = tracerConfigurator.apply(instrumentationLibraryInfo);
+    return config != null ? config : TracerConfig.getDefault();
   }
 
   @Override
@@ -8,11 +8,13 @@ package io.opentelemetry.sdk.trace;
 import static java.util.Objects.requireNonNull;
 
 import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.internal.SystemClock;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /** Builder of {@link SdkTracerProvider}. */
@@ -26,6 +28,8 @@ public final class SdkTracerProviderBuilder {
   private Resource resource = Resource.getDefault();
   private Supplier<SpanLimits> spanLimitsSupplier = SpanLimits::getDefault;
   private Sampler sampler = DEFAULT_SAMPLER;
+  private Function<InstrumentationLibraryInfo, TracerConfig> tracerConfigurator =
+      instrumentationLibraryInfo -> TracerConfig.getDefault();
 
   /**
    * Assign a {@link Clock}. {@link Clock} will be used each time a {@link
@@ -120,6 +124,32 @@ public final class SdkTracerProviderBuilder {
     return this;
   }
 
+  /**
+   * Assign a function returning the {@link TracerConfig} of each instrumentation library, to
+   * disable noisy libraries or to override the {@link Sampler} or {@link SpanLimits} of some of
+   * them. The function is called once per instrumentation library name, version and schema URL,
+   * when the first {@link io.opentelemetry.api.trace.Tracer} of the library is created, for
+   * example:
+   *
+   * <pre>{@code
+   * builder.setTracerConfigurator(
+   *     library ->
+   *         library.getName().startsWith("io.opentelemetry.jdbc")
+   *             ? TracerConfig.disabled()
+   *             : TracerConfig.getDefault());
+   * }</pre>
+   *
+   * @param tracerConfigurator the function returning the {@link TracerConfig} of an instrumentation
+   *     library.
+   * @return this
+   */
+  public SdkTracerProviderBuilder setTracerConfigurator(
+      Function<InstrumentationLibraryInfo, TracerConfig> tracerConfigurator) {
+    requireNonNull(tracerConfigurator, "tracerConfigurator");
+    this.tracerConfigurator = tracerConfigurator;
+    return this;
+  }
+
   /**
    * Add a SpanProcessor to the span pipeline that will be built. {@link SpanProcessor} will be
    * called each time a {@link io.opentelemetry.api.trace.Span} is started or ended.
@@ -142,7 +172,13 @@ public final class SdkTracerProviderBuilder {
    */
   public SdkTracerProvider build() {
     return new SdkTracerProvider(
-        clock, idsGenerator, resource, spanLimitsSupplier, sampler, spanProcessors);
+        clock,
+        idsGenerator,
+        resource,
+        spanLimitsSupplier,
+        sampler,
+        spanProcessors,
+        tracerConfigurator);
   }
 
   SdkTracerProviderBuilder() {}
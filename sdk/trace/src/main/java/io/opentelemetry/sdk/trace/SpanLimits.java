@@ -5,7 +5,6 @@
 
 package io.opentelemetry.sdk.trace;
 
-import com.google.auto.value.AutoValue;
 import io.opentelemetry.api.trace.Span;
 import javax.annotation.concurrent.Immutable;
 
@@ -17,7 +16,6 @@ import javax.annotation.concurrent.Immutable;
  * io.opentelemetry.sdk.trace.SdkTracerProviderBuilder#setSpanLimits(java.util.function.Supplier)}
  * which supplies dynamic configs when queried.
  */
-@AutoValue
 @Immutable
 public abstract class SpanLimits {
 
@@ -38,13 +36,19 @@ public abstract class SpanLimits {
       int maxNumEvents,
       int maxNumLinks,
       int maxNumAttributesPerEvent,
-      int maxNumAttributesPerLink) {
-    return new AutoValue_SpanLimits(
+      int maxNumAttributesPerLink,
+      int maxExceptionStackTraceDepth,
+      int maxExceptionStackTraceLength,
+      int maxAttributeValueLength) {
+    return new AutoValue_SpanLimitsValue(
         maxNumAttributes,
         maxNumEvents,
         maxNumLinks,
         maxNumAttributesPerEvent,
-        maxNumAttributesPerLink);
+        maxNumAttributesPerLink,
+        maxExceptionStackTraceDepth,
+        maxExceptionStackTraceLength,
+        maxAttributeValueLength);
   }
 
   /**
@@ -82,6 +86,36 @@ public abstract class SpanLimits {
    */
   public abstract int getMaxNumberOfAttributesPerLink();
 
+  /**
+   * Returns the max number of stack frames rendered for each exception in the {@code
+   * exception.stacktrace} attribute of events recorded by {@link Span#recordException(Throwable)}.
+   *
+   * @return the max number of stack frames rendered for each exception.
+   */
+  public int getMaxExceptionStackTraceDepth() {
+    return SpanLimitsBuilder.DEFAULT_MAX_EXCEPTION_STACK_TRACE_DEPTH;
+  }
+
+  /**
+   * Returns the max length of the {@code exception.stacktrace} attribute of events recorded by
+   * {@link Span#recordException(Throwable)}.
+   *
+   * @return the max length of a rendered exception stack trace.
+   */
+  public int getMaxExceptionStackTraceLength() {
+    return SpanLimitsBuilder.DEFAULT_MAX_EXCEPTION_STACK_TRACE_LENGTH;
+  }
+
+  /**
+   * Returns the max length of string attribute values, and of each string of string array attribute
+   * values, of spans, events and links. Longer values are truncated when they are recorded.
+   *
+   * @return the max length of string attribute values.
+   */
+  public int getMaxAttributeValueLength() {
+    return SpanLimitsBuilder.DEFAULT_MAX_ATTRIBUTE_VALUE_LENGTH;
+  }
+
   /**
    * Returns a {@link SpanLimitsBuilder} initialized to the same property values as the current
    * instance.
@@ -95,6 +129,9 @@ public abstract class SpanLimits {
         .setMaxNumberOfEvents(getMaxNumberOfEvents())
         .setMaxNumberOfLinks(getMaxNumberOfLinks())
         .setMaxNumberOfAttributesPerEvent(getMaxNumberOfAttributesPerEvent())
-        .setMaxNumberOfAttributesPerLink(getMaxNumberOfAttributesPerLink());
+        .setMaxNumberOfAttributesPerLink(getMaxNumberOfAttributesPerLink())
+        .setMaxExceptionStackTraceDepth(getMaxExceptionStackTraceDepth())
+        .setMaxExceptionStackTraceLength(getMaxExceptionStackTraceLength())
+        .setMaxAttributeValueLength(getMaxAttributeValueLength());
   }
 }
@@ -16,12 +16,18 @@ public final class SpanLimitsBuilder {
   private static final int DEFAULT_SPAN_MAX_NUM_LINKS = 128;
   private static final int DEFAULT_SPAN_MAX_NUM_ATTRIBUTES_PER_EVENT = 128;
   private static final int DEFAULT_SPAN_MAX_NUM_ATTRIBUTES_PER_LINK = 128;
+  static final int DEFAULT_MAX_EXCEPTION_STACK_TRACE_DEPTH = Integer.MAX_VALUE;
+  static final int DEFAULT_MAX_EXCEPTION_STACK_TRACE_LENGTH = Integer.MAX_VALUE;
+  static final int DEFAULT_MAX_ATTRIBUTE_VALUE_LENGTH = Integer.MAX_VALUE;
 
   private int maxNumAttributes = DEFAULT_SPAN_MAX_NUM_ATTRIBUTES;
   private int maxNumEvents = DEFAULT_SPAN_MAX_NUM_EVENTS;
   private int maxNumLinks = DEFAULT_SPAN_MAX_NUM_LINKS;
   private int maxNumAttributesPerEvent = DEFAULT_SPAN_MAX_NUM_ATTRIBUTES_PER_EVENT;
   private int maxNumAttributesPerLink = DEFAULT_SPAN_MAX_NUM_ATTRIBUTES_PER_LINK;
+  private int maxExceptionStackTraceDepth = DEFAULT_MAX_EXCEPTION_STACK_TRACE_DEPTH;
+  private int maxExceptionStackTraceLength = DEFAULT_MAX_EXCEPTION_STACK_TRACE_LENGTH;
+  private int maxAttributeValueLength = DEFAULT_MAX_ATTRIBUTE_VALUE_LENGTH;
 
   SpanLimitsBuilder() {}
 
@@ -92,6 +98,53 @@ public final class SpanLimitsBuilder {
     return this;
   }
 
+  /**
+   * Sets the max number of stack frames rendered for each exception, including causes and
+   * suppressed exceptions, in the {@code exception.stacktrace} attribute of exception events. By
+   * default, the full stack trace is rendered.
+   *
+   * @param maxExceptionStackTraceDepth the max number of stack frames rendered for each exception.
+   *     It must be positive otherwise {@link #build()} will throw an exception.
+   * @return this.
+   */
+  public SpanLimitsBuilder setMaxExceptionStackTraceDepth(int maxExceptionStackTraceDepth) {
+    Utils.checkArgument(
+        maxExceptionStackTraceDepth > 0, "maxExceptionStackTraceDepth must be greater than 0");
+    this.maxExceptionStackTraceDepth = maxExceptionStackTraceDepth;
+    return this;
+  }
+
+  /**
+   * Sets the max length of the {@code exception.stacktrace} attribute of exception events, longer
+   * stack traces are truncated. By default, stack traces are not truncated.
+   *
+   * @param maxExceptionStackTraceLength the max length of a rendered stack trace. It must be
+   *     positive otherwise {@link #build()} will throw an exception.
+   * @return this.
+   */
+  public SpanLimitsBuilder setMaxExceptionStackTraceLength(int maxExceptionStackTraceLength) {
+    Utils.checkArgument(
+        maxExceptionStackTraceLength > 0, "maxExceptionStackTraceLength must be greater than 0");
+    this.maxExceptionStackTraceLength = maxExceptionStackTraceLength;
+    return this;
+  }
+
+  /**
+   * Sets the max length of string attribute values, and of each string of string array attribute
+   * values, of spans, events and links. Longer values are truncated once, when they are recorded,
+   * so that they are neither retained nor exported in full. By default, values are not truncated.
+   *
+   * @param maxAttributeValueLength the max length of string attribute values. It must be positive
+   *     otherwise {@link #build()} will throw an exception.
+   * @return this.
+   */
+  public SpanLimitsBuilder setMaxAttributeValueLength(int maxAttributeValueLength) {
+    Utils.checkArgument(
+        maxAttributeValueLength > 0, "maxAttributeValueLength must be greater than 0");
+    this.maxAttributeValueLength = maxAttributeValueLength;
+    return this;
+  }
+
   /** Builds and returns a {@link SpanLimits} with the values of this builder. */
   public SpanLimits build() {
     return SpanLimits.create(
@@ -99,6 +152,9 @@ public final class SpanLimitsBuilder {
         maxNumEvents,
         maxNumLinks,
         maxNumAttributesPerEvent,
-        maxNumAttributesPerLink);
+        maxNumAttributesPerLink,
+        maxExceptionStackTraceDepth,
+        maxExceptionStackTraceLength,
+        maxAttributeValueLength);
   }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import com.google.auto.value.AutoValue;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The {@link SpanLimits} built by {@link SpanLimitsBuilder}. {@link SpanLimits} itself is not an
+ * {@link AutoValue}, so that limits added to it later can be concrete methods returning their
+ * default, which existing subclasses inherit, and only be overridden here.
+ */
+@AutoValue
+@Immutable
+abstract class SpanLimitsValue extends SpanLimits {
+
+  @Override
+  public abstract int getMaxNumberOfAttributes();
+
+  @Override
+  public abstract int getMaxNumberOfEvents();
+
+  @Override
+  public abstract int getMaxNumberOfLinks();
+
+  @Override
+  public abstract int getMaxNumberOfAttributesPerEvent();
+
+  @Override
+  public abstract int getMaxNumberOfAttributesPerLink();
+
+  @Override
+  public abstract int getMaxExceptionStackTraceDepth();
+
+  @Override
+  public abstract int getMaxExceptionStackTraceLength();
+
+  @Override
+  public abstract int getMaxAttributeValueLength();
+}
@@ -25,6 +25,10 @@ public interface SpanProcessor extends Closeable {
   /**
    * Returns a {@link SpanProcessor} which simply delegates all processing to the {@code processors}
    * in order.
+   *
+   * <p>The processors are called in turn on the thread starting or ending the span. Wrap slow
+   * processors in an {@link io.opentelemetry.sdk.trace.export.AsyncSpanProcessor} to keep them from
+   * delaying the application and the others.
    */
   static SpanProcessor composite(SpanProcessor... processors) {
     return composite(Arrays.asList(processors));
@@ -33,6 +37,10 @@ public interface SpanProcessor extends Closeable {
   /**
    * Returns a {@link SpanProcessor} which simply delegates all processing to the {@code processors}
    * in order.
+   *
+   * <p>The processors are called in turn on the thread starting or ending the span. Wrap slow
+   * processors in an {@link io.opentelemetry.sdk.trace.export.AsyncSpanProcessor} to keep them from
+   * delaying the application and the others.
    */
   static SpanProcessor composite(Iterable<SpanProcessor> processors) {
     List<SpanProcessor> processorsList = new ArrayList<>();
@@ -0,0 +1,263 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import io.opentelemetry.api.internal.GuardedBy;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Renders the stack traces of exceptions recorded on spans. The most recently rendered stack traces
+ * are cached, keyed by the type, message and stack frames of the exception and its causes and by
+ * the limits, so an exception thrown over and over from the same place is only rendered once.
+ *
+ * <p>With an unlimited depth, stack traces are rendered exactly as by {@link
+ * Throwable#printStackTrace()}. Otherwise, at most {@code maxDepth} frames are rendered for each
+ * exception in the chain, followed by the number of omitted frames.
+ *
+ * <p>Stack traces are truncated to {@code maxLength} characters without splitting a surrogate pair,
+ * and only the truncated stack trace is kept. With a limited depth, rendering stops once {@code
+ * maxLength} characters are rendered. With an unlimited depth, {@link Throwable#printStackTrace()}
+ * still walks the whole chain, but the characters past the limit are discarded as they are written.
+ */
+@ThreadSafe
+final class StackTraceRenderer {
+
+  private static final int DEFAULT_CACHE_SIZE = 256;
+  private static final StackTraceRenderer INSTANCE = new StackTraceRenderer(DEFAULT_CACHE_SIZE);
+
+  private static final String LINE_SEPARATOR = System.lineSeparator();
+  // Markers delimiting the exceptions of a chain in a cache key.
+  private static final Object NO_CAUSE = new Object();
+  private static final Object CIRCULAR_REFERENCE = new Object();
+
+  @GuardedBy("cache")
+  private final Map<Key, String> cache;
+
+  /** Returns the {@link StackTraceRenderer} shared by all spans. */
+  static StackTraceRenderer getInstance() {
+    return INSTANCE;
+  }
+
+  StackTraceRenderer(int cacheSize) {
+    cache =
+        new LinkedHashMap<Key, String>(16, 0.75f, /* accessOrder= */ true) {
+          private static final long serialVersionUID = 0L;
+
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+            return size() > cacheSize;
+          }
+        };
+  }
+
+  /**
+   * Returns the stack trace of {@code throwable}, rendering at most {@code maxDepth} frames per
+   * exception and truncated to {@code maxLength} characters.
+   */
+  String render(Throwable throwable, int maxDepth, int maxLength) {
+    Key key = new Key(throwable, maxDepth, maxLength);
+    String rendered;
+    synchronized (cache) {
+      rendered = cache.get(key);
+    }
+    if (rendered == null) {
+      StringBuilder sb = new StringBuilder();
+      if (maxDepth == Integer.MAX_VALUE) {
+        printStackTrace(throwable, sb, maxLength);
+      } else {
+        printStackTrace(throwable, sb, maxDepth, maxLength);
+      }
+      rendered = truncate(sb, maxLength);
+      synchronized (cache) {
+        cache.put(key, rendered);
+      }
+    }
+    return rendered;
+  }
+
+  // Visible for testing
+  int cacheSize() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  // Does not split a surrogate pair, which would leave an invalid character.
+  private static String truncate(StringBuilder sb, int maxLength) {
+    if (sb.length() <= maxLength) {
+      return sb.toString();
+    }
+    int end = maxLength;
+    if (Character.isHighSurrogate(sb.charAt(end - 1))) {
+      end--;
+    }
+    return sb.substring(0, end);
+  }
+
+  private static void printStackTrace(Throwable throwable, StringBuilder sb, int maxLength) {
+    throwable.printStackTrace(new PrintWriter(new TruncatingWriter(sb, maxLength)));
+  }
+
+  private static void printStackTrace(
+      Throwable throwable, StringBuilder sb, int maxDepth, int maxLength) {
+    Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    appendThrowable(sb, throwable, "", "", maxDepth, maxLength, seen);
+  }
+
+  // Rendering stops once more than maxLength characters are rendered, which is enough to tell
+  // whether the last kept character starts a surrogate pair.
+  private static void appendThrowable(
+      StringBuilder sb,
+      Throwable throwable,
+      String caption,
+      String prefix,
+      int maxDepth,
+      int maxLength,
+      Set<Throwable> seen) {
+    if (sb.length() > maxLength) {
+      return;
+    }
+    if (!seen.add(throwable)) {
+      sb.append(prefix)
+          .append(caption)
+          .append("[CIRCULAR REFERENCE: ")
+          .append(throwable)
+          .append(']')
+          .append(LINE_SEPARATOR);
+      return;
+    }
+    sb.append(prefix).append(caption).append(throwable).append(LINE_SEPARATOR);
+    StackTraceElement[] trace = throwable.getStackTrace();
+    int depth = Math.min(trace.length, maxDepth);
+    for (int i = 0; i < depth; i++) {
+      if (sb.length() > maxLength) {
+        return;
+      }
+      sb.append(prefix).append("\tat ").append(trace[i]).append(LINE_SEPARATOR);
+    }
+    if (depth < trace.length) {
+      sb.append(prefix)
+          .append("\t... ")
+          .append(trace.length - depth)
+          .append(" more")
+          .append(LINE_SEPARATOR);
+    }
+    for (Throwable suppressed : throwable.getSuppressed()) {
+      appendThrowable(sb, suppressed, "Suppressed: ", prefix + "\t", maxDepth, maxLength, seen);
+    }
+    Throwable cause = throwable.getCause();
+    if (cause != null) {
+      appendThrowable(sb, cause, "Caused by: ", prefix, maxDepth, maxLength, seen);
+    }
+  }
+
+  /**
+   * Keeps the characters written to it up to one past the limit, like the depth-limited rendering,
+   * and discards the rest.
+   */
+  private static final class TruncatingWriter extends Writer {
+    private final StringBuilder sb;
+    private final int maxLength;
+
+    private TruncatingWriter(StringBuilder sb, int maxLength) {
+      this.sb = sb;
+      this.maxLength = maxLength;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+      long remaining = (long) maxLength + 1 - sb.length();
+      if (remaining > 0) {
+        sb.append(cbuf, off, (int) Math.min(len, remaining));
+      }
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+      long remaining = (long) maxLength + 1 - sb.length();
+      if (remaining > 0) {
+        sb.append(str, off, off + (int) Math.min(len, remaining));
+      }
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
+  }
+
+  /**
+   * Identifies a rendered stack trace by everything {@link Throwable#printStackTrace()} prints and
+   * the limits, which is much cheaper to compare than rendering the stack trace.
+   */
+  private static final class Key {
+    private final int maxDepth;
+    private final int maxLength;
+    private final Object[] parts;
+    private final int hashCode;
+
+    private Key(Throwable throwable, int maxDepth, int maxLength) {
+      this.maxDepth = maxDepth;
+      this.maxLength = maxLength;
+      List<Object> parts = new ArrayList<>();
+      addParts(throwable, parts, Collections.newSetFromMap(new IdentityHashMap<>()));
+      this.parts = parts.toArray();
+      this.hashCode = 31 * (31 * maxDepth + maxLength) + Arrays.deepHashCode(this.parts);
+    }
+
+    private static void addParts(Throwable throwable, List<Object> parts, Set<Throwable> seen) {
+      if (!seen.add(throwable)) {
+        parts.add(CIRCULAR_REFERENCE);
+        parts.add(throwable.toString());
+        return;
+      }
+      parts.add(throwable.toString());
+      parts.add(throwable.getStackTrace());
+      Throwable[] suppressed = throwable.getSuppressed();
+      parts.add(suppressed.length);
+      for (Throwable s : suppressed) {
+        addParts(s, parts, seen);
+      }
+      Throwable cause = throwable.getCause();
+      if (cause == null) {
+        parts.add(NO_CAUSE);
+      } else {
+        addParts(cause, parts, seen);
+      }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) o;
+      return maxDepth == that.maxDepth
+          && maxLength == that.maxLength
+          && hashCode == that.hashCode
+          && Arrays.deepEquals(parts, that.parts);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import com.google.auto.value.AutoValue;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The configuration of the {@link Tracer}s of an instrumentation library, returned by the function
+ * set with {@link SdkTracerProviderBuilder#setTracerConfigurator(Function)}. It is resolved once,
+ * when the {@link Tracer} is created.
+ *
+ * <p>A disabled {@link Tracer} only creates non-recording spans which propagate the parent span
+ * context, without calling the {@link Sampler}, the {@link SpanProcessor}s or the {@link
+ * IdGenerator}.
+ */
+@AutoValue
+@Immutable
+public abstract class TracerConfig {
+
+  private static final TracerConfig DEFAULT = new TracerConfigBuilder().build();
+  private static final TracerConfig DISABLED = new TracerConfigBuilder().setEnabled(false).build();
+
+  /** Returns the default {@link TracerConfig}, which uses the settings of the provider. */
+  public static TracerConfig getDefault() {
+    return DEFAULT;
+  }
+
+  /** Returns a {@link TracerConfig} disabling the {@link Tracer}. */
+  public static TracerConfig disabled() {
+    return DISABLED;
+  }
+
+  /** Returns a new {@link TracerConfigBuilder} to construct a {@link TracerConfig}. */
+  public static TracerConfigBuilder builder() {
+    return new TracerConfigBuilder();
+  }
+
+  static TracerConfig create(
+      boolean enabled, @Nullable Sampler sampler, @Nullable SpanLimits spanLimits) {
+    return new AutoValue_TracerConfig(enabled, sampler, spanLimits);
+  }
+
+  /**
+   * Returns whether the {@link Tracer} creates spans.
+   *
+   * @return whether the {@link Tracer} creates spans.
+   */
+  public abstract boolean isEnabled();
+
+  /**
+   * Returns the {@link Sampler} of the {@link Tracer}, or {@code null} to use the sampler of the
+   * provider.
+   *
+   * @return the {@link Sampler} of the {@link Tracer}.
+   */
+  @Nullable
+  public abstract Sampler getSampler();
+
+  /**
+   * Returns the {@link SpanLimits} of the {@link Tracer}, or {@code null} to use the limits of the
+   * provider.
+   *
+   * @return the {@link SpanLimits} of the {@link Tracer}.
+   */
+  @Nullable
+  public abstract SpanLimits getSpanLimits();
+
+  /**
+   * Returns a {@link TracerConfigBuilder} initialized to the same property values as the current
+   * instance.
+   *
+   * @return a {@link TracerConfigBuilder} initialized to the same property values as the current
+   *     instance.
+   */
+  public TracerConfigBuilder toBuilder() {
+    TracerConfigBuilder builder = new TracerConfigBuilder().setEnabled(isEnabled());
+    Sampler sampler = getSampler();
+    if (sampler != null) {
+      builder.setSampler(sampler);
+    }
+    SpanLimits spanLimits = getSpanLimits();
+    if (spanLimits != null) {
+      builder.setSpanLimits(spanLimits);
+    }
+    return builder;
+  }
+}
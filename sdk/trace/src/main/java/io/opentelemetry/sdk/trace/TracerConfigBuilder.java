@@ -0,0 +1,60 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import javax.annotation.Nullable;
+
+/** Builder for {@link TracerConfig}. */
+public final class TracerConfigBuilder {
+
+  private boolean enabled = true;
+  @Nullable private Sampler sampler;
+  @Nullable private SpanLimits spanLimits;
+
+  TracerConfigBuilder() {}
+
+  /**
+   * Sets whether the {@link Tracer} creates spans. By default, it does.
+   *
+   * @param enabled whether the {@link Tracer} creates spans.
+   * @return this.
+   */
+  public TracerConfigBuilder setEnabled(boolean enabled) {
+    this.enabled = enabled;
+    return this;
+  }
+
+  /**
+   * Sets the {@link Sampler} of the {@link Tracer}, overriding the sampler of the provider.
+   *
+   * @param sampler the {@link Sampler} of the {@link Tracer}.
+   * @return this.
+   */
+  public TracerConfigBuilder setSampler(Sampler sampler) {
+    this.sampler = requireNonNull(sampler, "sampler");
+    return this;
+  }
+
+  /**
+   * Sets the {@link SpanLimits} of the {@link Tracer}, overriding the limits of the provider.
+   *
+   * @param spanLimits the {@link SpanLimits} of the {@link Tracer}.
+   * @return this.
+   */
+  public TracerConfigBuilder setSpanLimits(SpanLimits spanLimits) {
+    this.spanLimits = requireNonNull(spanLimits, "spanLimits");
+    return this;
+  }
+
+  /** Builds and returns a {@link TracerConfig} with the values of this builder. */
+  public TracerConfig build() {
+    return TracerConfig.create(enabled, sampler, spanLimits);
+  }
+}
@@ -22,6 +22,7 @@ final class TracerSharedState {
 
   private final Supplier<SpanLimits> spanLimitsSupplier;
   private final Sampler sampler;
+  private final boolean sampleBeforeAttributes;
   private final SpanProcessor activeSpanProcessor;
 
   @Nullable private volatile CompletableResultCode shutdownResult = null;
@@ -38,6 +39,8 @@ final class TracerSharedState {
     this.resource = resource;
     this.spanLimitsSupplier = spanLimitsSupplier;
     this.sampler = sampler;
+    // Cached, it is checked for every span with attributes or links.
+    this.sampleBeforeAttributes = sampler.canSampleBeforeAttributes();
     activeSpanProcessor = SpanProcessor.composite(spanProcessors);
   }
 
@@ -63,6 +66,11 @@ final class TracerSharedState {
     return sampler;
   }
 
+  /** Returns whether the {@link Sampler} can sample spans before their attributes are set. */
+  boolean isSampleBeforeAttributes() {
+    return sampleBeforeAttributes;
+  }
+
   /**
    * Returns the active {@code SpanProcessor}.
    *
@@ -0,0 +1,85 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+/**
+ * Chooses the export batch size and schedule delay of a {@link BatchSpanProcessor} worker based on
+ * the outcome of previous exports. The values always stay within the configured limits and start
+ * at the maximums, which is the behavior of a non-adaptive processor.
+ *
+ * <p>After every export:
+ *
+ * <ul>
+ *   <li>If the export failed, the batch size is halved and the delay doubled, to relieve a
+ *       struggling backend.
+ *   <li>If at least a full batch is still queued, the batch size is doubled and the delay halved,
+ *       but never below the latency of the export that just finished, so the queue drains before it
+ *       overflows.
+ *   <li>If the batch was less than a quarter full, the delay is doubled, so that low load results
+ *       in fewer, larger exports.
+ * </ul>
+ *
+ * <p>Updates only happen on the worker thread, the values are volatile so they can be observed as
+ * metrics.
+ */
+final class AdaptiveExportScheduler {
+
+  private final int minExportBatchSize;
+  private final int maxExportBatchSize;
+  private final long minScheduleDelayNanos;
+  private final long maxScheduleDelayNanos;
+
+  private volatile int exportBatchSize;
+  private volatile long scheduleDelayNanos;
+
+  AdaptiveExportScheduler(
+      int minExportBatchSize,
+      int maxExportBatchSize,
+      long minScheduleDelayNanos,
+      long maxScheduleDelayNanos) {
+    this.minExportBatchSize = minExportBatchSize;
+    this.maxExportBatchSize = maxExportBatchSize;
+    this.minScheduleDelayNanos = minScheduleDelayNanos;
+    this.maxScheduleDelayNanos = maxScheduleDelayNanos;
+    this.exportBatchSize = maxExportBatchSize;
+    this.scheduleDelayNanos = maxScheduleDelayNanos;
+  }
+
+  int getExportBatchSize() {
+    return exportBatchSize;
+  }
+
+  long getScheduleDelayNanos() {
+    return scheduleDelayNanos;
+  }
+
+  /**
+   * Records the outcome of an export.
+   *
+   * @param exportedBatchSize the number of spans in the exported batch.
+   * @param queueSize the number of spans still queued once the export finished.
+   * @param exportLatencyNanos the time the export took.
+   * @param success whether the export succeeded.
+   */
+  void onExport(int exportedBatchSize, int queueSize, long exportLatencyNanos, boolean success) {
+    int batchSize = exportBatchSize;
+    long delayNanos = scheduleDelayNanos;
+    if (!success) {
+      exportBatchSize = Math.max(minExportBatchSize, batchSize / 2);
+      scheduleDelayNanos = Math.min(maxScheduleDelayNanos, saturatedDouble(delayNanos));
+    } else if (queueSize >= batchSize) {
+      exportBatchSize = (int) Math.min(maxExportBatchSize, 2L * batchSize);
+      long floorNanos = Math.min(maxScheduleDelayNanos, exportLatencyNanos);
+      scheduleDelayNanos = Math.max(Math.max(minScheduleDelayNanos, floorNanos), delayNanos / 2);
+    } else if (exportedBatchSize < batchSize / 4) {
+      scheduleDelayNanos = Math.min(maxScheduleDelayNanos, saturatedDouble(delayNanos));
+    }
+  }
+
+  private static long saturatedDouble(long value) {
+    return value > Long.MAX_VALUE / 2 ? Long.MAX_VALUE : value * 2;
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link SpanExporter} which exports batches with a delegate on a dedicated thread, through a
+ * bounded queue. This isolates the caller and the other exporters of a {@link
+ * SpanExporter#composite(SpanExporter...) composite} from a slow or blocking exporter.
+ *
+ * <p>The result of {@link #export(Collection)} completes as soon as the batch is queued, and fails
+ * if the queue is full, in which case the batch is dropped. Failures of the delegate are only
+ * logged. {@link #flush()} completes once the queued batches have been exported.
+ */
+public final class AsyncSpanExporter implements SpanExporter {
+
+  private static final Logger logger = Logger.getLogger(AsyncSpanExporter.class.getName());
+
+  private static final String WORKER_THREAD_NAME =
+      AsyncSpanExporter.class.getSimpleName() + "_WorkerThread";
+
+  private final SpanExporter delegate;
+  private final long exporterTimeoutNanos;
+  private final IsolatedWorker worker;
+  private final AtomicBoolean isShutdown = new AtomicBoolean(false);
+
+  /**
+   * Returns a new Builder for {@link AsyncSpanExporter}.
+   *
+   * @param delegate the {@link SpanExporter} to call on a dedicated thread.
+   * @return a new {@link AsyncSpanExporterBuilder}.
+   * @throws NullPointerException if the {@code delegate} is {@code null}.
+   */
+  public static AsyncSpanExporterBuilder builder(SpanExporter delegate) {
+    return new AsyncSpanExporterBuilder(delegate);
+  }
+
+  AsyncSpanExporter(SpanExporter delegate, int maxQueueSize, long exporterTimeoutNanos) {
+    this.delegate = delegate;
+    this.exporterTimeoutNanos = exporterTimeoutNanos;
+    this.worker = new IsolatedWorker(WORKER_THREAD_NAME, maxQueueSize);
+  }
+
+  @Override
+  public CompletableResultCode export(Collection<SpanData> spans) {
+    // Copied, callers like the BatchSpanProcessor reuse the collection once the result completes.
+    List<SpanData> batch = new ArrayList<>(spans);
+    if (!worker.tryExecute(() -> exportBatch(batch))) {
+      logger.log(Level.FINE, "Dropped a batch of " + batch.size() + " spans, the queue is full.");
+      return CompletableResultCode.ofFailure();
+    }
+    return CompletableResultCode.ofSuccess();
+  }
+
+  private void exportBatch(List<SpanData> batch) {
+    CompletableResultCode result = delegate.export(batch);
+    // Waiting bounds the number of batches the delegate exports concurrently.
+    result.join(exporterTimeoutNanos, TimeUnit.NANOSECONDS);
+    if (!result.isSuccess()) {
+      logger.log(Level.FINE, "Exporter failed");
+    }
+  }
+
+  /**
+   * Flushes the delegate once the batches queued so far have been exported.
+   *
+   * @return the result of the delegate's flush.
+   */
+  @Override
+  public CompletableResultCode flush() {
+    return worker.execute(delegate::flush);
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    if (isShutdown.getAndSet(true)) {
+      return CompletableResultCode.ofSuccess();
+    }
+    CompletableResultCode result = worker.execute(delegate::shutdown);
+    worker.shutdown();
+    return result;
+  }
+
+  // Visible for testing
+  int getQueueSize() {
+    return worker.getQueueSize();
+  }
+}
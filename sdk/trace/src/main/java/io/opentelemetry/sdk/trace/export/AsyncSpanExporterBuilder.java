@@ -0,0 +1,79 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/** Builder class for {@link AsyncSpanExporter}. */
+public final class AsyncSpanExporterBuilder {
+
+  // Visible for testing
+  static final int DEFAULT_MAX_QUEUE_SIZE = 16;
+  // Visible for testing
+  static final int DEFAULT_EXPORT_TIMEOUT_MILLIS = 30_000;
+
+  private final SpanExporter delegate;
+  private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+  private long exporterTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_EXPORT_TIMEOUT_MILLIS);
+
+  AsyncSpanExporterBuilder(SpanExporter delegate) {
+    this.delegate = requireNonNull(delegate, "delegate");
+  }
+
+  /**
+   * Sets the maximum number of batches queued for the delegate. Batches exported while the queue is
+   * full are dropped. If unset, defaults to {@value DEFAULT_MAX_QUEUE_SIZE}.
+   */
+  public AsyncSpanExporterBuilder setMaxQueueSize(int maxQueueSize) {
+    checkArgument(maxQueueSize > 0, "maxQueueSize must be positive.");
+    this.maxQueueSize = maxQueueSize;
+    return this;
+  }
+
+  // Visible for testing
+  int getMaxQueueSize() {
+    return maxQueueSize;
+  }
+
+  /**
+   * Sets the maximum time to wait for the delegate to export a batch before exporting the next one.
+   * If unset, defaults to {@value DEFAULT_EXPORT_TIMEOUT_MILLIS}ms.
+   */
+  public AsyncSpanExporterBuilder setExporterTimeout(long timeout, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(timeout >= 0, "timeout must be non-negative");
+    exporterTimeoutNanos = unit.toNanos(timeout);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time to wait for the delegate to export a batch before exporting the next one.
+   * If unset, defaults to {@value DEFAULT_EXPORT_TIMEOUT_MILLIS}ms.
+   */
+  public AsyncSpanExporterBuilder setExporterTimeout(Duration timeout) {
+    requireNonNull(timeout, "timeout");
+    return setExporterTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  // Visible for testing
+  long getExporterTimeoutNanos() {
+    return exporterTimeoutNanos;
+  }
+
+  /**
+   * Returns a new {@link AsyncSpanExporter} which exports batches with the delegate on a dedicated
+   * thread.
+   *
+   * @return a new {@link AsyncSpanExporter}.
+   */
+  public AsyncSpanExporter build() {
+    return new AsyncSpanExporter(delegate, maxQueueSize, exporterTimeoutNanos);
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import io.opentelemetry.api.metrics.BoundLongCounter;
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link SpanProcessor} which calls {@link SpanProcessor#onEnd(ReadableSpan)} of a delegate on a
+ * dedicated thread, through a bounded queue. This isolates the application and the other processors
+ * of a {@link SpanProcessor#composite(SpanProcessor...) composite} from a slow processor, for
+ * example a {@link SimpleSpanProcessor} with a synchronous exporter. Spans ending while the queue
+ * is full are dropped.
+ *
+ * <p>{@link SpanProcessor#onStart(Context, ReadWriteSpan)} of the delegate is still called on the
+ * thread starting the span, as the span may only be modified until it is started.
+ *
+ * <p>Processors which already hand spans off to another thread, like the {@link
+ * BatchSpanProcessor}, do not need to be wrapped.
+ */
+public final class AsyncSpanProcessor implements SpanProcessor {
+
+  private static final String WORKER_THREAD_NAME =
+      AsyncSpanProcessor.class.getSimpleName() + "_WorkerThread";
+  private static final String SPAN_PROCESSOR_TYPE_LABEL = "spanProcessorType";
+  private static final String SPAN_PROCESSOR_TYPE_VALUE = AsyncSpanProcessor.class.getSimpleName();
+  private static final Labels SPAN_PROCESSOR_LABELS =
+      Labels.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE);
+  private static final Labels SPAN_PROCESSOR_DROPPED_LABELS =
+      Labels.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE, "dropped", "true");
+
+  private final SpanProcessor delegate;
+  private final boolean startRequired;
+  private final boolean endRequired;
+  private final IsolatedWorker worker;
+  private final BoundLongCounter droppedSpans;
+  private final AtomicBoolean isShutdown = new AtomicBoolean(false);
+
+  /**
+   * Returns a new Builder for {@link AsyncSpanProcessor}.
+   *
+   * @param delegate the {@link SpanProcessor} to call on a dedicated thread.
+   * @return a new {@link AsyncSpanProcessorBuilder}.
+   * @throws NullPointerException if the {@code delegate} is {@code null}.
+   */
+  public static AsyncSpanProcessorBuilder builder(SpanProcessor delegate) {
+    return new AsyncSpanProcessorBuilder(delegate);
+  }
+
+  AsyncSpanProcessor(SpanProcessor delegate, int maxQueueSize) {
+    this.delegate = delegate;
+    // Cached, they are called for every span.
+    this.startRequired = delegate.isStartRequired();
+    this.endRequired = delegate.isEndRequired();
+    this.worker = new IsolatedWorker(WORKER_THREAD_NAME, maxQueueSize);
+    Meter meter = GlobalMeterProvider.getMeter("io.opentelemetry.sdk.trace");
+    meter
+        .longValueObserverBuilder("queueSize")
+        .setDescription("The number of spans queued")
+        .setUnit("1")
+        .setUpdater(result -> result.observe(worker.getQueueSize(), SPAN_PROCESSOR_LABELS))
+        .build();
+    droppedSpans =
+        meter
+            .longCounterBuilder("processedSpans")
+            .setUnit("1")
+            .setDescription(
+                "The number of spans processed by the AsyncSpanProcessor. "
+                    + "[dropped=true if they were dropped because the queue was full]")
+            .build()
+            .bind(SPAN_PROCESSOR_DROPPED_LABELS);
+  }
+
+  @Override
+  public void onStart(Context parentContext, ReadWriteSpan span) {
+    delegate.onStart(parentContext, span);
+  }
+
+  @Override
+  public boolean isStartRequired() {
+    return startRequired;
+  }
+
+  @Override
+  public void onEnd(ReadableSpan span) {
+    if (!worker.tryExecute(() -> delegate.onEnd(span))) {
+      droppedSpans.add(1);
+    }
+  }
+
+  @Override
+  public boolean isEndRequired() {
+    return endRequired;
+  }
+
+  /**
+   * Flushes the delegate once the spans queued so far have been passed to it.
+   *
+   * @return the result of the delegate's flush.
+   */
+  @Override
+  public CompletableResultCode forceFlush() {
+    return worker.execute(delegate::forceFlush);
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    if (isShutdown.getAndSet(true)) {
+      return CompletableResultCode.ofSuccess();
+    }
+    CompletableResultCode result = worker.execute(delegate::shutdown);
+    worker.shutdown();
+    return result;
+  }
+
+  // Visible for testing
+  int getQueueSize() {
+    return worker.getQueueSize();
+  }
+}
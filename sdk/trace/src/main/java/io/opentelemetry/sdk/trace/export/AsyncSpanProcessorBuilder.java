@@ -0,0 +1,50 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+/** Builder class for {@link AsyncSpanProcessor}. */
+public final class AsyncSpanProcessorBuilder {
+
+  // Visible for testing
+  static final int DEFAULT_MAX_QUEUE_SIZE = 2048;
+
+  private final SpanProcessor delegate;
+  private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+
+  AsyncSpanProcessorBuilder(SpanProcessor delegate) {
+    this.delegate = requireNonNull(delegate, "delegate");
+  }
+
+  /**
+   * Sets the maximum number of ended spans queued for the delegate. Spans ending while the queue is
+   * full are dropped. If unset, defaults to {@value DEFAULT_MAX_QUEUE_SIZE}.
+   */
+  public AsyncSpanProcessorBuilder setMaxQueueSize(int maxQueueSize) {
+    checkArgument(maxQueueSize > 0, "maxQueueSize must be positive.");
+    this.maxQueueSize = maxQueueSize;
+    return this;
+  }
+
+  // Visible for testing
+  int getMaxQueueSize() {
+    return maxQueueSize;
+  }
+
+  /**
+   * Returns a new {@link AsyncSpanProcessor} which passes ended spans to the delegate on a
+   * dedicated thread.
+   *
+   * @return a new {@link AsyncSpanProcessor}.
+   */
+  public AsyncSpanProcessor build() {
+    return new AsyncSpanProcessor(delegate, maxQueueSize);
+  }
+}
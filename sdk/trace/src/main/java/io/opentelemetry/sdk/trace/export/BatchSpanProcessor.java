@@ -12,41 +12,73 @@ import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.common.Labels;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.CompletableResultCode;
-import io.opentelemetry.sdk.internal.DaemonThreadFactory;
 import io.opentelemetry.sdk.trace.ReadWriteSpan;
 import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.SpanProcessor;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.internal.JcTools;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * Implementation of the {@link SpanProcessor} that batches spans exported by the SDK then pushes
  * them to the exporter pipeline.
  *
  * <p>All spans reported by the SDK implementation are first added to a synchronized queue (with a
- * {@code maxQueueSize} maximum size, if queue is full spans are dropped). Spans are exported either
- * when there are {@code maxExportBatchSize} pending spans or {@code scheduleDelayNanos} has passed
- * since the last export finished.
+ * {@code maxQueueSize} maximum size, if queue is full the {@link OverflowPolicy} is applied, which
+ * by default drops the span). Spans are exported either when there are {@code maxExportBatchSize}
+ * pending spans or {@code scheduleDelayNanos} has passed since the last export started.
+ *
+ * <p>Up to {@code maxConcurrentExports} exports may be in flight at the same time. While exports
+ * are in flight the worker keeps filling the next batch; once the limit is reached it waits for
+ * the oldest export to complete or time out before starting another one, which in turn lets the
+ * queue fill up and eventually drop spans.
+ *
+ * <p>When configured with more than one shard (see {@link
+ * BatchSpanProcessorBuilder#setShardCount(int)}), the queue is split into that many independent
+ * queues, each drained by its own worker thread. Spans are routed to a shard by their trace id, so
+ * all spans of a trace that end in this process are exported in batches of the same shard. All
+ * shards export to the same {@link SpanExporter}, which must therefore accept concurrent calls to
+ * {@link SpanExporter#export(java.util.Collection)}.
+ *
+ * <p>Each worker runs until the processor is shut down, on a thread of the {@link Executor} set
+ * with {@link BatchSpanProcessorBuilder#setExecutor(Executor)}. By default a new thread is started
+ * per worker, a virtual thread on Java 21 and later.
  */
 public final class BatchSpanProcessor implements SpanProcessor {
 
-  private static final String WORKER_THREAD_NAME =
+  // Visible for testing
+  static final String WORKER_THREAD_NAME =
       BatchSpanProcessor.class.getSimpleName() + "_WorkerThread";
   private static final String SPAN_PROCESSOR_TYPE_LABEL = "spanProcessorType";
   private static final String SPAN_PROCESSOR_TYPE_VALUE = BatchSpanProcessor.class.getSimpleName();
-
-  private final Worker worker;
+  private static final long MIN_BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+  private static final long MAX_BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  // With DROP_OLDEST, other producers may refill the room made by evicting a span, so the ended
+  // span is dropped after this many evictions instead of spinning.
+  private static final int MAX_DROP_OLDEST_ATTEMPTS = 8;
+
+  private final List<Worker> workers;
+  private final SpanExporter spanExporter;
+  @Nullable private final SpanExporter spillExporter;
+  @Nullable private final Spiller spiller;
   private final AtomicBoolean isShutdown = new AtomicBoolean(false);
 
   /**
@@ -65,16 +97,134 @@ public final class BatchSpanProcessor implements SpanProcessor {
       long scheduleDelayNanos,
       int maxQueueSize,
       int maxExportBatchSize,
-      long exporterTimeoutNanos) {
-    this.worker =
-        new Worker(
-            spanExporter,
-            scheduleDelayNanos,
-            maxExportBatchSize,
-            exporterTimeoutNanos,
-            JcTools.newMpscArrayQueue(maxQueueSize));
-    Thread workerThread = new DaemonThreadFactory(WORKER_THREAD_NAME).newThread(worker);
-    workerThread.start();
+      long exporterTimeoutNanos,
+      int maxConcurrentExports,
+      int shardCount,
+      OverflowPolicy overflowPolicy,
+      long blockTimeoutNanos,
+      @Nullable SpanExporter spillExporter,
+      boolean adaptiveBatching,
+      int minExportBatchSize,
+      long minScheduleDelayNanos,
+      Executor executor) {
+    this.spanExporter = spanExporter;
+    this.spillExporter = spillExporter;
+
+    Meter meter = GlobalMeterProvider.getMeter("io.opentelemetry.sdk.trace");
+    LongCounter processedSpansCounter =
+        meter
+            .longCounterBuilder("processedSpans")
+            .setUnit("1")
+            .setDescription(
+                "The number of spans processed by the BatchSpanProcessor. "
+                    + "[dropped=true if they were dropped due to high throughput]")
+            .build();
+    BoundLongCounter droppedSpans =
+        processedSpansCounter.bind(
+            Labels.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE, "dropped", "true"));
+    BoundLongCounter exportedSpans =
+        processedSpansCounter.bind(
+            Labels.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE, "dropped", "false"));
+    BoundLongCounter overflowedSpans =
+        meter
+            .longCounterBuilder("overflowedSpans")
+            .setUnit("1")
+            .setDescription(
+                "The number of spans that found the BatchSpanProcessor queue full. "
+                    + "[policy is the overflow policy that was applied]")
+            .build()
+            .bind(
+                Labels.of(
+                    SPAN_PROCESSOR_TYPE_LABEL,
+                    SPAN_PROCESSOR_TYPE_VALUE,
+                    "policy",
+                    overflowPolicy.name().toLowerCase(Locale.ROOT)));
+
+    this.spiller =
+        overflowPolicy == OverflowPolicy.SPILL && spillExporter != null
+            ? new Spiller(
+                spillExporter,
+                maxQueueSize,
+                maxExportBatchSize,
+                exporterTimeoutNanos,
+                executor,
+                droppedSpans,
+                exportedSpans)
+            : null;
+
+    // Each shard gets an equal part of the queue, so the total memory bound stays the same
+    // regardless of the number of shards.
+    int shardQueueSize = Math.max(1, (maxQueueSize + shardCount - 1) / shardCount);
+    List<Worker> workers = new ArrayList<>(shardCount);
+    for (int i = 0; i < shardCount; i++) {
+      AdaptiveExportScheduler adaptiveScheduler =
+          adaptiveBatching
+              ? new AdaptiveExportScheduler(
+                  minExportBatchSize, maxExportBatchSize, minScheduleDelayNanos, scheduleDelayNanos)
+              : null;
+      Worker worker =
+          new Worker(
+              spanExporter,
+              scheduleDelayNanos,
+              maxExportBatchSize,
+              exporterTimeoutNanos,
+              maxConcurrentExports,
+              // Dropping the oldest span means polling from producer threads.
+              overflowPolicy == OverflowPolicy.DROP_OLDEST
+                  ? JcTools.newMpmcArrayQueue(shardQueueSize)
+                  : JcTools.newMpscArrayQueue(shardQueueSize),
+              overflowPolicy,
+              blockTimeoutNanos,
+              spiller,
+              adaptiveScheduler,
+              droppedSpans,
+              exportedSpans,
+              overflowedSpans);
+      workers.add(worker);
+      executor.execute(worker);
+    }
+    this.workers = Collections.unmodifiableList(workers);
+
+    meter
+        .longValueObserverBuilder("queueSize")
+        .setDescription("The number of spans queued")
+        .setUnit("1")
+        .setUpdater(
+            result ->
+                result.observe(
+                    queueSize(), Labels.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE)))
+        .build();
+    if (adaptiveBatching) {
+      meter
+          .longValueObserverBuilder("exportBatchSize")
+          .setDescription("The export batch size currently chosen by the adaptive scheduler")
+          .setUnit("1")
+          .setUpdater(
+              result -> {
+                for (int i = 0; i < this.workers.size(); i++) {
+                  result.observe(this.workers.get(i).exportBatchSize(), shardLabels(i));
+                }
+              })
+          .build();
+      meter
+          .longValueObserverBuilder("scheduleDelay")
+          .setDescription("The schedule delay currently chosen by the adaptive scheduler")
+          .setUnit("ms")
+          .setUpdater(
+              result -> {
+                for (int i = 0; i < this.workers.size(); i++) {
+                  result.observe(
+                      TimeUnit.NANOSECONDS.toMillis(this.workers.get(i).scheduleDelayNanos()),
+                      shardLabels(i));
+                }
+              })
+          .build();
+    }
+  }
+
+  private static Labels shardLabels(int shard) {
+    return Labels.of(
+        SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE, "shard", String.valueOf(shard));
   }
 
   @Override
@@ -90,7 +240,7 @@ public final class BatchSpanProcessor implements SpanProcessor {
     if (!span.getSpanContext().isSampled()) {
       return;
     }
-    worker.addSpan(span);
+    selectWorker(span).addSpan(span);
   }
 
   @Override
@@ -103,31 +253,90 @@ public final class BatchSpanProcessor implements SpanProcessor {
     if (isShutdown.getAndSet(true)) {
       return CompletableResultCode.ofSuccess();
     }
-    return worker.shutdown();
+    final CompletableResultCode result = new CompletableResultCode();
+
+    final CompletableResultCode flushResult = forceFlush();
+    flushResult.whenComplete(
+        () -> {
+          for (Worker worker : workers) {
+            worker.stop();
+          }
+          // Spans still being spilled are handed to the spill exporter before it is shut down.
+          final CompletableResultCode spillResult =
+              spiller == null ? CompletableResultCode.ofSuccess() : spiller.shutdown();
+          spillResult.whenComplete(
+              () -> {
+                final CompletableResultCode shutdownResult =
+                    spillExporter == null
+                        ? spanExporter.shutdown()
+                        : CompletableResultCode.ofAll(
+                            Arrays.asList(spanExporter.shutdown(), spillExporter.shutdown()));
+                shutdownResult.whenComplete(
+                    () -> {
+                      if (!flushResult.isSuccess() || !shutdownResult.isSuccess()) {
+                        result.fail();
+                      } else {
+                        result.succeed();
+                      }
+                    });
+              });
+        });
+
+    return result;
   }
 
   @Override
   public CompletableResultCode forceFlush() {
-    return worker.forceFlush();
+    if (workers.size() == 1) {
+      return workers.get(0).forceFlush();
+    }
+    List<CompletableResultCode> results = new ArrayList<>(workers.size());
+    for (Worker worker : workers) {
+      results.add(worker.forceFlush());
+    }
+    return CompletableResultCode.ofAll(results);
   }
 
   // Visible for testing
   ArrayList<SpanData> getBatch() {
-    return worker.batch;
+    return workers.get(0).batch;
+  }
+
+  private Worker selectWorker(ReadableSpan span) {
+    if (workers.size() == 1) {
+      return workers.get(0);
+    }
+    // The trace id string is shared by all spans of a trace, so its hash code is computed once and
+    // cached.
+    int hash = span.getSpanContext().getTraceId().hashCode();
+    return workers.get((hash & Integer.MAX_VALUE) % workers.size());
+  }
+
+  private long queueSize() {
+    long size = 0;
+    for (Worker worker : workers) {
+      size += worker.queue.size();
+    }
+    return size;
   }
 
   // Worker is a thread that batches multiple spans and calls the registered SpanExporter to export
-  // the data.
+  // the data. There is one worker per shard.
   private static final class Worker implements Runnable {
 
     private final BoundLongCounter droppedSpans;
     private final BoundLongCounter exportedSpans;
+    private final BoundLongCounter overflowedSpans;
 
     private static final Logger logger = Logger.getLogger(Worker.class.getName());
     private final SpanExporter spanExporter;
     private final long scheduleDelayNanos;
     private final int maxExportBatchSize;
     private final long exporterTimeoutNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    @Nullable private final Spiller spiller;
+    @Nullable private final AdaptiveExportScheduler adaptiveScheduler;
 
     private long nextExportTime;
 
@@ -142,59 +351,104 @@ public final class BatchSpanProcessor implements SpanProcessor {
     private final BlockingQueue<Boolean> signal;
     private final AtomicReference<CompletableResultCode> flushRequested = new AtomicReference<>();
     private volatile boolean continueWork = true;
-    private final ArrayList<SpanData> batch;
+    private final int maxConcurrentExports;
+    // Exports that were started but not yet accounted for, oldest first. Only accessed by the
+    // worker thread.
+    private final ArrayDeque<PendingExport> pendingExports;
+    // Batches of finished exports, cleared and ready to be filled again.
+    private final ArrayDeque<ArrayList<SpanData>> batchPool;
+    private ArrayList<SpanData> batch;
 
     private Worker(
         SpanExporter spanExporter,
         long scheduleDelayNanos,
         int maxExportBatchSize,
         long exporterTimeoutNanos,
-        Queue<ReadableSpan> queue) {
+        int maxConcurrentExports,
+        Queue<ReadableSpan> queue,
+        OverflowPolicy overflowPolicy,
+        long blockTimeoutNanos,
+        @Nullable Spiller spiller,
+        @Nullable AdaptiveExportScheduler adaptiveScheduler,
+        BoundLongCounter droppedSpans,
+        BoundLongCounter exportedSpans,
+        BoundLongCounter overflowedSpans) {
       this.spanExporter = spanExporter;
       this.scheduleDelayNanos = scheduleDelayNanos;
       this.maxExportBatchSize = maxExportBatchSize;
       this.exporterTimeoutNanos = exporterTimeoutNanos;
+      this.maxConcurrentExports = maxConcurrentExports;
       this.queue = queue;
+      this.overflowPolicy = overflowPolicy;
+      this.blockTimeoutNanos = blockTimeoutNanos;
+      this.spiller = spiller;
+      this.adaptiveScheduler = adaptiveScheduler;
       this.signal = new ArrayBlockingQueue<>(1);
-      Meter meter = GlobalMeterProvider.getMeter("io.opentelemetry.sdk.trace");
-      meter
-          .longValueObserverBuilder("queueSize")
-          .setDescription("The number of spans queued")
-          .setUnit("1")
-          .setUpdater(
-              result ->
-                  result.observe(
-                      queue.size(),
-                      Labels.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE)))
-          .build();
-      LongCounter processedSpansCounter =
-          meter
-              .longCounterBuilder("processedSpans")
-              .setUnit("1")
-              .setDescription(
-                  "The number of spans processed by the BatchSpanProcessor. "
-                      + "[dropped=true if they were dropped due to high throughput]")
-              .build();
-      droppedSpans =
-          processedSpansCounter.bind(
-              Labels.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE, "dropped", "true"));
-      exportedSpans =
-          processedSpansCounter.bind(
-              Labels.of(SPAN_PROCESSOR_TYPE_LABEL, SPAN_PROCESSOR_TYPE_VALUE, "dropped", "false"));
-
+      this.droppedSpans = droppedSpans;
+      this.exportedSpans = exportedSpans;
+      this.overflowedSpans = overflowedSpans;
+      this.pendingExports = new ArrayDeque<>(maxConcurrentExports);
+      this.batchPool = new ArrayDeque<>(maxConcurrentExports);
       this.batch = new ArrayList<>(this.maxExportBatchSize);
     }
 
     private void addSpan(ReadableSpan span) {
-      if (!queue.offer(span)) {
-        droppedSpans.add(1);
-      } else {
+      if (queue.offer(span) || offerOnOverflow(span)) {
         if (queue.size() >= spansNeeded.get()) {
           signal.offer(true);
         }
       }
     }
 
+    // Applies the overflow policy to a span that did not fit in the queue. Returns whether the span
+    // was queued in the end.
+    private boolean offerOnOverflow(ReadableSpan span) {
+      overflowedSpans.add(1);
+      switch (overflowPolicy) {
+        case DROP_OLDEST:
+          for (int i = 0; i < MAX_DROP_OLDEST_ATTEMPTS; i++) {
+            if (queue.poll() != null) {
+              droppedSpans.add(1);
+            }
+            if (queue.offer(span)) {
+              return true;
+            }
+          }
+          break;
+        case BLOCK:
+          if (awaitQueued(span)) {
+            return true;
+          }
+          break;
+        case SPILL:
+          if (spiller != null && spiller.spill(span)) {
+            return false;
+          }
+          break;
+        case DROP_NEWEST:
+          break;
+      }
+      droppedSpans.add(1);
+      return false;
+    }
+
+    private boolean awaitQueued(ReadableSpan span) {
+      long deadline = System.nanoTime() + blockTimeoutNanos;
+      long parkNanos = MIN_BLOCK_PARK_NANOS;
+      long remainingNanos = blockTimeoutNanos;
+      while (remainingNanos > 0 && !Thread.currentThread().isInterrupted()) {
+        // Make sure the worker is draining the queue rather than waiting for the next export.
+        signal.offer(true);
+        LockSupport.parkNanos(Math.min(parkNanos, remainingNanos));
+        if (queue.offer(span)) {
+          return true;
+        }
+        parkNanos = Math.min(2 * parkNanos, MAX_BLOCK_PARK_NANOS);
+        remainingNanos = deadline - System.nanoTime();
+      }
+      return false;
+    }
+
     @Override
     public void run() {
       updateNextExportTime();
@@ -203,10 +457,14 @@ public final class BatchSpanProcessor implements SpanProcessor {
         if (flushRequested.get() != null) {
           flush();
         }
-        while (!queue.isEmpty() && batch.size() < maxExportBatchSize) {
-          batch.add(queue.poll().toSpanData());
+        int exportBatchSize = exportBatchSize();
+        // With DROP_OLDEST, producers also poll the queue, so it may be empty by the time the
+        // worker polls it even if it was not a moment before.
+        ReadableSpan span;
+        while (batch.size() < exportBatchSize && (span = queue.poll()) != null) {
+          batch.add(span.toSpanData());
         }
-        if (batch.size() >= maxExportBatchSize || System.nanoTime() >= nextExportTime) {
+        if (batch.size() >= exportBatchSize || System.nanoTime() >= nextExportTime) {
           exportCurrentBatch();
           updateNextExportTime();
         }
@@ -214,7 +472,7 @@ public final class BatchSpanProcessor implements SpanProcessor {
           try {
             long pollWaitTime = nextExportTime - System.nanoTime();
             if (pollWaitTime > 0) {
-              spansNeeded.set(maxExportBatchSize - batch.size());
+              spansNeeded.set(exportBatchSize() - batch.size());
               signal.poll(pollWaitTime, TimeUnit.NANOSECONDS);
               spansNeeded.set(Integer.MAX_VALUE);
             }
@@ -227,44 +485,45 @@ public final class BatchSpanProcessor implements SpanProcessor {
     }
 
     private void flush() {
+      // Only flush the spans queued when the flush was requested, so that a steady flow of new
+      // spans cannot delay it forever, and stop early if producers polled some of them.
       int spansToFlush = queue.size();
-      while (spansToFlush > 0) {
-        ReadableSpan span = queue.poll();
-        assert span != null;
+      ReadableSpan span;
+      while (spansToFlush > 0 && (span = queue.poll()) != null) {
         batch.add(span.toSpanData());
         spansToFlush--;
-        if (batch.size() >= maxExportBatchSize) {
+        if (batch.size() >= exportBatchSize()) {
           exportCurrentBatch();
         }
       }
       exportCurrentBatch();
+      while (!pendingExports.isEmpty()) {
+        awaitOldestExport();
+      }
       flushRequested.get().succeed();
       flushRequested.set(null);
     }
 
     private void updateNextExportTime() {
-      nextExportTime = System.nanoTime() + scheduleDelayNanos;
+      nextExportTime = System.nanoTime() + scheduleDelayNanos();
     }
 
-    private CompletableResultCode shutdown() {
-      final CompletableResultCode result = new CompletableResultCode();
-
-      final CompletableResultCode flushResult = forceFlush();
-      flushResult.whenComplete(
-          () -> {
-            continueWork = false;
-            final CompletableResultCode shutdownResult = spanExporter.shutdown();
-            shutdownResult.whenComplete(
-                () -> {
-                  if (!flushResult.isSuccess() || !shutdownResult.isSuccess()) {
-                    result.fail();
-                  } else {
-                    result.succeed();
-                  }
-                });
-          });
-
-      return result;
+    private int exportBatchSize() {
+      return adaptiveScheduler != null
+          ? adaptiveScheduler.getExportBatchSize()
+          : maxExportBatchSize;
+    }
+
+    private long scheduleDelayNanos() {
+      return adaptiveScheduler != null
+          ? adaptiveScheduler.getScheduleDelayNanos()
+          : scheduleDelayNanos;
+    }
+
+    private void stop() {
+      continueWork = false;
+      // Return the thread to the executor now rather than after the schedule delay.
+      signal.offer(true);
     }
 
     private CompletableResultCode forceFlush() {
@@ -280,25 +539,215 @@ public final class BatchSpanProcessor implements SpanProcessor {
       return possibleResult == null ? CompletableResultCode.ofSuccess() : possibleResult;
     }
 
+    // Starts exporting the current batch and continues with an empty one. Blocks while the maximum
+    // number of exports is in flight, until the oldest completes or times out.
     private void exportCurrentBatch() {
+      reapCompletedExports();
       if (batch.isEmpty()) {
         return;
       }
+      while (pendingExports.size() >= maxConcurrentExports) {
+        awaitOldestExport();
+      }
 
+      ArrayList<SpanData> exportBatch = batch;
+      ArrayList<SpanData> nextBatch = batchPool.poll();
+      batch = nextBatch != null ? nextBatch : new ArrayList<>(maxExportBatchSize);
+      PendingExport pendingExport = new PendingExport(exportBatch, exporterTimeoutNanos);
       try {
-        final CompletableResultCode result =
-            spanExporter.export(Collections.unmodifiableList(batch));
+        pendingExport.start(spanExporter.export(Collections.unmodifiableList(exportBatch)));
+        pendingExports.add(pendingExport);
+      } catch (RuntimeException e) {
+        logger.log(Level.WARNING, "Exporter threw an Exception", e);
+        finishExport(pendingExport, /* success= */ false, /* recycleBatch= */ true);
+      }
+    }
+
+    private void reapCompletedExports() {
+      for (Iterator<PendingExport> it = pendingExports.iterator(); it.hasNext(); ) {
+        PendingExport pendingExport = it.next();
+        if (pendingExport.isDone()) {
+          it.remove();
+          finishExport(pendingExport, pendingExport.isSuccess(), /* recycleBatch= */ true);
+        }
+      }
+    }
+
+    private void awaitOldestExport() {
+      PendingExport oldest = pendingExports.removeFirst();
+      if (oldest.await()) {
+        finishExport(oldest, oldest.isSuccess(), /* recycleBatch= */ true);
+      } else {
+        // The exporter may still be reading the batch, so it cannot be reused.
+        finishExport(oldest, /* success= */ false, /* recycleBatch= */ false);
+      }
+    }
+
+    private void finishExport(PendingExport pendingExport, boolean success, boolean recycleBatch) {
+      ArrayList<SpanData> exportBatch = pendingExport.batch;
+      if (success) {
+        exportedSpans.add(exportBatch.size());
+      } else {
+        logger.log(Level.FINE, "Exporter failed");
+      }
+      if (adaptiveScheduler != null) {
+        adaptiveScheduler.onExport(
+            exportBatch.size(), queue.size(), pendingExport.getLatencyNanos(), success);
+      }
+      if (recycleBatch && batchPool.size() < maxConcurrentExports) {
+        exportBatch.clear();
+        batchPool.add(exportBatch);
+      }
+    }
+  }
+
+  // Hands spans that did not fit in the queue to the spill exporter. Spans are queued by the thread
+  // ending them and exported in batches by a task of the processor's executor, which runs while
+  // there are spans to spill.
+  private static final class Spiller {
+
+    private static final Logger logger = Logger.getLogger(Spiller.class.getName());
+
+    private final SpanExporter spillExporter;
+    private final Queue<ReadableSpan> queue;
+    private final int maxExportBatchSize;
+    private final long exporterTimeoutNanos;
+    private final Executor executor;
+    private final BoundLongCounter droppedSpans;
+    private final BoundLongCounter exportedSpans;
+    private final AtomicBoolean isDraining = new AtomicBoolean();
+    private final CompletableResultCode shutdownResult = new CompletableResultCode();
+    private volatile boolean isShutdown;
+
+    private Spiller(
+        SpanExporter spillExporter,
+        int maxQueueSize,
+        int maxExportBatchSize,
+        long exporterTimeoutNanos,
+        Executor executor,
+        BoundLongCounter droppedSpans,
+        BoundLongCounter exportedSpans) {
+      this.spillExporter = spillExporter;
+      this.queue = JcTools.newMpscArrayQueue(maxQueueSize);
+      this.maxExportBatchSize = maxExportBatchSize;
+      this.exporterTimeoutNanos = exporterTimeoutNanos;
+      this.executor = executor;
+      this.droppedSpans = droppedSpans;
+      this.exportedSpans = exportedSpans;
+    }
+
+    // Returns whether the span was queued to be spilled.
+    private boolean spill(ReadableSpan span) {
+      if (isShutdown || !queue.offer(span)) {
+        return false;
+      }
+      if (isDraining.compareAndSet(false, true)) {
+        try {
+          executor.execute(this::drain);
+        } catch (RuntimeException e) {
+          logger.log(Level.WARNING, "Could not start spilling spans", e);
+          isDraining.set(false);
+        }
+      }
+      return true;
+    }
+
+    // Spills the spans that are still queued, then completes once the spill exporter has been
+    // handed all of them.
+    private CompletableResultCode shutdown() {
+      isShutdown = true;
+      // Otherwise the running drain task completes the result once it is done.
+      if (isDraining.compareAndSet(false, true)) {
+        drain();
+      }
+      return shutdownResult;
+    }
+
+    private void drain() {
+      do {
+        exportQueued();
+        isDraining.set(false);
+      } while (!queue.isEmpty() && isDraining.compareAndSet(false, true));
+      if (isShutdown) {
+        shutdownResult.succeed();
+      }
+    }
+
+    private void exportQueued() {
+      ArrayList<SpanData> batch = new ArrayList<>(maxExportBatchSize);
+      ReadableSpan span;
+      while ((span = queue.poll()) != null) {
+        batch.add(span.toSpanData());
+        if (batch.size() >= maxExportBatchSize) {
+          export(batch);
+          batch = new ArrayList<>(maxExportBatchSize);
+        }
+      }
+      if (!batch.isEmpty()) {
+        export(batch);
+      }
+    }
+
+    // Waits for each spill export, up to the exporter timeout, so that spilling cannot pile up
+    // exports and its outcome is counted like a regular export.
+    private void export(List<SpanData> batch) {
+      try {
+        CompletableResultCode result = spillExporter.export(Collections.unmodifiableList(batch));
         result.join(exporterTimeoutNanos, TimeUnit.NANOSECONDS);
         if (result.isSuccess()) {
           exportedSpans.add(batch.size());
-        } else {
-          logger.log(Level.FINE, "Exporter failed");
+          return;
         }
+        logger.log(Level.FINE, "Spill exporter failed");
       } catch (RuntimeException e) {
-        logger.log(Level.WARNING, "Exporter threw an Exception", e);
-      } finally {
-        batch.clear();
+        logger.log(Level.WARNING, "Spill exporter threw an Exception", e);
       }
+      droppedSpans.add(batch.size());
+    }
+  }
+
+  // An export started by a worker, along with the batch it reads from.
+  private static final class PendingExport {
+    private final ArrayList<SpanData> batch;
+    private final long timeoutNanos;
+    private final long startNanos;
+    @Nullable private CompletableResultCode result;
+    private volatile long completedNanos;
+
+    private PendingExport(ArrayList<SpanData> batch, long timeoutNanos) {
+      this.batch = batch;
+      this.timeoutNanos = timeoutNanos;
+      this.startNanos = System.nanoTime();
+    }
+
+    private void start(CompletableResultCode result) {
+      this.result = result;
+      result.whenComplete(() -> completedNanos = System.nanoTime());
+    }
+
+    private boolean isDone() {
+      return result != null && result.isDone();
+    }
+
+    private boolean isSuccess() {
+      return result != null && result.isSuccess();
+    }
+
+    // Waits until the export completes or its timeout passes, returns whether it completed.
+    private boolean await() {
+      if (result == null) {
+        return true;
+      }
+      long remainingNanos = startNanos + timeoutNanos - System.nanoTime();
+      if (remainingNanos > 0) {
+        result.join(remainingNanos, TimeUnit.NANOSECONDS);
+      }
+      return result.isDone();
+    }
+
+    private long getLatencyNanos() {
+      long completed = completedNanos;
+      return (completed != 0 ? completed : System.nanoTime()) - startNanos;
     }
   }
 }
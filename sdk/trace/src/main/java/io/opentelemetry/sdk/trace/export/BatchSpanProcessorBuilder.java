@@ -8,8 +8,11 @@ package io.opentelemetry.sdk.trace.export;
 import static io.opentelemetry.api.internal.Utils.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import io.opentelemetry.sdk.internal.WorkerThreads;
 import java.time.Duration;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /** Builder class for {@link BatchSpanProcessor}. */
 public final class BatchSpanProcessorBuilder {
@@ -22,12 +25,32 @@ public final class BatchSpanProcessorBuilder {
   static final int DEFAULT_MAX_EXPORT_BATCH_SIZE = 512;
   // Visible for testing
   static final int DEFAULT_EXPORT_TIMEOUT_MILLIS = 30_000;
+  // Visible for testing
+  static final int DEFAULT_SHARD_COUNT = 1;
+  // Visible for testing
+  static final int DEFAULT_MAX_CONCURRENT_EXPORTS = 1;
+  // Visible for testing
+  static final long DEFAULT_BLOCK_TIMEOUT_MILLIS = 100;
+  // Visible for testing
+  static final int DEFAULT_MIN_EXPORT_BATCH_SIZE = 64;
+  // Visible for testing
+  static final long DEFAULT_MIN_SCHEDULE_DELAY_MILLIS = 100;
 
   private final SpanExporter spanExporter;
   private long scheduleDelayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SCHEDULE_DELAY_MILLIS);
   private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
   private int maxExportBatchSize = DEFAULT_MAX_EXPORT_BATCH_SIZE;
   private long exporterTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_EXPORT_TIMEOUT_MILLIS);
+  private int shardCount = DEFAULT_SHARD_COUNT;
+  private int maxConcurrentExports = DEFAULT_MAX_CONCURRENT_EXPORTS;
+  private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+  private long blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_BLOCK_TIMEOUT_MILLIS);
+  @Nullable private SpanExporter spillExporter;
+  private boolean adaptiveBatching = false;
+  private int minExportBatchSize = DEFAULT_MIN_EXPORT_BATCH_SIZE;
+  private long minScheduleDelayNanos =
+      TimeUnit.MILLISECONDS.toNanos(DEFAULT_MIN_SCHEDULE_DELAY_MILLIS);
+  @Nullable private Executor executor;
 
   BatchSpanProcessorBuilder(SpanExporter spanExporter) {
     this.spanExporter = requireNonNull(spanExporter, "spanExporter");
@@ -130,15 +153,244 @@ public final class BatchSpanProcessorBuilder {
     return maxExportBatchSize;
   }
 
+  /**
+   * Sets the maximum number of exports each worker may have in flight at the same time. A value
+   * greater than one lets the worker keep draining the queue while earlier exports are still
+   * waiting for the backend, and requires the {@link SpanExporter} to accept concurrent calls to
+   * {@link SpanExporter#export(java.util.Collection)}. When the limit is reached the worker waits
+   * for the oldest export to complete or time out.
+   *
+   * <p>Default value is {@code 1}.
+   *
+   * @param maxConcurrentExports the maximum number of exports in flight per worker.
+   * @return this.
+   * @see BatchSpanProcessorBuilder#DEFAULT_MAX_CONCURRENT_EXPORTS
+   */
+  public BatchSpanProcessorBuilder setMaxConcurrentExports(int maxConcurrentExports) {
+    checkArgument(maxConcurrentExports > 0, "maxConcurrentExports must be positive.");
+    this.maxConcurrentExports = maxConcurrentExports;
+    return this;
+  }
+
+  // Visible for testing
+  int getMaxConcurrentExports() {
+    return maxConcurrentExports;
+  }
+
+  /**
+   * Sets the number of shards the queue is split into. Each shard has its own queue of {@code
+   * maxQueueSize / shardCount} spans and its own worker thread, so a higher value allows more spans
+   * to be converted and exported in parallel on hosts with many cores. Spans are assigned to a
+   * shard by their trace id. All shards share the {@link SpanExporter}, which may then be called
+   * concurrently.
+   *
+   * <p>Default value is {@code 1}.
+   *
+   * @param shardCount the number of queues and worker threads.
+   * @return this.
+   * @see BatchSpanProcessorBuilder#DEFAULT_SHARD_COUNT
+   */
+  public BatchSpanProcessorBuilder setShardCount(int shardCount) {
+    checkArgument(shardCount > 0, "shardCount must be positive.");
+    this.shardCount = shardCount;
+    return this;
+  }
+
+  // Visible for testing
+  int getShardCount() {
+    return shardCount;
+  }
+
+  /**
+   * Sets what to do with an ended span when the queue is full. {@link OverflowPolicy#SPILL}
+   * requires a spill exporter to be set with {@link #setSpillExporter(SpanExporter)}.
+   *
+   * <p>Default value is {@link OverflowPolicy#DROP_NEWEST}.
+   *
+   * @param overflowPolicy the policy applied when the queue is full.
+   * @return this.
+   */
+  public BatchSpanProcessorBuilder setOverflowPolicy(OverflowPolicy overflowPolicy) {
+    this.overflowPolicy = requireNonNull(overflowPolicy, "overflowPolicy");
+    return this;
+  }
+
+  // Visible for testing
+  OverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  /**
+   * Sets the maximum time a thread ending a span waits for room in a full queue with the {@link
+   * OverflowPolicy#BLOCK} policy. If unset, defaults to {@value DEFAULT_BLOCK_TIMEOUT_MILLIS}ms.
+   */
+  public BatchSpanProcessorBuilder setBlockTimeout(long timeout, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(timeout >= 0, "timeout must be non-negative");
+    blockTimeoutNanos = unit.toNanos(timeout);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time a thread ending a span waits for room in a full queue with the {@link
+   * OverflowPolicy#BLOCK} policy. If unset, defaults to {@value DEFAULT_BLOCK_TIMEOUT_MILLIS}ms.
+   */
+  public BatchSpanProcessorBuilder setBlockTimeout(Duration timeout) {
+    requireNonNull(timeout, "timeout");
+    return setBlockTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  // Visible for testing
+  long getBlockTimeoutNanos() {
+    return blockTimeoutNanos;
+  }
+
+  /**
+   * Sets the {@link SpanExporter} spans are handed to when the queue is full and the overflow
+   * policy is {@link OverflowPolicy#SPILL}. It is called with batches of spilled spans by a task of
+   * the executor set with {@link #setExecutor(Executor)}, one batch at a time, and each export is
+   * awaited up to the exporter timeout. Spans whose spill export fails or times out are counted as
+   * dropped. It is shut down together with the processor.
+   *
+   * @param spillExporter the exporter receiving spans that do not fit in the queue.
+   * @return this.
+   */
+  public BatchSpanProcessorBuilder setSpillExporter(SpanExporter spillExporter) {
+    this.spillExporter = requireNonNull(spillExporter, "spillExporter");
+    return this;
+  }
+
+  /**
+   * Sets whether the export batch size and schedule delay are adjusted at runtime. When enabled,
+   * each worker starts with {@code maxExportBatchSize} and the configured schedule delay and then
+   * adapts both to the observed queue depth, export latency and export failures, staying between
+   * {@code minExportBatchSize} and {@code maxExportBatchSize} and between the minimum and the
+   * configured schedule delay. The chosen values are published as the {@code exportBatchSize} and
+   * {@code scheduleDelay} metrics.
+   *
+   * <p>Default value is {@code false}.
+   *
+   * @param adaptiveBatching whether to adapt batch size and schedule delay to the load.
+   * @return this.
+   */
+  public BatchSpanProcessorBuilder setAdaptiveBatching(boolean adaptiveBatching) {
+    this.adaptiveBatching = adaptiveBatching;
+    return this;
+  }
+
+  // Visible for testing
+  boolean getAdaptiveBatching() {
+    return adaptiveBatching;
+  }
+
+  /**
+   * Sets the smallest export batch size adaptive batching may choose. Only used if adaptive
+   * batching is enabled, must not be greater than {@code maxExportBatchSize}.
+   *
+   * <p>Default value is {@code 64}.
+   *
+   * @param minExportBatchSize the minimum batch size for every export.
+   * @return this.
+   * @see BatchSpanProcessorBuilder#setAdaptiveBatching(boolean)
+   */
+  public BatchSpanProcessorBuilder setMinExportBatchSize(int minExportBatchSize) {
+    checkArgument(minExportBatchSize > 0, "minExportBatchSize must be positive.");
+    this.minExportBatchSize = minExportBatchSize;
+    return this;
+  }
+
+  // Visible for testing
+  int getMinExportBatchSize() {
+    return minExportBatchSize;
+  }
+
+  /**
+   * Sets the shortest delay between two consecutive exports adaptive batching may choose. Only
+   * used if adaptive batching is enabled, must not be greater than the schedule delay. If unset,
+   * defaults to {@value DEFAULT_MIN_SCHEDULE_DELAY_MILLIS}ms.
+   *
+   * @see BatchSpanProcessorBuilder#setAdaptiveBatching(boolean)
+   */
+  public BatchSpanProcessorBuilder setMinScheduleDelay(long delay, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(delay >= 0, "delay must be non-negative");
+    minScheduleDelayNanos = unit.toNanos(delay);
+    return this;
+  }
+
+  /**
+   * Sets the shortest delay between two consecutive exports adaptive batching may choose. Only
+   * used if adaptive batching is enabled, must not be greater than the schedule delay. If unset,
+   * defaults to {@value DEFAULT_MIN_SCHEDULE_DELAY_MILLIS}ms.
+   *
+   * @see BatchSpanProcessorBuilder#setAdaptiveBatching(boolean)
+   */
+  public BatchSpanProcessorBuilder setMinScheduleDelay(Duration delay) {
+    requireNonNull(delay, "delay");
+    return setMinScheduleDelay(delay.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  // Visible for testing
+  long getMinScheduleDelayNanos() {
+    return minScheduleDelayNanos;
+  }
+
+  /**
+   * Sets the {@link Executor} running the workers of the processor, one task per shard. Each task
+   * runs until the processor is shut down, so the executor must be able to run all of them at the
+   * same time, for example an executor starting a virtual thread per task. With the {@link
+   * OverflowPolicy#SPILL} policy, it also runs a task exporting spilled spans while there are any.
+   * The executor is not shut down with the processor.
+   *
+   * <p>If unset, a new thread is started for each worker, a virtual thread on Java 21 and later
+   * and a daemon thread otherwise.
+   *
+   * @param executor the executor running the workers.
+   * @return this.
+   */
+  public BatchSpanProcessorBuilder setExecutor(Executor executor) {
+    this.executor = requireNonNull(executor, "executor");
+    return this;
+  }
+
   /**
    * Returns a new {@link BatchSpanProcessor} that batches, then converts spans to proto and
    * forwards them to the given {@code spanExporter}.
    *
    * @return a new {@link BatchSpanProcessor}.
    * @throws NullPointerException if the {@code spanExporter} is {@code null}.
+   * @throws IllegalArgumentException if adaptive batching is enabled and a minimum is greater than
+   *     the corresponding maximum, or if the overflow policy is {@link OverflowPolicy#SPILL} and no
+   *     spill exporter is set.
    */
   public BatchSpanProcessor build() {
+    checkArgument(
+        overflowPolicy != OverflowPolicy.SPILL || spillExporter != null,
+        "spillExporter must be set to use the SPILL overflow policy.");
+    if (adaptiveBatching) {
+      checkArgument(
+          minExportBatchSize <= maxExportBatchSize,
+          "minExportBatchSize must not be greater than maxExportBatchSize.");
+      checkArgument(
+          minScheduleDelayNanos <= scheduleDelayNanos,
+          "minScheduleDelay must not be greater than scheduleDelay.");
+    }
     return new BatchSpanProcessor(
-        spanExporter, scheduleDelayNanos, maxQueueSize, maxExportBatchSize, exporterTimeoutNanos);
+        spanExporter,
+        scheduleDelayNanos,
+        maxQueueSize,
+        maxExportBatchSize,
+        exporterTimeoutNanos,
+        maxConcurrentExports,
+        shardCount,
+        overflowPolicy,
+        blockTimeoutNanos,
+        spillExporter,
+        adaptiveBatching,
+        minExportBatchSize,
+        minScheduleDelayNanos,
+        executor != null
+            ? executor
+            : WorkerThreads.newExecutor(BatchSpanProcessor.WORKER_THREAD_NAME));
   }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.WorkerThreads;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the tasks of a single delegate, in order, on a dedicated thread, so that a slow delegate
+ * only delays its own tasks. The number of queued {@link #tryExecute(Runnable) data tasks} is
+ * bounded, while {@link #execute(Supplier) control tasks} such as flushes are always queued.
+ */
+final class IsolatedWorker {
+
+  private static final Logger logger = Logger.getLogger(IsolatedWorker.class.getName());
+
+  private final ThreadPoolExecutor executor;
+  private final int maxQueueSize;
+  private final AtomicInteger queueSize = new AtomicInteger();
+
+  IsolatedWorker(String threadName, int maxQueueSize) {
+    this.maxQueueSize = maxQueueSize;
+    executor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            0,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            WorkerThreads.newThreadFactory(threadName));
+  }
+
+  /**
+   * Queues a data task, returns {@code false} if the queue is full or the worker is shut down.
+   * Exceptions thrown by the task are logged.
+   */
+  boolean tryExecute(Runnable task) {
+    if (queueSize.incrementAndGet() > maxQueueSize) {
+      queueSize.decrementAndGet();
+      return false;
+    }
+    try {
+      executor.execute(
+          () -> {
+            queueSize.decrementAndGet();
+            try {
+              task.run();
+            } catch (RuntimeException e) {
+              logger.log(Level.WARNING, "Exception thrown by the delegate.", e);
+            }
+          });
+      return true;
+    } catch (RejectedExecutionException e) {
+      queueSize.decrementAndGet();
+      return false;
+    }
+  }
+
+  /**
+   * Queues a control task, returns a {@link CompletableResultCode} completed with the result of the
+   * task once the previously queued tasks and the task have run.
+   */
+  CompletableResultCode execute(Supplier<CompletableResultCode> task) {
+    CompletableResultCode result = new CompletableResultCode();
+    try {
+      executor.execute(
+          () -> {
+            CompletableResultCode taskResult;
+            try {
+              taskResult = task.get();
+            } catch (RuntimeException e) {
+              logger.log(Level.WARNING, "Exception thrown by the delegate.", e);
+              result.fail();
+              return;
+            }
+            taskResult.whenComplete(
+                () -> {
+                  if (taskResult.isSuccess()) {
+                    result.succeed();
+                  } else {
+                    result.fail();
+                  }
+                });
+          });
+    } catch (RejectedExecutionException e) {
+      result.fail();
+    }
+    return result;
+  }
+
+  /** Returns the number of queued data tasks. */
+  int getQueueSize() {
+    return queueSize.get();
+  }
+
+  /** Stops the thread once the queued tasks have run. Tasks queued afterwards are rejected. */
+  void shutdown() {
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+/** What a {@link BatchSpanProcessor} does with an ended span when its queue is full. */
+public enum OverflowPolicy {
+  /** The ended span is dropped. This is the default. */
+  DROP_NEWEST,
+  /**
+   * The oldest queued span is dropped to make room for the ended span. If other threads keep
+   * taking the room made, the ended span is dropped after a few attempts instead.
+   */
+  DROP_OLDEST,
+  /**
+   * The thread ending the span waits for room in the queue, up to the configured block timeout.
+   * The span is dropped if the queue is still full after the timeout.
+   */
+  BLOCK,
+  /**
+   * The ended span is handed to the configured spill {@link SpanExporter}, for example one that
+   * persists spans to local disk. Spilled spans are exported in batches by a task of the
+   * processor's executor, not on the thread ending them, and are dropped if as many spans as fit in
+   * the queue are already waiting to be spilled.
+   */
+  SPILL,
+}
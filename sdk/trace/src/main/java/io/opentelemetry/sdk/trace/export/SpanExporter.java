@@ -30,6 +30,9 @@ public interface SpanExporter extends Closeable {
    *
    * <p>Can be used to export to multiple backends using the same {@code SpanProcessor} like a
    * {@code SimpleSampledSpansProcessor} or a {@code BatchSampledSpansProcessor}.
+   *
+   * <p>The exporters are called in turn on the calling thread. Wrap slow or blocking exporters in
+   * an {@link AsyncSpanExporter} to keep them from delaying the others.
    */
   static SpanExporter composite(SpanExporter... exporters) {
     return composite(Arrays.asList(exporters));
@@ -41,6 +44,9 @@ public interface SpanExporter extends Closeable {
    *
    * <p>Can be used to export to multiple backends using the same {@code SpanProcessor} like a
    * {@code SimpleSampledSpansProcessor} or a {@code BatchSampledSpansProcessor}.
+   *
+   * <p>The exporters are called in turn on the calling thread. Wrap slow or blocking exporters in
+   * an {@link AsyncSpanExporter} to keep them from delaying the others.
    */
   static SpanExporter composite(Iterable<SpanExporter> exporters) {
     List<SpanExporter> exportersList = new ArrayList<>();
@@ -58,8 +64,11 @@ public interface SpanExporter extends Closeable {
 
   /**
    * Called to export sampled {@code Span}s. Note that export operations can be performed
-   * simultaneously depending on the type of span processor being used. However, the {@link
-   * BatchSpanProcessor} will ensure that only one export can occur at a time.
+   * simultaneously depending on the type of span processor being used. The {@link
+   * BatchSpanProcessor} only exports one batch at a time with its default settings. If it is built
+   * with {@link BatchSpanProcessorBuilder#setShardCount(int)} or {@link
+   * BatchSpanProcessorBuilder#setMaxConcurrentExports(int)} greater than one, it calls this method
+   * concurrently, which the exporter must then support.
    *
    * @param spans the collection of sampled Spans to be exported.
    * @return the result of the export, which is often an asynchronous operation.
@@ -69,8 +78,7 @@ public interface SpanExporter extends Closeable {
   /**
    * Exports the collection of sampled {@code Span}s that have not yet been exported. Note that
    * export operations can be performed simultaneously depending on the type of span processor being
-   * used. However, the {@link BatchSpanProcessor} will ensure that only one export can occur at a
-   * time.
+   * used, as described in {@link #export(Collection)}.
    *
    * @return the result of the flush, which is often an asynchronous operation.
    */
@@ -28,6 +28,11 @@ enum AlwaysOffSampler implements Sampler {
     return ImmutableSamplingResult.EMPTY_NOT_SAMPLED_OR_RECORDED_SAMPLING_RESULT;
   }
 
+  @Override
+  public boolean canSampleBeforeAttributes() {
+    return true;
+  }
+
   @Override
   public String getDescription() {
     return "AlwaysOffSampler";
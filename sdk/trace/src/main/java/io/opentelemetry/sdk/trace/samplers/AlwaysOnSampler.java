@@ -28,6 +28,11 @@ enum AlwaysOnSampler implements Sampler {
     return ImmutableSamplingResult.EMPTY_RECORDED_AND_SAMPLED_SAMPLING_RESULT;
   }
 
+  @Override
+  public boolean canSampleBeforeAttributes() {
+    return true;
+  }
+
   @Override
   public String getDescription() {
     return "AlwaysOnSampler";
@@ -0,0 +1,221 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.samplers;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.internal.OtelEncodingUtils;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A {@link Sampler} which makes the same decision for a trace in every participant sampling it
+ * with the same or a lower probability, and records the probability in the {@code ot} entry of
+ * the {@link TraceState} of sampled spans so that their adjusted count can be computed downstream.
+ *
+ * <p>The randomness of a trace is its explicit {@code rv} sub-key in the {@code ot} entry of the
+ * parent {@link TraceState} if present, otherwise the 56 least significant bits of its trace id. A
+ * span is sampled if the randomness is not less than the rejection threshold, which is computed
+ * once from the probability, so that a decision is a single comparison. The sampled spans get a
+ * {@code th} sub-key holding the threshold, as 1 to 14 hex digits with trailing zeros removed.
+ *
+ * <p>The {@link SamplingResult} instances are created once per sampler and shared by all
+ * decisions.
+ */
+@Immutable
+final class ConsistentProbabilityBasedSampler implements Sampler {
+
+  static final String OT_KEY = "ot";
+  static final String THRESHOLD_SUBKEY = "th";
+  static final String RANDOMNESS_SUBKEY = "rv";
+
+  // The randomness and the thresholds are 56 bit values.
+  static final int RANDOMNESS_HEX_DIGITS = 14;
+  static final long MAX_THRESHOLD = 1L << 56;
+  private static final long RANDOMNESS_MASK = MAX_THRESHOLD - 1;
+
+  static final ConsistentProbabilityBasedSampler ALWAYS_ON =
+      new ConsistentProbabilityBasedSampler(1.0, 0);
+  static final ConsistentProbabilityBasedSampler ALWAYS_OFF =
+      new ConsistentProbabilityBasedSampler(0.0, MAX_THRESHOLD);
+
+  private final long threshold;
+  private final SamplingResult sampledResult;
+  private final SamplingResult droppedResult;
+  private final String description;
+
+  static ConsistentProbabilityBasedSampler create(double probability) {
+    if (!(probability >= 0.0 && probability <= 1.0)) {
+      throw new IllegalArgumentException("probability must be in range [0.0, 1.0]");
+    }
+    if (probability == 1.0) {
+      return ALWAYS_ON;
+    }
+    if (probability == 0.0) {
+      return ALWAYS_OFF;
+    }
+    // Rounding up would sample no span at all for probabilities below 2^-56.
+    long threshold = MAX_THRESHOLD - Math.max(1, Math.round(probability * MAX_THRESHOLD));
+    return new ConsistentProbabilityBasedSampler(probability, threshold);
+  }
+
+  private ConsistentProbabilityBasedSampler(double probability, long threshold) {
+    this.threshold = threshold;
+    droppedResult = ConsistentSamplingResult.DROPPED;
+    // No span is sampled with the maximum threshold, which is not encodable.
+    sampledResult =
+        threshold == MAX_THRESHOLD
+            ? droppedResult
+            : ConsistentSamplingResult.sampled(
+                THRESHOLD_SUBKEY + ':' + encodeThreshold(threshold));
+    description = String.format("ConsistentProbabilityBased{%.6f}", probability);
+  }
+
+  @Override
+  public SamplingResult shouldSample(
+      Context parentContext,
+      String traceId,
+      String name,
+      SpanKind spanKind,
+      Attributes attributes,
+      List<LinkData> parentLinks) {
+    if (threshold == 0) {
+      return sampledResult;
+    }
+    if (threshold == MAX_THRESHOLD) {
+      return droppedResult;
+    }
+    return getRandomness(parentContext, traceId) >= threshold ? sampledResult : droppedResult;
+  }
+
+  @Override
+  public boolean canSampleBeforeAttributes() {
+    return true;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof ConsistentProbabilityBasedSampler)) {
+      return false;
+    }
+    ConsistentProbabilityBasedSampler that = (ConsistentProbabilityBasedSampler) obj;
+    return threshold == that.threshold;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(threshold);
+  }
+
+  @Override
+  public String toString() {
+    return getDescription();
+  }
+
+  // Visible for testing
+  long getThreshold() {
+    return threshold;
+  }
+
+  private static long getRandomness(Context parentContext, String traceId) {
+    TraceState parentTraceState = Span.fromContext(parentContext).getSpanContext().getTraceState();
+    // Root spans have an empty trace state, skip the lookup.
+    if (!parentTraceState.isEmpty()) {
+      String ot = parentTraceState.get(OT_KEY);
+      if (ot != null) {
+        long randomness = parseHex(getSubValue(ot, RANDOMNESS_SUBKEY), RANDOMNESS_HEX_DIGITS);
+        if (randomness >= 0) {
+          return randomness;
+        }
+      }
+    }
+    return OtelEncodingUtils.longFromBase16String(traceId, 16) & RANDOMNESS_MASK;
+  }
+
+  /**
+   * Returns the adjusted count of a span, the inverse of the probability it was sampled with,
+   * recorded in its {@link TraceState}, or {@link Double#NaN} if it is not recorded.
+   */
+  static double getAdjustedCount(TraceState traceState) {
+    String ot = traceState.get(OT_KEY);
+    if (ot == null) {
+      return Double.NaN;
+    }
+    long threshold = parseThreshold(getSubValue(ot, THRESHOLD_SUBKEY));
+    if (threshold < 0) {
+      return Double.NaN;
+    }
+    return (double) MAX_THRESHOLD / (MAX_THRESHOLD - threshold);
+  }
+
+  static String encodeThreshold(long threshold) {
+    char[] chars = new char[16];
+    OtelEncodingUtils.longToBase16String(threshold, chars, 0);
+    // The two leading digits are always zero.
+    int end = chars.length;
+    while (end > 3 && chars[end - 1] == '0') {
+      end--;
+    }
+    return new String(chars, 2, end - 2);
+  }
+
+  /** Returns the threshold encoded with 1 to 14 hex digits, or -1 if invalid. */
+  static long parseThreshold(@Nullable String value) {
+    if (value == null || value.isEmpty() || value.length() > RANDOMNESS_HEX_DIGITS) {
+      return -1;
+    }
+    long threshold = parseHex(value, value.length());
+    if (threshold < 0) {
+      return -1;
+    }
+    return threshold << (4 * (RANDOMNESS_HEX_DIGITS - value.length()));
+  }
+
+  /** Returns the value of exactly {@code digits} lowercase hex digits, or -1 if invalid. */
+  private static long parseHex(@Nullable String value, int digits) {
+    if (value == null || value.length() != digits) {
+      return -1;
+    }
+    long result = 0;
+    for (int i = 0; i < digits; i++) {
+      char c = value.charAt(i);
+      if (!OtelEncodingUtils.isValidBase16Character(c)) {
+        return -1;
+      }
+      result = (result << 4) | Character.digit(c, 16);
+    }
+    return result;
+  }
+
+  /** Returns the value of a sub-key of an {@code ot} entry, formatted as {@code k1:v1;k2:v2}. */
+  @Nullable
+  static String getSubValue(String ot, String subKey) {
+    int start = 0;
+    while (start < ot.length()) {
+      int end = ot.indexOf(';', start);
+      if (end < 0) {
+        end = ot.length();
+      }
+      if (end - start > subKey.length() + 1
+          && ot.charAt(start + subKey.length()) == ':'
+          && ot.startsWith(subKey, start)) {
+        return ot.substring(start + subKey.length() + 1, end);
+      }
+      start = end + 1;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.samplers;
+
+import static io.opentelemetry.sdk.trace.samplers.ConsistentProbabilityBasedSampler.OT_KEY;
+import static io.opentelemetry.sdk.trace.samplers.ConsistentProbabilityBasedSampler.THRESHOLD_SUBKEY;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.TraceState;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A {@link SamplingResult} of a {@link ConsistentProbabilityBasedSampler}, which sets the {@code
+ * th} sub-key of the {@code ot} entry of the {@link TraceState} to the threshold of the sampler if
+ * the span is sampled, and removes it otherwise, keeping the other sub-keys.
+ */
+@Immutable
+final class ConsistentSamplingResult implements SamplingResult {
+
+  static final SamplingResult DROPPED = new ConsistentSamplingResult(SamplingDecision.DROP, null);
+
+  private final SamplingDecision decision;
+  // The th sub-key and value, or null to remove the th sub-key.
+  @Nullable private final String thresholdEntry;
+
+  static SamplingResult sampled(String thresholdEntry) {
+    return new ConsistentSamplingResult(SamplingDecision.RECORD_AND_SAMPLE, thresholdEntry);
+  }
+
+  private ConsistentSamplingResult(SamplingDecision decision, @Nullable String thresholdEntry) {
+    this.decision = decision;
+    this.thresholdEntry = thresholdEntry;
+  }
+
+  @Override
+  public SamplingDecision getDecision() {
+    return decision;
+  }
+
+  @Override
+  public Attributes getAttributes() {
+    return Attributes.empty();
+  }
+
+  @Override
+  public TraceState getUpdatedTraceState(TraceState parentTraceState) {
+    String ot = parentTraceState.get(OT_KEY);
+    if (ot == null) {
+      if (thresholdEntry == null) {
+        return parentTraceState;
+      }
+      return parentTraceState.toBuilder().put(OT_KEY, thresholdEntry).build();
+    }
+    if (ot.equals(thresholdEntry)) {
+      return parentTraceState;
+    }
+    String updated = removeThreshold(ot);
+    if (thresholdEntry != null) {
+      updated = updated.isEmpty() ? thresholdEntry : thresholdEntry + ';' + updated;
+    } else if (updated.length() == ot.length()) {
+      return parentTraceState;
+    }
+    if (updated.isEmpty()) {
+      return parentTraceState.toBuilder().remove(OT_KEY).build();
+    }
+    return parentTraceState.toBuilder().put(OT_KEY, updated).build();
+  }
+
+  private static String removeThreshold(String ot) {
+    StringBuilder result = new StringBuilder(ot.length());
+    int start = 0;
+    while (start < ot.length()) {
+      int end = ot.indexOf(';', start);
+      if (end < 0) {
+        end = ot.length();
+      }
+      boolean isThreshold =
+          end - start > THRESHOLD_SUBKEY.length()
+              && ot.charAt(start + THRESHOLD_SUBKEY.length()) == ':'
+              && ot.startsWith(THRESHOLD_SUBKEY, start);
+      if (!isThreshold && end > start) {
+        if (result.length() > 0) {
+          result.append(';');
+        }
+        result.append(ot, start, end);
+      }
+      start = end + 1;
+    }
+    return result.toString();
+  }
+}
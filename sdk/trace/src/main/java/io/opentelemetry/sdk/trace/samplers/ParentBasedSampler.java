@@ -75,6 +75,15 @@ final class ParentBasedSampler implements Sampler {
             parentContext, traceId, name, spanKind, attributes, parentLinks);
   }
 
+  @Override
+  public boolean canSampleBeforeAttributes() {
+    return root.canSampleBeforeAttributes()
+        && remoteParentSampled.canSampleBeforeAttributes()
+        && remoteParentNotSampled.canSampleBeforeAttributes()
+        && localParentSampled.canSampleBeforeAttributes()
+        && localParentNotSampled.canSampleBeforeAttributes();
+  }
+
   @Override
   public String getDescription() {
     return String.format(
@@ -89,6 +89,25 @@ public interface Sampler {
     return TraceIdRatioBasedSampler.create(ratio);
   }
 
+  /**
+   * Returns a new ConsistentProbabilityBased {@link Sampler}, which samples traces with the given
+   * probability consistently across services: a trace sampled with some probability is sampled by
+   * all the participants using the same or a higher probability. The probability is recorded in the
+   * {@code ot} entry of the {@link io.opentelemetry.api.trace.TraceState} of sampled spans, so that
+   * the number of spans each of them represents can be estimated downstream.
+   *
+   * <p>The decision is based on the explicit randomness in the parent {@code TraceState}, if any,
+   * otherwise on the 56 least significant bits of the trace ID, which must be random. Use {@link
+   * Sampler#parentBased(Sampler)} to sample child spans with their parent.
+   *
+   * @param probability The desired probability of sampling. Must be within [0.0, 1.0].
+   * @return a new ConsistentProbabilityBased {@link Sampler}.
+   * @throws IllegalArgumentException if {@code probability} is out of range
+   */
+  static Sampler consistentProbabilityBased(double probability) {
+    return ConsistentProbabilityBasedSampler.create(probability);
+  }
+
   /**
    * Called during {@link Span} creation to make a sampling samplingResult.
    *
@@ -110,6 +129,25 @@ public interface Sampler {
       Attributes attributes,
       List<LinkData> parentLinks);
 
+  /**
+   * Returns whether the decisions of this {@code Sampler} only depend on the parent context, the
+   * trace ID and the name of the span, and not on its kind, attributes or links.
+   *
+   * <p>If {@code true}, the SDK may call {@link #shouldSample(Context, String, String, SpanKind,
+   * Attributes, List)} with empty attributes and links when the first attribute or link is added
+   * to a span builder with an explicit parent, and skip applying the span limits to the attributes
+   * and links of a span which is dropped. If the parent is changed to a different span since, the
+   * decision is made again for the new parent, so this method may be called twice for the span,
+   * and the attributes and links skipped before are added if the span is then recorded.
+   *
+   * <p>Defaults to {@code false}.
+   *
+   * @return whether the span can be sampled before its attributes and links are collected.
+   */
+  default boolean canSampleBeforeAttributes() {
+    return false;
+  }
+
   /**
    * Returns the description of this {@code Sampler}. This may be displayed on debug pages or in the
    * logs.
@@ -77,6 +77,11 @@ final class TraceIdRatioBasedSampler implements Sampler {
         : NEGATIVE_SAMPLING_RESULT;
   }
 
+  @Override
+  public boolean canSampleBeforeAttributes() {
+    return true;
+  }
+
   @Override
   public final String getDescription() {
     return description;
@@ -6,9 +6,13 @@
 package io.opentelemetry.sdk.trace;
 
 import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.api.common.AttributeKey.stringArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
 
+import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 class AttributesMapTest {
@@ -22,4 +26,24 @@ class AttributesMapTest {
     assertThat(attributesMap.asMap())
         .containsOnly(entry(longKey("one"), 1L), entry(longKey("two"), 2L));
   }
+
+  @Test
+  void lengthLimit() {
+    AttributesMap attributesMap = new AttributesMap(8, 3);
+    attributesMap.put(stringKey("short"), "abc");
+    attributesMap.put(stringKey("long"), "abcdef");
+    attributesMap.put(stringKey("surrogate"), "ab\uD83D\uDE00");
+    attributesMap.put(longKey("number"), 123456L);
+    List<String> shortValues = Arrays.asList("a", "b");
+    attributesMap.put(stringArrayKey("shortArray"), shortValues);
+    attributesMap.put(stringArrayKey("longArray"), Arrays.asList("a", "abcdef"));
+
+    assertThat(attributesMap.get(stringKey("short"))).isEqualTo("abc");
+    assertThat(attributesMap.get(stringKey("long"))).isEqualTo("abc");
+    // The surrogate pair is dropped rather than split.
+    assertThat(attributesMap.get(stringKey("surrogate"))).isEqualTo("ab");
+    assertThat(attributesMap.get(longKey("number"))).isEqualTo(123456L);
+    assertThat(attributesMap.get(stringArrayKey("shortArray"))).isSameAs(shortValues);
+    assertThat(attributesMap.get(stringArrayKey("longArray"))).containsExactly("a", "abc");
+  }
 }
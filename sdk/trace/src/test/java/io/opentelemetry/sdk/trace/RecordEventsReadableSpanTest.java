@@ -671,6 +671,31 @@ class RecordEventsReadableSpanTest {
     assertThat(spanData.getTotalAttributeCount()).isEqualTo(2 * maxNumberOfAttributes);
   }
 
+  @Test
+  void truncatingAttributeValues() {
+    SpanLimits spanLimits = SpanLimits.builder().setMaxAttributeValueLength(4).build();
+    RecordEventsReadableSpan span = createTestSpan(spanLimits);
+    Attributes shortAttributes = Attributes.of(stringKey("short"), "abcd");
+    try {
+      span.setAttribute(stringKey("sql"), "SELECT * FROM table");
+      span.setAttribute(stringArrayKey("array"), Arrays.asList("abcdef", "ab"));
+      span.setAttribute(longKey("number"), 123456L);
+      span.addEvent("event", Attributes.of(stringKey("body"), "abcdef", longKey("size"), 6L));
+      span.addEvent("short", shortAttributes);
+    } finally {
+      span.end();
+    }
+    SpanData spanData = span.toSpanData();
+    assertThat(spanData.getAttributes().get(stringKey("sql"))).isEqualTo("SELE");
+    assertThat(spanData.getAttributes().get(stringArrayKey("array"))).containsExactly("abcd", "ab");
+    assertThat(spanData.getAttributes().get(longKey("number"))).isEqualTo(123456L);
+    assertThat(spanData.getEvents().get(0).getAttributes())
+        .isEqualTo(Attributes.of(stringKey("body"), "abcd", longKey("size"), 6L));
+    assertThat(spanData.getEvents().get(0).getDroppedAttributesCount()).isEqualTo(0);
+    // Attributes within the limits are not copied.
+    assertThat(spanData.getEvents().get(1).getAttributes()).isSameAs(shortAttributes);
+  }
+
   @Test
   void endWithTimestamp_numeric() {
     RecordEventsReadableSpan span1 = createTestRootSpan();
@@ -845,6 +870,55 @@ class RecordEventsReadableSpanTest {
                 .build());
   }
 
+  @Test
+  void recordException_stackTraceLimits() {
+    IllegalStateException exception = new IllegalStateException("there was an exception");
+    RecordEventsReadableSpan span =
+        createTestSpan(
+            SpanLimits.builder()
+                .setMaxExceptionStackTraceDepth(1)
+                .setMaxExceptionStackTraceLength(60)
+                .build());
+
+    span.recordException(exception);
+
+    EventData event = span.toSpanData().getEvents().get(0);
+    String stacktrace = event.getAttributes().get(SemanticAttributes.EXCEPTION_STACKTRACE);
+    assertThat(stacktrace)
+        .hasSize(60)
+        .startsWith("java.lang.IllegalStateException: there was an exception");
+    // Rendered only once.
+    assertThat(event.getAttributes().get(SemanticAttributes.EXCEPTION_STACKTRACE))
+        .isSameAs(stacktrace);
+  }
+
+  @Test
+  void recordException_attributesLimit() {
+    IllegalStateException exception = new IllegalStateException("there was an exception");
+    RecordEventsReadableSpan span =
+        createTestSpan(SpanLimits.builder().setMaxNumberOfAttributesPerEvent(2).build());
+
+    span.recordException(exception, Attributes.of(stringKey("key1"), "value1"));
+
+    EventData event = span.toSpanData().getEvents().get(0);
+    assertThat(event.getAttributes().size()).isEqualTo(2);
+    assertThat(event.getTotalAttributeCount()).isEqualTo(4);
+    assertThat(event.getDroppedAttributesCount()).isEqualTo(2);
+  }
+
+  @Test
+  void recordException_attributeValueLengthLimit() {
+    IllegalStateException exception = new IllegalStateException("there was an exception");
+    RecordEventsReadableSpan span =
+        createTestSpan(SpanLimits.builder().setMaxAttributeValueLength(9).build());
+
+    span.recordException(exception);
+
+    Attributes attributes = span.toSpanData().getEvents().get(0).getAttributes();
+    assertThat(attributes.get(SemanticAttributes.EXCEPTION_MESSAGE)).isEqualTo("there was");
+    assertThat(attributes.get(SemanticAttributes.EXCEPTION_STACKTRACE)).isEqualTo("java.lang");
+  }
+
   @Test
   void badArgsIgnored() {
     RecordEventsReadableSpan span = createTestRootSpan();
@@ -36,6 +36,7 @@ import io.opentelemetry.sdk.trace.samplers.Sampler;
 import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
 import io.opentelemetry.sdk.trace.samplers.SamplingResult;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -152,6 +153,24 @@ class SdkSpanBuilderTest {
     }
   }
 
+  @Test
+  void truncateAttributeValues() {
+    SpanLimits spanLimits = SpanLimits.builder().setMaxAttributeValueLength(3).build();
+    TracerProvider tracerProvider = SdkTracerProvider.builder().setSpanLimits(spanLimits).build();
+    SpanBuilder spanBuilder = tracerProvider.get("test").spanBuilder(SPAN_NAME);
+    spanBuilder.setAttribute("key", "value");
+    spanBuilder.addLink(sampledSpanContext, Attributes.of(stringKey("linkKey"), "linkValue"));
+    RecordEventsReadableSpan span = (RecordEventsReadableSpan) spanBuilder.startSpan();
+    try {
+      assertThat(span.toSpanData().getAttributes().get(stringKey("key"))).isEqualTo("val");
+      assertThat(span.toSpanData().getLinks())
+          .containsExactly(
+              LinkData.create(sampledSpanContext, Attributes.of(stringKey("linkKey"), "lin"), 1));
+    } finally {
+      span.end();
+    }
+  }
+
   @Test
   void addLink_NoEffectAfterStartSpan() {
     SpanBuilder spanBuilder = sdkTracer.spanBuilder(SPAN_NAME);
@@ -674,6 +693,216 @@ class SdkSpanBuilderTest {
     }
   }
 
+  /** Records the calls and returns a fixed decision. */
+  private static final class RecordingSampler implements Sampler {
+    private final SamplingDecision decision;
+    private final boolean canSampleBeforeAttributes;
+    private final List<Attributes> sampledAttributes = new ArrayList<>();
+    private final List<String> sampledTraceIds = new ArrayList<>();
+
+    private RecordingSampler(SamplingDecision decision, boolean canSampleBeforeAttributes) {
+      this.decision = decision;
+      this.canSampleBeforeAttributes = canSampleBeforeAttributes;
+    }
+
+    @Override
+    public SamplingResult shouldSample(
+        Context parentContext,
+        String traceId,
+        String name,
+        SpanKind spanKind,
+        Attributes attributes,
+        List<LinkData> parentLinks) {
+      sampledAttributes.add(attributes);
+      sampledTraceIds.add(traceId);
+      return SamplingResult.create(decision);
+    }
+
+    @Override
+    public boolean canSampleBeforeAttributes() {
+      return canSampleBeforeAttributes;
+    }
+
+    @Override
+    public String getDescription() {
+      return "RecordingSampler";
+    }
+  }
+
+  private static SdkSpanBuilder spanBuilder(Sampler sampler) {
+    return (SdkSpanBuilder)
+        SdkTracerProvider.builder().setSampler(sampler).build().get("test").spanBuilder(SPAN_NAME);
+  }
+
+  @Test
+  void sampleBeforeAttributes_dropped() {
+    RecordingSampler sampler = new RecordingSampler(SamplingDecision.DROP, true);
+    Span span =
+        spanBuilder(sampler)
+            .setNoParent()
+            .setAttribute("key1", "value")
+            .setAttribute("key2", "value")
+            .addLink(sampledSpanContext)
+            .startSpan();
+
+    assertThat(span.isRecording()).isFalse();
+    assertThat(span.getSpanContext().isValid()).isTrue();
+    assertThat(span.getSpanContext().getTraceId()).isEqualTo(sampler.sampledTraceIds.get(0));
+    // Sampled once, before the attributes were collected.
+    assertThat(sampler.sampledAttributes).containsExactly(Attributes.empty());
+  }
+
+  @Test
+  void sampleBeforeAttributes_recorded() {
+    RecordingSampler sampler = new RecordingSampler(SamplingDecision.RECORD_AND_SAMPLE, true);
+    RecordEventsReadableSpan span =
+        (RecordEventsReadableSpan)
+            spanBuilder(sampler)
+                .setNoParent()
+                .setAttribute("key1", "value")
+                .addLink(sampledSpanContext)
+                .startSpan();
+
+    assertThat(span.toSpanData().getAttributes().get(stringKey("key1"))).isEqualTo("value");
+    assertThat(span.toSpanData().getLinks()).hasSize(1);
+    assertThat(span.getSpanContext().getTraceId()).isEqualTo(sampler.sampledTraceIds.get(0));
+    assertThat(sampler.sampledAttributes).containsExactly(Attributes.empty());
+    span.end();
+  }
+
+  @Test
+  void sampleBeforeAttributes_parentChanged() {
+    RecordingSampler sampler = new RecordingSampler(SamplingDecision.RECORD_AND_SAMPLE, true);
+    SdkSpanBuilder spanBuilder = spanBuilder(sampler);
+    spanBuilder.setNoParent().setAttribute("key1", "value");
+    spanBuilder.setParent(Context.root().with(Span.wrap(sampledSpanContext)));
+    Span span = spanBuilder.startSpan();
+
+    assertThat(span.getSpanContext().getTraceId()).isEqualTo(sampledSpanContext.getTraceId());
+    assertThat(sampler.sampledTraceIds).hasSize(2).endsWith(sampledSpanContext.getTraceId());
+    assertThat(sampler.sampledAttributes.get(1).get(stringKey("key1"))).isEqualTo("value");
+    span.end();
+  }
+
+  @Test
+  void sampleBeforeAttributes_newDecisionPerSpan() {
+    RecordingSampler sampler = new RecordingSampler(SamplingDecision.DROP, true);
+    SdkSpanBuilder spanBuilder = spanBuilder(sampler);
+    spanBuilder.setNoParent().setAttribute("key1", "value");
+    Span first = spanBuilder.startSpan();
+    Span second = spanBuilder.startSpan();
+
+    assertThat(sampler.sampledTraceIds).hasSize(2);
+    assertThat(first.getSpanContext().getTraceId())
+        .isNotEqualTo(second.getSpanContext().getTraceId());
+  }
+
+  @Test
+  void sampleBeforeAttributes_setParentAfterAttributes() {
+    // Drops root spans and samples children of sampled spans.
+    Sampler sampler = Sampler.parentBased(Sampler.alwaysOff());
+    RecordEventsReadableSpan span =
+        (RecordEventsReadableSpan)
+            spanBuilder(sampler)
+                .setAttribute("key1", "value")
+                .addLink(sampledSpanContext)
+                .setParent(Context.root().with(Span.wrap(sampledSpanContext)))
+                .startSpan();
+
+    assertThat(span.isRecording()).isTrue();
+    assertThat(span.toSpanData().getAttributes().get(stringKey("key1"))).isEqualTo("value");
+    assertThat(span.toSpanData().getLinks()).hasSize(1);
+    span.end();
+  }
+
+  @Test
+  void sampleBeforeAttributes_currentContext() {
+    RecordingSampler sampler = new RecordingSampler(SamplingDecision.DROP, true);
+    spanBuilder(sampler).setAttribute("key1", "value").startSpan();
+
+    // Not sampled early, as the current context may differ when the span is started.
+    assertThat(sampler.sampledAttributes).hasSize(1);
+    assertThat(sampler.sampledAttributes.get(0).get(stringKey("key1"))).isEqualTo("value");
+  }
+
+  @Test
+  void sampleBeforeAttributes_sameParentSetAgain() {
+    RecordingSampler sampler = new RecordingSampler(SamplingDecision.DROP, true);
+    Span span =
+        spanBuilder(sampler)
+            .setParent(Context.root().with(Span.wrap(sampledSpanContext)))
+            .setAttribute("key1", "value")
+            .setParent(Context.current().with(Span.wrap(sampledSpanContext)))
+            .startSpan();
+
+    assertThat(span.isRecording()).isFalse();
+    // The parent span did not change, so the sampler is only charged once.
+    assertThat(sampler.sampledAttributes).containsExactly(Attributes.empty());
+  }
+
+  @Test
+  void sampleBeforeAttributes_parentChangedAfterDrop() {
+    Sampler sampler = Sampler.parentBased(Sampler.alwaysOff());
+    RecordEventsReadableSpan span =
+        (RecordEventsReadableSpan)
+            spanBuilder(sampler)
+                .setNoParent()
+                .setAttribute("key1", "value")
+                .addLink(sampledSpanContext)
+                .setParent(Context.root().with(Span.wrap(sampledSpanContext)))
+                .startSpan();
+
+    // Sampled again for the new parent, which keeps the skipped attribute and link.
+    assertThat(span.isRecording()).isTrue();
+    assertThat(span.getSpanContext().getTraceId()).isEqualTo(sampledSpanContext.getTraceId());
+    SpanData spanData = span.toSpanData();
+    assertThat(spanData.getAttributes().get(stringKey("key1"))).isEqualTo("value");
+    assertThat(spanData.getTotalAttributeCount()).isEqualTo(1);
+    assertThat(spanData.getLinks()).hasSize(1);
+    assertThat(spanData.getTotalRecordedLinks()).isEqualTo(1);
+    span.end();
+  }
+
+  @Test
+  void sampleBeforeAttributes_parentChangedBetweenExplicitParents() {
+    // Drops children of spans which are not sampled and samples children of sampled spans.
+    Sampler sampler = Sampler.parentBased(Sampler.alwaysOn());
+    SpanContext notSampledSpanContext =
+        SpanContext.create(
+            "12345678876543211234567887654322",
+            "8765432112345679",
+            TraceFlags.getDefault(),
+            TraceState.getDefault());
+    SdkSpanBuilder spanBuilder = spanBuilder(sampler);
+    spanBuilder
+        .setParent(Context.root().with(Span.wrap(notSampledSpanContext)))
+        .setAttribute("key1", "value")
+        .addLink(sampledSpanContext, Attributes.of(stringKey("linkKey"), "linkValue"));
+    spanBuilder.setParent(Context.root().with(Span.wrap(sampledSpanContext)));
+    // Sampled early again for the new parent, the attributes skipped before are added first.
+    spanBuilder.setAttribute("key1", "newValue").setAttribute("key2", "value");
+    RecordEventsReadableSpan span = (RecordEventsReadableSpan) spanBuilder.startSpan();
+
+    assertThat(span.isRecording()).isTrue();
+    assertThat(span.getSpanContext().getTraceId()).isEqualTo(sampledSpanContext.getTraceId());
+    SpanData spanData = span.toSpanData();
+    assertThat(spanData.getAttributes().get(stringKey("key1"))).isEqualTo("newValue");
+    assertThat(spanData.getAttributes().get(stringKey("key2"))).isEqualTo("value");
+    assertThat(spanData.getLinks()).hasSize(1);
+    assertThat(spanData.getLinks().get(0).getAttributes().get(stringKey("linkKey")))
+        .isEqualTo("linkValue");
+    span.end();
+  }
+
+  @Test
+  void sampleBeforeAttributes_notSupported() {
+    RecordingSampler sampler = new RecordingSampler(SamplingDecision.DROP, false);
+    spanBuilder(sampler).setNoParent().setAttribute("key1", "value").startSpan();
+
+    assertThat(sampler.sampledAttributes).hasSize(1);
+    assertThat(sampler.sampledAttributes.get(0).get(stringKey("key1"))).isEqualTo("value");
+  }
+
   @Test
   void noParent() {
     Span parent = sdkTracer.spanBuilder(SPAN_NAME).startSpan();
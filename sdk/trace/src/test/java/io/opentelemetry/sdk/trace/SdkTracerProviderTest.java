@@ -7,18 +7,22 @@ package io.opentelemetry.sdk.trace;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
 import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
 import io.opentelemetry.semconv.resource.attributes.ResourceAttributes;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -131,6 +135,13 @@ class SdkTracerProviderTest {
         .hasMessage("idGenerator");
   }
 
+  @Test
+  void builder_NullTracerConfigurator() {
+    assertThatThrownBy(() -> SdkTracerProvider.builder().setTracerConfigurator(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("tracerConfigurator");
+  }
+
   @Test
   void defaultGet() {
     assertThat(tracerFactory.get("test")).isInstanceOf(SdkTracer.class);
@@ -244,4 +255,93 @@ class SdkTracerProviderTest {
     assertThat(tracer.getInstrumentationLibraryInfo().getName())
         .isEqualTo(SdkTracerProvider.DEFAULT_TRACER_NAME);
   }
+
+  @Test
+  void tracerConfig_disabled() {
+    SdkTracerProvider tracerProvider =
+        SdkTracerProvider.builder()
+            .addSpanProcessor(spanProcessor)
+            .setTracerConfigurator(
+                library ->
+                    library.getName().equals("noisy")
+                        ? TracerConfig.disabled()
+                        : TracerConfig.getDefault())
+            .build();
+    when(spanProcessor.isStartRequired()).thenReturn(true);
+
+    Span parent = tracerProvider.get("test").spanBuilder("parent").startSpan();
+    assertThat(parent.isRecording()).isTrue();
+    Span span;
+    try (Scope ignored = parent.makeCurrent()) {
+      span =
+          tracerProvider.get("noisy").spanBuilder("span").setAttribute("key", "value").startSpan();
+    }
+    // The parent span context is still propagated.
+    assertThat(span.isRecording()).isFalse();
+    assertThat(span.getSpanContext()).isEqualTo(parent.getSpanContext());
+    span.end();
+    parent.end();
+    Mockito.verify(spanProcessor, Mockito.times(1)).onStart(any(), any());
+  }
+
+  @Test
+  void tracerConfig_resolvedOncePerLibrary() {
+    List<InstrumentationLibraryInfo> configured = new ArrayList<>();
+    SdkTracerProvider tracerProvider =
+        SdkTracerProvider.builder()
+            .setTracerConfigurator(
+                library -> {
+                  configured.add(library);
+                  return TracerConfig.getDefault();
+                })
+            .build();
+
+    tracerProvider.get("test");
+    tracerProvider.get("test");
+    tracerProvider.get("test", "1.0");
+    assertThat(configured)
+        .containsExactly(
+            InstrumentationLibraryInfo.create("test", null),
+            InstrumentationLibraryInfo.create("test", "1.0"));
+  }
+
+  @Test
+  void tracerConfig_overrides() {
+    SpanLimits spanLimits = SpanLimits.builder().setMaxNumberOfAttributes(1).build();
+    SdkTracerProvider tracerProvider =
+        SdkTracerProvider.builder()
+            .setTracerConfigurator(
+                library -> {
+                  switch (library.getName()) {
+                    case "sampled":
+                      return TracerConfig.builder().setSampler(Sampler.alwaysOff()).build();
+                    case "limited":
+                      return TracerConfig.builder().setSpanLimits(spanLimits).build();
+                    default:
+                      return null;
+                  }
+                })
+            .build();
+
+    SdkTracer defaultTracer = (SdkTracer) tracerProvider.get("test");
+    assertThat(defaultTracer.isEnabled()).isTrue();
+    assertThat(defaultTracer.getSampler()).isSameAs(tracerProvider.getSampler());
+
+    SdkTracer sampledTracer = (SdkTracer) tracerProvider.get("sampled");
+    assertThat(sampledTracer.getSampler()).isEqualTo(Sampler.alwaysOff());
+    Span span = sampledTracer.spanBuilder("span").startSpan();
+    assertThat(span.isRecording()).isFalse();
+    span.end();
+
+    RecordEventsReadableSpan limitedSpan =
+        (RecordEventsReadableSpan)
+            tracerProvider
+                .get("limited")
+                .spanBuilder("span")
+                .setAttribute("key1", "value")
+                .setAttribute("key2", "value")
+                .startSpan();
+    assertThat(limitedSpan.toSpanData().getAttributes().size()).isEqualTo(1);
+    limitedSpan.end();
+  }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+class StackTraceRendererTest {
+
+  private static final String LINE_SEPARATOR = System.lineSeparator();
+
+  @Test
+  void rendersLikePrintStackTrace() {
+    StackTraceRenderer renderer = new StackTraceRenderer(10);
+    IllegalStateException exception =
+        new IllegalStateException("boom", new IllegalArgumentException("cause"));
+    exception.addSuppressed(new RuntimeException("suppressed"));
+
+    assertThat(renderer.render(exception, Integer.MAX_VALUE, Integer.MAX_VALUE))
+        .isEqualTo(printStackTrace(exception));
+  }
+
+  @Test
+  void cachesByStack() {
+    StackTraceRenderer renderer = new StackTraceRenderer(10);
+    for (int i = 0; i < 5; i++) {
+      Exception sameStack = new IllegalStateException("boom");
+      assertThat(renderer.render(sameStack, Integer.MAX_VALUE, Integer.MAX_VALUE))
+          .isEqualTo(printStackTrace(sameStack));
+    }
+    assertThat(renderer.cacheSize()).isEqualTo(1);
+
+    // Differing messages, causes and depths are cached separately.
+    Exception otherMessage = new IllegalStateException("other");
+    Exception withCause = new IllegalStateException("boom", new RuntimeException());
+    assertThat(renderer.render(otherMessage, Integer.MAX_VALUE, Integer.MAX_VALUE))
+        .isEqualTo(printStackTrace(otherMessage));
+    assertThat(renderer.render(withCause, Integer.MAX_VALUE, Integer.MAX_VALUE))
+        .isEqualTo(printStackTrace(withCause));
+    renderer.render(withCause, 1, Integer.MAX_VALUE);
+    assertThat(renderer.cacheSize()).isEqualTo(4);
+  }
+
+  @Test
+  void evictsLeastRecentlyUsed() {
+    StackTraceRenderer renderer = new StackTraceRenderer(2);
+    Exception first = new IllegalStateException("first");
+    Exception second = new IllegalStateException("second");
+    Exception third = new IllegalStateException("third");
+    renderer.render(first, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    renderer.render(second, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    renderer.render(first, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    renderer.render(third, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    assertThat(renderer.cacheSize()).isEqualTo(2);
+  }
+
+  @Test
+  void limitsDepth() {
+    StackTraceRenderer renderer = new StackTraceRenderer(10);
+    IllegalStateException cause = new IllegalStateException("cause");
+    cause.setStackTrace(
+        new StackTraceElement[] {
+          new StackTraceElement("Cause", "method", "Cause.java", 1),
+          new StackTraceElement("Cause", "caller", "Cause.java", 2)
+        });
+    RuntimeException exception = new RuntimeException("boom", cause);
+    exception.setStackTrace(
+        new StackTraceElement[] {
+          new StackTraceElement("Foo", "method", "Foo.java", 1),
+          new StackTraceElement("Foo", "caller", "Foo.java", 2),
+          new StackTraceElement("Foo", "main", "Foo.java", 3)
+        });
+
+    assertThat(renderer.render(exception, 1, Integer.MAX_VALUE))
+        .isEqualTo(
+            "java.lang.RuntimeException: boom"
+                + LINE_SEPARATOR
+                + "\tat Foo.method(Foo.java:1)"
+                + LINE_SEPARATOR
+                + "\t... 2 more"
+                + LINE_SEPARATOR
+                + "Caused by: java.lang.IllegalStateException: cause"
+                + LINE_SEPARATOR
+                + "\tat Cause.method(Cause.java:1)"
+                + LINE_SEPARATOR
+                + "\t... 1 more"
+                + LINE_SEPARATOR);
+  }
+
+  @Test
+  void limitsLength() {
+    StackTraceRenderer renderer = new StackTraceRenderer(10);
+    RuntimeException exception = new RuntimeException("boom");
+
+    assertThat(renderer.render(exception, Integer.MAX_VALUE, 10)).isEqualTo("java.lang.");
+    assertThat(renderer.render(exception, 1, 10)).isEqualTo("java.lang.");
+    // Stack traces are cached per limit.
+    assertThat(renderer.render(exception, Integer.MAX_VALUE, 26))
+        .isEqualTo("java.lang.RuntimeException");
+    assertThat(renderer.cacheSize()).isEqualTo(3);
+  }
+
+  @Test
+  void limitsLength_doesNotSplitSurrogatePair() {
+    StackTraceRenderer renderer = new StackTraceRenderer(10);
+    // "java.lang.RuntimeException: " is 28 characters long, followed by a surrogate pair.
+    RuntimeException exception = new RuntimeException("\uD83D\uDE00");
+
+    assertThat(renderer.render(exception, Integer.MAX_VALUE, 29))
+        .isEqualTo("java.lang.RuntimeException: ");
+    assertThat(renderer.render(exception, 1, 29)).isEqualTo("java.lang.RuntimeException: ");
+    assertThat(renderer.render(exception, Integer.MAX_VALUE, 30))
+        .isEqualTo("java.lang.RuntimeException: \uD83D\uDE00");
+  }
+
+  @Test
+  void limitsLength_limitedDepth() {
+    StackTraceRenderer renderer = new StackTraceRenderer(10);
+    RuntimeException exception = new RuntimeException("boom");
+    exception.setStackTrace(
+        new StackTraceElement[] {
+          new StackTraceElement("Foo", "method", "Foo.java", 1),
+          new StackTraceElement("Foo", "caller", "Foo.java", 2)
+        });
+
+    assertThat(renderer.render(exception, 2, 40))
+        .isEqualTo(
+            ("java.lang.RuntimeException: boom" + LINE_SEPARATOR + "\tat Foo.method")
+                .substring(0, 40));
+  }
+
+  @Test
+  void circularReference() {
+    StackTraceRenderer renderer = new StackTraceRenderer(10);
+    Exception first = new Exception("first");
+    Exception second = new Exception("second", first);
+    first.initCause(second);
+
+    assertThat(renderer.render(first, Integer.MAX_VALUE, Integer.MAX_VALUE))
+        .isEqualTo(printStackTrace(first));
+    assertThat(renderer.render(first, 1, Integer.MAX_VALUE))
+        .contains("Caused by: [CIRCULAR REFERENCE: java.lang.Exception: first]");
+  }
+
+  private static String printStackTrace(Throwable throwable) {
+    StringWriter writer = new StringWriter();
+    throwable.printStackTrace(new PrintWriter(writer));
+    return writer.toString();
+  }
+}
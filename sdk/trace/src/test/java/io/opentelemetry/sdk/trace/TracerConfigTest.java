@@ -0,0 +1,50 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.junit.jupiter.api.Test;
+
+class TracerConfigTest {
+
+  @Test
+  void defaultConfig() {
+    TracerConfig config = TracerConfig.getDefault();
+    assertThat(config.isEnabled()).isTrue();
+    assertThat(config.getSampler()).isNull();
+    assertThat(config.getSpanLimits()).isNull();
+    assertThat(TracerConfig.disabled().isEnabled()).isFalse();
+  }
+
+  @Test
+  void updateConfig() {
+    SpanLimits spanLimits = SpanLimits.builder().setMaxNumberOfEvents(1).build();
+    TracerConfig config =
+        TracerConfig.builder().setSampler(Sampler.alwaysOff()).setSpanLimits(spanLimits).build();
+    assertThat(config.isEnabled()).isTrue();
+    assertThat(config.getSampler()).isEqualTo(Sampler.alwaysOff());
+    assertThat(config.getSpanLimits()).isSameAs(spanLimits);
+
+    TracerConfig disabled = config.toBuilder().setEnabled(false).build();
+    assertThat(disabled.isEnabled()).isFalse();
+    assertThat(disabled.getSampler()).isEqualTo(Sampler.alwaysOff());
+    assertThat(disabled.getSpanLimits()).isSameAs(spanLimits);
+  }
+
+  @Test
+  void invalidConfig() {
+    TracerConfigBuilder builder = TracerConfig.builder();
+    assertThatThrownBy(() -> builder.setSampler(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("sampler");
+    assertThatThrownBy(() -> builder.setSpanLimits(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("spanLimits");
+  }
+}
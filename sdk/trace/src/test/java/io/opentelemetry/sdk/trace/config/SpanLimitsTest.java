@@ -19,6 +19,46 @@ class SpanLimitsTest {
     assertThat(SpanLimits.getDefault().getMaxNumberOfLinks()).isEqualTo(128);
     assertThat(SpanLimits.getDefault().getMaxNumberOfAttributesPerEvent()).isEqualTo(128);
     assertThat(SpanLimits.getDefault().getMaxNumberOfAttributesPerLink()).isEqualTo(128);
+    assertThat(SpanLimits.getDefault().getMaxExceptionStackTraceDepth())
+        .isEqualTo(Integer.MAX_VALUE);
+    assertThat(SpanLimits.getDefault().getMaxExceptionStackTraceLength())
+        .isEqualTo(Integer.MAX_VALUE);
+    assertThat(SpanLimits.getDefault().getMaxAttributeValueLength()).isEqualTo(Integer.MAX_VALUE);
+  }
+
+  @Test
+  void subclassWithoutNewerLimits() {
+    SpanLimits spanLimits =
+        new SpanLimits() {
+          @Override
+          public int getMaxNumberOfAttributes() {
+            return 1;
+          }
+
+          @Override
+          public int getMaxNumberOfEvents() {
+            return 2;
+          }
+
+          @Override
+          public int getMaxNumberOfLinks() {
+            return 3;
+          }
+
+          @Override
+          public int getMaxNumberOfAttributesPerEvent() {
+            return 4;
+          }
+
+          @Override
+          public int getMaxNumberOfAttributesPerLink() {
+            return 5;
+          }
+        };
+    assertThat(spanLimits.getMaxExceptionStackTraceDepth()).isEqualTo(Integer.MAX_VALUE);
+    assertThat(spanLimits.getMaxExceptionStackTraceLength()).isEqualTo(Integer.MAX_VALUE);
+    assertThat(spanLimits.getMaxAttributeValueLength()).isEqualTo(Integer.MAX_VALUE);
+    assertThat(spanLimits.toBuilder().build().getMaxNumberOfAttributesPerLink()).isEqualTo(5);
   }
 
   @Test
@@ -30,12 +70,18 @@ class SpanLimitsTest {
             .setMaxNumberOfLinks(11)
             .setMaxNumberOfAttributesPerEvent(1)
             .setMaxNumberOfAttributesPerLink(2)
+            .setMaxExceptionStackTraceDepth(3)
+            .setMaxExceptionStackTraceLength(4)
+            .setMaxAttributeValueLength(5)
             .build();
     assertThat(spanLimits.getMaxNumberOfAttributes()).isEqualTo(8);
     assertThat(spanLimits.getMaxNumberOfEvents()).isEqualTo(10);
     assertThat(spanLimits.getMaxNumberOfLinks()).isEqualTo(11);
     assertThat(spanLimits.getMaxNumberOfAttributesPerEvent()).isEqualTo(1);
     assertThat(spanLimits.getMaxNumberOfAttributesPerLink()).isEqualTo(2);
+    assertThat(spanLimits.getMaxExceptionStackTraceDepth()).isEqualTo(3);
+    assertThat(spanLimits.getMaxExceptionStackTraceLength()).isEqualTo(4);
+    assertThat(spanLimits.getMaxAttributeValueLength()).isEqualTo(5);
 
     // Preserves values
     SpanLimits spanLimitsDupe = spanLimits.toBuilder().build();
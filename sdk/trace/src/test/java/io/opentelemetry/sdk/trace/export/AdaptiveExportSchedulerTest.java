@@ -0,0 +1,85 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveExportSchedulerTest {
+
+  private static final long MIN_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final long MAX_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(1600);
+
+  private final AdaptiveExportScheduler scheduler =
+      new AdaptiveExportScheduler(64, 512, MIN_DELAY_NANOS, MAX_DELAY_NANOS);
+
+  @Test
+  void startsAtMaximum() {
+    assertThat(scheduler.getExportBatchSize()).isEqualTo(512);
+    assertThat(scheduler.getScheduleDelayNanos()).isEqualTo(MAX_DELAY_NANOS);
+  }
+
+  @Test
+  void failuresShrinkBatchAndBackOff() {
+    scheduler.onExport(512, 0, 0, /* success= */ true);
+    scheduler.onExport(512, 10_000, 0, /* success= */ true);
+    assertThat(scheduler.getScheduleDelayNanos()).isEqualTo(MAX_DELAY_NANOS / 2);
+
+    scheduler.onExport(512, 0, 0, /* success= */ false);
+    assertThat(scheduler.getExportBatchSize()).isEqualTo(256);
+    assertThat(scheduler.getScheduleDelayNanos()).isEqualTo(MAX_DELAY_NANOS);
+
+    for (int i = 0; i < 10; i++) {
+      scheduler.onExport(64, 0, 0, /* success= */ false);
+    }
+    assertThat(scheduler.getExportBatchSize()).isEqualTo(64);
+    assertThat(scheduler.getScheduleDelayNanos()).isEqualTo(MAX_DELAY_NANOS);
+  }
+
+  @Test
+  void backlogGrowsBatchAndShortensDelay() {
+    scheduler.onExport(512, 0, 0, /* success= */ false);
+    scheduler.onExport(256, 0, 0, /* success= */ false);
+    assertThat(scheduler.getExportBatchSize()).isEqualTo(128);
+
+    scheduler.onExport(128, 1000, 0, /* success= */ true);
+    assertThat(scheduler.getExportBatchSize()).isEqualTo(256);
+    assertThat(scheduler.getScheduleDelayNanos()).isEqualTo(MAX_DELAY_NANOS / 2);
+
+    for (int i = 0; i < 10; i++) {
+      scheduler.onExport(512, 10_000, 0, /* success= */ true);
+    }
+    assertThat(scheduler.getExportBatchSize()).isEqualTo(512);
+    assertThat(scheduler.getScheduleDelayNanos()).isEqualTo(MIN_DELAY_NANOS);
+  }
+
+  @Test
+  void backlogDelayNotBelowExportLatency() {
+    long latencyNanos = TimeUnit.MILLISECONDS.toNanos(500);
+    for (int i = 0; i < 10; i++) {
+      scheduler.onExport(512, 10_000, latencyNanos, /* success= */ true);
+    }
+    assertThat(scheduler.getScheduleDelayNanos()).isEqualTo(latencyNanos);
+  }
+
+  @Test
+  void lowLoadLengthensDelay() {
+    for (int i = 0; i < 10; i++) {
+      scheduler.onExport(512, 10_000, 0, /* success= */ true);
+    }
+    assertThat(scheduler.getScheduleDelayNanos()).isEqualTo(MIN_DELAY_NANOS);
+
+    scheduler.onExport(10, 0, 0, /* success= */ true);
+    assertThat(scheduler.getScheduleDelayNanos()).isEqualTo(2 * MIN_DELAY_NANOS);
+    assertThat(scheduler.getExportBatchSize()).isEqualTo(512);
+
+    // A reasonably full batch keeps the current values.
+    scheduler.onExport(300, 0, 0, /* success= */ true);
+    assertThat(scheduler.getScheduleDelayNanos()).isEqualTo(2 * MIN_DELAY_NANOS);
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.TestUtils;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class AsyncSpanExporterTest {
+
+  private static final SpanData SPAN = TestUtils.makeBasicSpan();
+
+  /** Blocks the worker thread until released, like a slow exporter doing synchronous I/O. */
+  private static final class BlockingSpanExporter implements SpanExporter {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Collection<SpanData>> exported = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean flushed = new AtomicBoolean();
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+      try {
+        release.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      exported.add(spans);
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      flushed.set(true);
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      shutdown.set(true);
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+
+  @Test
+  void builderDefaults() {
+    AsyncSpanExporterBuilder builder = AsyncSpanExporter.builder(new BlockingSpanExporter());
+    assertThat(builder.getMaxQueueSize())
+        .isEqualTo(AsyncSpanExporterBuilder.DEFAULT_MAX_QUEUE_SIZE);
+    assertThat(builder.getExporterTimeoutNanos())
+        .isEqualTo(
+            TimeUnit.MILLISECONDS.toNanos(AsyncSpanExporterBuilder.DEFAULT_EXPORT_TIMEOUT_MILLIS));
+    assertThat(builder.setExporterTimeout(Duration.ofSeconds(1)).getExporterTimeoutNanos())
+        .isEqualTo(TimeUnit.SECONDS.toNanos(1));
+  }
+
+  @Test
+  void builderInvalidConfig() {
+    assertThatThrownBy(() -> AsyncSpanExporter.builder(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("delegate");
+    AsyncSpanExporterBuilder builder = AsyncSpanExporter.builder(new BlockingSpanExporter());
+    assertThatThrownBy(() -> builder.setMaxQueueSize(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxQueueSize must be positive.");
+    assertThatThrownBy(() -> builder.setExporterTimeout(-1, TimeUnit.MILLISECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("timeout must be non-negative");
+    assertThatThrownBy(() -> builder.setExporterTimeout(1, null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("unit");
+    assertThatThrownBy(() -> builder.setExporterTimeout(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("timeout");
+  }
+
+  @Test
+  void slowDelegate_doesNotBlockCaller() {
+    BlockingSpanExporter delegate = new BlockingSpanExporter();
+    AsyncSpanExporter exporter = AsyncSpanExporter.builder(delegate).build();
+    InMemorySpanExporter other = InMemorySpanExporter.create();
+    SpanExporter composite = SpanExporter.composite(exporter, other);
+
+    assertThat(composite.export(Collections.singletonList(SPAN)).isSuccess()).isTrue();
+    assertThat(other.getFinishedSpanItems()).containsExactly(SPAN);
+    assertThat(delegate.exported).isEmpty();
+
+    delegate.release.countDown();
+    assertThat(exporter.flush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(delegate.exported).hasSize(1);
+    assertThat(delegate.flushed).isTrue();
+    exporter.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void queueFull_dropsBatches() {
+    BlockingSpanExporter delegate = new BlockingSpanExporter();
+    AsyncSpanExporter exporter = AsyncSpanExporter.builder(delegate).setMaxQueueSize(1).build();
+
+    List<SpanData> spans = Collections.singletonList(SPAN);
+    // The first batch may already be taken by the worker, which then blocks.
+    assertThat(exporter.export(spans).isSuccess()).isTrue();
+    assertThat(exporter.export(spans).isSuccess() && exporter.export(spans).isSuccess()).isFalse();
+    assertThat(exporter.getQueueSize()).isLessThanOrEqualTo(1);
+
+    delegate.release.countDown();
+    exporter.shutdown().join(10, TimeUnit.SECONDS);
+    assertThat(delegate.exported).hasSizeBetween(1, 2);
+  }
+
+  @Test
+  void export_copiesBatch() {
+    BlockingSpanExporter delegate = new BlockingSpanExporter();
+    AsyncSpanExporter exporter = AsyncSpanExporter.builder(delegate).build();
+
+    List<SpanData> batch = new ArrayList<>();
+    batch.add(SPAN);
+    assertThat(exporter.export(batch).isSuccess()).isTrue();
+    // The BatchSpanProcessor reuses its batch once the export completes.
+    batch.clear();
+
+    delegate.release.countDown();
+    exporter.flush().join(10, TimeUnit.SECONDS);
+    assertThat(delegate.exported).hasSize(1);
+    assertThat(delegate.exported.get(0)).containsExactly(SPAN);
+    exporter.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void shutdown() {
+    BlockingSpanExporter delegate = new BlockingSpanExporter();
+    delegate.release.countDown();
+    AsyncSpanExporter exporter = AsyncSpanExporter.builder(delegate).build();
+
+    exporter.export(Collections.singletonList(SPAN));
+    assertThat(exporter.shutdown().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(delegate.exported).hasSize(1);
+    assertThat(delegate.shutdown).isTrue();
+
+    assertThat(exporter.export(Collections.singletonList(SPAN)).isSuccess()).isFalse();
+    assertThat(exporter.shutdown().isSuccess()).isTrue();
+  }
+}
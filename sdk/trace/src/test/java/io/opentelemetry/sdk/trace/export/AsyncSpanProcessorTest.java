@@ -0,0 +1,162 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class AsyncSpanProcessorTest {
+
+  /** Blocks the worker thread until released, like a processor exporting synchronously. */
+  private static final class BlockingSpanProcessor implements SpanProcessor {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> started = new CopyOnWriteArrayList<>();
+    private final List<String> ended = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean flushed = new AtomicBoolean();
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+      started.add(span.getName());
+    }
+
+    @Override
+    public boolean isStartRequired() {
+      return true;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+      try {
+        release.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      ended.add(span.getName());
+    }
+
+    @Override
+    public boolean isEndRequired() {
+      return true;
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+      flushed.set(true);
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      shutdown.set(true);
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+
+  private static Tracer tracer(SpanProcessor... processors) {
+    return SdkTracerProvider.builder()
+        .addSpanProcessor(SpanProcessor.composite(processors))
+        .build()
+        .get("test");
+  }
+
+  @Test
+  void builderDefaults() {
+    assertThat(AsyncSpanProcessor.builder(new BlockingSpanProcessor()).getMaxQueueSize())
+        .isEqualTo(AsyncSpanProcessorBuilder.DEFAULT_MAX_QUEUE_SIZE);
+  }
+
+  @Test
+  void builderInvalidConfig() {
+    assertThatThrownBy(() -> AsyncSpanProcessor.builder(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("delegate");
+    assertThatThrownBy(
+            () -> AsyncSpanProcessor.builder(new BlockingSpanProcessor()).setMaxQueueSize(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxQueueSize must be positive.");
+  }
+
+  @Test
+  void delegatesRequiredCallbacks() {
+    SpanProcessor delegate = SimpleSpanProcessor.create(InMemorySpanExporter.create());
+    AsyncSpanProcessor processor = AsyncSpanProcessor.builder(delegate).build();
+
+    assertThat(processor.isStartRequired()).isEqualTo(delegate.isStartRequired());
+    assertThat(processor.isEndRequired()).isEqualTo(delegate.isEndRequired());
+    processor.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void slowDelegate_doesNotBlockCaller() {
+    BlockingSpanProcessor delegate = new BlockingSpanProcessor();
+    AsyncSpanProcessor processor = AsyncSpanProcessor.builder(delegate).build();
+    InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    Tracer tracer = tracer(processor, SimpleSpanProcessor.create(exporter));
+
+    tracer.spanBuilder("span").startSpan().end();
+
+    // Started synchronously, ended asynchronously.
+    assertThat(delegate.started).containsExactly("span");
+    assertThat(delegate.ended).isEmpty();
+    assertThat(exporter.getFinishedSpanItems()).hasSize(1);
+
+    delegate.release.countDown();
+    assertThat(processor.forceFlush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(delegate.ended).containsExactly("span");
+    assertThat(delegate.flushed).isTrue();
+    processor.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void queueFull_dropsSpans() {
+    BlockingSpanProcessor delegate = new BlockingSpanProcessor();
+    AsyncSpanProcessor processor = AsyncSpanProcessor.builder(delegate).setMaxQueueSize(2).build();
+    Tracer tracer = tracer(processor);
+
+    for (int i = 0; i < 10; i++) {
+      tracer.spanBuilder("span" + i).startSpan().end();
+    }
+    assertThat(processor.getQueueSize()).isLessThanOrEqualTo(2);
+
+    delegate.release.countDown();
+    processor.forceFlush().join(10, TimeUnit.SECONDS);
+    // At most one span taken by the worker and two queued.
+    assertThat(delegate.ended).hasSizeBetween(2, 3).startsWith("span0", "span1");
+    assertThat(processor.getQueueSize()).isZero();
+    processor.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void shutdown() {
+    BlockingSpanProcessor delegate = new BlockingSpanProcessor();
+    delegate.release.countDown();
+    AsyncSpanProcessor processor = AsyncSpanProcessor.builder(delegate).build();
+    Tracer tracer = tracer(processor);
+
+    tracer.spanBuilder("span").startSpan().end();
+    assertThat(processor.shutdown().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(delegate.ended).containsExactly("span");
+    assertThat(delegate.shutdown).isTrue();
+
+    assertThat(processor.shutdown().isSuccess()).isTrue();
+  }
+}
@@ -29,8 +29,11 @@ import io.opentelemetry.sdk.trace.samplers.SamplingResult;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nullable;
@@ -92,6 +95,20 @@ class BatchSpanProcessorTest {
     assertThat(config.getExporterTimeoutNanos())
         .isEqualTo(
             TimeUnit.MILLISECONDS.toNanos(BatchSpanProcessorBuilder.DEFAULT_EXPORT_TIMEOUT_MILLIS));
+    assertThat(config.getShardCount()).isEqualTo(BatchSpanProcessorBuilder.DEFAULT_SHARD_COUNT);
+    assertThat(config.getMaxConcurrentExports())
+        .isEqualTo(BatchSpanProcessorBuilder.DEFAULT_MAX_CONCURRENT_EXPORTS);
+    assertThat(config.getOverflowPolicy()).isEqualTo(OverflowPolicy.DROP_NEWEST);
+    assertThat(config.getBlockTimeoutNanos())
+        .isEqualTo(
+            TimeUnit.MILLISECONDS.toNanos(BatchSpanProcessorBuilder.DEFAULT_BLOCK_TIMEOUT_MILLIS));
+    assertThat(config.getAdaptiveBatching()).isFalse();
+    assertThat(config.getMinExportBatchSize())
+        .isEqualTo(BatchSpanProcessorBuilder.DEFAULT_MIN_EXPORT_BATCH_SIZE);
+    assertThat(config.getMinScheduleDelayNanos())
+        .isEqualTo(
+            TimeUnit.MILLISECONDS.toNanos(
+                BatchSpanProcessorBuilder.DEFAULT_MIN_SCHEDULE_DELAY_MILLIS));
   }
 
   @Test
@@ -118,6 +135,47 @@ class BatchSpanProcessorTest {
     assertThatThrownBy(() -> BatchSpanProcessor.builder(exporter).setExporterTimeout(null))
         .isInstanceOf(NullPointerException.class)
         .hasMessage("timeout");
+    assertThatThrownBy(() -> BatchSpanProcessor.builder(exporter).setShardCount(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("shardCount must be positive.");
+    assertThatThrownBy(() -> BatchSpanProcessor.builder(exporter).setMaxConcurrentExports(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxConcurrentExports must be positive.");
+    assertThatThrownBy(() -> BatchSpanProcessor.builder(exporter).setOverflowPolicy(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("overflowPolicy");
+    assertThatThrownBy(
+            () -> BatchSpanProcessor.builder(exporter).setBlockTimeout(-1, TimeUnit.MILLISECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("timeout must be non-negative");
+    assertThatThrownBy(
+            () ->
+                BatchSpanProcessor.builder(exporter)
+                    .setOverflowPolicy(OverflowPolicy.SPILL)
+                    .build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("spillExporter must be set to use the SPILL overflow policy.");
+    assertThatThrownBy(
+            () ->
+                BatchSpanProcessor.builder(exporter)
+                    .setAdaptiveBatching(true)
+                    .setMaxExportBatchSize(10)
+                    .setMinExportBatchSize(20)
+                    .build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("minExportBatchSize must not be greater than maxExportBatchSize.");
+    assertThatThrownBy(
+            () ->
+                BatchSpanProcessor.builder(exporter)
+                    .setAdaptiveBatching(true)
+                    .setScheduleDelay(10, TimeUnit.MILLISECONDS)
+                    .setMinScheduleDelay(20, TimeUnit.MILLISECONDS)
+                    .build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("minScheduleDelay must not be greater than scheduleDelay.");
+    assertThatThrownBy(() -> BatchSpanProcessor.builder(exporter).setExecutor(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("executor");
   }
 
   @Test
@@ -183,6 +241,40 @@ class BatchSpanProcessorTest {
                         span6.toSpanData()));
   }
 
+  @Test
+  void exportsConcurrentlyUpToLimit() {
+    CompletableSpanExporter spanExporter = new CompletableSpanExporter();
+
+    sdkTracerProvider =
+        SdkTracerProvider.builder()
+            .addSpanProcessor(
+                BatchSpanProcessor.builder(spanExporter)
+                    .setMaxConcurrentExports(2)
+                    .setMaxExportBatchSize(1)
+                    .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                    .build())
+            .build();
+
+    ReadableSpan span1 = createEndedSpan(SPAN_NAME_1);
+    ReadableSpan span2 = createEndedSpan(SPAN_NAME_1);
+    ReadableSpan span3 = createEndedSpan(SPAN_NAME_1);
+
+    // Two exports are in flight, the third one waits until one of them completes.
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(spanExporter.getExported())
+                    .containsExactly(span1.toSpanData(), span2.toSpanData()));
+
+    spanExporter.succeed();
+
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(spanExporter.getExported())
+                    .containsExactly(span1.toSpanData(), span2.toSpanData(), span3.toSpanData()));
+  }
+
   @Test
   void forceExport() {
     WaitingSpanExporter waitingSpanExporter =
@@ -217,6 +309,82 @@ class BatchSpanProcessorTest {
     assertThat(exported.size()).isEqualTo(2);
   }
 
+  @Test
+  void exportSpansWithMultipleShards() {
+    WaitingSpanExporter waitingSpanExporter =
+        new WaitingSpanExporter(100, CompletableResultCode.ofSuccess());
+    BatchSpanProcessor batchSpanProcessor =
+        BatchSpanProcessor.builder(waitingSpanExporter)
+            .setShardCount(4)
+            .setMaxQueueSize(10_000)
+            .setScheduleDelay(10, TimeUnit.SECONDS)
+            .build();
+    sdkTracerProvider = SdkTracerProvider.builder().addSpanProcessor(batchSpanProcessor).build();
+
+    List<SpanData> spans = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      spans.add(createEndedSpan(SPAN_NAME_1).toSpanData());
+    }
+
+    // Force flush must drain every shard.
+    CompletableResultCode result = batchSpanProcessor.forceFlush().join(10, TimeUnit.SECONDS);
+    assertThat(result.isSuccess()).isTrue();
+    List<SpanData> exported = waitingSpanExporter.waitForExport();
+    assertThat(exported).containsExactlyInAnyOrderElementsOf(spans);
+  }
+
+  @Test
+  void exportWithExecutor() throws InterruptedException {
+    WaitingSpanExporter waitingSpanExporter =
+        new WaitingSpanExporter(10, CompletableResultCode.ofSuccess());
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    BatchSpanProcessor batchSpanProcessor =
+        BatchSpanProcessor.builder(waitingSpanExporter)
+            .setShardCount(2)
+            .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+            .setExecutor(executor)
+            .build();
+    sdkTracerProvider = SdkTracerProvider.builder().addSpanProcessor(batchSpanProcessor).build();
+
+    List<SpanData> spans = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      spans.add(createEndedSpan(SPAN_NAME_1).toSpanData());
+    }
+    List<SpanData> exported = waitingSpanExporter.waitForExport();
+    assertThat(exported).containsExactlyInAnyOrderElementsOf(spans);
+
+    // The workers return their threads to the executor on shutdown, without waiting for the
+    // schedule delay.
+    batchSpanProcessor.shutdown().join(10, TimeUnit.SECONDS);
+    executor.shutdown();
+    assertThat(executor.awaitTermination(MAX_SCHEDULE_DELAY_MILLIS / 2, TimeUnit.MILLISECONDS))
+        .isTrue();
+  }
+
+  @Test
+  void exportWithAdaptiveBatching() {
+    WaitingSpanExporter waitingSpanExporter =
+        new WaitingSpanExporter(10, CompletableResultCode.ofSuccess());
+    sdkTracerProvider =
+        SdkTracerProvider.builder()
+            .addSpanProcessor(
+                BatchSpanProcessor.builder(waitingSpanExporter)
+                    .setAdaptiveBatching(true)
+                    .setMinExportBatchSize(2)
+                    .setMaxExportBatchSize(4)
+                    .setMinScheduleDelay(10, TimeUnit.MILLISECONDS)
+                    .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                    .build())
+            .build();
+
+    List<SpanData> spans = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      spans.add(createEndedSpan(SPAN_NAME_1).toSpanData());
+    }
+    List<SpanData> exported = waitingSpanExporter.waitForExport();
+    assertThat(exported).containsExactlyElementsOf(spans);
+  }
+
   @Test
   void exportSpansToMultipleServices() {
     WaitingSpanExporter waitingSpanExporter =
@@ -307,6 +475,186 @@ class BatchSpanProcessorTest {
     assertThat(exported).containsExactlyElementsOf(spansToExport);
   }
 
+  @Test
+  void overflowDropOldest() {
+    WaitingSpanExporter waitingSpanExporter =
+        new WaitingSpanExporter(5, CompletableResultCode.ofSuccess());
+    sdkTracerProvider =
+        SdkTracerProvider.builder()
+            .addSpanProcessor(
+                BatchSpanProcessor.builder(
+                        SpanExporter.composite(
+                            Arrays.asList(blockingSpanExporter, waitingSpanExporter)))
+                    .setOverflowPolicy(OverflowPolicy.DROP_OLDEST)
+                    .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                    .setMaxQueueSize(4)
+                    .setMaxExportBatchSize(1)
+                    .build())
+            .build();
+
+    List<SpanData> spansToExport = new ArrayList<>();
+    spansToExport.add(createEndedSpan("blocking_span").toSpanData());
+    blockingSpanExporter.waitUntilIsBlocked();
+
+    // The first two spans are evicted by the last two.
+    createEndedSpan("span_0");
+    createEndedSpan("span_1");
+    for (int i = 2; i < 6; i++) {
+      spansToExport.add(createEndedSpan("span_" + i).toSpanData());
+    }
+
+    blockingSpanExporter.unblock();
+
+    List<SpanData> exported = waitingSpanExporter.waitForExport();
+    assertThat(exported).containsExactlyElementsOf(spansToExport);
+  }
+
+  @Test
+  void overflowDropOldest_singleSpanShards() {
+    WaitingSpanExporter waitingSpanExporter =
+        new WaitingSpanExporter(2, CompletableResultCode.ofSuccess());
+    // Each shard gets a queue of a single span, below the minimum capacity of the queue
+    // implementation.
+    sdkTracerProvider =
+        SdkTracerProvider.builder()
+            .addSpanProcessor(
+                BatchSpanProcessor.builder(waitingSpanExporter)
+                    .setOverflowPolicy(OverflowPolicy.DROP_OLDEST)
+                    .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                    .setMaxQueueSize(1)
+                    .setShardCount(2)
+                    .setMaxExportBatchSize(1)
+                    .build())
+            .build();
+
+    createEndedSpan(SPAN_NAME_1);
+    createEndedSpan(SPAN_NAME_2);
+
+    assertThat(waitingSpanExporter.waitForExport()).hasSize(2);
+  }
+
+  @Test
+  @Timeout(10)
+  void overflowBlock() {
+    WaitingSpanExporter waitingSpanExporter =
+        new WaitingSpanExporter(6, CompletableResultCode.ofSuccess());
+    sdkTracerProvider =
+        SdkTracerProvider.builder()
+            .addSpanProcessor(
+                BatchSpanProcessor.builder(
+                        SpanExporter.composite(
+                            Arrays.asList(blockingSpanExporter, waitingSpanExporter)))
+                    .setOverflowPolicy(OverflowPolicy.BLOCK)
+                    .setBlockTimeout(10, TimeUnit.SECONDS)
+                    .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                    .setMaxQueueSize(4)
+                    .setMaxExportBatchSize(1)
+                    .build())
+            .build();
+
+    List<SpanData> spansToExport = new ArrayList<>();
+    spansToExport.add(createEndedSpan("blocking_span").toSpanData());
+    blockingSpanExporter.waitUntilIsBlocked();
+    for (int i = 0; i < 4; i++) {
+      spansToExport.add(createEndedSpan("span_" + i).toSpanData());
+    }
+
+    Thread unblocker =
+        new Thread(
+            () -> {
+              try {
+                Thread.sleep(100);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              blockingSpanExporter.unblock();
+            });
+    unblocker.start();
+
+    // The queue is full, so ending this span waits for the exporter to be unblocked instead of
+    // dropping it.
+    spansToExport.add(createEndedSpan("span_blocked").toSpanData());
+
+    List<SpanData> exported = waitingSpanExporter.waitForExport();
+    assertThat(exported).containsExactlyElementsOf(spansToExport);
+  }
+
+  @Test
+  void overflowSpill() {
+    WaitingSpanExporter waitingSpanExporter =
+        new WaitingSpanExporter(5, CompletableResultCode.ofSuccess());
+    WaitingSpanExporter spillExporter =
+        new WaitingSpanExporter(2, CompletableResultCode.ofSuccess());
+    sdkTracerProvider =
+        SdkTracerProvider.builder()
+            .addSpanProcessor(
+                BatchSpanProcessor.builder(
+                        SpanExporter.composite(
+                            Arrays.asList(blockingSpanExporter, waitingSpanExporter)))
+                    .setOverflowPolicy(OverflowPolicy.SPILL)
+                    .setSpillExporter(spillExporter)
+                    .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                    .setMaxQueueSize(4)
+                    .setMaxExportBatchSize(1)
+                    .build())
+            .build();
+
+    List<SpanData> spansToExport = new ArrayList<>();
+    spansToExport.add(createEndedSpan("blocking_span").toSpanData());
+    blockingSpanExporter.waitUntilIsBlocked();
+    for (int i = 0; i < 4; i++) {
+      spansToExport.add(createEndedSpan("span_" + i).toSpanData());
+    }
+    ReadableSpan spilled1 = createEndedSpan("spilled_1");
+    ReadableSpan spilled2 = createEndedSpan("spilled_2");
+
+    assertThat(spillExporter.waitForExport())
+        .containsExactly(spilled1.toSpanData(), spilled2.toSpanData());
+
+    blockingSpanExporter.unblock();
+    List<SpanData> exported = waitingSpanExporter.waitForExport();
+    assertThat(exported).containsExactlyElementsOf(spansToExport);
+  }
+
+  @Test
+  void overflowSpill_exportsOffCallingThread() {
+    WaitingSpanExporter waitingSpanExporter =
+        new WaitingSpanExporter(1, CompletableResultCode.ofSuccess());
+    List<Thread> spillThreads = Collections.synchronizedList(new ArrayList<>());
+    WaitingSpanExporter spillExporter =
+        new WaitingSpanExporter(1, CompletableResultCode.ofFailure()) {
+          @Override
+          public CompletableResultCode export(Collection<SpanData> spans) {
+            spillThreads.add(Thread.currentThread());
+            return super.export(spans);
+          }
+        };
+    sdkTracerProvider =
+        SdkTracerProvider.builder()
+            .addSpanProcessor(
+                BatchSpanProcessor.builder(
+                        SpanExporter.composite(
+                            Arrays.asList(blockingSpanExporter, waitingSpanExporter)))
+                    .setOverflowPolicy(OverflowPolicy.SPILL)
+                    .setSpillExporter(spillExporter)
+                    .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                    .setMaxQueueSize(2)
+                    .setMaxExportBatchSize(1)
+                    .build())
+            .build();
+
+    createEndedSpan("blocking_span");
+    blockingSpanExporter.waitUntilIsBlocked();
+    createEndedSpan("queued_span_1");
+    createEndedSpan("queued_span_2");
+    ReadableSpan spilled = createEndedSpan("spilled_span");
+
+    assertThat(spillExporter.waitForExport()).containsExactly(spilled.toSpanData());
+    assertThat(spillThreads).hasSize(1).doesNotContain(Thread.currentThread());
+
+    blockingSpanExporter.unblock();
+  }
+
   @Test
   void exporterThrowsException() {
     SpanExporter mockSpanExporter = mock(SpanExporter.class);
@@ -591,7 +939,8 @@ class BatchSpanProcessorTest {
 
   static class WaitingSpanExporter implements SpanExporter {
 
-    private final List<SpanData> spanDataList = new ArrayList<>();
+    // Shards may export concurrently.
+    private final List<SpanData> spanDataList = Collections.synchronizedList(new ArrayList<>());
     private final int numberToWaitFor;
     private final CompletableResultCode exportResultCode;
     private CountDownLatch countDownLatch;
@@ -0,0 +1,232 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.samplers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.IdGenerator;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class ConsistentProbabilityBasedSamplerTest {
+  private static final String SPAN_NAME = "MySpanName";
+  private static final SpanKind SPAN_KIND = SpanKind.INTERNAL;
+  private static final int NUM_SAMPLE_TRIES = 10000;
+
+  private static final IdGenerator idsGenerator = IdGenerator.random();
+
+  // The 56 least significant bits are 0x80000000000000, the middle of the range.
+  private static final String MIDDLE_TRACE_ID = "00000000000000000080000000000000";
+
+  private static SamplingResult sample(Sampler sampler, Context parentContext, String traceId) {
+    return sampler.shouldSample(
+        parentContext, traceId, SPAN_NAME, SPAN_KIND, Attributes.empty(), Collections.emptyList());
+  }
+
+  private static Context parentWithTraceState(TraceState traceState) {
+    return Context.root()
+        .with(
+            Span.wrap(
+                SpanContext.create(
+                    MIDDLE_TRACE_ID,
+                    idsGenerator.generateSpanId(),
+                    TraceFlags.getSampled(),
+                    traceState)));
+  }
+
+  @Test
+  void outOfRangeProbability() {
+    assertThatThrownBy(() -> Sampler.consistentProbabilityBased(1.01))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> Sampler.consistentProbabilityBased(-0.00001))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> Sampler.consistentProbabilityBased(Double.NaN))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void thresholds() {
+    assertThat(Sampler.consistentProbabilityBased(1.0))
+        .isSameAs(ConsistentProbabilityBasedSampler.ALWAYS_ON);
+    assertThat(Sampler.consistentProbabilityBased(0.0))
+        .isSameAs(ConsistentProbabilityBasedSampler.ALWAYS_OFF);
+    assertThat(ConsistentProbabilityBasedSampler.create(0.5).getThreshold()).isEqualTo(1L << 55);
+    assertThat(ConsistentProbabilityBasedSampler.create(0.25).getThreshold())
+        .isEqualTo(3L << 54);
+    assertThat(ConsistentProbabilityBasedSampler.create(1e-20).getThreshold())
+        .isEqualTo(ConsistentProbabilityBasedSampler.MAX_THRESHOLD - 1);
+  }
+
+  @Test
+  void getDescription() {
+    assertThat(Sampler.consistentProbabilityBased(0.5).getDescription())
+        .isEqualTo(String.format("ConsistentProbabilityBased{%.6f}", 0.5));
+  }
+
+  @Test
+  void equalsAndHashCode() {
+    assertThat(Sampler.consistentProbabilityBased(0.5))
+        .isEqualTo(Sampler.consistentProbabilityBased(0.5))
+        .hasSameHashCodeAs(Sampler.consistentProbabilityBased(0.5))
+        .isNotEqualTo(Sampler.consistentProbabilityBased(0.25));
+  }
+
+  @Test
+  void encodeThreshold() {
+    assertThat(ConsistentProbabilityBasedSampler.encodeThreshold(0)).isEqualTo("0");
+    assertThat(ConsistentProbabilityBasedSampler.encodeThreshold(1L << 55)).isEqualTo("8");
+    assertThat(ConsistentProbabilityBasedSampler.encodeThreshold(3L << 54)).isEqualTo("c");
+    assertThat(ConsistentProbabilityBasedSampler.encodeThreshold(1)).isEqualTo("00000000000001");
+    for (long threshold : new long[] {0, 1, 1L << 55, 3L << 54, 0xabcdef12345678L}) {
+      assertThat(
+              ConsistentProbabilityBasedSampler.parseThreshold(
+                  ConsistentProbabilityBasedSampler.encodeThreshold(threshold)))
+          .isEqualTo(threshold);
+    }
+  }
+
+  @Test
+  void parseThreshold_invalid() {
+    assertThat(ConsistentProbabilityBasedSampler.parseThreshold(null)).isEqualTo(-1);
+    assertThat(ConsistentProbabilityBasedSampler.parseThreshold("")).isEqualTo(-1);
+    assertThat(ConsistentProbabilityBasedSampler.parseThreshold("x")).isEqualTo(-1);
+    assertThat(ConsistentProbabilityBasedSampler.parseThreshold("A")).isEqualTo(-1);
+    assertThat(ConsistentProbabilityBasedSampler.parseThreshold("000000000000001")).isEqualTo(-1);
+  }
+
+  @Test
+  void getSubValue() {
+    assertThat(ConsistentProbabilityBasedSampler.getSubValue("th:8", "th")).isEqualTo("8");
+    assertThat(ConsistentProbabilityBasedSampler.getSubValue("rv:1;th:8", "th")).isEqualTo("8");
+    assertThat(ConsistentProbabilityBasedSampler.getSubValue("th:8;rv:1", "rv")).isEqualTo("1");
+    assertThat(ConsistentProbabilityBasedSampler.getSubValue("tha:8", "th")).isNull();
+    assertThat(ConsistentProbabilityBasedSampler.getSubValue("th:", "th")).isNull();
+    assertThat(ConsistentProbabilityBasedSampler.getSubValue("", "th")).isNull();
+  }
+
+  @Test
+  void sampledByTraceIdRandomness() {
+    Sampler sampler = Sampler.consistentProbabilityBased(0.5);
+    assertThat(sample(sampler, Context.root(), MIDDLE_TRACE_ID).getDecision())
+        .isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    // Only the 56 least significant bits are used.
+    assertThat(
+            sample(sampler, Context.root(), "ffffffffffffffffff7fffffffffffff").getDecision())
+        .isEqualTo(SamplingDecision.DROP);
+  }
+
+  @Test
+  void sampledByExplicitRandomness() {
+    Sampler sampler = Sampler.consistentProbabilityBased(0.5);
+    Context lowRandomness =
+        parentWithTraceState(TraceState.builder().put("ot", "rv:00000000000000").build());
+    assertThat(sample(sampler, lowRandomness, MIDDLE_TRACE_ID).getDecision())
+        .isEqualTo(SamplingDecision.DROP);
+    // Invalid explicit randomness is ignored.
+    Context invalidRandomness =
+        parentWithTraceState(TraceState.builder().put("ot", "rv:0").build());
+    assertThat(sample(sampler, invalidRandomness, MIDDLE_TRACE_ID).getDecision())
+        .isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+  }
+
+  @Test
+  void sampledRatio() {
+    Sampler sampler = Sampler.consistentProbabilityBased(0.2);
+    int sampled = 0;
+    for (int i = 0; i < NUM_SAMPLE_TRIES; i++) {
+      if (sample(sampler, Context.root(), idsGenerator.generateTraceId()).getDecision()
+          == SamplingDecision.RECORD_AND_SAMPLE) {
+        sampled++;
+      }
+    }
+    assertThat(sampled / (double) NUM_SAMPLE_TRIES).isBetween(0.17, 0.23);
+  }
+
+  @Test
+  void consistentAcrossProbabilities() {
+    Sampler low = Sampler.consistentProbabilityBased(0.1);
+    Sampler high = Sampler.consistentProbabilityBased(0.3);
+    for (int i = 0; i < NUM_SAMPLE_TRIES; i++) {
+      String traceId = idsGenerator.generateTraceId();
+      if (sample(low, Context.root(), traceId).getDecision()
+          == SamplingDecision.RECORD_AND_SAMPLE) {
+        assertThat(sample(high, Context.root(), traceId).getDecision())
+            .isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+      }
+    }
+  }
+
+  @Test
+  void sharedResults() {
+    Sampler sampler = Sampler.consistentProbabilityBased(0.5);
+    assertThat(sample(sampler, Context.root(), MIDDLE_TRACE_ID))
+        .isSameAs(sample(sampler, Context.root(), MIDDLE_TRACE_ID));
+    assertThat(sample(Sampler.consistentProbabilityBased(0.0), Context.root(), MIDDLE_TRACE_ID))
+        .isSameAs(ConsistentSamplingResult.DROPPED);
+  }
+
+  @Test
+  void updatedTraceState_sampled() {
+    SamplingResult result =
+        sample(
+            Sampler.consistentProbabilityBased(0.25),
+            Context.root(),
+            "0000000000000000ffffffffffffffff");
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+
+    TraceState traceState = result.getUpdatedTraceState(TraceState.getDefault());
+    assertThat(traceState.get("ot")).isEqualTo("th:c");
+    assertThat(ConsistentProbabilityBasedSampler.getAdjustedCount(traceState)).isEqualTo(4.0);
+
+    TraceState parent =
+        TraceState.builder().put("vendor", "value").put("ot", "th:8;rv:ffffffffffffff").build();
+    traceState = result.getUpdatedTraceState(parent);
+    assertThat(traceState.get("ot")).isEqualTo("th:c;rv:ffffffffffffff");
+    assertThat(traceState.get("vendor")).isEqualTo("value");
+
+    TraceState unchanged = TraceState.builder().put("ot", "th:c").build();
+    assertThat(result.getUpdatedTraceState(unchanged)).isSameAs(unchanged);
+  }
+
+  @Test
+  void updatedTraceState_alwaysOn() {
+    SamplingResult result =
+        sample(Sampler.consistentProbabilityBased(1.0), Context.root(), MIDDLE_TRACE_ID);
+    TraceState traceState = result.getUpdatedTraceState(TraceState.getDefault());
+    assertThat(traceState.get("ot")).isEqualTo("th:0");
+    assertThat(ConsistentProbabilityBasedSampler.getAdjustedCount(traceState)).isEqualTo(1.0);
+  }
+
+  @Test
+  void updatedTraceState_dropped() {
+    SamplingResult result = ConsistentSamplingResult.DROPPED;
+
+    TraceState empty = TraceState.getDefault();
+    assertThat(result.getUpdatedTraceState(empty)).isSameAs(empty);
+    TraceState withoutThreshold = TraceState.builder().put("ot", "rv:ffffffffffffff").build();
+    assertThat(result.getUpdatedTraceState(withoutThreshold)).isSameAs(withoutThreshold);
+
+    assertThat(
+            result
+                .getUpdatedTraceState(
+                    TraceState.builder().put("ot", "th:8;rv:ffffffffffffff").build())
+                .get("ot"))
+        .isEqualTo("rv:ffffffffffffff");
+    TraceState onlyThreshold = TraceState.builder().put("ot", "th:8").put("a", "b").build();
+    TraceState updated = result.getUpdatedTraceState(onlyThreshold);
+    assertThat(updated.get("ot")).isNull();
+    assertThat(updated.get("a")).isEqualTo("b");
+    assertThat(ConsistentProbabilityBasedSampler.getAdjustedCount(updated)).isNaN();
+  }
+}
@@ -15,7 +15,9 @@ import io.opentelemetry.api.trace.TraceFlags;
 import io.opentelemetry.api.trace.TraceState;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.trace.IdGenerator;
+import io.opentelemetry.sdk.trace.data.LinkData;
 import java.util.Collections;
+import java.util.List;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.jupiter.api.Test;
 
@@ -408,6 +410,38 @@ class ParentBasedSamplerTest {
                 + "localParentNotSampled:AlwaysOffSampler}");
   }
 
+  @Test
+  void canSampleBeforeAttributes() {
+    assertThat(Sampler.parentBased(Sampler.traceIdRatioBased(0.5)).canSampleBeforeAttributes())
+        .isTrue();
+    Sampler custom =
+        new Sampler() {
+          @Override
+          public SamplingResult shouldSample(
+              Context parentContext,
+              String traceId,
+              String name,
+              SpanKind spanKind,
+              Attributes attributes,
+              List<LinkData> parentLinks) {
+            return SamplingResult.create(SamplingDecision.DROP);
+          }
+
+          @Override
+          public String getDescription() {
+            return "custom";
+          }
+        };
+    assertThat(custom.canSampleBeforeAttributes()).isFalse();
+    assertThat(Sampler.parentBased(custom).canSampleBeforeAttributes()).isFalse();
+    assertThat(
+            Sampler.parentBasedBuilder(Sampler.alwaysOn())
+                .setRemoteParentSampled(custom)
+                .build()
+                .canSampleBeforeAttributes())
+        .isFalse();
+  }
+
   @Test
   void equals() {
     EqualsVerifier.forClass(ParentBasedSampler.class).verify();
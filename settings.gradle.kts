@@ -53,8 +53,13 @@ include(":exporters:logging")
 include(":exporters:logging-otlp")
 include(":exporters:otlp:all")
 include(":exporters:otlp:common")
+include(":exporters:otlp:logs")
 include(":exporters:otlp:metrics")
+include(":exporters:otlp:persistent")
 include(":exporters:otlp:trace")
+include(":exporters:otlp-http:logs")
+include(":exporters:otlp-http:metrics")
+include(":exporters:otlp-http:trace")
 include(":exporters:prometheus")
 include(":exporters:zipkin")
 include(":integration-tests")